@@ -0,0 +1,419 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.Supplier;
+
+// Metadata of one benchmark problem: how to build it, which dimensions it accepts, its search box
+// and its known optimum. Problems with a fixed dimension carry explicit lower/upper vectors,
+// scalable ones a uniform [lo, hi] box that is expanded for the requested dimension.
+class benchmark_info {
+
+    String name;                        // class name, also used as the journal key
+    String label;
+    Supplier<f_xj> factory;
+    int defaultDim;
+    int minDim;
+    int maxDim;
+    double lo, hi;                      // uniform box when lower/upper are null
+    double[] lower, upper;
+    double fopt = Double.NaN;           // f* = fopt + foptPerDim * n, NaN when unknown
+    double foptPerDim;
+    double xoptCoord = Double.NaN;      // x* = (xoptCoord, ..., xoptCoord) when xopt is null
+    double[] xopt;
+    int optimaPerBlock;                 // global optima per block of optimaBlock coordinates, 0 when unknown
+    int optimaBlock = 1;
+    double nicheRadius;                 // distance below which two optima are the same
+    TreeSet<String> tags = new TreeSet<>();
+
+    f_xj create() {
+        return factory.get();
+    }
+
+    boolean accepts(int n) {
+        return n >= minDim && n <= maxDim;
+    }
+
+    boolean hasTag(String tag) {
+        return tags.contains(tag);
+    }
+
+    boolean scalable() {
+        return lower == null;
+    }
+
+    double[] lower(int n) {
+        if (lower != null) {
+            return lower.clone();
+        }
+        double[] b = new double[n];
+        Arrays.fill(b, lo);
+        return b;
+    }
+
+    double[] upper(int n) {
+        if (upper != null) {
+            return upper.clone();
+        }
+        double[] b = new double[n];
+        Arrays.fill(b, hi);
+        return b;
+    }
+
+    boolean knownOptimum() {
+        return !Double.isNaN(fopt);
+    }
+
+    double optimum(int n) {
+        return fopt + foptPerDim * n;
+    }
+
+    // number of global optima at dimension n, 0 when unknown
+    long globalOptima(int n) {
+        if (optimaPerBlock == 0) {
+            return 0;
+        }
+        if (!scalable()) {
+            return optimaPerBlock;
+        }
+        double c = Math.pow(optimaPerBlock, n / optimaBlock);
+        return c < Long.MAX_VALUE ? (long) c : Long.MAX_VALUE;
+    }
+
+    // null when the location is unknown or not unique enough to be worth storing
+    double[] optimumLocation(int n) {
+        if (xopt != null) {
+            return Arrays.copyOf(xopt, n);
+        }
+        if (Double.isNaN(xoptCoord)) {
+            return null;
+        }
+        double[] x = new double[n];
+        Arrays.fill(x, xoptCoord);
+        return x;
+    }
+}
+
+
+// All benchmark problems with their bounds and optima, in the order they appear in
+// harris_hawks_optimization_test.java. Campaign runners select problems by tag, e.g.
+// "classic" (F1-F13 of the HHO paper), "cec2006", "engineering", "niching", "multimodal".
+// Problems whose bounds or optimum are not documented anywhere in the tree are left out.
+class benchmark_registry {
+
+    static final LinkedHashMap<String, benchmark_info> all = new LinkedHashMap<>();
+
+    static final double NONE = Double.NaN;
+
+    static benchmark_info add(String name, String label, Supplier<f_xj> factory, String tags) {
+        benchmark_info b = new benchmark_info();
+        b.name = name;
+        b.label = label;
+        b.factory = factory;
+        b.tags.addAll(Arrays.asList(tags.split(" ")));
+        all.put(name, b);
+        return b;
+    }
+
+    static benchmark_info scalable(String name, String label, Supplier<f_xj> factory, int minDim, double lo, double hi,
+                                   double fopt, double xopt, String tags) {
+        benchmark_info b = add(name, label, factory, "scalable " + tags);
+        b.defaultDim = Math.max(30, minDim);
+        b.minDim = minDim;
+        b.maxDim = Integer.MAX_VALUE;
+        b.lo = lo;
+        b.hi = hi;
+        b.fopt = fopt;
+        b.xoptCoord = xopt;
+        return b;
+    }
+
+    static benchmark_info fixed(String name, String label, Supplier<f_xj> factory, int dim, double lo, double hi,
+                                double fopt, double[] xopt, String tags) {
+        double[] lower = new double[dim];
+        double[] upper = new double[dim];
+        Arrays.fill(lower, lo);
+        Arrays.fill(upper, hi);
+        return fixed(name, label, factory, lower, upper, fopt, xopt, tags);
+    }
+
+    static benchmark_info fixed(String name, String label, Supplier<f_xj> factory, double[] lower, double[] upper,
+                                double fopt, double[] xopt, String tags) {
+        benchmark_info b = add(name, label, factory, tags);
+        b.defaultDim = lower.length;
+        b.minDim = lower.length;
+        b.maxDim = lower.length;
+        b.lower = lower;
+        b.upper = upper;
+        b.fopt = fopt;
+        b.xopt = xopt;
+        return b;
+    }
+
+    static double[] v(double... x) {
+        return x;
+    }
+
+    static void niche(String name, int count, int block, double radius) {
+        benchmark_info b = all.get(name);
+        b.optimaPerBlock = count;
+        b.optimaBlock = block;
+        b.nicheRadius = radius;
+    }
+
+    static {
+        // F1-F13 of the HHO paper
+        scalable("ScalableF1", "F1 (Sphere)", ScalableF1::new, 1, -100.0, 100.0, 0.0, 0.0, "classic unimodal separable");
+        scalable("ScalableF2", "F2 (Schwefel 2.22)", ScalableF2::new, 1, -10.0, 10.0, 0.0, 0.0, "classic unimodal nonseparable");
+        scalable("ScalableF3", "F3 (Schwefel 1.2)", ScalableF3::new, 1, -100.0, 100.0, 0.0, 0.0, "classic unimodal nonseparable");
+        scalable("ScalableF4", "F4 (Schwefel 2.21)", ScalableF4::new, 1, -100.0, 100.0, 0.0, 0.0, "classic unimodal nonseparable");
+        scalable("ScalableF5", "F5 (Rosenbrock)", ScalableF5::new, 2, -30.0, 30.0, 0.0, 1.0, "classic unimodal nonseparable");
+        scalable("ScalableF6", "F6 (Step)", ScalableF6::new, 1, -100.0, 100.0, 0.0, 0.0, "classic unimodal separable");
+        scalable("ScalableF7", "F7 (Quartic)", ScalableF7::new, 1, -1.28, 1.28, 0.0, 0.0, "classic unimodal separable noisy");
+        scalable("ScalableF8", "F8 (Schwefel 2.26)", ScalableF8::new, 1, -500.0, 500.0, 0.0, 420.9687, "classic multimodal separable").foptPerDim = -418.9829;
+        scalable("ScalableF9", "F9 (Rastrigin)", ScalableF9::new, 1, -5.12, 5.12, 0.0, 0.0, "classic multimodal separable");
+        scalable("ScalableF10", "F10 (Ackley)", ScalableF10::new, 1, -32.0, 32.0, 0.0, 0.0, "classic multimodal nonseparable");
+        scalable("ScalableF11", "F11 (Griewank)", ScalableF11::new, 1, -600.0, 600.0, 0.0, 0.0, "classic multimodal nonseparable");
+        scalable("ScalableF12", "F12 (Penalized)", ScalableF12::new, 2, -50.0, 50.0, 0.0, -1.0, "classic multimodal nonseparable");
+        scalable("ScalableF13", "F13 (Penalized 2)", ScalableF13::new, 2, -50.0, 50.0, 0.0, 1.0, "classic multimodal nonseparable");
+
+        // low dimensional test functions
+        fixed("f1", "Goldstein-Price", f1::new, 2, -2.0, 2.0, 3.0, v(0.0, -1.0), "multimodal nonseparable");
+        fixed("f2", "Beale", f2::new, 2, -4.5, 4.5, 0.0, v(3.0, 0.5), "unimodal nonseparable");
+        fixed("f3", "Bohachevsky 1", f3::new, 2, -5.0, 5.0, 0.0, v(0.0, 0.0), "multimodal separable");
+        fixed("f4", "Bohachevsky 2", f4::new, 2, -5.0, 5.0, 0.0, v(0.0, 0.0), "multimodal nonseparable");
+        fixed("f5", "Bohachevsky 3", f5::new, 2, -5.0, 5.0, 0.0, v(0.0, 0.0), "multimodal nonseparable");
+        fixed("f6", "Booth", f6::new, 2, -10.0, 10.0, 0.0, v(1.0, 3.0), "unimodal nonseparable");
+        fixed("f7", "Branin", f7::new, v(-5.0, 0.0), v(10.0, 15.0), 0.397887, v(Math.PI, 2.275), "multimodal nonseparable niching");
+        fixed("f8", "Colville", f8::new, 4, -10.0, 10.0, 0.0, v(1.0, 1.0, 1.0, 1.0), "unimodal nonseparable");
+        fixed("f9", "Easom", f9::new, 2, -100.0, 100.0, -1.0, v(Math.PI, Math.PI), "unimodal separable");
+        fixed("f10", "Himmelblau", f10::new, 2, -6.0, 6.0, 0.0, v(3.0, 2.0), "multimodal nonseparable niching");
+        scalable("f11", "Griewank", f11::new, 1, -600.0, 600.0, 0.0, 0.0, "multimodal nonseparable");
+        fixed("f12", "Hartman 3", f12::new, 3, 0.0, 1.0, -3.86, v(0.114, 0.556, 0.852), "multimodal nonseparable");
+        fixed("f13", "Matyas", f13::new, 2, -10.0, 10.0, 0.0, v(0.0, 0.0), "unimodal nonseparable");
+        fixed("f14", "Michalewicz", f14::new, 2, 0.0, Math.PI, -1.8013, v(2.20, 1.57), "multimodal separable");
+        fixed("f17", "Shekel 10", f17::new, 4, 0.0, 10.0, -10.5364, v(4.0, 4.0, 4.0, 4.0), "multimodal nonseparable");
+        fixed("f18", "Trid 6", f18::new, 6, -36.0, 36.0, -50.0, v(6.0, 10.0, 12.0, 12.0, 10.0, 6.0), "unimodal nonseparable");
+        scalable("f19", "Zakharov", f19::new, 1, -5.0, 10.0, 0.0, 0.0, "unimodal nonseparable");
+        scalable("f20", "Levy", f20::new, 2, -10.0, 10.0, 0.0, 1.0, "multimodal nonseparable");
+        scalable("f21", "Dixon-Price", f21::new, 2, -10.0, 10.0, 0.0, NONE, "unimodal nonseparable");
+        scalable("f22", "Salomon", f22::new, 1, -10.0, 10.0, 0.0, 0.0, "multimodal nonseparable");
+        scalable("f23", "Whitley", f23::new, 1, -10.0, 10.0, 0.0, 1.0, "multimodal nonseparable");
+        scalable("f24", "Quartic with noise", f24::new, 1, -1.28, 1.28, 0.0, 0.0, "unimodal separable noisy");
+        scalable("f25", "Quartic with noise 2", f25::new, 1, -1.28, 1.28, 0.0, 0.0, "unimodal separable noisy");
+        fixed("f26", "Six-hump camel back", f26::new, 2, -5.0, 5.0, -1.0316285, v(0.0898, -0.7126), "multimodal nonseparable niching");
+        scalable("f27", "Schwefel 2.22", f27::new, 1, -100.0, 100.0, 0.0, 0.0, "unimodal nonseparable");
+        fixed("f28", "Kowalik", f28::new, 4, -5.0, 5.0, 3.0748e-4, v(0.1928, 0.1908, 0.1231, 0.1358), "multimodal nonseparable");
+        scalable("f29", "Schaffer", f29::new, 2, -100.0, 100.0, 0.0, 0.0, "multimodal nonseparable");
+        scalable("f30", "Rosenbrock valley", f30::new, 2, -2.048, 2.048, 0.0, 1.0, "unimodal nonseparable");
+        scalable("f31", "De Jong sphere", f31::new, 1, -5.12, 5.12, 0.0, 0.0, "unimodal separable");
+        scalable("f32", "Axis parallel hyper-ellipsoid", f32::new, 1, -5.12, 5.12, 0.0, 0.0, "unimodal separable");
+        scalable("f33", "Rotated hyper-ellipsoid", f33::new, 1, -65.536, 65.536, 0.0, 0.0, "unimodal separable");
+        scalable("f34", "Rastrigin", f34::new, 1, -5.12, 5.12, 0.0, 0.0, "multimodal separable");
+        scalable("f35", "Sum of different powers", f35::new, 1, -1.0, 1.0, 0.0, 0.0, "unimodal separable");
+        scalable("f36", "Ackley", f36::new, 1, -32.768, 32.768, 0.0, 0.0, "multimodal nonseparable");
+        fixed("f37", "Drop wave", f37::new, 2, -5.12, 5.12, -1.0, v(0.0, 0.0), "multimodal nonseparable");
+        fixed("f38", "Shubert", f38::new, 2, -10.0, 10.0, NONE, null, "multimodal separable niching");
+        benchmark_info fletcher = scalable("f39", "Fletcher-Powell", f39::new, 2, -Math.PI, Math.PI, 0.0, NONE, "multimodal nonseparable");
+        fletcher.defaultDim = 10;
+        fletcher.maxDim = f39.MAXDIM;
+        fletcher.xopt = f39.ALFA.clone();
+        scalable("f40", "Step", f40::new, 1, -5.0, 5.0, 0.0, -0.5, "unimodal separable");
+        scalable("f41", "Penalized", f41::new, 2, -5.0, 5.0, 0.0, -1.0, "multimodal nonseparable");
+        scalable("f42", "Penalized 2", f42::new, 2, -5.0, 5.0, 0.0, 1.0, "multimodal nonseparable");
+        fixed("f43", "Shekel foxholes", f43::new, 2, -65.536, 65.536, 0.0, v(-32.0, -32.0), "multimodal separable");
+        fixed("f44", "Shekel foxholes 10D", f44::new, 10, 0.0, 10.0, NONE, null, "multimodal nonseparable");
+        fixed("f45", "Exp2", f45::new, 2, 0.0, 20.0, 0.0, v(1.0, 10.0), "unimodal nonseparable");
+        scalable("f46", "Stretched V", f46::new, 2, -10.0, 10.0, NONE, NONE, "multimodal nonseparable");
+        fixed("f47", "Trecanni", f47::new, 2, -5.0, 5.0, 0.0, v(0.0, 0.0), "multimodal separable");
+        fixed("f48", "Trefethen 4", f48::new, v(-6.5, -4.5), v(6.5, 4.5), -3.306868, v(-0.0244031, 0.2106124), "multimodal nonseparable");
+        fixed("f49", "Paviani", f49::new, 10, 2.001, 9.999, -45.778, v(9.351, 9.351, 9.351, 9.351, 9.351, 9.351, 9.351, 9.351, 9.351, 9.351), "multimodal nonseparable");
+        fixed("f50", "McCormick", f50::new, v(-1.5, -3.0), v(4.0, 4.0), -1.9133, v(-0.54719, -1.54719), "multimodal nonseparable");
+        fixed("f51", "Leon", f51::new, 2, -1.2, 1.2, 0.0, v(1.0, 1.0), "unimodal nonseparable");
+        scalable("f552", "Bohachevsky (expanded)", f552::new, 2, -5.12, 5.12, 0.0, 0.0, "multimodal nonseparable");
+        scalable("f553", "Deb 1 (exponential)", f553::new, 1, -1.0, 1.0, -1.0, 0.0, "unimodal nonseparable");
+        scalable("f554", "Zero sum", f554::new, 1, -10.0, 10.0, 0.0, 0.0, "multimodal nonseparable");
+        fixed("f53", "Hansen", f53::new, 2, -10.0, 10.0, -176.54, v(-1.30, -1.42), "multimodal separable niching");
+        fixed("f54", "Gear train", f54::new, 4, 12.0, 60.0, 2.700857e-12, v(16.0, 19.0, 43.0, 49.0), "multimodal nonseparable engineering discrete");
+        fixed("f55", "Eggholder", f55::new, 2, -512.0, 512.0, -959.6407, v(512.0, 404.2319), "multimodal nonseparable");
+        fixed("f56", "Chichinadze", f56::new, 2, -30.0, 30.0, -43.3159, v(5.90133, 0.5), "multimodal separable");
+        fixed("f57", "Zettl", f57::new, 2, -30.0, 30.0, -0.003791, v(-0.02990, 0.0), "unimodal nonseparable");
+        scalable("f58", "Plateau", f58::new, 1, -5.12, 5.12, 30.0, 0.0, "unimodal separable");
+        scalable("f59", "Xin-She Yang 1", f59::new, 1, -2.0 * Math.PI, 2.0 * Math.PI, 0.0, 0.0, "multimodal nonseparable");
+        scalable("f60", "Xin-She Yang stochastic", f60::new, 1, -5.0, 5.0, 0.0, NONE, "multimodal separable noisy");
+        scalable("f61", "Xin-She Yang 4", f61::new, 1, -10.0, 10.0, -1.0, 0.0, "multimodal nonseparable");
+
+        // CEC 2014 / CEC 2013 niching style functions
+        scalable("f665", "Weierstrass", f665::new, 1, -0.5, 0.5, 0.0, 0.0, "multimodal separable");
+        scalable("f666", "HGBat", f666::new, 2, -100.0, 100.0, 0.0, -1.0, "multimodal nonseparable");
+        scalable("f667", "HappyCat", f667::new, 2, -100.0, 100.0, 0.0, -1.0, "multimodal nonseparable");
+        scalable("f668", "Katsuura", f668::new, 1, -100.0, 100.0, 200.0, 0.0, "multimodal nonseparable");
+        scalable("f669", "Griewank plus Rosenbrock", f669::new, 2, -5.0, 5.0, 0.0, 1.0, "multimodal nonseparable");
+        scalable("f670", "Expanded Schaffer F6", f670::new, 2, -100.0, 100.0, 0.0, 0.0, "multimodal nonseparable");
+        scalable("f671", "Modified Schwefel", f671::new, 1, -100.0, 100.0, 0.0, 0.0, "multimodal separable");
+        scalable("f672", "Expanded two-peak trap", f672::new, 1, -20.0, 20.0, 0.0, 0.0, "multimodal separable niching");
+        scalable("f673", "Expanded five-uneven-peak trap", f673::new, 1, 0.0, 30.0, 0.0, 0.0, "multimodal separable niching");
+        scalable("f674", "Expanded equal minima", f674::new, 1, -0.1, 0.9, 0.0, 0.0, "multimodal separable niching");
+        scalable("f675", "Expanded decreasing minima", f675::new, 1, -0.1, 0.9, 0.0, 0.0, "multimodal separable niching");
+        scalable("f676", "Expanded uneven minima", f676::new, 1, -0.0797, 0.9203, 0.0, 0.0, "multimodal separable niching").foptPerDim = -2.0;
+        scalable("f677", "Expanded Himmelblau", f677::new, 2, -3.0, 9.0, 0.0, 5.0, "multimodal nonseparable niching");
+        scalable("f678", "Modified Vincent", f678::new, 1, -3.8612, 5.8888, -0.9, NONE, "multimodal separable niching");
+        scalable("f679", "Shifted sphere", f679::new, 1, -100.0, 100.0, -450.0, 1.0, "unimodal separable shifted");
+        scalable("f680", "Shifted Rastrigin", f680::new, 1, -5.0, 5.0, -330.0, 1.0, "multimodal separable shifted");
+        scalable("f681", "Shifted Griewank", f681::new, 1, -600.0, 600.0, -180.0, 1.0, "multimodal nonseparable shifted");
+        scalable("f682", "Shifted Ackley", f682::new, 1, -32.0, 32.0, -140.0, 1.0, "multimodal nonseparable shifted");
+
+        // CEC 2005 style shifted/rotated family; shift and rotation data from -cecdata <dir> or generated
+        scalable("cec_f1", "CEC shifted sphere", () -> new cec_sphere("cec_f1", -450.0, false), 1, -100.0, 100.0, -450.0, NONE, "unimodal separable shifted cec");
+        scalable("cec_f2", "CEC shifted Schwefel 1.2", () -> new cec_schwefel12("cec_f2", -450.0, false), 1, -100.0, 100.0, -450.0, NONE, "unimodal nonseparable shifted cec");
+        scalable("cec_f3", "CEC rotated elliptic", () -> new cec_elliptic("cec_f3", -450.0, true), 1, -100.0, 100.0, -450.0, NONE, "unimodal nonseparable shifted rotated cec");
+        scalable("cec_f6", "CEC shifted Rosenbrock", () -> new cec_rosenbrock("cec_f6", 390.0, false), 2, -100.0, 100.0, 390.0, NONE, "multimodal nonseparable shifted cec");
+        scalable("cec_f7", "CEC rotated Griewank", () -> new cec_griewank("cec_f7", -180.0, true), 1, -600.0, 600.0, -180.0, NONE, "multimodal nonseparable shifted rotated cec");
+        scalable("cec_f8", "CEC rotated Ackley", () -> new cec_ackley("cec_f8", -140.0, true), 1, -32.0, 32.0, -140.0, NONE, "multimodal nonseparable shifted rotated cec");
+        scalable("cec_f9", "CEC shifted Rastrigin", () -> new cec_rastrigin("cec_f9", -330.0, false), 1, -5.0, 5.0, -330.0, NONE, "multimodal separable shifted cec");
+        scalable("cec_f10", "CEC rotated Rastrigin", () -> new cec_rastrigin("cec_f10", -330.0, true), 1, -5.0, 5.0, -330.0, NONE, "multimodal nonseparable shifted rotated cec");
+        scalable("cec_f11", "CEC rotated Weierstrass", () -> new cec_weierstrass("cec_f11", 90.0, true), 1, -0.5, 0.5, 90.0, NONE, "multimodal nonseparable shifted rotated cec");
+
+        // parameter estimation
+        fixed("solar1", "Single diode solar cell", solar1::new, v(0.0, 0.0, 0.0, 0.0, 1.0), v(0.5, 100.0, 1.0, 1.0e-6, 2.0), 9.8602e-4, null, "identification");
+        fixed("solar2", "Double diode solar cell", solar2::new, v(0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 1.0), v(0.5, 100.0, 1.0, 1.0e-6, 2.0, 1.0e-6, 2.0), 9.8248e-4, null, "identification");
+        fixed("pv", "PV module single diode", pv::new, v(0.0, 0.0, 0.0, 0.0, 1.0), v(2.0, 2000.0, 2.0, 5.0e-5, 50.0), 2.4251e-3, null, "identification");
+        pem_fuel_cell pem = new par_est();
+        fixed("par_est", "PEM fuel cell, 24-cell stack", par_est::new, pem.lower(), pem.upper(), NONE, null, "identification");
+        pem = new par_est2();
+        fixed("par_est2", "PEM fuel cell, single cell", par_est2::new, pem.lower(), pem.upper(), NONE, null, "identification");
+        pem = new par_est3();
+        fixed("par_est3", "PEM fuel cell, 24-cell stack, geometry", par_est3::new, pem.lower(), pem.upper(), NONE, null, "identification");
+        pem = new par_est4();
+        fixed("par_est4", "PEM fuel cell, 32-cell stack", par_est4::new, pem.lower(), pem.upper(), NONE, null, "identification");
+        fixed("muzo", "Diode I-V fit with noise", muzo::new, v(1e-20, 0.0, 0.0, 100.0), v(2.0, 10000.0, 5.0, 100000000.0), NONE, null, "identification noisy");
+        fixed("parf1", "Lorenz parameters", parf1::new, v(0.0, 0.0, 0.0), v(20.0, 50.0, 10.0), 0.0, v(10.0, 28.0, 8.0 / 3.0), "identification");
+        fixed("parf2", "Chen parameters", parf2::new, v(0.0, 0.0, 0.0), v(50.0, 10.0, 50.0), 0.0, v(35.0, 3.0, 28.0), "identification");
+        fixed("parf3", "Rossler parameters", parf3::new, v(0.0, 0.0, 0.0), v(5.0, 5.0, 10.0), 0.0, v(0.2, 0.2, 5.7), "identification");
+        fixed("freq", "FM sound wave", freq::new, 6, -6.4, 6.35, 0.0, v(1.0, 5.0, 1.5, 4.8, 2.0, 4.9), "identification multimodal");
+        fixed("parf5", "Duffing parameters", parf5::new, v(0.0, 0.0, 0.0), v(5.0, 5.0, 5.0), 0.0, null, "identification");
+        fixed("lorenz_rk4", "Lorenz parameters, 10^4 RK4 samples", () -> new ode_identification(new lorenz_system(), v(2.0, 3.0, 2.0), 0.0, 0.001, 10001, ode_integrator.RK4, 1).withTruth(v(10.0, 28.0, 8.0 / 3.0)), v(0.0, 0.0, 0.0), v(20.0, 50.0, 10.0), 0.0, v(10.0, 28.0, 8.0 / 3.0), "identification ode");
+        fixed("rossler_rk45", "Rossler parameters, 500 adaptive RK45 samples", () -> new ode_identification(new rossler_system(), v(2.0, 3.0, 2.0), 0.0, 0.01, 501, ode_integrator.RK45, 1).withTruth(v(0.2, 0.2, 5.7)), v(0.0, 0.0, 0.0), v(5.0, 5.0, 10.0), 0.0, null, "identification ode");
+
+        // CEC 2006 constrained problems, penalised
+        fixed("cec_g01", "CEC2006 g01", cec_g01::new, v(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0), v(1, 1, 1, 1, 1, 1, 1, 1, 1, 100, 100, 100, 1), -15.0, v(1, 1, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 1), "constrained cec2006");
+        fixed("cec_g02", "CEC2006 g02", cec_g02::new, 20, 0.0, 10.0, -0.80361910412559, null, "constrained cec2006");
+        fixed("cec_g03", "CEC2006 g03", cec_g03::new, 10, 0.0, 1.0, -1.00050010001000, null, "constrained cec2006");
+        fixed("cec_g04", "CEC2006 g04", cec_g04::new, v(78, 33, 27, 27, 27), v(102, 45, 45, 45, 45), -30665.538671783, v(78, 33, 29.9952560256815985, 45, 36.7758129057882073), "constrained cec2006");
+        fixed("cec_g05", "CEC2006 g05", cec_g05::new, v(0, 0, -0.55, -0.55), v(1200, 1200, 0.55, 0.55), 5126.4967140071, v(679.945148297028709, 1026.06697600004691, 0.118876369094410433, -0.396233485215178266), "constrained cec2006");
+        fixed("cec_g06", "CEC2006 g06", cec_g06::new, v(13, 0), v(100, 100), -6961.81387558015, v(14.09500000000000064, 0.8429607892154795668), "constrained cec2006");
+        fixed("cec_g07", "CEC2006 g07", cec_g07::new, 10, -10.0, 10.0, 24.30620906818, null, "constrained cec2006");
+        fixed("cec_g08", "CEC2006 g08", cec_g08::new, v(0, 0), v(10, 10), -0.0958250414180359, v(1.22797135260752599, 4.24537336612274885), "constrained cec2006");
+        fixed("cec_g09", "CEC2006 g09", cec_g09::new, 7, -10.0, 10.0, 680.630057374402, null, "constrained cec2006");
+        fixed("cec_g10", "CEC2006 g10", cec_g10::new, v(100, 1000, 1000, 10, 10, 10, 10, 10), v(10000, 10000, 10000, 1000, 1000, 1000, 1000, 1000), 7049.24802052867, null, "constrained cec2006");
+        fixed("cec_g11", "CEC2006 g11", cec_g11::new, 2, -1.0, 1.0, 0.7499, v(-0.707036070037170616, 0.500000004333606807), "constrained cec2006");
+        fixed("cec_g13", "CEC2006 g13", cec_g13::new, v(-2.3, -2.3, -3.2, -3.2, -3.2), v(2.3, 2.3, 3.2, 3.2, 3.2), 0.053941514041898, null, "constrained cec2006");
+        fixed("cec_g14", "CEC2006 g14", cec_g14::new, 10, 0.0, 10.0, -47.7648884594915, null, "constrained cec2006");
+        fixed("cec_g15", "CEC2006 g15", cec_g15::new, 3, 0.0, 10.0, 961.715022289961, v(3.51212812611795133, 0.216987510429556135, 3.55217854929179921), "constrained cec2006");
+        fixed("cec_g17", "CEC2006 g17", cec_g17::new, v(0, 0, 340, 340, -1000, 0), v(400, 1000, 420, 420, 1000, 0.5236), 8853.53967480648, null, "constrained cec2006");
+        fixed("cec_g18", "CEC2006 g18", cec_g18::new, v(-10, -10, -10, -10, -10, -10, -10, -10, 0), v(10, 10, 10, 10, 10, 10, 10, 10, 20), -0.866025403784439, null, "constrained cec2006");
+        fixed("cec_g21", "CEC2006 g21", cec_g21::new, v(0, 0, 0, 100, 6.3, 5.9, 4.5), v(1000, 40, 40, 300, 6.7, 6.4, 6.25), 193.724510070035, null, "constrained cec2006");
+        fixed("cec_g22", "CEC2006 g22", cec_g22::new,
+                v(0, 0, 0, 0, 0, 0, 0, 100, 100, 100.01, 100, 100, 0, 0, 0, 0.01, 0.01, -4.7, -4.7, -4.7, -4.7, -4.7),
+                v(20000, 1e6, 1e6, 1e6, 4e7, 4e7, 4e7, 299.99, 399.99, 300, 400, 600, 500, 500, 500, 300, 400, 6.25, 6.25, 6.25, 6.25, 6.25),
+                236.430975504001, null, "constrained cec2006");
+        fixed("cec_g23", "CEC2006 g23", cec_g23::new, v(0, 0, 0, 0, 0, 0, 0, 0, 0.01), v(300, 300, 100, 200, 100, 300, 100, 200, 0.03), -400.055099999999584, null, "constrained cec2006");
+        fixed("cec_g24", "CEC2006 g24", cec_g24::new, v(0, 0), v(3, 4), -5.50801327159536, v(2.32952019747762, 3.17849307411774), "constrained cec2006");
+
+        // engineering design
+        fixed("threebartruss", "Three-bar truss", threebartruss::new, 2, 0.0, 1.0, 263.8958434, null, "constrained engineering");
+        fixed("tensioncompression", "Tension/compression spring", tensioncompression::new, v(0.05, 0.25, 2.0), v(2.0, 1.3, 15.0), 0.012665233, null, "constrained engineering");
+        fixed("speedreducer", "Speed reducer", speedreducer::new, v(2.6, 0.7, 17.0, 7.3, 7.3, 2.9, 5.0), v(3.6, 0.8, 28.0, 8.3, 8.3, 3.9, 5.5), 2994.4710661, null, "constrained engineering");
+        fixed("weldedbeam", "Welded beam", weldedbeam::new, v(0.1, 0.1, 0.1, 0.1), v(2.0, 10.0, 10.0, 2.0), 1.724852, null, "constrained engineering");
+        fixed("pressurevessel", "Pressure vessel", pressurevessel::new, v(0.0625, 0.0625, 10.0, 10.0), v(6.1875, 6.1875, 200.0, 200.0), 6059.714335, null, "constrained engineering discrete");
+        fixed("dam2", "Reservoir operation", dam2::new,
+                v(0.0, 0.0, 3.28, 5.36, 3.0, 3.22, 3.22, 1.24, 8.06, 7.65, 7.65, 4.71, 28.74, 28.74, 28.74, 28.74, 28.74, 28.74, 28.74, 28.74, 28.74, 28.74, 28.74, 28.74),
+                v(18.0, 18.0, 18.0, 18.0, 18.0, 18.0, 18.0, 18.0, 18.0, 18.0, 18.0, 18.0, 40.0, 40.0, 40.0, 40.0, 40.0, 40.0, 40.0, 40.0, 40.0, 40.0, 40.0, 40.0),
+                NONE, null, "constrained engineering");
+
+        // fractional programming and small constrained problems
+        fixed("frac_01", "Fractional 1", frac_01::new, v(0.0, 0.0), v(200.0, 200.0), NONE, null, "constrained fractional");
+        fixed("frac_02", "Fractional 2", frac_02::new, v(1.0, 0.0), v(2.0, 200.0), NONE, null, "constrained fractional");
+        fixed("frac_03", "Fractional 3", frac_03::new, v(0.0, 0.0), v(1.0, 1.0), NONE, null, "constrained fractional");
+        fixed("frac_04", "Fractional 4", frac_04::new, v(0.0, 0.0), v(10.0, 10.0), NONE, null, "constrained fractional");
+        fixed("frac_05", "Fractional 5", frac_05::new, v(1.0, 1.0), v(10.0, 10.0), NONE, null, "constrained fractional");
+        fixed("frac_06", "Fractional 6", frac_06::new, v(1.0, 1.0), v(2.25, 4.0), NONE, null, "constrained fractional");
+        fixed("frac_07", "Fractional 7", frac_07::new, v(1.0, 1.0), v(3.0, 3.0), NONE, null, "constrained fractional");
+        fixed("fconstr1", "Constrained 1", fconstr1::new, v(0.1, 0.0), v(1.0, 5.0), NONE, null, "constrained");
+        fixed("fconstr2", "Constrained 2", fconstr2::new, v(0.0, 0.0), v(Math.PI, Math.PI), NONE, null, "constrained");
+        fixed("fconstr3", "Constrained 3", fconstr3::new, v(0.0, 0.0), v(7.0, 7.0), NONE, null, "constrained");
+
+        // weighted-sum bi-objective problems
+        fixed("threebartruss_multi", "Four-bar truss (weighted)", threebartruss_multi::new,
+                v(1.0, Math.sqrt(2.0), Math.sqrt(2.0), 1.0), v(3.0, 3.0, 3.0, 3.0), NONE, null, "multiobjective engineering");
+        fixed("weldedbeam_multi", "Welded beam (weighted)", weldedbeam_multi::new,
+                v(0.125, 0.1, 0.1, 0.125), v(5.0, 10.0, 10.0, 5.0), NONE, null, "multiobjective constrained engineering");
+        fixed("diskbrake_multi", "Disk brake (weighted)", diskbrake_multi::new,
+                v(55.0, 75.0, 1000.0, 2.0), v(80.0, 110.0, 3000.0, 20.0), NONE, null, "multiobjective constrained engineering");
+
+        // global optima of the niching problems (per coordinate, per pair for f677) and the
+        // niche radii of the CEC 2013 niching competition, 0.5 for the classic 2-D ones
+        niche("f7", 3, 1, 0.5);
+        niche("f10", 4, 1, 0.5);
+        niche("f26", 2, 1, 0.5);
+        niche("f53", 9, 1, 0.5);
+        niche("f672", 1, 1, 0.01);
+        niche("f673", 2, 1, 0.01);
+        niche("f674", 5, 1, 0.01);
+        niche("f675", 1, 1, 0.01);
+        niche("f676", 5, 1, 0.01);
+        niche("f677", 4, 2, 0.01);
+        niche("f678", 5, 1, 0.2);
+    }
+
+    // one of the parameter_estimation models fitted to a CSV or binary dataset; the file is read
+    // once and every run shares the same objective
+    static benchmark_info dataset(String model, String path) throws IOException {
+        measurement_dataset d = measurement_dataset.load(path);
+        parameter_estimation objective = parameter_estimation.create(model, d);
+        String file = Paths.get(path).getFileName().toString();
+        benchmark_info b = new benchmark_info();
+        b.name = "fit-" + model + "-" + file;
+        b.label = model + " fit, " + file + " (" + d.rows + " rows)";
+        b.factory = () -> objective;
+        b.lower = objective.lower();
+        b.upper = objective.upper();
+        b.defaultDim = b.minDim = b.maxDim = b.lower.length;
+        b.tags.add("identification");
+        return b;
+    }
+
+    static benchmark_info get(String name) {
+        return all.get(name);
+    }
+
+    // problems carrying every one of the given tags (or matching by name), in registration order
+    static ArrayList<benchmark_info> select(Collection<String> tags) {
+        ArrayList<benchmark_info> out = new ArrayList<>();
+        for (benchmark_info b : all.values()) {
+            if (tags.size() == 1 && b.name.equals(tags.iterator().next())) {
+                out.add(b);
+            } else if (b.tags.containsAll(tags)) {
+                out.add(b);
+            }
+        }
+        return out;
+    }
+
+    // comma separated tag list, "all" selects everything
+    static ArrayList<benchmark_info> select(String csv) {
+        if (csv.equals("all")) {
+            return new ArrayList<>(all.values());
+        }
+        return select(Arrays.asList(csv.split(",")));
+    }
+
+    static void list(PrintStream out) {
+        out.printf("%-22s %-32s %-8s %-18s %s\n", "Name", "Problem", "D", "f*", "Tags");
+        for (benchmark_info b : all.values()) {
+            String dim = b.scalable() ? b.minDim + ".." : String.valueOf(b.defaultDim);
+            String f = !b.knownOptimum() ? "?" : b.foptPerDim != 0.0 ? b.fopt + (b.foptPerDim > 0 ? "+" : "") + b.foptPerDim + "*D" : String.valueOf(b.fopt);
+            out.printf("%-22s %-32s %-8s %-18s %s\n", b.name, b.label, dim, f, String.join(",", b.tags));
+        }
+    }
+}
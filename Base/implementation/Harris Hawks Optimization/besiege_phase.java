@@ -0,0 +1,233 @@
+import java.util.*;
+
+// One of the six moves of a hawk in harris_hawks_optimization.solution(). The solver draws
+// Escaping_Energy, and q or r, then hands hawk i to the phase of its slot in the phase table;
+// exploration phases find X_rand already drawn. A phase moves X[i] in place; the dives offer
+// their candidates through h.diveStart and h.accept, so solvers that rank points differently
+// (constraints, Pareto dominance, races) reuse the phases. The standard table reproduces the
+// original solver draw for draw. The phases are final singletons, and a table made of them and
+// idle_phase, as table(mask) builds, is run through move(h, i, slot, mask): every call site there
+// has one exact receiver type, so there is no dispatch on the table whatever phases are switched
+// off. Only a table holding other phase objects goes through their virtual move. Tables are not
+// changed in place.
+abstract class besiege_phase {
+
+    static final int EXPLORE_A = 0;     // |E| >= 1, q < 0.5: perch on a random hawk
+    static final int EXPLORE_B = 1;     // |E| >= 1, q >= 0.5: perch relative to rabbit and swarm mean
+    static final int SOFT = 2;          // r >= 0.5, |E| >= 0.5: soft besiege
+    static final int HARD = 3;          // r >= 0.5, |E| < 0.5: hard besiege
+    static final int SOFT_DIVE = 4;     // r < 0.5, |E| >= 0.5: soft besiege with rapid dives
+    static final int HARD_DIVE = 5;     // r < 0.5, |E| < 0.5: hard besiege with rapid dives
+    static final int COUNT = 6;
+    static final int ALL = (1 << COUNT) - 1;
+
+    static final String[] NAMES = {"EXPLORE_A", "EXPLORE_B", "SOFT", "HARD", "SOFT_DIVE", "HARD_DIVE"};
+
+    abstract void move(harris_hawks_optimization h, int i);
+
+    // true for the slots whose phases move the hawk only through h.accept
+    static boolean dive(int slot) {
+        return slot == SOFT_DIVE || slot == HARD_DIVE;
+    }
+
+    static final explore_a EXPLORE_A_PHASE = new explore_a();
+    static final explore_b EXPLORE_B_PHASE = new explore_b();
+    static final soft_besiege SOFT_PHASE = new soft_besiege();
+    static final hard_besiege HARD_PHASE = new hard_besiege();
+    static final soft_dive SOFT_DIVE_PHASE = new soft_dive();
+    static final hard_dive HARD_DIVE_PHASE = new hard_dive();
+    static final idle_phase IDLE_PHASE = new idle_phase();
+
+    // shared, never written
+    static final besiege_phase[] STANDARD = {EXPLORE_A_PHASE, EXPLORE_B_PHASE, SOFT_PHASE, HARD_PHASE,
+            SOFT_DIVE_PHASE, HARD_DIVE_PHASE};
+
+    static besiege_phase[] standard() {
+        return STANDARD;
+    }
+
+    // the phases whose bit is set in mask, the others leave the hawk where it is
+    static besiege_phase[] table(int mask) {
+        if (mask == ALL) {
+            return STANDARD;
+        }
+        besiege_phase[] t = STANDARD.clone();
+        for (int k = 0; k < COUNT; k++) {
+            if ((mask & (1 << k)) == 0) {
+                t[k] = IDLE_PHASE;
+            }
+        }
+        return t;
+    }
+
+    // the mask of a table built from the singletons, -1 if it holds any other phase
+    static int maskOf(besiege_phase[] t) {
+        int mask = 0;
+        for (int k = 0; k < COUNT; k++) {
+            if (t[k] == STANDARD[k]) {
+                mask |= 1 << k;
+            } else if (t[k] != IDLE_PHASE) {
+                return -1;
+            }
+        }
+        return mask;
+    }
+
+    // the phase of slot in the table of mask, each called on its own final class
+    static void move(harris_hawks_optimization h, int i, int slot, int mask) {
+        if ((mask & (1 << slot)) == 0) {
+            return;
+        }
+        switch (slot) {
+            case EXPLORE_A:
+                EXPLORE_A_PHASE.move(h, i);
+                break;
+            case EXPLORE_B:
+                EXPLORE_B_PHASE.move(h, i);
+                break;
+            case SOFT:
+                SOFT_PHASE.move(h, i);
+                break;
+            case HARD:
+                HARD_PHASE.move(h, i);
+                break;
+            case SOFT_DIVE:
+                SOFT_DIVE_PHASE.move(h, i);
+                break;
+            default:
+                HARD_DIVE_PHASE.move(h, i);
+                break;
+        }
+    }
+
+    // comma separated phase names, "all" for every phase
+    static int mask(String names) {
+        if (names.equals("all")) {
+            return ALL;
+        }
+        int mask = 0;
+        for (String name : names.split(",")) {
+            int k = Arrays.asList(NAMES).indexOf(name.trim().toUpperCase());
+            if (k < 0) {
+                throw new IllegalArgumentException("unknown phase " + name + " (" + String.join(", ", NAMES) + ")");
+            }
+            mask |= 1 << k;
+        }
+        return mask;
+    }
+}
+
+
+// a switched-off phase: the hawk keeps its position
+final class idle_phase extends besiege_phase {
+
+    void move(harris_hawks_optimization h, int i) {
+    }
+}
+
+
+final class explore_a extends besiege_phase {
+
+    void move(harris_hawks_optimization h, int i) {
+        double[] x = h.X[i];
+        double[] xr = h.X_rand;
+        Random rnd = h.rnd;
+        for (int j = 0; j < h.D; j++) {
+            x[j] = xr[j] - rnd.nextDouble() * Math.abs(xr[j] - 2.0 * rnd.nextDouble() * x[j]);
+        }
+    }
+}
+
+
+final class explore_b extends besiege_phase {
+
+    void move(harris_hawks_optimization h, int i) {
+        double[] x = h.X[i];
+        Random rnd = h.rnd;
+        h.mean2Dmat = harris_hawks_optimization.mean2D(h.X, h.N);
+        for (int j = 0; j < h.D; j++) {
+            x[j] = (h.Rabbit_Location[j] - h.mean2Dmat[j]) - (rnd.nextDouble() * (h.Lower[j] + ((h.Upper[j] - h.Lower[j]) * rnd.nextDouble())));
+        }
+    }
+}
+
+
+final class soft_besiege extends besiege_phase {
+
+    void move(harris_hawks_optimization h, int i) {
+        double[] x = h.X[i];
+        double[] rabbit = h.Rabbit_Location;
+        double E = h.Escaping_Energy;
+        Random rnd = h.rnd;
+        for (int j = 0; j < h.D; j++) {
+            x[j] = (rabbit[j] - x[j]) - E * Math.abs(2.0 * (1.0 - rnd.nextDouble()) * rabbit[j] - x[j]);
+        }
+    }
+}
+
+
+final class hard_besiege extends besiege_phase {
+
+    void move(harris_hawks_optimization h, int i) {
+        double[] x = h.X[i];
+        double[] rabbit = h.Rabbit_Location;
+        double E = h.Escaping_Energy;
+        for (int j = 0; j < h.D; j++) {
+            x[j] = rabbit[j] - E * Math.abs(rabbit[j] - x[j]);
+        }
+    }
+}
+
+
+// Y towards the rabbit, and if the solver does not accept it for the hawk, Z = Y plus a Levy step
+final class soft_dive extends besiege_phase {
+
+    void move(harris_hawks_optimization h, int i) {
+        double[] x = h.X[i];
+        double[] rabbit = h.Rabbit_Location;
+        double E = h.Escaping_Energy;
+        Random rnd = h.rnd;
+        for (int j = 0; j < h.D; j++) {
+            h.X1[j] = rabbit[j] - E * Math.abs(2.0 * (1.0 - rnd.nextDouble()) * rabbit[j] - x[j]);
+        }
+        h.snap(h.X1);
+
+        h.diveStart(i);
+        if (!h.accept(h.X1, i)) {
+            double[] Levyout = h.Levy();
+            for (int j = 0; j < h.D; j++) {
+                h.X2[j] = rabbit[j] - E * Math.abs(2.0 * (1.0 - rnd.nextDouble()) * rabbit[j] - x[j]) + rnd.nextDouble() * Levyout[j];
+            }
+            h.snap(h.X2);
+            h.accept(h.X2, i);
+        }
+    }
+}
+
+
+// as soft_dive, but the dives start from the swarm mean instead of the hawk
+final class hard_dive extends besiege_phase {
+
+    void move(harris_hawks_optimization h, int i) {
+        double[] x = h.X[i];
+        double[] rabbit = h.Rabbit_Location;
+        double E = h.Escaping_Energy;
+        Random rnd = h.rnd;
+        h.mean2Dmat = harris_hawks_optimization.mean2D(h.X, h.N);
+        for (int j = 0; j < h.D; j++) {
+            h.X1[j] = rabbit[j] - E * Math.abs(2.0 * (1.0 - rnd.nextDouble()) * rabbit[j] - h.mean2Dmat[j]);
+        }
+        h.snap(h.X1);
+
+        h.diveStart(i);
+        if (!h.accept(h.X1, i)) {
+            double[] Levyout = h.Levy();
+            h.mean2Dmat = harris_hawks_optimization.mean2D(h.X, h.N);
+            for (int j = 0; j < h.D; j++) {
+                h.X2[j] = rabbit[j] - E * Math.abs(2.0 * (1.0 - rnd.nextDouble()) * rabbit[j] - h.mean2Dmat[j]) + rnd.nextDouble() * Levyout[j];
+            }
+            h.snap(h.X2);
+            h.accept(h.X2, i);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+// Append-only journal of finished campaign cells, keyed by (function, dimension, run, seed).
+// The first line records the solver options of the campaign, every further line one cell:
+//   #options \t options \t crc32 \n
+//   function \t dimension \t run \t seed \t result \t crc32 \n
+// A restarted campaign replays the file, skips the cells already recorded and only runs the
+// missing ones; a journal written with other options, or without any, is refused rather than
+// mixed with them. A record cut short by a crash (no newline, bad field count or crc mismatch)
+// at the tail of the file is dropped and the file is truncated back to the last good record.
+final class campaign_journal implements Closeable {
+
+    static final String OPTIONS = "#options";
+
+    String path;
+    String options;
+    FileChannel channel;
+    HashMap<String, Double> done;
+    int syncEvery;
+    int pending;
+    int tornRecords;
+
+    // in memory only, nothing survives the process
+    campaign_journal() {
+        done = new HashMap<>();
+        syncEvery = 1;
+    }
+
+    campaign_journal(String ipath, String ioptions) throws IOException {
+        this(ipath, ioptions, 16);
+    }
+
+    // ioptions: fingerprint of the solver options the results depend on
+    // isyncEvery: number of appended records between two fsync calls
+    campaign_journal(String ipath, String ioptions, int isyncEvery) throws IOException {
+        path = ipath;
+        options = ioptions;
+        syncEvery = Math.max(1, isyncEvery);
+        done = new HashMap<>();
+        channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            replay();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static String key(String function, int dim, int run, long seed) {
+        return function + "\t" + dim + "\t" + run + "\t" + seed;
+    }
+
+    static long crc(String body) {
+        CRC32 c = new CRC32();
+        c.update(body.getBytes(StandardCharsets.UTF_8));
+        return c.getValue();
+    }
+
+    void replay() throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(path + " is larger than 2 GiB");
+        }
+        ByteBuffer buf = ByteBuffer.allocate((int) size);
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, buf.position()) < 0) {
+                throw new IOException(path + " ended at " + buf.position() + " of " + size + " bytes");
+            }
+        }
+        byte[] bytes = buf.array();
+
+        String written = null;
+        long lastGood = 0;
+        int start = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            String line = new String(bytes, start, i - start, StandardCharsets.UTF_8);
+            boolean first = start == 0;
+            start = i + 1;
+            if (first) {
+                written = header(line);
+                if (written == null && (parse(line) || start < bytes.length)) {
+                    throw new IOException(path + " has no options header, it was not written by this campaign");
+                }
+                if (written != null) {
+                    lastGood = start;
+                } else {
+                    tornRecords++;
+                }
+            } else if (parse(line)) {
+                lastGood = start;
+            } else {
+                tornRecords++;
+            }
+        }
+        if (start < bytes.length) {
+            tornRecords++;   // trailing record without newline
+        }
+        if (written != null && !written.equals(options)) {
+            throw new IOException(path + " was written with options [" + written + "], not [" + options + "]");
+        }
+        if (lastGood < size) {
+            channel.truncate(lastGood);
+            channel.force(true);
+        }
+        channel.position(lastGood);
+        if (written == null) {
+            append(OPTIONS + "\t" + options);
+            channel.force(true);
+        }
+    }
+
+    // the options of a header line, null if line is not one
+    static String header(String line) {
+        int cut = line.lastIndexOf('\t');
+        if (cut < 0 || !line.startsWith(OPTIONS + "\t")) {
+            return null;
+        }
+        String body = line.substring(0, cut);
+        try {
+            return Long.parseLong(line.substring(cut + 1)) == crc(body) ? body.substring(OPTIONS.length() + 1) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    boolean parse(String line) {
+        int cut = line.lastIndexOf('\t');
+        if (cut < 0) {
+            return false;
+        }
+        String body = line.substring(0, cut);
+        String[] f = body.split("\t");
+        if (f.length != 5) {
+            return false;
+        }
+        try {
+            if (Long.parseLong(line.substring(cut + 1)) != crc(body)) {
+                return false;
+            }
+            done.put(key(f[0], Integer.parseInt(f[1]), Integer.parseInt(f[2]), Long.parseLong(f[3])), Double.parseDouble(f[4]));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return true;
+    }
+
+    synchronized boolean isDone(String function, int dim, int run, long seed) {
+        return done.containsKey(key(function, dim, run, seed));
+    }
+
+    synchronized double result(String function, int dim, int run, long seed) {
+        Double r = done.get(key(function, dim, run, seed));
+        if (r == null) {
+            throw new IllegalArgumentException("no result for " + function + " D=" + dim + " run " + run + " seed " + seed);
+        }
+        return r;
+    }
+
+    synchronized int size() {
+        return done.size();
+    }
+
+    synchronized void record(String function, int dim, int run, long seed, double result) throws IOException {
+        if (channel == null) {
+            done.put(key(function, dim, run, seed), result);
+            return;
+        }
+        append(key(function, dim, run, seed) + "\t" + result);
+        done.put(key(function, dim, run, seed), result);
+        pending++;
+        if (pending >= syncEvery) {
+            sync();
+        }
+    }
+
+    void append(String body) throws IOException {
+        String line = body + "\t" + crc(body) + "\n";
+        ByteBuffer buf = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+
+    // the cell counts as done in this process only; it is not written, so a restarted campaign
+    // runs it again
+    synchronized void hold(String function, int dim, int run, long seed, double result) {
+        done.put(key(function, dim, run, seed), result);
+    }
+
+    synchronized void sync() throws IOException {
+        if (pending > 0) {
+            channel.force(false);
+            pending = 0;
+        }
+    }
+
+    public synchronized void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        sync();
+        channel.close();
+    }
+}
@@ -0,0 +1,373 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Shift vectors and rotation matrices of the shifted/rotated family, as flat row-major arrays.
+// With dir set (-cecdata <dir>) they are read from
+//   <dir>/shift_<name>.txt        at least D whitespace separated values, the first D are used
+//   <dir>/M_<name>_D<D>.txt       D x D values, row major, as in the CEC distributions
+// otherwise they are generated from a seed derived from (name, D): the shift uniformly in 80% of
+// the search box, the rotation as a random orthogonal matrix. Loaded or generated data is cached
+// per (name, D) so that every run of a campaign sees the same instance.
+class cec_data {
+
+    static String dir;
+
+    static final ConcurrentHashMap<String, double[]> cache = new ConcurrentHashMap<>();
+
+    static double[] shift(String name, int n, double lo, double hi) {
+        return cache.computeIfAbsent("shift " + name + " " + n, k -> {
+            if (dir != null) {
+                return read(Paths.get(dir, "shift_" + name + ".txt"), n);
+            }
+            Random r = new Random(seed(name, n));
+            double[] o = new double[n];
+            for (int i = 0; i < n; i++) {
+                o[i] = 0.8 * (lo + r.nextDouble() * (hi - lo));
+            }
+            return o;
+        });
+    }
+
+    static double[] rotation(String name, int n) {
+        return cache.computeIfAbsent("rotation " + name + " " + n, k -> {
+            if (dir != null) {
+                return read(Paths.get(dir, "M_" + name + "_D" + n + ".txt"), n * n);
+            }
+            return orthogonal(n, new Random(seed(name, n) ^ 0x5deece66dL));
+        });
+    }
+
+    static long seed(String name, int n) {
+        return ((long) name.hashCode() << 32) ^ n;
+    }
+
+    static double[] read(Path p, int count) {
+        try {
+            String[] tok = new String(Files.readAllBytes(p)).trim().split("\\s+");
+            if (tok.length < count) {
+                throw new IOException(p + ": " + tok.length + " values, " + count + " needed");
+            }
+            double[] v = new double[count];
+            for (int i = 0; i < count; i++) {
+                v[i] = Double.parseDouble(tok[i]);
+            }
+            return v;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Gaussian matrix orthonormalised row by row (modified Gram-Schmidt)
+    static double[] orthogonal(int n, Random r) {
+        double[] m = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            int ri = i * n;
+            do {
+                for (int j = 0; j < n; j++) {
+                    m[ri + j] = r.nextGaussian();
+                }
+                for (int k = 0; k < i; k++) {
+                    int rk = k * n;
+                    double d = 0.0;
+                    for (int j = 0; j < n; j++) {
+                        d += m[ri + j] * m[rk + j];
+                    }
+                    for (int j = 0; j < n; j++) {
+                        m[ri + j] -= d * m[rk + j];
+                    }
+                }
+            } while (!normalise(m, ri, n));
+        }
+        return m;
+    }
+
+    static boolean normalise(double[] m, int off, int n) {
+        double s = 0.0;
+        for (int j = 0; j < n; j++) {
+            s += m[off + j] * m[off + j];
+        }
+        if (s < 1e-20) {
+            return false;
+        }
+        s = 1.0 / Math.sqrt(s);
+        for (int j = 0; j < n; j++) {
+            m[off + j] *= s;
+        }
+        return true;
+    }
+
+    // y = M z for a row-major n x n matrix. Four rows share each load of z, and z is walked in
+    // blocks that stay in L1 while the four rows stream through.
+    static void rotate(double[] m, double[] z, double[] y, int n) {
+        final int BLOCK = 512;
+        Arrays.fill(y, 0, n, 0.0);
+        for (int jb = 0; jb < n; jb += BLOCK) {
+            int je = Math.min(n, jb + BLOCK);
+            int i = 0;
+            for (; i + 3 < n; i += 4) {
+                int r0 = i * n, r1 = r0 + n, r2 = r1 + n, r3 = r2 + n;
+                double s0 = 0.0, s1 = 0.0, s2 = 0.0, s3 = 0.0;
+                for (int j = jb; j < je; j++) {
+                    double zj = z[j];
+                    s0 += m[r0 + j] * zj;
+                    s1 += m[r1 + j] * zj;
+                    s2 += m[r2 + j] * zj;
+                    s3 += m[r3 + j] * zj;
+                }
+                y[i] += s0;
+                y[i + 1] += s1;
+                y[i + 2] += s2;
+                y[i + 3] += s3;
+            }
+            for (; i < n; i++) {
+                int r0 = i * n;
+                double s0 = 0.0;
+                for (int j = jb; j < je; j++) {
+                    s0 += m[r0 + j] * z[j];
+                }
+                y[i] += s0;
+            }
+        }
+    }
+}
+
+
+// f(x) = base(M (x - o)) + bias, the CEC shifted (and optionally rotated) construction.
+// Evaluation works in two workspace buffers and does not allocate.
+abstract class cec_function extends problem_instance {
+
+    String name;
+    double lo, hi;              // search box the shift is drawn from
+    double bias;
+    boolean rotated;
+
+    double[] o;
+    double[] m;
+
+    cec_function(String iname, double ilo, double ihi, double ibias, boolean irotated) {
+        name = iname;
+        lo = ilo;
+        hi = ihi;
+        bias = ibias;
+        rotated = irotated;
+    }
+
+    double[] shift(int n) {
+        return cec_data.shift(name, n, lo, hi);
+    }
+
+    static double[] constant(int n, double v) {
+        double[] o = new double[n];
+        Arrays.fill(o, v);
+        return o;
+    }
+
+    void prepare(int n) {
+        o = shift(n);
+        m = rotated ? cec_data.rotation(name, n) : null;
+        prepareBase(n);
+    }
+
+    // dimension-dependent constants of the base function
+    void prepareBase(int n) {
+    }
+
+    abstract double base(double z[], int n);
+
+    int[] scratch(int n) {
+        return new int[]{n, n};
+    }
+
+    double eval(double x[], workspace ws) {
+        int n = x.length;
+        double[] z = ws.buf[0];
+        for (int i = 0; i < n; i++) {
+            z[i] = x[i] - o[i];
+        }
+        if (m != null) {
+            cec_data.rotate(m, z, ws.buf[1], n);
+            z = ws.buf[1];
+        }
+        return base(z, n) + bias;
+    }
+}
+
+
+class cec_sphere extends cec_function {
+    cec_sphere(String name, double bias, boolean rotated) {
+        super(name, -100.0, 100.0, bias, rotated);
+    }
+
+    double base(double z[], int n) {
+        double s = 0.0;
+        for (int i = 0; i < n; i++) {
+            s += z[i] * z[i];
+        }
+        return s;
+    }
+}
+
+
+class cec_schwefel12 extends cec_function {
+    cec_schwefel12(String name, double bias, boolean rotated) {
+        super(name, -100.0, 100.0, bias, rotated);
+    }
+
+    double base(double z[], int n) {
+        double s = 0.0;
+        double p = 0.0;
+        for (int i = 0; i < n; i++) {
+            p += z[i];
+            s += p * p;
+        }
+        return s;
+    }
+}
+
+
+class cec_elliptic extends cec_function {
+    double[] w;
+
+    cec_elliptic(String name, double bias, boolean rotated) {
+        super(name, -100.0, 100.0, bias, rotated);
+    }
+
+    void prepareBase(int n) {
+        w = new double[n];
+        for (int i = 0; i < n; i++) {
+            w[i] = n == 1 ? 1.0 : Math.pow(1e6, (double) i / (double) (n - 1));
+        }
+    }
+
+    double base(double z[], int n) {
+        double s = 0.0;
+        for (int i = 0; i < n; i++) {
+            s += w[i] * z[i] * z[i];
+        }
+        return s;
+    }
+}
+
+
+class cec_rosenbrock extends cec_function {
+    cec_rosenbrock(String name, double bias, boolean rotated) {
+        super(name, -100.0, 100.0, bias, rotated);
+    }
+
+    // shifted so that the optimum z = 1 sits at x = o
+    double base(double z[], int n) {
+        double s = 0.0;
+        for (int i = 0; i < n - 1; i++) {
+            double a = z[i] + 1.0;
+            double b = z[i + 1] + 1.0;
+            s += 100.0 * (a * a - b) * (a * a - b) + (a - 1.0) * (a - 1.0);
+        }
+        return s;
+    }
+}
+
+
+class cec_rastrigin extends cec_function {
+    cec_rastrigin(String name, double bias, boolean rotated) {
+        super(name, -5.0, 5.0, bias, rotated);
+    }
+
+    double base(double z[], int n) {
+        double s = 0.0;
+        for (int i = 0; i < n; i++) {
+            s += z[i] * z[i] - 10.0 * Math.cos(2.0 * Math.PI * z[i]) + 10.0;
+        }
+        return s;
+    }
+}
+
+
+class cec_griewank extends cec_function {
+    double[] isq;
+
+    cec_griewank(String name, double bias, boolean rotated) {
+        super(name, -600.0, 600.0, bias, rotated);
+    }
+
+    void prepareBase(int n) {
+        isq = new double[n];
+        for (int i = 0; i < n; i++) {
+            isq[i] = Math.sqrt(i + 1);
+        }
+    }
+
+    double base(double z[], int n) {
+        double s = 0.0;
+        for (int i = 0; i < n; i++) {
+            s += z[i] * z[i] / 4000.0;
+        }
+        double fakt = 1.0;
+        for (int i = 0; i < n; i++) {
+            fakt *= Math.cos(z[i] / isq[i]);
+        }
+        return s - fakt + 1;
+    }
+}
+
+
+class cec_ackley extends cec_function {
+    cec_ackley(String name, double bias, boolean rotated) {
+        super(name, -32.0, 32.0, bias, rotated);
+    }
+
+    double base(double z[], int n) {
+        double s1 = 0.0;
+        double s2 = 0.0;
+        for (int i = 0; i < n; i++) {
+            s1 += z[i] * z[i];
+        }
+        for (int i = 0; i < n; i++) {
+            s2 += Math.cos(2.0 * Math.PI * z[i]);
+        }
+        double part1 = -20.0 * Math.exp(-0.2 * Math.sqrt(s1 / (double) n));
+        double part2 = Math.exp(s2 / (double) n);
+        return part1 - part2 + 20.0 + Math.exp(1);
+    }
+}
+
+
+// a = 0.5, b = 3, kmax = 20
+class cec_weierstrass extends cec_function {
+    static final int KMAX = 20;
+    double[] ak = new double[KMAX + 1];
+    double[] pbk = new double[KMAX + 1];     // 2 pi b^k
+    double offset;
+
+    cec_weierstrass(String name, double bias, boolean rotated) {
+        super(name, -0.5, 0.5, bias, rotated);
+        for (int k = 0; k <= KMAX; k++) {
+            ak[k] = Math.pow(0.5, k);
+            pbk[k] = 2.0 * Math.PI * Math.pow(3.0, k);
+        }
+    }
+
+    void prepareBase(int n) {
+        double s = 0.0;
+        for (int k = 0; k <= KMAX; k++) {
+            s += ak[k] * Math.cos(pbk[k] * 0.5);
+        }
+        offset = n * s;
+    }
+
+    double base(double z[], int n) {
+        double s = 0.0;
+        for (int i = 0; i < n; i++) {
+            double zi = z[i] + 0.5;
+            for (int k = 0; k <= KMAX; k++) {
+                s += ak[k] * Math.cos(pbk[k] * zi);
+            }
+        }
+        return s - offset;
+    }
+}
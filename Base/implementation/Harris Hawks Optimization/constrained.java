@@ -0,0 +1,226 @@
+import java.util.*;
+
+// Objective whose constraints are available apart from the criterion. objective(x) is the raw
+// criterion, violation(x, k) the amount by which constraint k is violated (0 when it holds) in
+// the units of the problem's penalty term: max(0, g)^2 for inequalities, |h| beyond the CEC 2006
+// tolerance for equalities. Constraints are numbered cheapest first. func(x) keeps the problem's
+// penalty form for the plain solver, so penalised results stay reproducible.
+abstract class constrained_objective extends f_xj {
+
+    static final double EQUALITY_TOLERANCE = 1e-4;
+
+    abstract double objective(double x[]);
+
+    abstract int constraints();
+
+    abstract double violation(double x[], int k);
+
+    // violation of an equality constraint from its |h|
+    static double equality(double h) {
+        return Math.max(0.0, h - EQUALITY_TOLERANCE);
+    }
+}
+
+
+// HHO on a constrained_objective without penalty multipliers. Points are ranked by the
+// epsilon-constrained order of Takahama and Sakai: two points whose violations are both <= eps, or
+// equal, are compared by objective, otherwise the smaller violation wins. With eps = 0 this is
+// Deb's feasibility rules; the epsilon schedule starts eps at the violation of the theta-best
+// initial hawk and lowers it as eps(0) (1 - t / Tc)^cp to 0 at iteration Tc.
+//
+// Evaluation is lazy. A candidate sums its constraints cheapest first and is dropped as soon as the
+// sum passes what it needs to beat, without computing the objective; the objective of a point is
+// computed only when violations do not decide (fitnessX holds NaN until then). FEs counts objective
+// evaluations, CEs single constraint evaluations. The hawks move through besiege(i) and the phase
+// table, with accept() as the rule of the dives; the run also ends once maxFEs is spent.
+// Opposition, population reduction and local search of the base solver are not used here.
+class constrained_hho extends harris_hawks_optimization {
+
+    constrained_objective co;
+    int M;
+    boolean epsilon;                 // epsilon schedule instead of eps = 0 throughout
+    double theta = 0.2;
+    double Tc = 0.5;                 // as a share of Maxiter
+    double cp = 5.0;
+    double eps0;
+    double eps;
+    double[] violationX;
+    double[] sortedViolation;
+    double Rabbit_Violation;
+    double fy;                       // objective and violation of the last accepted candidate
+    double vy;
+    long CEs;
+
+    constrained_hho(constrained_objective ico, int iN, double[] iLower, double[] iUpper, int iMaxiter, long seed) {
+        super(ico, iN, iLower, iUpper, iMaxiter, seed);
+        co = ico;
+        M = co.constraints();
+        violationX = new double[N];
+        sortedViolation = new double[N];
+    }
+
+    // with a cache, the objective of lattice points already seen is looked up
+    double objective(double[] x) {
+        if (cache != null) {
+            double f = cache.get(x);
+            if (!Double.isNaN(f)) {
+                return f;
+            }
+            FEs++;
+            f = co.objective(x);
+            cache.put(x, f);
+            return f;
+        }
+        FEs++;
+        return co.objective(x);
+    }
+
+    // total violation of x, or a partial sum > bound once the rest cannot matter; a NaN
+    // constraint (x outside the domain of the problem) counts as an infinite violation
+    double violation(double[] x, double bound) {
+        double v = 0.0;
+        for (int k = 0; k < M; k++) {
+            CEs++;
+            v += co.violation(x, k);
+            if (!(v <= bound)) {
+                break;
+            }
+        }
+        return Double.isNaN(v) ? Double.POSITIVE_INFINITY : v;
+    }
+
+    // < 0 when va comes first, > 0 when vb does, 0 when the objectives decide
+    int byViolation(double va, double vb) {
+        if ((va <= eps && vb <= eps) || va == vb) {
+            return 0;
+        }
+        return va < vb ? -1 : 1;
+    }
+
+    double fitness(int i) {
+        if (Double.isNaN(fitnessX[i])) {
+            fitnessX[i] = objective(X[i]);
+        }
+        return fitnessX[i];
+    }
+
+    double rabbitEnergy() {
+        if (Double.isNaN(Rabbit_Energy)) {
+            Rabbit_Energy = objective(Rabbit_Location);
+        }
+        return Rabbit_Energy;
+    }
+
+    // hawk i has not moved since the top of the iteration, its violation still holds and its
+    // objective is computed if a candidate needs it
+    void diveStart(int i) {
+    }
+
+    // a candidate dive point y replaces hawk i if it comes first in the current order
+    boolean accept(double[] y, int i) {
+        double vi = violationX[i];
+        double bound = Math.max(vi, eps);
+        vy = violation(y, bound);
+        if (vy > bound) {
+            return false;
+        }
+        int c = byViolation(vy, vi);
+        if (c > 0) {
+            return false;
+        }
+        fy = Double.NaN;
+        if (c == 0) {
+            fy = objective(y);
+            if (!(fy < fitness(i))) {
+                return false;
+            }
+        }
+        System.arraycopy(y, 0, X[i], 0, D);
+        fitnessX[i] = fy;
+        violationX[i] = vy;
+        return true;
+    }
+
+    void rabbitImproved() {
+        lastImprovement = iter;
+        if (tracker != null && Rabbit_Violation == 0.0) {
+            tracker.update(rabbitEnergy(), FEs);
+        }
+    }
+
+    void schedule() {
+        if (!epsilon) {
+            eps = 0.0;
+            return;
+        }
+        if (iter == 0) {
+            System.arraycopy(violationX, 0, sortedViolation, 0, N);
+            Arrays.sort(sortedViolation, 0, N);
+            eps0 = sortedViolation[(int) (theta * (N - 1))];
+        }
+        double t = iter / (Tc * Maxiter);
+        eps = t < 1.0 ? eps0 * Math.pow(1.0 - t, cp) : 0.0;
+    }
+
+    double[][] solution() {
+        init();
+        iter = 0;
+        FEs = 0;
+        CEs = 0;
+        lastImprovement = 0;
+        Rabbit_Energy = Double.NaN;
+        Rabbit_Violation = Double.POSITIVE_INFINITY;
+        if (tracker != null) {
+            tracker.start();
+        }
+
+        while (iter < Maxiter && FEs < maxFEs && !cancelled) {
+
+            X = boundary(X);
+            // every violation is needed in full, later candidates are bounded by it
+            for (int i = 0; i < N; i++) {
+                violationX[i] = violation(X[i], Double.POSITIVE_INFINITY);
+                fitnessX[i] = Double.NaN;
+            }
+            schedule();
+            for (int i = 0; i < N; i++) {
+                int c = byViolation(violationX[i], Rabbit_Violation);
+                if (c < 0 || (c == 0 && fitness(i) < rabbitEnergy())) {
+                    System.arraycopy(X[i], 0, Rabbit_Location, 0, D);
+                    Rabbit_Energy = fitnessX[i];
+                    Rabbit_Violation = violationX[i];
+                    rabbitImproved();
+                }
+            }
+
+            E1 = 2.0 * (1.0 - energyPhase());
+
+            for (int i = 0; i < N; i++) {
+                E0 = 2.0 * rnd.nextDouble() - 1.0;
+                Escaping_Energy = E1 * E0;
+                besiege(i);
+            }
+
+            CNVG[iter] = rabbitEnergy();
+            iter++;
+        }
+        finishCurve(rabbitEnergy());
+        if (tracker != null) {
+            tracker.finish(FEs);
+        }
+
+        double[][] out = new double[2][D];
+        System.arraycopy(Rabbit_Location, 0, out[0], 0, D);
+        out[1][0] = rabbitEnergy();
+        return out;
+    }
+
+    void toStringnew() {
+        double[][] out = solution();
+        System.out.println("Optimized value = " + out[1][0] + ", violation = " + Rabbit_Violation);
+        System.out.println("Evaluations = " + FEs + " objective, " + CEs + " constraint");
+        for (int i = 0; i < D; i++) {
+            System.out.println("x[" + i + "] = " + out[0][i]);
+        }
+    }
+}
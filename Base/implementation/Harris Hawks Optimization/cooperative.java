@@ -0,0 +1,372 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+// One group of variables seen as an objective of its own: the group's coordinates are written into
+// a private copy of the context vector and the full objective is evaluated there. Each group has
+// its own copy, so groups can be evaluated on different threads. A separable objective keeps the
+// terms of the context instead and evaluates only the group's own, O(group size) per point.
+class group_objective extends f_xj {
+
+    f_xj ff;
+    int[] idx;
+    double[] full;
+    delta_state delta;
+
+    group_objective(f_xj iff, int[] iidx, double[] context) {
+        ff = iff;
+        idx = iidx;
+        full = context.clone();
+        if (ff.separable()) {
+            delta = new delta_state(ff, full.length);
+        }
+    }
+
+    void setContext(double[] context) {
+        System.arraycopy(context, 0, full, 0, full.length);
+        if (delta != null) {
+            delta.reset(full);
+        }
+    }
+
+    double func(double y[]) {
+        if (delta != null) {
+            return delta.change(idx, y, idx.length);
+        }
+        for (int k = 0; k < idx.length; k++) {
+            full[idx[k]] = y[k];
+        }
+        return ff.func(full);
+    }
+}
+
+
+// Start of a sub-swarm for one cycle: hawk 0 is the group's slice of the context vector, the others
+// are uniform draws, or with carry the positions the sub-swarm ended the previous cycle with.
+class context_init extends population_init {
+
+    group_objective group;
+    boolean carry;
+    boolean filled;
+
+    context_init(group_objective igroup, boolean icarry) {
+        group = igroup;
+        carry = icarry;
+    }
+
+    void fill(double[][] X, int N, double[] lo, double[] hi, Random rnd) {
+        int D = lo.length;
+        if (!carry || !filled) {
+            for (int i = 0; i < N; i++) {
+                for (int j = 0; j < D; j++) {
+                    X[i][j] = lo[j] + (hi[j] - lo[j]) * rnd.nextDouble();
+                }
+            }
+            filled = true;
+        }
+        for (int k = 0; k < D; k++) {
+            X[0][k] = group.full[group.idx[k]];
+        }
+    }
+}
+
+
+// Sub-swarm of one group. Its cycles are short runs of the base solver, but the escaping energy
+// follows the whole cooperative run: a cycle starts at the share of the budget already spent and
+// moves on by the share the previous cycle took.
+class group_swarm extends harris_hawks_optimization {
+
+    double progress;
+    double step;
+
+    group_swarm(group_objective igroup, int iN, double[] iLower, double[] iUpper, int iMaxiter, long seed) {
+        super(igroup, iN, iLower, iUpper, iMaxiter, seed);
+    }
+
+    double energyPhase() {
+        return Math.min(1.0, progress + step * iter / Maxiter);
+    }
+}
+
+
+// Cooperative coevolution for large D. The variables are split into groups, by random grouping
+// (a new permutation cut into groups of groupSize every cycle, Yang et al. 2008) or by recursive
+// differential grouping (Sun et al. 2017) once at the start of the run, where interacting
+// variables share a group and separable ones are packed groupSize at a time. Each cycle every
+// group runs its own HHO sub-swarm for subIter iterations against the context vector of the cycle
+// start, the groups in parallel on up to threads cores. The improved slices are then merged
+// into the context together; if the merge is worse than the best single-group result (the
+// groups interact after all), that group's slice alone is kept. Runs until the evaluation
+// budget maxFEs is spent; Rabbit_Location is the context vector. Each sub-swarm has its own
+// seeded Random and the merge runs in group order, so a seeded run is reproducible whatever the
+// thread count.
+class cooperative_hho extends harris_hawks_optimization {
+
+    String grouping;                 // "random" or "differential"
+    int groupSize = 100;
+    int subN = 30;
+    int subIter = 10;
+    int threads = Runtime.getRuntime().availableProcessors();
+    double alpha = 1e-12;            // differential grouping threshold, relative to |f|
+    long groupingFEs;                // part of FEs spent detecting the groups
+
+    int[][] groups;
+    group_objective[] objectives;
+    group_swarm[] swarms;
+    double[] context;
+    double[] mergedContext;
+    double step;                     // share of maxFEs the last cycle took
+
+    cooperative_hho(f_xj iff, int iN, double[] iLower, double[] iUpper, int iMaxiter, long seed, String igrouping) {
+        super(iff, iN, iLower, iUpper, iMaxiter, seed);
+        if (!igrouping.equals("random") && !igrouping.equals("differential")) {
+            throw new IllegalArgumentException("unknown grouping " + igrouping + " (random or differential)");
+        }
+        grouping = igrouping;
+        subN = iN;
+        context = new double[D];
+        mergedContext = new double[D];
+        // the plain solver's evaluations at the same N and Maxiter, about two per hawk and iteration
+        maxFEs = 2L * iN * iMaxiter;
+    }
+
+    double[][] solution() {
+        FEs = 0;
+        groupingFEs = 0;
+        iter = 0;
+        step = 0.0;
+        for (int j = 0; j < D; j++) {
+            context[j] = Lower[j] + (Upper[j] - Lower[j]) * rnd.nextDouble();
+        }
+        Rabbit_Energy = evaluate(context);
+        System.arraycopy(context, 0, Rabbit_Location, 0, D);
+        if (grouping.equals("differential")) {
+            long before = FEs;
+            buildGroups(differentialGroups());
+            groupingFEs = FEs - before;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            while (FEs < maxFEs && !cancelled) {
+                if (grouping.equals("random")) {
+                    buildGroups(randomGroups());
+                }
+                cycle(pool);
+                if (iter < Maxiter) {
+                    CNVG[iter] = Rabbit_Energy;
+                }
+                iter++;
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("cooperative cycle failed", e);
+        } finally {
+            pool.shutdown();
+        }
+        for (int t = iter; t < Maxiter; t++) {
+            CNVG[t] = Rabbit_Energy;
+        }
+
+        double[][] out = new double[2][D];
+        System.arraycopy(Rabbit_Location, 0, out[0], 0, D);
+        out[1][0] = Rabbit_Energy;
+        return out;
+    }
+
+    // one sub-swarm per group against the current context, then the merge
+    void cycle(ExecutorService pool) throws InterruptedException, ExecutionException {
+        List<Future<?>> running = new ArrayList<>();
+        long start = FEs;
+        for (int g = 0; g < groups.length; g++) {
+            objectives[g].setContext(context);
+            group_swarm s = swarms[g];
+            s.Rabbit_Energy = 1e80;
+            s.progress = (double) FEs / maxFEs;
+            s.step = step;
+            running.add(pool.submit(() -> {
+                s.solution();
+            }));
+        }
+        for (Future<?> f : running) {
+            f.get();
+        }
+
+        int best = -1;
+        System.arraycopy(context, 0, mergedContext, 0, D);
+        for (int g = 0; g < groups.length; g++) {
+            group_swarm s = swarms[g];
+            FEs += s.FEs;
+            if (s.Rabbit_Energy < Rabbit_Energy) {
+                int[] idx = groups[g];
+                for (int k = 0; k < idx.length; k++) {
+                    mergedContext[idx[k]] = s.Rabbit_Location[k];
+                }
+                if (best < 0 || s.Rabbit_Energy < swarms[best].Rabbit_Energy) {
+                    best = g;
+                }
+            }
+        }
+        step = (double) (FEs - start) / maxFEs;
+        if (best < 0) {
+            return;
+        }
+        double fm = evaluate(mergedContext);
+        if (fm <= swarms[best].Rabbit_Energy) {
+            System.arraycopy(mergedContext, 0, context, 0, D);
+            Rabbit_Energy = fm;
+        } else {
+            int[] idx = groups[best];
+            for (int k = 0; k < idx.length; k++) {
+                context[idx[k]] = swarms[best].Rabbit_Location[k];
+            }
+            Rabbit_Energy = swarms[best].Rabbit_Energy;
+        }
+        System.arraycopy(context, 0, Rabbit_Location, 0, D);
+        rabbitImproved();
+    }
+
+    // one sub-swarm per group; with a fixed grouping the sub-swarms keep their hawks across cycles
+    void buildGroups(int[][] g) {
+        boolean carry = grouping.equals("differential");
+        if (groups != null && groups.length == g.length && !carry) {
+            for (int k = 0; k < g.length; k++) {
+                System.arraycopy(g[k], 0, groups[k], 0, g[k].length);
+                for (int j = 0; j < g[k].length; j++) {
+                    swarms[k].Lower[j] = Lower[g[k][j]];
+                    swarms[k].Upper[j] = Upper[g[k][j]];
+                }
+            }
+            return;
+        }
+        groups = g;
+        objectives = new group_objective[g.length];
+        swarms = new group_swarm[g.length];
+        for (int k = 0; k < g.length; k++) {
+            double[] lo = new double[g[k].length];
+            double[] hi = new double[g[k].length];
+            for (int j = 0; j < g[k].length; j++) {
+                lo[j] = Lower[g[k][j]];
+                hi[j] = Upper[g[k][j]];
+            }
+            objectives[k] = new group_objective(ff, g[k], context);
+            swarms[k] = new group_swarm(objectives[k], subN, lo, hi, subIter, rnd.nextLong());
+            swarms[k].initializer = new context_init(objectives[k], carry);
+        }
+    }
+
+    int[][] randomGroups() {
+        int[] perm = new int[D];
+        for (int j = 0; j < D; j++) {
+            perm[j] = j;
+        }
+        for (int j = D - 1; j > 0; j--) {
+            int k = rnd.nextInt(j + 1);
+            int t = perm[j];
+            perm[j] = perm[k];
+            perm[k] = t;
+        }
+        return chunks(perm, D);
+    }
+
+    // perm[0, n) cut into groups of groupSize, the last one shorter
+    int[][] chunks(int[] perm, int n) {
+        int count = (n + groupSize - 1) / groupSize;
+        int[][] g = new int[count][];
+        for (int k = 0; k < count; k++) {
+            g[k] = Arrays.copyOfRange(perm, k * groupSize, Math.min(n, (k + 1) * groupSize));
+        }
+        return g;
+    }
+
+    // Recursive differential grouping: X1 grows by every variable of the rest that interacts with
+    // it, found by halving the rest; X1 is closed when nothing more interacts. Two variable sets
+    // interact when moving X1 from its lower to its upper bound changes f by a different amount
+    // with the rest at its lower bounds than with the rest at the box centre.
+    int[][] differentialGroups() {
+        double[] base = Lower.clone();
+        double fbase = evaluate(base);
+        double eps = Double.POSITIVE_INFINITY;
+        double[] probe = new double[D];
+        for (int k = 0; k < 10; k++) {
+            for (int j = 0; j < D; j++) {
+                probe[j] = Lower[j] + (Upper[j] - Lower[j]) * rnd.nextDouble();
+            }
+            eps = Math.min(eps, Math.abs(evaluate(probe)));
+        }
+        eps *= alpha;
+
+        ArrayList<int[]> nonseparable = new ArrayList<>();
+        int[] separable = new int[D];
+        int separableCount = 0;
+        ArrayList<Integer> rest = new ArrayList<>();
+        for (int j = 1; j < D; j++) {
+            rest.add(j);
+        }
+        ArrayList<Integer> x1 = new ArrayList<>(List.of(0));
+        while (true) {
+            ArrayList<Integer> grown = rest.isEmpty() ? x1 : interact(x1, rest, base, fbase, raised(x1, base), eps);
+            if (grown.size() == x1.size() || rest.isEmpty()) {
+                if (grown.size() == 1) {
+                    separable[separableCount++] = grown.get(0);
+                } else {
+                    nonseparable.add(grown.stream().mapToInt(Integer::intValue).toArray());
+                }
+                if (rest.isEmpty()) {
+                    break;
+                }
+                x1 = new ArrayList<>(List.of(rest.remove(0)));
+            } else {
+                x1 = grown;
+                rest.removeAll(grown);
+            }
+        }
+        int[][] packed = chunks(separable, separableCount);
+        int[][] g = nonseparable.toArray(new int[nonseparable.size() + packed.length][]);
+        System.arraycopy(packed, 0, g, nonseparable.size(), packed.length);
+        return g;
+    }
+
+    // f at base with the variables of x1 at their upper bounds
+    double raised(List<Integer> x1, double[] base) {
+        double[] p = base.clone();
+        for (int j : x1) {
+            p[j] = Upper[j];
+        }
+        return evaluate(p);
+    }
+
+    // fu = raised(x1, base) is the same at every level of the recursion, so the caller computes it once
+    ArrayList<Integer> interact(ArrayList<Integer> x1, List<Integer> x2, double[] base, double fbase, double fu, double eps) {
+        if (x2.isEmpty()) {
+            return x1;
+        }
+        double[] p = base.clone();
+        for (int j : x1) {
+            p[j] = Upper[j];
+        }
+        double[] q = base.clone();
+        for (int j : x2) {
+            q[j] = 0.5 * (Lower[j] + Upper[j]);
+            p[j] = q[j];
+        }
+        double d1 = fbase - fu;
+        double d2 = evaluate(q) - evaluate(p);
+        if (!(Math.abs(d1 - d2) > eps)) {
+            return x1;
+        }
+        if (x2.size() == 1) {
+            ArrayList<Integer> u = new ArrayList<>(x1);
+            u.add(x2.get(0));
+            return u;
+        }
+        int h = x2.size() / 2;
+        ArrayList<Integer> a = interact(x1, x2.subList(0, h), base, fbase, fu, eps);
+        ArrayList<Integer> b = interact(x1, x2.subList(h, x2.size()), base, fbase, fu, eps);
+        ArrayList<Integer> u = new ArrayList<>(a);
+        for (int j : b) {
+            if (!u.contains(j)) {
+                u.add(j);
+            }
+        }
+        return u;
+    }
+}
@@ -0,0 +1,71 @@
+// Cached terms of a separable objective at one point. reset(x) evaluates the point in full; after
+// that a change of k coordinates is evaluated in O(k): trial(j, v) is the value with x_j moved to
+// v and accept() makes that move, change(idx, y, k) the value with x_idx[c] moved to y[c] for
+// c < k, without moving. The running sum is recomputed from the cached terms after every n
+// accepted moves, so rounding does not pile up and a move still costs O(1) amortised.
+class delta_state {
+
+    f_xj ff;
+    int n;
+    double[] terms;
+    double sum;                 // constant(n) plus the terms
+    int moves;                  // accepted moves since the sum was recomputed
+    int pendingIndex = -1;      // the last trial, for accept()
+    double pendingTerm;
+
+    delta_state(f_xj iff, int in) {
+        if (!iff.separable()) {
+            throw new IllegalArgumentException(iff.getClass().getName() + " is not separable");
+        }
+        ff = iff;
+        n = in;
+        terms = new double[n];
+    }
+
+    double reset(double[] x) {
+        for (int j = 0; j < n; j++) {
+            terms[j] = ff.term(x[j], j, n);
+        }
+        resum();
+        pendingIndex = -1;
+        return sum;
+    }
+
+    void resum() {
+        double s = ff.constant(n);
+        for (int j = 0; j < n; j++) {
+            s += terms[j];
+        }
+        sum = s;
+        moves = 0;
+    }
+
+    double value() {
+        return sum;
+    }
+
+    double trial(int j, double v) {
+        pendingIndex = j;
+        pendingTerm = ff.term(v, j, n);
+        return sum - terms[j] + pendingTerm;
+    }
+
+    void accept() {
+        int j = pendingIndex;
+        sum += pendingTerm - terms[j];
+        terms[j] = pendingTerm;
+        pendingIndex = -1;
+        if (++moves >= n) {
+            resum();
+        }
+    }
+
+    double change(int[] idx, double[] y, int k) {
+        double d = 0.0;
+        for (int c = 0; c < k; c++) {
+            int j = idx[c];
+            d += ff.term(y[c], j, n) - terms[j];
+        }
+        return sum + d;
+    }
+}
@@ -0,0 +1,156 @@
+import java.util.*;
+
+// Type of one decision variable: continuous, a grid origin + k * step (integers are the grid of
+// step 1 from 0), or an explicit sorted set of values. snap(v, lo, hi) is the lattice point
+// nearest to v within [lo, hi]; it never returns -0.0, so equal points have equal bits.
+class variable_type {
+
+    static final variable_type CONTINUOUS = new variable_type(0.0, 0.0, null);
+
+    double origin;
+    double step;                     // 0 unless a grid
+    double[] values;                 // null unless a set
+
+    variable_type(double iorigin, double istep, double[] ivalues) {
+        origin = iorigin;
+        step = istep;
+        values = ivalues;
+    }
+
+    static variable_type integer() {
+        return grid(0.0, 1.0);
+    }
+
+    static variable_type grid(double origin, double step) {
+        if (!(step > 0.0)) {
+            throw new IllegalArgumentException("grid step " + step);
+        }
+        return new variable_type(origin, step, null);
+    }
+
+    static variable_type set(double... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("empty value set");
+        }
+        double[] v = values.clone();
+        Arrays.sort(v);
+        return new variable_type(0.0, 0.0, v);
+    }
+
+    // n copies of t
+    static variable_type[] all(int n, variable_type t) {
+        variable_type[] types = new variable_type[n];
+        Arrays.fill(types, t);
+        return types;
+    }
+
+    boolean continuous() {
+        return step == 0.0 && values == null;
+    }
+
+    double snap(double v, double lo, double hi) {
+        if (values != null) {
+            int k = Arrays.binarySearch(values, v);
+            if (k >= 0) {
+                return values[k] + 0.0;
+            }
+            k = -k - 1;
+            if (k == values.length || (k > 0 && v - values[k - 1] <= values[k] - v)) {
+                k--;
+            }
+            return values[k] + 0.0;
+        }
+        if (step == 0.0) {
+            return v;
+        }
+        double y = origin + Math.rint((v - origin) / step) * step;
+        if (y < lo) {
+            y += step;
+        } else if (y > hi) {
+            y -= step;
+        }
+        return y + 0.0;
+    }
+}
+
+
+// Values of lattice points already evaluated, keyed by the exact coordinates. Open addressing
+// over a power-of-two table kept at most half full; once maxSize points are held the table is
+// emptied and refilled from scratch, so mixed problems whose continuous coordinates rarely repeat
+// cannot grow it without bound. NaN values are not stored and a miss returns NaN.
+class lattice_cache {
+
+    int maxSize;
+    int size;
+    double[][] keys;
+    double[] values;
+    long hits;
+    long misses;
+
+    lattice_cache(int imaxSize) {
+        maxSize = imaxSize;
+        keys = new double[64][];
+        values = new double[64];
+    }
+
+    static int hash(double[] x) {
+        long h = 0x9E3779B97F4A7C15L;
+        for (double v : x) {
+            h = (h ^ Double.doubleToLongBits(v)) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // slot of x, or the empty slot where it would go
+    int slot(double[] x) {
+        int mask = keys.length - 1;
+        int s = hash(x) & mask;
+        while (keys[s] != null && !Arrays.equals(keys[s], x)) {
+            s = (s + 1) & mask;
+        }
+        return s;
+    }
+
+    double get(double[] x) {
+        int s = slot(x);
+        if (keys[s] == null) {
+            misses++;
+            return Double.NaN;
+        }
+        hits++;
+        return values[s];
+    }
+
+    void put(double[] x, double f) {
+        if (Double.isNaN(f)) {
+            return;
+        }
+        if (size >= maxSize) {
+            clear();
+        } else if (2 * (size + 1) > keys.length) {
+            double[][] oldKeys = keys;
+            double[] oldValues = values;
+            keys = new double[2 * oldKeys.length][];
+            values = new double[2 * oldKeys.length];
+            for (int s = 0; s < oldKeys.length; s++) {
+                if (oldKeys[s] != null) {
+                    int t = slot(oldKeys[s]);
+                    keys[t] = oldKeys[s];
+                    values[t] = oldValues[s];
+                }
+            }
+        }
+        int s = slot(x);
+        if (keys[s] == null) {
+            keys[s] = x.clone();
+            size++;
+        }
+        values[s] = f;
+    }
+
+    void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+}
@@ -0,0 +1,368 @@
+import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// One campaign cell: run `run` of problem `name` at dimension dim, with its seed and solver size.
+class work_item {
+
+    long id;
+    String name;
+    int dim;
+    int run;
+    long seed;
+    int N;
+    int Maxiter;
+    int attempts;                    // times a worker started it, coordinator side only
+
+    work_item(long iid, String iname, int idim, int irun, long iseed, int iN, int iMaxiter) {
+        id = iid;
+        name = iname;
+        dim = idim;
+        run = irun;
+        seed = iseed;
+        N = iN;
+        Maxiter = iMaxiter;
+    }
+}
+
+
+// Binary protocol between coordinator and workers, big-endian DataStream framing, one tag byte
+// per message:
+//   worker -> coordinator   HELLO version:int name:utf | STARTED id:long | RESULT id:long value:double
+//                           | HEARTBEAT id:long FEs:long | PONG
+//   coordinator -> worker   PING | TASK id:long name:utf dim:int run:int seed:long N:int Maxiter:int
+//                           | BYE
+// A worker holds one task at a time and asks for the next by sending the result of the last. The
+// coordinator pings an idle worker before it hands it a task, and the worker acknowledges a task
+// with STARTED before it builds the solver. Heartbeats carry the item being run and the FEs its
+// solver has spent so far, id and FEs -1 while there is none.
+final class work_protocol {
+
+    static final int VERSION = 2;
+    static final byte HELLO = 1;
+    static final byte TASK = 2;
+    static final byte RESULT = 3;
+    static final byte HEARTBEAT = 4;
+    static final byte BYE = 5;
+    static final byte PING = 6;
+    static final byte PONG = 7;
+    static final byte STARTED = 8;
+
+    static void writeTask(DataOutputStream out, work_item w) throws IOException {
+        out.writeByte(TASK);
+        out.writeLong(w.id);
+        out.writeUTF(w.name);
+        out.writeInt(w.dim);
+        out.writeInt(w.run);
+        out.writeLong(w.seed);
+        out.writeInt(w.N);
+        out.writeInt(w.Maxiter);
+        out.flush();
+    }
+
+    static work_item readTask(DataInputStream in) throws IOException {
+        return new work_item(in.readLong(), in.readUTF(), in.readInt(), in.readInt(), in.readLong(), in.readInt(), in.readInt());
+    }
+
+    // the tag of the next message that is not a heartbeat
+    static byte skipHeartbeats(DataInputStream in) throws IOException {
+        byte tag;
+        while ((tag = in.readByte()) == HEARTBEAT) {
+            in.readLong();
+            in.readLong();
+        }
+        return tag;
+    }
+}
+
+
+// Shards work items to worker JVMs over TCP. Every connection gets a handler thread that hands its
+// worker one item at a time from a shared queue, after a ping shows the worker is still there. A
+// worker sends a heartbeat every heartbeatMillis; a connection silent for timeoutMillis, closed, or
+// whose solver has not spent an evaluation for stallMillis (a hung objective, say) loses its
+// worker, and the item it held goes back to the queue for the next worker to ask. Only a worker
+// that acknowledged the item charges it an attempt; an item that has lost maxAttempts workers is
+// given up with a NaN result, so a problem that kills or hangs its workers cannot stall the
+// campaign. run() returns once every item has a result, and the workers still connected are sent
+// BYE.
+class campaign_coordinator implements Closeable {
+
+    ServerSocket server;
+    int timeoutMillis = 10000;
+    long stallMillis = 60000;        // longer than any stretch without new FEs, one polish call say
+    int maxAttempts = 3;
+    LinkedBlockingDeque<work_item> queue = new LinkedBlockingDeque<>();
+    ConcurrentHashMap<Long, Double> results = new ConcurrentHashMap<>();
+    CountDownLatch remaining;
+    PrintStream log = System.out;
+    AtomicInteger reissued = new AtomicInteger();
+    AtomicInteger givenUp = new AtomicInteger();
+    final ArrayList<Thread> handlers = new ArrayList<>();
+
+    campaign_coordinator(int port) throws IOException {
+        server = new ServerSocket(port);
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    // results by item id; sink, if not null, is called once per item as its result arrives
+    Map<Long, Double> run(List<work_item> items, result_sink sink) throws InterruptedException {
+        remaining = new CountDownLatch(items.size());
+        queue.addAll(items);
+        Thread acceptor = new Thread(() -> accept(sink), "coordinator-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        remaining.await();
+        return results;
+    }
+
+    interface result_sink {
+        void accept(work_item w, double value) throws IOException;
+    }
+
+    void accept(result_sink sink) {
+        while (!server.isClosed()) {
+            try {
+                Socket s = server.accept();
+                Thread t = new Thread(() -> serve(s, sink), "coordinator-" + s.getRemoteSocketAddress());
+                t.setDaemon(true);
+                synchronized (handlers) {
+                    handlers.add(t);
+                }
+                t.start();
+            } catch (IOException e) {
+                return;         // closed
+            }
+        }
+    }
+
+    void serve(Socket s, result_sink sink) {
+        work_item held = null;
+        boolean started = false;
+        String name = String.valueOf(s.getRemoteSocketAddress());
+        try (Socket socket = s) {
+            socket.setSoTimeout(timeoutMillis);
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            if (in.readByte() != work_protocol.HELLO || in.readInt() != work_protocol.VERSION) {
+                throw new IOException("not a worker of protocol version " + work_protocol.VERSION);
+            }
+            name = in.readUTF() + " (" + name + ")";
+            log.println("Worker joined: " + name);
+            while (true) {
+                held = next();
+                started = false;
+                if (held == null) {
+                    out.writeByte(work_protocol.BYE);
+                    out.flush();
+                    return;
+                }
+                // a worker that died while idle is found here, before the item depends on it
+                out.writeByte(work_protocol.PING);
+                out.flush();
+                byte tag = work_protocol.skipHeartbeats(in);
+                if (tag != work_protocol.PONG) {
+                    throw new IOException("unexpected message " + tag);
+                }
+                work_protocol.writeTask(out, held);
+                tag = work_protocol.skipHeartbeats(in);
+                if (tag != work_protocol.STARTED || in.readLong() != held.id) {
+                    throw new IOException("item " + held.id + " not acknowledged");
+                }
+                held.attempts++;
+                started = true;
+                long progress = -1;
+                long advanced = System.currentTimeMillis();
+                while ((tag = in.readByte()) == work_protocol.HEARTBEAT) {
+                    long id = in.readLong();
+                    long fes = in.readLong();
+                    long now = System.currentTimeMillis();
+                    if (id == held.id && fes > progress) {
+                        progress = fes;
+                        advanced = now;
+                    } else if (now - advanced > stallMillis) {
+                        throw new IOException("no progress for " + (now - advanced) + " ms");
+                    }
+                }
+                if (tag != work_protocol.RESULT) {
+                    throw new IOException("unexpected message " + tag);
+                }
+                long id = in.readLong();
+                double value = in.readDouble();
+                if (id != held.id) {
+                    throw new IOException("result for item " + id + ", expected " + held.id);
+                }
+                finish(held, value, sink);
+                held = null;
+            }
+        } catch (IOException e) {
+            String why = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            if (held != null && !started) {
+                queue.addFirst(held);
+                log.println("Worker lost: " + name + " (" + why + "), item " + held.id + " not started, queued again");
+            } else if (held != null && held.attempts >= maxAttempts) {
+                log.println("Worker lost: " + name + " (" + why + "), item " + held.id + " given up");
+                givenUp.incrementAndGet();
+                finish(held, Double.NaN, sink);
+            } else if (held != null) {
+                reissued.incrementAndGet();
+                queue.addFirst(held);
+                log.println("Worker lost: " + name + " (" + why + "), item " + held.id + " re-issued");
+            }
+        }
+    }
+
+    // the next unfinished item, null once all are finished
+    work_item next() {
+        try {
+            while (remaining.getCount() > 0) {
+                work_item w = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (w != null && !results.containsKey(w.id)) {
+                    return w;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    // a failing sink is reported, the result still counts
+    synchronized void finish(work_item w, double value, result_sink sink) {
+        if (results.putIfAbsent(w.id, value) != null) {
+            return;
+        }
+        if (sink != null) {
+            try {
+                sink.accept(w, value);
+            } catch (IOException e) {
+                log.println("Result of item " + w.id + " not stored: " + e.getMessage());
+            }
+        }
+        remaining.countDown();
+    }
+
+    // stops accepting and gives the handlers a moment to send their workers BYE
+    public void close() throws IOException {
+        server.close();
+        synchronized (handlers) {
+            for (Thread t : handlers) {
+                try {
+                    t.join(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+}
+
+
+// The item a worker is running and, once built, its solver; the heartbeat thread reads both.
+final class running_item {
+
+    final long id;
+    volatile harris_hawks_optimization solver;
+
+    running_item(long iid) {
+        id = iid;
+    }
+}
+
+
+// Worker side: connects to the coordinator, runs the items it is handed through solve and returns
+// the best value of each, until it gets BYE. A daemon thread sends a heartbeat with the FEs of the
+// running solver every heartbeatMillis; if the connection is gone it cancels that solver.
+class campaign_worker {
+
+    interface solver {
+        harris_hawks_optimization solve(work_item w);
+    }
+
+    static int heartbeatMillis = 2000;
+
+    static int run(String host, int port, solver solve) throws IOException {
+        int done = 0;
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            String name = InetAddress.getLocalHost().getHostName() + "/" + ProcessHandle.current().pid();
+            synchronized (out) {
+                out.writeByte(work_protocol.HELLO);
+                out.writeInt(work_protocol.VERSION);
+                out.writeUTF(name);
+                out.flush();
+            }
+            AtomicReference<running_item> current = new AtomicReference<>();
+            Thread beat = new Thread(() -> {
+                try {
+                    while (true) {
+                        Thread.sleep(heartbeatMillis);
+                        running_item r = current.get();
+                        harris_hawks_optimization h = r != null ? r.solver : null;
+                        synchronized (out) {
+                            out.writeByte(work_protocol.HEARTBEAT);
+                            out.writeLong(r != null ? r.id : -1);
+                            out.writeLong(h != null ? h.FEs : -1);
+                            out.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    // the coordinator has given the item up or is gone, its result is not wanted
+                    running_item r = current.get();
+                    if (r != null && r.solver != null) {
+                        r.solver.cancelled = true;
+                    }
+                } catch (InterruptedException e) {
+                    // worker done
+                }
+            }, "worker-heartbeat");
+            beat.setDaemon(true);
+            beat.start();
+            try {
+                byte tag;
+                while ((tag = in.readByte()) != work_protocol.BYE) {
+                    if (tag == work_protocol.PING) {
+                        synchronized (out) {
+                            out.writeByte(work_protocol.PONG);
+                            out.flush();
+                        }
+                        continue;
+                    }
+                    if (tag != work_protocol.TASK) {
+                        throw new IOException("unexpected message " + tag);
+                    }
+                    work_item w = work_protocol.readTask(in);
+                    running_item r = new running_item(w.id);
+                    synchronized (out) {
+                        out.writeByte(work_protocol.STARTED);
+                        out.writeLong(w.id);
+                        out.flush();
+                    }
+                    current.set(r);
+                    r.solver = solve.solve(w);
+                    double value = r.solver.solution()[1][0];
+                    current.set(null);
+                    synchronized (out) {
+                        out.writeByte(work_protocol.RESULT);
+                        out.writeLong(w.id);
+                        out.writeDouble(value);
+                        out.flush();
+                    }
+                    done++;
+                }
+            } finally {
+                beat.interrupt();
+            }
+        }
+        return done;
+    }
+}
@@ -0,0 +1,148 @@
+import java.util.*;
+
+// Moving peaks benchmark (Branke 1999) as a minimisation problem: f(x) = min_p (w_p |x - c_p| - h_p),
+// the negated upper envelope of cone peaks. Every changeFrequency evaluations each height and width
+// takes a Gaussian step of the given severity, reflected into its range, and each centre moves by
+// a vector of length shiftSeverity, correlated with its previous move by lambda and reflected at
+// the box. The defaults are Branke's scenario 2 with initial heights and widths drawn from their
+// ranges. The environment is driven by its own seeded Random, so it changes the same way whatever
+// solver samples it.
+//
+// Every evaluation also updates the offline error: the mean over all evaluations of the best value
+// seen since the last change minus the current optimum, which is the value at one of the centres.
+class moving_peaks extends f_xj {
+
+    int D;
+    int peaks;
+    double lo = 0.0;
+    double hi = 100.0;
+    double hmin = 30.0;
+    double hmax = 70.0;
+    double wmin = 1.0;
+    double wmax = 12.0;
+    double heightSeverity = 7.0;
+    double widthSeverity = 1.0;
+    double shiftSeverity = 1.0;
+    double lambda = 0.0;
+    long changeFrequency = 5000;
+
+    double[] centre;            // peak p at [p * D, (p + 1) * D)
+    double[] move;              // last move of each centre, same layout
+    double[] height;
+    double[] width;
+    double[] point;             // one centre, to evaluate the optimum without allocating
+    Random rnd;
+
+    long evaluations;
+    int changes;
+    double optimum;
+    double bestSinceChange;
+    double errorSum;
+
+    moving_peaks(int iD, int ipeaks, long seed) {
+        D = iD;
+        peaks = ipeaks;
+        rnd = new Random(seed);
+        centre = new double[peaks * D];
+        move = new double[peaks * D];
+        height = new double[peaks];
+        width = new double[peaks];
+        point = new double[D];
+        for (int k = 0; k < centre.length; k++) {
+            centre[k] = lo + (hi - lo) * rnd.nextDouble();
+        }
+        for (int p = 0; p < peaks; p++) {
+            height[p] = hmin + (hmax - hmin) * rnd.nextDouble();
+            width[p] = wmin + (wmax - wmin) * rnd.nextDouble();
+        }
+        locateOptimum();
+    }
+
+    double func(double x[]) {
+        if (evaluations > 0 && evaluations % changeFrequency == 0) {
+            change();
+        }
+        evaluations++;
+        double f = value(x);
+        if (f < bestSinceChange) {
+            bestSinceChange = f;
+        }
+        errorSum += bestSinceChange - optimum;
+        return f;
+    }
+
+    double value(double x[]) {
+        double best = Double.POSITIVE_INFINITY;
+        for (int p = 0, o = 0; p < peaks; p++, o += D) {
+            double d2 = 0.0;
+            for (int j = 0; j < D; j++) {
+                double t = x[j] - centre[o + j];
+                d2 += t * t;
+            }
+            double f = width[p] * Math.sqrt(d2) - height[p];
+            if (f < best) {
+                best = f;
+            }
+        }
+        return best;
+    }
+
+    void change() {
+        for (int p = 0, o = 0; p < peaks; p++, o += D) {
+            height[p] = reflect(height[p] + heightSeverity * rnd.nextGaussian(), hmin, hmax);
+            width[p] = reflect(width[p] + widthSeverity * rnd.nextGaussian(), wmin, wmax);
+            // random direction of length shiftSeverity, blended with the previous move
+            double r2 = 0.0;
+            for (int j = 0; j < D; j++) {
+                point[j] = rnd.nextGaussian();
+                r2 += point[j] * point[j];
+            }
+            double rs = shiftSeverity / Math.sqrt(r2);
+            double v2 = 0.0;
+            for (int j = 0; j < D; j++) {
+                point[j] = (1.0 - lambda) * rs * point[j] + lambda * move[o + j];
+                v2 += point[j] * point[j];
+            }
+            double vs = v2 > 0.0 ? shiftSeverity / Math.sqrt(v2) : 0.0;
+            for (int j = 0; j < D; j++) {
+                double v = vs * point[j];
+                double c = centre[o + j] + v;
+                if (c < lo || c > hi) {
+                    c = reflect(c, lo, hi);
+                    v = -v;
+                }
+                centre[o + j] = c;
+                move[o + j] = v;
+            }
+        }
+        changes++;
+        locateOptimum();
+    }
+
+    static double reflect(double v, double min, double max) {
+        if (v > max) {
+            v = 2.0 * max - v;
+        }
+        if (v < min) {
+            v = 2.0 * min - v;
+        }
+        return Math.max(min, Math.min(max, v));
+    }
+
+    void locateOptimum() {
+        optimum = Double.POSITIVE_INFINITY;
+        for (int p = 0; p < peaks; p++) {
+            System.arraycopy(centre, p * D, point, 0, D);
+            optimum = Math.min(optimum, value(point));
+        }
+        bestSinceChange = Double.POSITIVE_INFINITY;
+    }
+
+    double offlineError() {
+        return evaluations == 0 ? Double.NaN : errorSum / evaluations;
+    }
+
+    double currentError() {
+        return bestSinceChange - optimum;
+    }
+}
@@ -0,0 +1,144 @@
+import java.util.*;
+
+// Fixed-target bookkeeping for one run: for every target of a ladder (easiest first) the
+// first evaluation count and elapsed nanoTime at which Rabbit_Energy dropped to it or below.
+class fixed_target_recorder {
+
+    double[] targets;
+    long[] hitFEs;
+    long[] hitNanos;
+    int reached;
+    long startNanos;
+    long totalFEs;
+    long totalNanos;
+
+    fixed_target_recorder(double[] itargets) {
+        targets = itargets;
+        hitFEs = new long[targets.length];
+        hitNanos = new long[targets.length];
+    }
+
+    // targets fopt + 10^k for k = hiExp, hiExp - 1/perDecade, ..., loExp
+    static double[] ladder(double fopt, int hiExp, int loExp, int perDecade) {
+        int n = (hiExp - loExp) * perDecade + 1;
+        double[] t = new double[n];
+        for (int k = 0; k < n; k++) {
+            t[k] = fopt + Math.pow(10.0, hiExp - (double) k / perDecade);
+        }
+        return t;
+    }
+
+    void start() {
+        Arrays.fill(hitFEs, -1L);
+        Arrays.fill(hitNanos, -1L);
+        reached = 0;
+        startNanos = System.nanoTime();
+    }
+
+    void update(double energy, long fes) {
+        if (reached < targets.length && energy <= targets[reached]) {
+            long now = System.nanoTime() - startNanos;
+            while (reached < targets.length && energy <= targets[reached]) {
+                hitFEs[reached] = fes;
+                hitNanos[reached] = now;
+                reached++;
+            }
+        }
+    }
+
+    // called once the run is over, unsuccessful targets are charged with the whole run
+    void finish(long fes) {
+        totalFEs = fes;
+        totalNanos = System.nanoTime() - startNanos;
+    }
+}
+
+
+// ERT and ECDF tables over the runs of one (function, dimension) cell
+class fixed_target_report {
+
+    double fopt;
+    double[] targets;
+    ArrayList<fixed_target_recorder> runs = new ArrayList<>();
+
+    fixed_target_report(double ifopt, double[] itargets) {
+        fopt = ifopt;
+        targets = itargets;
+    }
+
+    fixed_target_recorder newRun() {
+        fixed_target_recorder rec = new fixed_target_recorder(targets);
+        runs.add(rec);
+        return rec;
+    }
+
+    int successes(int t) {
+        int s = 0;
+        for (fixed_target_recorder rec : runs) {
+            if (rec.hitFEs[t] >= 0) {
+                s++;
+            }
+        }
+        return s;
+    }
+
+    // expected running time in evaluations: (evaluations of all runs until hit or end) / successes
+    double ertFEs(int t) {
+        double sum = 0.0;
+        for (fixed_target_recorder rec : runs) {
+            sum += rec.hitFEs[t] >= 0 ? rec.hitFEs[t] : rec.totalFEs;
+        }
+        int s = successes(t);
+        return s == 0 ? Double.POSITIVE_INFINITY : sum / s;
+    }
+
+    double ertSeconds(int t) {
+        double sum = 0.0;
+        for (fixed_target_recorder rec : runs) {
+            sum += rec.hitNanos[t] >= 0 ? rec.hitNanos[t] : rec.totalNanos;
+        }
+        int s = successes(t);
+        return s == 0 ? Double.POSITIVE_INFINITY : sum / s / 1e9;
+    }
+
+    // fraction of (run, target) pairs solved within the given evaluation budget
+    double ecdf(long budget) {
+        int solved = 0;
+        for (fixed_target_recorder rec : runs) {
+            for (int t = 0; t < targets.length; t++) {
+                if (rec.hitFEs[t] >= 0 && rec.hitFEs[t] <= budget) {
+                    solved++;
+                }
+            }
+        }
+        return (double) solved / (double) (runs.size() * targets.length);
+    }
+
+    long maxFEs() {
+        long m = 1;
+        for (fixed_target_recorder rec : runs) {
+            m = Math.max(m, rec.totalFEs);
+        }
+        return m;
+    }
+
+    void print(String title) {
+        System.out.println("-".repeat(60));
+        System.out.println("FIXED-TARGET - " + title + "   f* = " + fopt);
+        System.out.println("-".repeat(60));
+        System.out.printf("%-16s %-10s %-16s %-16s\n", "f - f*", "Success", "ERT (FEs)", "ERT (sec)");
+        for (int t = 0; t < targets.length; t++) {
+            System.out.printf("%-16.1e %-10s %-16.6e %-16.6e\n", targets[t] - fopt, successes(t) + "/" + runs.size(), ertFEs(t), ertSeconds(t));
+        }
+        System.out.println();
+        System.out.printf("%-16s %-16s\n", "Budget (FEs)", "ECDF");
+        long max = maxFEs();
+        for (long b = 10; b < max * 10; b *= 10) {
+            long budget = Math.min(b, max);
+            System.out.printf("%-16d %-16.4f\n", budget, ecdf(budget));
+            if (budget == max) {
+                break;
+            }
+        }
+    }
+}
@@ -3,13 +3,103 @@ import java.io.*;
 
 abstract class f_xj {
     abstract double func(double x[]);
+
+    // Objectives that can stop early (long simulations) override this: once the value is known
+    // to be >= cutoff they may return any number >= cutoff instead of the exact value.
+    double func(double x[], double cutoff) {
+        return func(x);
+    }
+
+    static final int[] NO_SCRATCH = new int[0];
+
+    // Lengths of the scratch arrays func(x, ws) works in at dimension n. Objectives that need
+    // scratch memory override both and forward func(x) to func(x, workspace.of(this, x.length)),
+    // so that evaluation allocates nothing once the calling thread's workspace has grown.
+    int[] scratch(int n) {
+        return NO_SCRATCH;
+    }
+
+    double func(double x[], workspace ws) {
+        return func(x);
+    }
+
+    // Objectives with a closed-form gradient override both: gradient(x, g) writes df/dx into g
+    // (where f is not differentiable, a subgradient) and returns f(x), without allocating.
+    boolean differentiable() {
+        return false;
+    }
+
+    double gradient(double x[], double g[]) {
+        throw new UnsupportedOperationException(getClass().getName() + " has no analytic gradient");
+    }
+
+    // Separable objectives, f(x) = constant(n) + sum_j term(x_j, j, n), override all three, so a
+    // change of k coordinates can be evaluated in O(k) (see delta_state). func stays the reference.
+    boolean separable() {
+        return false;
+    }
+
+    double term(double xj, int j, int n) {
+        throw new UnsupportedOperationException(getClass().getName() + " is not separable");
+    }
+
+    double constant(int n) {
+        return 0.0;
+    }
+
+    // Objectives whose value is a random draw around the true value (noise, stochastic simulation)
+    // override this, see noisy_hho
+    boolean noisy() {
+        return false;
+    }
+
+    // Problems with integer or discrete variables override this with the type of each of the n
+    // variables (see variable_type); null means all continuous. func still accepts any point.
+    variable_type[] types(int n) {
+        return null;
+    }
+}
+
+
+// Scratch arrays lent to objectives, one workspace per thread. Buffers only ever grow and are
+// shared by every objective the thread evaluates, so an objective must not hold on to them
+// across a call into another objective.
+final class workspace {
+
+    static final ThreadLocal<workspace> local = ThreadLocal.withInitial(workspace::new);
+
+    double[][] buf = new double[0][];
+    f_xj owner;                 // objective and dimension the buffers were last checked for
+    int ownerDim = -1;
+
+    // the calling thread's workspace, large enough for ff at dimension n
+    static workspace of(f_xj ff, int n) {
+        return local.get().fit(ff, n);
+    }
+
+    workspace fit(f_xj ff, int n) {
+        if (ff != owner || n != ownerDim) {
+            int[] need = ff.scratch(n);
+            if (buf.length < need.length) {
+                buf = Arrays.copyOf(buf, need.length);
+            }
+            for (int k = 0; k < need.length; k++) {
+                if (buf[k] == null || buf[k].length < need[k]) {
+                    buf[k] = new double[need[k]];
+                }
+            }
+            owner = ff;
+            ownerDim = n;
+        }
+        return this;
+    }
 }
 
 public class harris_hawks_optimization {
 
     double[] Lower;
     double[] Upper;
-    int N;
+    int N;                           // hawks in play, rows [0, N) of X
     int D;
     int Maxiter;
     f_xj ff;
@@ -21,7 +111,7 @@ public class harris_hawks_optimization {
     double[][] X;
     double[] X1;
     double[] X2;
-    double[] fitnessX;
+    double[] fitnessX;               // may hold a value cut off at Rabbit_Energy, see f_xj.func(x, cutoff)
     double[] mean2Dmat;
     double[] X_rand;
     double E1;
@@ -31,22 +121,79 @@ public class harris_hawks_optimization {
     double q;
     double r;
     int rand_Hawk_index;
+    Random rnd;
+    long FEs;                        // objective evaluations spent so far
+    long maxFEs = Long.MAX_VALUE;    // the run also ends after the iteration that reaches this; local
+                                     // search counts against it and its final call is kept within it
+    boolean budgetSchedule;          // the energy schedule follows FEs / maxFEs when that ends the run first
+    volatile boolean cancelled;      // set from another thread, the run ends after the iteration and skips
+                                     // its final polish
+    fixed_target_recorder tracker;   // optional, records when Rabbit_Energy reaches each target
+    local_search polish;             // optional refinement of Rabbit_Location at the end of the run
+    int polishEvery;                 // if > 0, also every polishEvery iterations
+    int polishStagnation;            // if > 0, also after that many iterations without improvement
+    long localBudget = Long.MAX_VALUE;  // evaluations the refinement may spend over the whole run
+    long localFEs;                   // part of FEs spent by the refinement
+    int lastImprovement;             // iteration of the last improvement or refinement
+    population_init initializer;     // optional, otherwise the uniform draw of init()
+    boolean opposition;              // start from the best N of X and Lower + Upper - X
+    double[][] Xopp;
+    double[] fitnessOpp;
+    double[][] merged;
+    double[] mergedFitness;
+    int Ninit;                       // population at the start of the run
+    int Nfinal;                      // if > 0, N shrinks linearly from Ninit to Nfinal over the run
+    besiege_phase[] phases = besiege_phase.standard();  // move of each slot, see besiege_phase
+    besiege_phase[] maskedPhases;    // phases as besiege last saw it, and its mask (besiege_phase.maskOf)
+    int phasesMask;
+    int slot;                        // slot of the last besiege(i)
+    int sentinels;                   // if > 0, dynamic mode: the rabbit and sentinels - 1 fixed points
+                                     // are re-evaluated every iteration to detect a changed objective
+    double immigrants = 0.2;         // share of the hawks redrawn uniformly after a change
+    double[][] memory = new double[5][];  // rabbits of past environments, re-inserted after a change
+    int memoryCount;
+    double[][] sentinelX;
+    double[] sentinelF;
+    int changes;                     // changes detected in this run
+    int lastChange;
+    int changePeriod;                // iterations the last environment lasted, 0 before the first change
+    variable_type[] types;           // optional, hawks and candidates are snapped to this lattice
+    lattice_cache cache;             // optional with types, not for dynamic objectives
 
     public harris_hawks_optimization(f_xj iff, int iN, double[] iLower, double[] iUpper, int iMaxiter) {
+        this(iff, iN, iLower, iUpper, iMaxiter, new Random());
+    }
+
+    // seeded variant, used by campaign runners so that a (function, dimension, run) cell is reproducible
+    public harris_hawks_optimization(f_xj iff, int iN, double[] iLower, double[] iUpper, int iMaxiter, long seed) {
+        this(iff, iN, iLower, iUpper, iMaxiter, new Random(seed));
+    }
+
+    harris_hawks_optimization(f_xj iff, int iN, double[] iLower, double[] iUpper, int iMaxiter, Random irnd) {
+        this(iff, iN, iLower, iUpper, iMaxiter, irnd, true);
+    }
+
+    // onHeap false leaves the D-sized work arrays (X, X1, X2, X_rand, mean2Dmat) to a solver that
+    // keeps them elsewhere
+    harris_hawks_optimization(f_xj iff, int iN, double[] iLower, double[] iUpper, int iMaxiter, Random irnd, boolean onHeap) {
+        rnd = irnd;
         Lower = iLower;
         Upper = iUpper;
         ff = iff;
         N = iN;
+        Ninit = iN;
         D = Lower.length;
         Maxiter = iMaxiter;
         Rabbit_Location = new double[D];
         CNVG = new double[Maxiter];
         fitnessX = new double[N];
-        X = new double[N][D];
-        mean2Dmat = new double[D];
-        X1 = new double[D];
-        X2 = new double[D];
-        X_rand = new double[D];
+        if (onHeap) {
+            X = new double[N][D];
+            mean2Dmat = new double[D];
+            X1 = new double[D];
+            X2 = new double[D];
+            X_rand = new double[D];
+        }
         Rabbit_Energy = 1e80;
 
 
@@ -63,16 +210,20 @@ public class harris_hawks_optimization {
     }
 
     static double[] mean2D(double XX[][]) {
-        int m = XX.length;
+        return mean2D(XX, XX.length);
+    }
+
+    // column means over the first m rows
+    static double[] mean2D(double XX[][], int m) {
         int n = XX[0].length;
-        double[] X = new double[m];
         double[] Y = new double[n];
 
         for (int j = 0; j < n; j++) {
+            double sum = 0.0;
             for (int i = 0; i < m; i++) {
-                X[i] = XX[i][j];
+                sum += XX[i][j];
             }
-            Y[j] = mean(X);
+            Y[j] = sum / (double) m;
         }
         return Y;
     }
@@ -92,7 +243,6 @@ public class harris_hawks_optimization {
     double[] Levy() {
         double beta = 1.5;
         double sigma = Math.pow((gamma(1 + beta) * Math.sin(Math.PI * beta / 2) / (gamma((1 + beta) / 2) * beta * Math.pow(2, ((beta - 1) / 2)))), (1 / beta));
-        Random rnd = new Random();
         double[] u = new double[D];
         double[] v = new double[D];
         double[] step = new double[D];
@@ -114,135 +264,390 @@ public class harris_hawks_optimization {
         for (int i = 0; i < N; i++) {
             for (int j = 0; j < D; j++) {
                 if ((XX[i][j] < Lower[j]) || (XX[i][j] > Upper[j])) {
-                    XX[i][j] = Lower[j] + ((Upper[j] - Lower[j]) * Math.random());
+                    XX[i][j] = Lower[j] + ((Upper[j] - Lower[j]) * rnd.nextDouble());
                 }
             }
+            snap(XX[i]);
         }
         return XX;
     }
 
+    // x onto the lattice of types, in place; hawks are snapped in boundary(), dive candidates by
+    // their phase, and every other point before it is first evaluated
+    void snap(double[] x) {
+        if (types == null) {
+            return;
+        }
+        for (int j = 0; j < D; j++) {
+            if (!types[j].continuous()) {
+                x[j] = types[j].snap(x[j], Lower[j], Upper[j]);
+            }
+        }
+    }
+
     void init() {
+        if (initializer != null) {
+            initializer.fill(X, N, Lower, Upper, rnd);
+            return;
+        }
         for (int i = 0; i < N; i++) {
             for (int j = 0; j < D; j++) {
-                X[i][j] = (Lower[j] + ((Upper[j] - Lower[j]) * Math.random()));
+                X[i][j] = (Lower[j] + ((Upper[j] - Lower[j]) * rnd.nextDouble()));
 //                System.out.println(X[i][j]);
             }
         }
     }
 
+    // opposition-based start: evaluates X and its reflection Lower + Upper - X exactly and keeps
+    // the best N of the 2N points, sorted, as the first population
+    void oppositionInit() {
+        if (Xopp == null) {
+            Xopp = new double[N][D];
+            fitnessOpp = new double[N];
+            merged = new double[2 * N][];
+            mergedFitness = new double[N];
+        }
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < D; j++) {
+                Xopp[i][j] = Lower[j] + Upper[j] - X[i][j];
+            }
+            snap(X[i]);
+            snap(Xopp[i]);
+            fitnessX[i] = evaluate(X[i]);
+            fitnessOpp[i] = evaluate(Xopp[i]);
+        }
+        sortRows(X, fitnessX);
+        sortRows(Xopp, fitnessOpp);
+        // merge by row reference: merged[0, N) are kept, merged[N, 2N) become the new Xopp rows
+        int a = 0;
+        int b = 0;
+        for (int k = 0; k < N; k++) {
+            if (fitnessX[a] <= fitnessOpp[b]) {
+                mergedFitness[k] = fitnessX[a];
+                merged[k] = X[a++];
+            } else {
+                mergedFitness[k] = fitnessOpp[b];
+                merged[k] = Xopp[b++];
+            }
+        }
+        int k = N;
+        while (a < N) {
+            merged[k++] = X[a++];
+        }
+        while (b < N) {
+            merged[k++] = Xopp[b++];
+        }
+        for (int i = 0; i < N; i++) {
+            X[i] = merged[i];
+            fitnessX[i] = mergedFitness[i];
+            Xopp[i] = merged[N + i];
+        }
+        if (fitnessX[0] < Rabbit_Energy) {
+            Rabbit_Energy = fitnessX[0];
+            for (int j = 0; j < D; j++) {
+                Rabbit_Location[j] = X[0][j];
+            }
+            rabbitImproved();
+        }
+    }
+
+    // Linear population size reduction: the hawks in play follow a straight line from Ninit to
+    // Nfinal over the iterations. The worst hawks are dropped by sorting rows [0, N) by reference
+    // and lowering N; the dropped rows stay allocated behind the active ones.
+    void reducePopulation() {
+        int target = (int) Math.round(Ninit + (Nfinal - Ninit) * (double) (iter + 1) / Maxiter);
+        target = Math.max(Nfinal, Math.min(N, target));
+        if (target < N) {
+            sortRows(X, fitnessX, N);
+            N = target;
+        }
+    }
+
+    static void sortRows(double[][] P, double[] f) {
+        sortRows(P, f, f.length);
+    }
+
+    // insertion sort of rows [0, n) of P by ascending f, rows are moved by reference
+    static void sortRows(double[][] P, double[] f, int n) {
+        for (int i = 1; i < n; i++) {
+            double[] row = P[i];
+            double fi = f[i];
+            int k = i - 1;
+            while (k >= 0 && f[k] > fi) {
+                P[k + 1] = P[k];
+                f[k + 1] = f[k];
+                k--;
+            }
+            P[k + 1] = row;
+            f[k + 1] = fi;
+        }
+    }
+
+    // With types set, x is already on the lattice (see snap). Points found in the cache cost no
+    // evaluation.
+    double evaluate(double[] x) {
+        if (types != null) {
+            if (cache != null) {
+                double f = cache.get(x);
+                if (!Double.isNaN(f)) {
+                    return f;
+                }
+                FEs++;
+                f = ff.func(x);
+                cache.put(x, f);
+                return f;
+            }
+        }
+        FEs++;
+        return ff.func(x);
+    }
+
+    // only used where the caller compares the result against cutoff and nothing else
+    double evaluate(double[] x, double cutoff) {
+        if (types != null) {
+            if (cache != null) {
+                double f = cache.get(x);
+                if (!Double.isNaN(f)) {
+                    return f;
+                }
+                FEs++;
+                f = ff.func(x, cutoff);
+                if (f < cutoff) {
+                    cache.put(x, f);     // values at or above cutoff may be cut off
+                }
+                return f;
+            }
+        }
+        FEs++;
+        return ff.func(x, cutoff);
+    }
+
+    void rabbitImproved() {
+        lastImprovement = iter;
+        if (tracker != null) {
+            tracker.update(Rabbit_Energy, FEs);
+        }
+    }
+
+    // the local search only ever replaces Rabbit_Location by a better point, and Rabbit_Energy
+    // stays an exact value because the search evaluates without cutoff
+    void polishRabbit() {
+        lastImprovement = iter;
+        long budget = Math.min(localBudget - localFEs, maxFEs - FEs);
+        if (budget <= 0) {
+            return;
+        }
+        long perCall = polish.maxEvaluations;
+        polish.maxEvaluations = Math.min(perCall, budget);
+        double f = polish.run(ff, Rabbit_Location, Rabbit_Energy, Lower, Upper);
+        polish.maxEvaluations = perCall;
+        FEs += polish.evaluations;
+        localFEs += polish.evaluations;
+        if (f < Rabbit_Energy) {
+            Rabbit_Energy = f;
+            rabbitImproved();
+        }
+    }
+
+    // whether the rabbit is polished at the end of this iteration, before the final polish
+    boolean polishDue() {
+        if (polish == null || iter + 1 >= Maxiter) {
+            return false;
+        }
+        return (polishEvery > 0 && (iter + 1) % polishEvery == 0)
+                || (polishStagnation > 0 && iter - lastImprovement >= polishStagnation);
+    }
+
+    // evaluations the global search leaves for the local search at the end of the run
+    long finalPolish() {
+        return polish == null ? 0 : Math.min(polish.maxEvaluations, localBudget - localFEs);
+    }
+
+    // dynamic mode: fixed sentinel points with their values at the start of the run
+    void initSentinels() {
+        changes = 0;
+        lastChange = 0;
+        changePeriod = 0;
+        memoryCount = 0;
+        if (sentinelX == null) {
+            sentinelX = new double[sentinels - 1][D];
+            sentinelF = new double[sentinels - 1];
+        }
+        for (int s = 0; s < sentinels - 1; s++) {
+            for (int j = 0; j < D; j++) {
+                sentinelX[s][j] = Lower[j] + (Upper[j] - Lower[j]) * rnd.nextDouble();
+            }
+            snap(sentinelX[s]);
+            sentinelF[s] = evaluate(sentinelX[s]);
+        }
+    }
+
+    // true if the rabbit or a sentinel no longer has its recorded value; the records are refreshed
+    boolean changeDetected() {
+        double f = evaluate(Rabbit_Location);
+        boolean changed = f != Rabbit_Energy;
+        Rabbit_Energy = f;
+        for (int s = 0; s < sentinels - 1; s++) {
+            double fs = evaluate(sentinelX[s]);
+            changed |= fs != sentinelF[s];
+            sentinelF[s] = fs;
+        }
+        return changed;
+    }
+
+    // The old rabbit joins the memory, the first hawks restart from the memory and a share of the
+    // rest from uniform draws. The rabbit keeps its place with its new value and the escaping
+    // energy schedule restarts, stretched over the length of the last environment.
+    void respondToChange() {
+        changes++;
+        changePeriod = iter - lastChange;
+        lastChange = iter;
+        lastImprovement = iter;
+        int memorySlot = (changes - 1) % memory.length;
+        if (memory[memorySlot] == null) {
+            memory[memorySlot] = new double[D];
+        }
+        System.arraycopy(Rabbit_Location, 0, memory[memorySlot], 0, D);
+        memoryCount = Math.min(memoryCount + 1, memory.length);
+        int i = 0;
+        for (int m = 0; m < memoryCount && i < N; m++, i++) {
+            System.arraycopy(memory[m], 0, X[i], 0, D);
+        }
+        for (int k = (int) (immigrants * N); k > 0 && i < N; k--, i++) {
+            for (int j = 0; j < D; j++) {
+                X[i][j] = Lower[j] + (Upper[j] - Lower[j]) * rnd.nextDouble();
+            }
+        }
+    }
+
+    // CNVG holds value from the iteration the run stopped at: the final value, after a last
+    // polish, replaces the last entry, and the iterations skipped by an early stop on maxFEs or
+    // cancellation repeat it instead of staying 0
+    void finishCurve(double value) {
+        for (int t = Math.max(0, Math.min(iter, Maxiter - 1)); t < Maxiter; t++) {
+            CNVG[t] = value;
+        }
+    }
+
+    // share of the escaping energy schedule used up, per environment in dynamic mode
+    double energyPhase() {
+        if (changePeriod > 0) {
+            return Math.min(1.0, (double) (iter - lastChange) / (double) changePeriod);
+        }
+        double t = (double) iter / (double) Maxiter;
+        return budgetSchedule && maxFEs != Long.MAX_VALUE ? Math.min(1.0, Math.max(t, (double) FEs / (double) maxFEs)) : t;
+    }
+
+    // The dive phases offer X1, then X2, to hawk i through these two hooks. diveStart makes
+    // fitnessX[i] exact, it may be a value cut off at the top of the iteration; accept moves the
+    // hawk to y if y is better. Solvers that order points otherwise override both.
+    void diveStart(int i) {
+        fitnessX[i] = evaluate(X[i]);
+    }
+
+    boolean accept(double[] y, int i) {
+        double f = evaluate(y, fitnessX[i]);
+        if (f < fitnessX[i]) {
+            System.arraycopy(y, 0, X[i], 0, D);
+            fitnessX[i] = f;
+            return true;
+        }
+        return false;
+    }
+
+    // picks the phase of hawk i from Escaping_Energy and q or r, see besiege_phase
+    void besiege(int i) {
+        if (Math.abs(Escaping_Energy) >= 1.0) {
+            q = rnd.nextDouble();
+            rand_Hawk_index = (int) Math.floor((double) N * rnd.nextDouble());
+            for (int j = 0; j < D; j++) {
+                X_rand[j] = X[rand_Hawk_index][j];
+            }
+            slot = q < 0.5 ? besiege_phase.EXPLORE_A : besiege_phase.EXPLORE_B;
+        } else {
+            r = rnd.nextDouble();
+            boolean soft = Math.abs(Escaping_Energy) >= 0.5;
+            if (r >= 0.5) {
+                slot = soft ? besiege_phase.SOFT : besiege_phase.HARD;
+            } else {
+                slot = soft ? besiege_phase.SOFT_DIVE : besiege_phase.HARD_DIVE;
+            }
+        }
+        if (phases != maskedPhases) {
+            maskedPhases = phases;
+            phasesMask = besiege_phase.maskOf(phases);
+        }
+        if (phasesMask >= 0) {
+            besiege_phase.move(this, i, slot, phasesMask);
+        } else {
+            phases[slot].move(this, i);
+        }
+    }
+
     double[][] solution() {
+        N = Ninit;
         init();
         iter = 0;
+        FEs = 0;
+        localFEs = 0;
+        lastImprovement = 0;
+        if (tracker != null) {
+            tracker.start();
+        }
+        if (sentinels > 0) {
+            initSentinels();
+        }
+        if (opposition) {
+            oppositionInit();
+        }
 
-        while (iter < Maxiter) {
+        while (iter < Maxiter && FEs < maxFEs - finalPolish() && !cancelled) {
 
+            if (sentinels > 0 && iter > 0 && changeDetected()) {
+                respondToChange();
+            }
             X = boundary(X);
             for (int i = 0; i < N; i++) {
-                fitnessX[i] = ff.func(X[i]);
+                if (iter == 0 && opposition) {
+                    break;      // oppositionInit has evaluated the first population
+                }
+                // the reduction ranks hawks by these values, so they must be exact
+                fitnessX[i] = Nfinal > 0 ? evaluate(X[i]) : evaluate(X[i], Rabbit_Energy);
                 if (fitnessX[i] < Rabbit_Energy) {
                     Rabbit_Energy = fitnessX[i];
                     for (int j = 0; j < D; j++) {
                         Rabbit_Location[j] = X[i][j];
                     }
+                    rabbitImproved();
                 }
             }
 
-            E1 = 2.0 * (1.0 - ((double) iter / (double) Maxiter));
+            if (Nfinal > 0) {
+                reducePopulation();
+            }
+
+            E1 = 2.0 * (1.0 - energyPhase());
 
             for (int i = 0; i < N; i++) {
-                E0 = 2.0 * Math.random() - 1.0;
+                E0 = 2.0 * rnd.nextDouble() - 1.0;
                 Escaping_Energy = E1 * E0;
-
-                if (Math.abs(Escaping_Energy) >= 1.0) {
-                    q = Math.random();
-                    rand_Hawk_index = (int) Math.floor((double) N * Math.random());
-                    for (int j = 0; j < D; j++) {
-                        X_rand[j] = X[rand_Hawk_index][j];
-                    }
-                    if (q < 0.5) {
-                        for (int j = 0; j < D; j++) {
-                            X[i][j] = X_rand[j] - Math.random() * Math.abs(X_rand[j] - 2.0 * Math.random() * X[i][j]);
-                        }
-                    } else if (q >= 0.5) {
-                        mean2Dmat = mean2D(X);
-                        for (int j = 0; j < D; j++) {
-                            X[i][j] = (Rabbit_Location[j] - mean2Dmat[j]) - (Math.random() * (Lower[j] + ((Upper[j] - Lower[j]) * Math.random())));
-                        }
-
-                    }
-
-                } else if (Math.abs(Escaping_Energy) < 1.0) {
-                    r = Math.random();
-                    if ((r >= 0.5) && (Math.abs(Escaping_Energy) < 0.5)) {
-                        for (int j = 0; j < D; j++) {
-                            X[i][j] = Rabbit_Location[j] - Escaping_Energy * Math.abs(Rabbit_Location[j] - X[i][j]);
-                        }
-                    }
-                    if ((r >= 0.5) && (Math.abs(Escaping_Energy) >= 0.5)) {
-                        for (int j = 0; j < D; j++) {
-                            X[i][j] = (Rabbit_Location[j] - X[i][j]) - Escaping_Energy * Math.abs(2.0 * (1.0 - Math.random()) * Rabbit_Location[j] - X[i][j]);
-                        }
-                    }
-                    if ((r < 0.5) && (Math.abs(Escaping_Energy) >= 0.5)) {
-                        for (int j = 0; j < D; j++) {
-                            X1[j] = Rabbit_Location[j] - Escaping_Energy * Math.abs(2.0 * (1.0 - Math.random()) * Rabbit_Location[j] - X[i][j]);
-                        }
-
-                        if (ff.func(X1) < ff.func(X[i])) {
-                            for (int j = 0; j < D; j++) {
-                                X[i][j] = X1[j];
-                            }
-
-                        } else {
-                            double[] Levyout = Levy();
-                            for (int j = 0; j < D; j++) {
-                                X2[j] = Rabbit_Location[j] - Escaping_Energy * Math.abs(2.0 * (1.0 - Math.random()) * Rabbit_Location[j] - X[i][j]) + Math.random() * Levyout[j];
-                            }
-
-                            if (ff.func(X2) < ff.func(X[i])) {
-                                for (int j = 0; j < D; j++) {
-                                    X[i][j] = X2[j];
-                                }
-                            }
-                        }
-
-
-                    }
-                    if ((r < 0.5) && (Math.abs(Escaping_Energy) < 0.5)) {
-                        mean2Dmat = mean2D(X);
-                        for (int j = 0; j < D; j++) {
-                            X1[j] = Rabbit_Location[j] - Escaping_Energy * Math.abs(2.0 * (1.0 - Math.random()) * Rabbit_Location[j] - mean2Dmat[j]);
-                        }
-
-                        if (ff.func(X1) < ff.func(X[i])) {
-                            for (int j = 0; j < D; j++) {
-                                X[i][j] = X1[j];
-                            }
-
-                        } else {
-                            double[] Levyout = Levy();
-                            mean2Dmat = mean2D(X);
-                            for (int j = 0; j < D; j++) {
-                                X2[j] = Rabbit_Location[j] - Escaping_Energy * Math.abs(2.0 * (1.0 - Math.random()) * Rabbit_Location[j] - mean2Dmat[j]) + Math.random() * Levyout[j];
-                            }
-
-                            if (ff.func(X2) < ff.func(X[i])) {
-                                for (int j = 0; j < D; j++) {
-                                    X[i][j] = X2[j];
-                                }
-                            }
-                        }
-
-
-                    }
-                }
-
+                besiege(i);
             }
 
+            if (polishDue()) {
+                polishRabbit();
+            }
 
             CNVG[iter] = Rabbit_Energy;
             iter++;
         }
+        if (polish != null && Maxiter > 0 && !cancelled) {
+            polishRabbit();
+        }
+        finishCurve(Rabbit_Energy);
+        if (tracker != null) {
+            tracker.finish(FEs);
+        }
 
         double[][] out = new double[2][D];
         for (int j = 0; j < D; j++) {
@@ -256,6 +661,9 @@ public class harris_hawks_optimization {
     void toStringnew() {
         double[][] out = solution();
         System.out.println("Optimized value = " + out[1][0]);
+        if (polish != null) {
+            System.out.println("Evaluations = " + FEs + " (global " + (FEs - localFEs) + ", local " + localFEs + ")");
+        }
         for (int i = 0; i < D; i++) {
             System.out.println("x[" + i + "] = " + out[0][i]);
         }
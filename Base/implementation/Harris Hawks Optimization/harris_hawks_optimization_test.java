@@ -1,4 +1,10 @@
-
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 // Standard Scalable Benchmark Functions F1-F13
 // These are the commonly used scalable test functions for optimization algorithms
@@ -13,6 +19,28 @@ class ScalableF1 extends f_xj // Sphere Function - f(x)=0 @x=(0,0,...) -100<=x[i
         }
         return sum;
     }
+
+    boolean separable() {
+        return true;
+    }
+
+    double term(double xj, int j, int n) {
+        return xj * xj;
+    }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            sum += x[i] * x[i];
+            g[i] = 2.0 * x[i];
+        }
+        return sum;
+    }
 }
 
 class ScalableF2 extends f_xj // Schwefel's Problem 2.22 - f(x)=0 @x=(0,0,...) -10<=x[i]<=10
@@ -27,6 +55,33 @@ class ScalableF2 extends f_xj // Schwefel's Problem 2.22 - f(x)=0 @x=(0,0,...) -
         }
         return sum + product;
     }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    // d/dx_i = sign(x_i) (1 + prod_{j != i} |x_j|), sign(0) = 0
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        double sum = 0.0;
+        double product = 1.0;
+        double nonzero = 1.0;       // product over the nonzero |x_j|
+        int zeros = 0;
+        for (int i = 0; i < n; i++) {
+            sum += Math.abs(x[i]);
+            product *= Math.abs(x[i]);
+            if (x[i] == 0.0) {
+                zeros++;
+            } else {
+                nonzero *= Math.abs(x[i]);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            double others = zeros > 0 ? 0.0 : nonzero / Math.abs(x[i]);
+            g[i] = Math.signum(x[i]) * (1.0 + others);
+        }
+        return sum + product;
+    }
 }
 
 class ScalableF3 extends f_xj // Schwefel's Problem 1.2 - f(x)=0 @x=(0,0,...) -100<=x[i]<=100
@@ -43,6 +98,30 @@ class ScalableF3 extends f_xj // Schwefel's Problem 1.2 - f(x)=0 @x=(0,0,...) -1
         }
         return sum;
     }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    // with prefix sums p_i = x_0 + .. + x_i, d/dx_j = 2 (p_j + .. + p_{n-1}); O(n) instead of O(n^2)
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        double sum = 0.0;
+        double p = 0.0;
+        double tail = 0.0;
+        for (int i = 0; i < n; i++) {
+            p += x[i];
+            sum += p * p;
+            tail += p;
+        }
+        p = 0.0;
+        for (int j = 0; j < n; j++) {
+            g[j] = 2.0 * tail;
+            p += x[j];
+            tail -= p;
+        }
+        return sum;
+    }
 }
 
 class ScalableF4 extends f_xj // Schwefel's Problem 2.21 - f(x)=0 @x=(0,0,...) -100<=x[i]<=100
@@ -57,6 +136,27 @@ class ScalableF4 extends f_xj // Schwefel's Problem 2.21 - f(x)=0 @x=(0,0,...) -
         }
         return max;
     }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    // subgradient: sign of the first largest |x_i| at that coordinate
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        int k = 0;
+        double max = Math.abs(x[0]);
+        g[0] = 0.0;
+        for (int i = 1; i < n; i++) {
+            g[i] = 0.0;
+            if (Math.abs(x[i]) > max) {
+                max = Math.abs(x[i]);
+                k = i;
+            }
+        }
+        g[k] = Math.signum(x[k]);
+        return max;
+    }
 }
 
 class ScalableF5 extends f_xj // Rosenbrock's Function - f(x)=0 @x=(1,1,...) -30<=x[i]<=30
@@ -69,6 +169,25 @@ class ScalableF5 extends f_xj // Rosenbrock's Function - f(x)=0 @x=(1,1,...) -30
         }
         return sum;
     }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            g[i] = 0.0;
+        }
+        for (int i = 0; i < n - 1; i++) {
+            double a = x[i + 1] - x[i] * x[i];
+            sum += 100.0 * a * a + (1.0 - x[i]) * (1.0 - x[i]);
+            g[i] += -400.0 * a * x[i] - 2.0 * (1.0 - x[i]);
+            g[i + 1] += 200.0 * a;
+        }
+        return sum;
+    }
 }
 
 class ScalableF6 extends f_xj // Step Function - f(x)=0 @x=(0,0,...) -100<=x[i]<=100
@@ -81,6 +200,26 @@ class ScalableF6 extends f_xj // Step Function - f(x)=0 @x=(0,0,...) -100<=x[i]<
         }
         return sum;
     }
+
+    boolean separable() {
+        return true;
+    }
+
+    double term(double xj, int j, int n) {
+        return Math.floor(xj + 0.5) * Math.floor(xj + 0.5);
+    }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    // piecewise constant, the gradient is zero wherever it exists
+    double gradient(double x[], double g[]) {
+        for (int i = 0; i < x.length; i++) {
+            g[i] = 0.0;
+        }
+        return func(x);
+    }
 }
 
 class ScalableF7 extends f_xj // Quartic Function with Noise - f(x)=0 @x=(0,0,...) -1.28<=x[i]<=1.28
@@ -88,11 +227,30 @@ class ScalableF7 extends f_xj // Quartic Function with Noise - f(x)=0 @x=(0,0,..
     double func(double x[]) {
         int n = x.length;
         double sum = 0.0;
-        java.util.Random rnd = new java.util.Random();
         for (int i = 0; i < n; i++) {
             sum += (i + 1.0) * x[i] * x[i] * x[i] * x[i];
         }
-        sum += rnd.nextGaussian(); // Add noise
+        sum += ThreadLocalRandom.current().nextGaussian(); // Add noise
+        return sum;
+    }
+
+    boolean noisy() {
+        return true;
+    }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    // gradient of the quartic part, the value is noisy like func
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            sum += (i + 1.0) * x[i] * x[i] * x[i] * x[i];
+            g[i] = 4.0 * (i + 1.0) * x[i] * x[i] * x[i];
+        }
+        sum += ThreadLocalRandom.current().nextGaussian();
         return sum;
     }
 }
@@ -107,6 +265,23 @@ class ScalableF8 extends f_xj // Schwefel's Problem 2.26 - f(x)=-418.9829*n @x=(
         }
         return sum;
     }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    // with s = sqrt|x|, d/dx (-x sin s) = -sin s - s cos(s) / 2
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            double s = Math.sqrt(Math.abs(x[i]));
+            double sin = Math.sin(s);
+            sum += -x[i] * sin;
+            g[i] = -sin - 0.5 * s * Math.cos(s);
+        }
+        return sum;
+    }
 }
 
 class ScalableF9 extends f_xj // Rastrigin's Function - f(x)=0 @x=(0,0,...) -5.12<=x[i]<=5.12
@@ -119,6 +294,33 @@ class ScalableF9 extends f_xj // Rastrigin's Function - f(x)=0 @x=(0,0,...) -5.1
         }
         return 10.0 * n + sum;
     }
+
+    boolean separable() {
+        return true;
+    }
+
+    double term(double xj, int j, int n) {
+        return xj * xj - 10.0 * Math.cos(2.0 * Math.PI * xj);
+    }
+
+    double constant(int n) {
+        return 10.0 * n;
+    }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            double w = 2.0 * Math.PI * x[i];
+            sum += x[i] * x[i] - 10.0 * Math.cos(w);
+            g[i] = 2.0 * x[i] + 20.0 * Math.PI * Math.sin(w);
+        }
+        return 10.0 * n + sum;
+    }
 }
 
 class ScalableF10 extends f_xj // Ackley's Function - f(x)=0 @x=(0,0,...) -32<=x[i]<=32
@@ -140,6 +342,33 @@ class ScalableF10 extends f_xj // Ackley's Function - f(x)=0 @x=(0,0,...) -32<=x
         double term2 = -Math.exp(sum2 / n);
         return term1 + term2 + a + Math.exp(1.0);
     }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        double a = 20.0;
+        double b = 0.2;
+        double c = 2.0 * Math.PI;
+
+        double sum1 = 0.0;
+        double sum2 = 0.0;
+        for (int i = 0; i < n; i++) {
+            sum1 += x[i] * x[i];
+            sum2 += Math.cos(c * x[i]);
+        }
+        double r = Math.sqrt(sum1 / n);
+        double e1 = Math.exp(-b * r);
+        double e2 = Math.exp(sum2 / n);
+        double k1 = r > 0.0 ? a * b * e1 / (n * r) : 0.0;
+        double k2 = c * e2 / n;
+        for (int i = 0; i < n; i++) {
+            g[i] = k1 * x[i] + k2 * Math.sin(c * x[i]);
+        }
+        return -a * e1 - e2 + a + Math.exp(1.0);
+    }
 }
 
 class ScalableF11 extends f_xj // Griewank's Function - f(x)=0 @x=(0,0,...) -600<=x[i]<=600
@@ -154,6 +383,37 @@ class ScalableF11 extends f_xj // Griewank's Function - f(x)=0 @x=(0,0,...) -600
         }
         return sum - product + 1.0;
     }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    // the product over j != i comes from prefix and suffix products; g holds the suffix
+    // products in between so that no cosine is divided by
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        double sum = 0.0;
+        double product = 1.0;
+        for (int i = 0; i < n; i++) {
+            double c = Math.cos(x[i] / Math.sqrt(i + 1.0));
+            sum += x[i] * x[i] / 4000.0;
+            product *= c;
+            g[i] = c;
+        }
+        double suffix = 1.0;
+        for (int i = n - 1; i >= 0; i--) {
+            double c = g[i];
+            g[i] = suffix;
+            suffix *= c;
+        }
+        double prefix = 1.0;
+        for (int i = 0; i < n; i++) {
+            double s = Math.sqrt(i + 1.0);
+            g[i] = x[i] / 2000.0 + Math.sin(x[i] / s) / s * prefix * g[i];
+            prefix *= Math.cos(x[i] / s);
+        }
+        return sum - product + 1.0;
+    }
 }
 
 class ScalableF12 extends f_xj // Penalized Function - f(x)=0 @x=(-1,-1,...) -50<=x[i]<=50
@@ -169,9 +429,17 @@ class ScalableF12 extends f_xj // Penalized Function - f(x)=0 @x=(-1,-1,...) -50
     }
     
     double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n};
+    }
+
+    double func(double x[], workspace ws) {
         int n = x.length;
         double sum1 = 0.0;
-        double[] y = new double[n];
+        double[] y = ws.buf[0];
         for (int i = 0; i < n; i++) {
             y[i] = 1.0 + 0.25 * (x[i] + 1.0);
         }
@@ -190,6 +458,52 @@ class ScalableF12 extends f_xj // Penalized Function - f(x)=0 @x=(-1,-1,...) -50
         
         return sum1 + sum2;
     }
+
+    private double du(double x, double a, double k, double m) {
+        if (x > a) {
+            return k * m * Math.pow(x - a, m - 1.0);
+        } else if (x < -a) {
+            return -k * m * Math.pow(-x - a, m - 1.0);
+        } else {
+            return 0.0;
+        }
+    }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    // y_i = 1 + (x_i + 1) / 4, the y terms are differentiated in y and scaled by dy/dx = 1/4
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        double y0 = 1.0 + 0.25 * (x[0] + 1.0);
+        double sum1 = 10.0 * Math.sin(Math.PI * y0) * Math.sin(Math.PI * y0);
+        for (int i = 0; i < n; i++) {
+            g[i] = 0.0;
+        }
+        g[0] = 10.0 * Math.PI * Math.sin(2.0 * Math.PI * y0);
+        for (int i = 0; i < n - 1; i++) {
+            double yi = 1.0 + 0.25 * (x[i] + 1.0);
+            double yn = 1.0 + 0.25 * (x[i + 1] + 1.0);
+            double sn = Math.sin(Math.PI * yn);
+            sum1 += (yi - 1.0) * (yi - 1.0) * (1.0 + 10.0 * sn * sn);
+            g[i] += 2.0 * (yi - 1.0) * (1.0 + 10.0 * sn * sn);
+            g[i + 1] += (yi - 1.0) * (yi - 1.0) * 10.0 * Math.PI * Math.sin(2.0 * Math.PI * yn);
+        }
+        double yl = 1.0 + 0.25 * (x[n - 1] + 1.0);
+        sum1 += (yl - 1.0) * (yl - 1.0);
+        g[n - 1] += 2.0 * (yl - 1.0);
+        sum1 *= Math.PI / n;
+
+        double scale = 0.25 * Math.PI / n;
+        double sum2 = 0.0;
+        for (int i = 0; i < n; i++) {
+            sum2 += u(x[i], 10.0, 100.0, 4.0);
+            g[i] = scale * g[i] + du(x[i], 10.0, 100.0, 4.0);
+        }
+
+        return sum1 + sum2;
+    }
 }
 
 class ScalableF13 extends f_xj // Penalized Function 2 - f(x)=0 @x=(1,1,...) -50<=x[i]<=50
@@ -222,6 +536,49 @@ class ScalableF13 extends f_xj // Penalized Function 2 - f(x)=0 @x=(1,1,...) -50
         
         return sum1 + sum2;
     }
+
+    private double du(double x, double a, double k, double m) {
+        if (x > a) {
+            return k * m * Math.pow(x - a, m - 1.0);
+        } else if (x < -a) {
+            return -k * m * Math.pow(-x - a, m - 1.0);
+        } else {
+            return 0.0;
+        }
+    }
+
+    boolean differentiable() {
+        return true;
+    }
+
+    double gradient(double x[], double g[]) {
+        int n = x.length;
+        double s0 = Math.sin(3.0 * Math.PI * x[0]);
+        double sum1 = s0 * s0;
+        for (int i = 0; i < n; i++) {
+            g[i] = 0.0;
+        }
+        g[0] = 3.0 * Math.PI * Math.sin(6.0 * Math.PI * x[0]);
+        for (int i = 0; i < n - 1; i++) {
+            double sn = Math.sin(3.0 * Math.PI * x[i + 1]);
+            sum1 += (x[i] - 1.0) * (x[i] - 1.0) * (1.0 + sn * sn);
+            g[i] += 2.0 * (x[i] - 1.0) * (1.0 + sn * sn);
+            g[i + 1] += (x[i] - 1.0) * (x[i] - 1.0) * 3.0 * Math.PI * Math.sin(6.0 * Math.PI * x[i + 1]);
+        }
+        double xl = x[n - 1];
+        double sl = Math.sin(2.0 * Math.PI * xl);
+        sum1 += (xl - 1.0) * (xl - 1.0) * (1.0 + sl * sl);
+        g[n - 1] += 2.0 * (xl - 1.0) * (1.0 + sl * sl) + (xl - 1.0) * (xl - 1.0) * 2.0 * Math.PI * Math.sin(4.0 * Math.PI * xl);
+        sum1 *= 0.1;
+
+        double sum2 = 0.0;
+        for (int i = 0; i < n; i++) {
+            sum2 += u(x[i], 5.0, 100.0, 4.0);
+            g[i] = 0.1 * g[i] + du(x[i], 5.0, 100.0, 4.0);
+        }
+
+        return sum1 + sum2;
+    }
 }
 
 
@@ -335,16 +692,17 @@ class f11 extends f_xj// Griewank f(x)=0.0  @x=(0,0)<---global minima     severa
 
 class f12 extends f_xj// Hartman3 f(x)=-3.86  @x=(0.114,0.556,0.852)   0.0<x[i]<1.0 for n=3 variable
 {
+    static final double[] A = problem_instance.flat(new double[][]{{3.0, 10.0, 30.0}, {0.1, 10.0, 35.0}, {3.0, 10.0, 30.0}, {0.1, 10.0, 35.0}}, 4, 3);
+    static final double[] c = {1.0, 1.2, 3.0, 3.2};
+    static final double[] p = problem_instance.flat(new double[][]{{0.3689, 0.1170, 0.2673}, {0.4699, 0.4387, 0.7470}, {0.1091, 0.8732, 0.5547}, {0.03815, 0.5743, 0.8828}}, 4, 3);
+
     double func(double x[]) {
-        double[][] A = {{3.0, 10.0, 30.0}, {0.1, 10.0, 35.0}, {3.0, 10.0, 30.0}, {0.1, 10.0, 35.0}};
-        double c[] = {1.0, 1.2, 3.0, 3.2};
-        double p[][] = {{0.3689, 0.1170, 0.2673}, {0.4699, 0.4387, 0.7470}, {0.1091, 0.8732, 0.5547}, {0.03815, 0.5743, 0.8828}};
         double sin;
         double sout = 0.0;
         for (int i = 0; i <= 3; i++) {
             sin = 0.0;
             for (int j = 0; j < 3; j++) {
-                sin += A[i][j] * (x[j] - p[i][j]) * (x[j] - p[i][j]);
+                sin += A[i * 3 + j] * (x[j] - p[i * 3 + j]) * (x[j] - p[i * 3 + j]);
             }
             sout += c[i] * Math.exp(-sin);
         }
@@ -409,17 +767,18 @@ class f16 extends f_xj //Powell function !!Error     Must--->mod(x.length,4)==0
 
 class f17 extends f_xj //Shekel function     f(x)=-10.1532 m=5; @x=(4,4,4,4) 0<=x[i]<=10.0
 {                                          //f(x)=-10.4029 m=7;
+    static final double[] A = problem_instance.flat(new double[][]{{4.0, 4.0, 4.0, 4.0}, {1.0, 1.0, 1.0, 1.0}, {8.0, 8.0, 8.0, 8.0}, {6.0, 6.0, 6.0, 6.0}, {3.0, 7.0, 3.0, 7.0}, {2.0, 9.0, 2.0, 9.0}, {5.0, 5.0, 3.0, 3.0}, {8.0, 1.0, 8.0, 1.0}, {6.0, 2.0, 6.0, 2.0}, {7.0, 3.6, 7.0, 3.6}}, 10, 4);
+    static final double[] c = {0.1, 0.2, 0.2, 0.4, 0.4, 0.6, 0.3, 0.7, 0.5, 0.5};
+
     double func(double x[])                 //f(x)=-10.5364 m=10;
     {
         int n = x.length;
-        double A[][] = {{4.0, 4.0, 4.0, 4.0}, {1.0, 1.0, 1.0, 1.0}, {8.0, 8.0, 8.0, 8.0}, {6.0, 6.0, 6.0, 6.0}, {3.0, 7.0, 3.0, 7.0}, {2.0, 9.0, 2.0, 9.0}, {5.0, 5.0, 3.0, 3.0}, {8.0, 1.0, 8.0, 1.0}, {6.0, 2.0, 6.0, 2.0}, {7.0, 3.6, 7.0, 3.6}};
-        double c[] = {0.1, 0.2, 0.2, 0.4, 0.4, 0.6, 0.3, 0.7, 0.5, 0.5};
         double sin = 0.0;
         double sout = 0.0;
         for (int i = 0; i < 10; i++) {
             sin = c[i];
             for (int j = 0; j < n; j++) {
-                sin += (x[j] - A[i][j]) * (x[j] - A[i][j]);
+                sin += (x[j] - A[i * 4 + j]) * (x[j] - A[i * 4 + j]);
             }
             sout += (1.0 / sin);
         }
@@ -464,8 +823,16 @@ class f19 extends f_xj //Zakharov function     f(x)=0.0 @x=(0,0,..)   -5<=x[i]<=
 class f20 extends f_xj //Levy function         f(x)=0   @x=(1,1,1...) -10<x[i]<10
 {
     double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n};
+    }
+
+    double func(double x[], workspace ws) {
         int n = x.length;
-        double z[] = new double[n];
+        double z[] = ws.buf[0];
         for (int i = 0; i < n; i++) {
             z[i] = 1.0 + ((x[i] - 1.0) / 4.0);
         }
@@ -525,7 +892,7 @@ class f24 extends f_xj //quartic function         f(x)=0      @x=(0,0,0...) -10<
         for (int i = 0; i < n; i++) {
             s1 += ((double) i + 1.0) * Math.pow(x[i], 4.0);
         }
-        s1 += Math.random();
+        s1 += ThreadLocalRandom.current().nextDouble();
         return s1;
     }
 }
@@ -538,7 +905,7 @@ class f25 extends f_xj //quartic function         f(x)=0      @x=(0,0,0...) -10<
         for (int i = 0; i < n; i++) {
             s1 += ((double) i + 1.0) * Math.pow(x[i], 4.0);
         }
-        s1 += Math.random();
+        s1 += ThreadLocalRandom.current().nextDouble();
         return s1;
     }
 }
@@ -568,10 +935,11 @@ class f27 extends f_xj //Schwefel 2.22         f(x)=0    @x=(0,0,...)  -100<x[i]
 
 class f28 extends f_xj //Kowalik         f(x)=3.0748e-4    @x=(0,0,...)  -5<x[i]<5
 {
+    static final double[] a = {0.1957, 0.1947, 0.1735, 0.16, 0.0844, 0.0627, 0.0456, 0.0342, 0.0323, 0.0235, 0.0246};
+    static final double[] b = {0.25, 0.5, 1.0, 2.0, 4.0, 6.0, 8.0, 10.0, 12.0, 14.0, 16.0};
+
     double func(double x[]) {
         int n = x.length;
-        double a[] = {0.1957, 0.1947, 0.1735, 0.16, 0.0844, 0.0627, 0.0456, 0.0342, 0.0323, 0.0235, 0.0246};
-        double b[] = {0.25, 0.5, 1.0, 2.0, 4.0, 6.0, 8.0, 10.0, 12.0, 14.0, 16.0};
         double s1 = 0.0;
         for (int i = 0; i < 11; i++) {
             s1 += Math.pow((a[i] - ((x[0] * (1.0 + x[1] * b[i])) / (1.0 + x[2] * b[i] + x[3] * b[i] * b[i]))), 2.0);
@@ -618,6 +986,14 @@ class f31 extends f_xj // De Jong�s first function     f(x)=0  @x=(0,0,...)
         }
         return ff;
     }
+
+    boolean separable() {
+        return true;
+    }
+
+    double term(double xj, int j, int n) {
+        return xj * xj;
+    }
 }
 
 class f32 extends f_xj //Axis parallel hyper-ellipsoid 2.2    f(x)=0  @x=(0,0,...)     -5.12<x[i]<5.12
@@ -632,6 +1008,14 @@ class f32 extends f_xj //Axis parallel hyper-ellipsoid 2.2    f(x)=0  @x=(0,0,..
         }
         return ff;
     }
+
+    boolean separable() {
+        return true;
+    }
+
+    double term(double xj, int j, int n) {
+        return j * xj * xj;
+    }
 }
 
 class f33 extends f_xj //Rotated hyper-ellipsoid function  -65.536<x[i]<65.536  f(x)=0   @x=(0,0,...)
@@ -648,6 +1032,15 @@ class f33 extends f_xj //Rotated hyper-ellipsoid function  -65.536<x[i]<65.536
         }
         return ff;
     }
+
+    boolean separable() {
+        return true;
+    }
+
+    // x_j appears in the inner sums of i = j + 1 .. n - 1
+    double term(double xj, int j, int n) {
+        return (n - 1 - j) * xj * xj;
+    }
 }
 
 class f34 extends f_xj //Rastrigin�s function 2.5        f(x)=0  @x=(0,0,...)     -5.12<x[i]<5.12
@@ -661,6 +1054,18 @@ class f34 extends f_xj //Rastrigin�s function 2.5        f(x)=0  @x=(0,0,...)
         }
         return ff + 10 * n;
     }
+
+    boolean separable() {
+        return true;
+    }
+
+    double term(double xj, int j, int n) {
+        return xj * xj - 10 * Math.cos(2.0 * Math.PI * xj);
+    }
+
+    double constant(int n) {
+        return 10 * n;
+    }
 }
 
 class f35 extends f_xj //sum of a different power function 2.8       f(x)=0   @x=(0,0,...)      -1<x[i]<1
@@ -675,6 +1080,14 @@ class f35 extends f_xj //sum of a different power function 2.8       f(x)=0   @x
         }
         return top;
     }
+
+    boolean separable() {
+        return true;
+    }
+
+    double term(double xj, int j, int n) {
+        return Math.pow(Math.abs(xj), (j + 2));
+    }
 }
 
 class f36 extends f_xj //Ackley�s function 2.9        f(x)=0;      @x=(0,0,0...)     -32.768<x[i]<32.768
@@ -731,57 +1144,93 @@ class f38 extends f_xj //Shubert�s function   -10<x[i]<10   18 global minima
     }
 }
 
-class f39 extends f_xj //Fletcher and Powell function---> min(alfa)<x[i]<max(alfa)  f(x)=0 @x=(alfa[1],alfa[2],,,alfa[i])
+class f39 extends problem_instance //Fletcher and Powell function---> min(alfa)<x[i]<max(alfa)  f(x)=0 @x=(alfa[1],alfa[2],,,alfa[i])
 {
-    public double func(double x[]) {
-//��z�m� istenen fonksiyon
-        double a[][] = {{-79.0, 56.0, -62.0, -9.0, 92.0, 48.0, -22.0, -34.0, -39.0, -40.0, -95.0, -69.0, -20.0, -66.0, -98.0, -66.0, -67.0, 37.0, -83.0, -45.0}, {91.0, -9.0, -18.0, -59.0, 99.0, -45.0, 88.0, -14.0, -29.0, 26.0, 71.0, -65.0, 19.0, 45.0, 88.0, 18.0, -11.0, -81.0, -10.0, 42.0}, {-38.0, 8.0, -12.0, -73.0, 40.0, 26.0, -64.0, 29.0, -82.0, -32.0, -89.0, -3.0, 88.0, 98.0, 53.0, 58.0, 45.0, -39.0, 34.0, -23.0}, {-78.0, -18.0 - 49.0, 65.0, 66.0, -40.0, 88.0, -95.0, -57.0, 10.0, -98.0, -11.0, -16.0, -55.0, 33.0, 84.0, 21.0, -43.0, 45.0, 100.0,}, {-1.0, -43.0, 93.0, -18.0, -76.0, -68.0, -42.0, 22.0, 46.0, -14.0, 69.0, 27.0, -12.0, -26.0, 57.0, -13.0, 0.0, 1.0, 56.0, 17.0}, {34.0, -96.0, 26.0, -56.0, -36.0, -85.0, -62.0, 13.0, 93.0, 78.0, -43.0, 96.0, 77.0, 65.0, -34.0, -52.0, 82.0, 18.0, -59.0, -55.0}, {52.0, -46.0, -69.0, 99.0, -47.0, -72.0, -11.0, 55.0, -55.0, 91.0, -30.0, 7.0, -35.0, 23.0, -20.0, 55.0, 61.0, -39.0, -58.0, 13.0}, {81.0, 47.0, 35.0, 55.0, 67.0, -13.0, 33.0, 14.0, 83.0, -42.0, 8.0, -45.0, -44.0, 12.0, 100.0, -9.0, -33.0, -11.0, 21.0, 14.0}, {5.0, -43.0, -45.0, 46.0, 56.0, -94.0, -62.0, 52.0, 66.0, 55.0, -86.0, -29.0, -52.0, -71.0, -91.0, -46.0, 27.0, -27.0, 6.0, 67.0}, {-50.0, 66.0, -47.0, -75.0, 89.0, -16.0, 82.0, 6.0, -85.0, -62.0, -30.0, 31.0, -7.0, -75.0, -26.0, -24.0, 46.0, -95.0, -71.0, -57.0}, {24.0, 98.0, -50.0, 68.0, -97.0, -64.0, -24.0, 81.0, -59.0, -7.0, 85.0, -92.0, 2.0, 61.0, 52.0, -59.0, -91.0, 74.0, -99.0, -95.0}, {-30.0, -63.0, -32.0, -90.0, -35.0, 44.0, -64.0, 57.0, 27.0, 87.0, -70.0, -39.0, -18.0, -89.0, 99.0, 40.0, 14.0, -58.0, -5.0, -42.0}, {56.0, 3.0, 88.0, 38.0, -14.0, -15.0, 84.0, -9.0, 65.0, -20.0, -75.0, -37.0, 74.0, 66.0, -44.0, 72.0, 74.0, 90.0, -83.0, -40.0}, {84.0, 1.0, 73.0, 43.0, 84.0, -99.0, -35.0, 24.0, -78.0, -58.0, 47.0, -83.0, 94.0, -86.0, -65.0, 63.0, -22.0, 65.0, 50.0, -40.0}, {-21.0, -8.0, -48.0, 68.0, -91.0, 17.0, -52.0, -99.0, -23.0, 43.0, -8.0, -5.0, -98.0, -17.0, -62.0, -79.0, 60.0, -18.0, 54.0, 74.0}, {35.0, 93.0, -98.0, -88.0, -8.0, 64.0, 15.0, 69.0, -65.0, -86.0, 58.0, -44.0, -9.0, -94.0, 68.0, -27.0, -79.0, -67.0, -35.0, -56.0}, {-91.0, 73.0, 51.0, 68.0, 96.0, 49.0, 10.0, -13.0, -6.0, -23.0, 50.0, -89.0, 19.0, -67.0, 36.0, -97.0, 0.0, 3.0, 1.0, 39.0}, {53.0, 66.0, 23.0, 10.0, -33.0, 62.0, -73.0, 22.0, -65.0, 37.0, -83.0, -65.0, 59.0, -51.0, -56.0, 98.0, -57.0, -11.0, -48.0, 88.0}, {83.0, 48.0, 67.0, 27.0, 91.0, -33.0, -90.0, -34.0, 39.0, -36.0, -68.0, 17.0, -7.0, 14.0, 11.0, -10.0, 96.0, 98.0, -32.0, 56.0}, {52.0, -52.0, -5.0, 19.0, -25.0, 15.0, -1.0, -11.0, 8.0, -70.0, -4.0, -7.0, -4.0, -6.0, 48.0, 88.0, 13.0, -56.0, 85.0, -65.0}};
-        double b[][] = {{-65.0, -11.0, 76.0, 78.0, 30.0, 93.0, -86.0, -99.0, -37.0, 52.0, -20.0, -10.0, -97.0, -71.0, 16.0, 9.0, -99.0, -84.0, 90.0, -18.0, -94.0},
-                {59.0, 67.0, 49.0, -45.0, 52.0, -33.0, -34.0, 29.0, -39.0, -80.0, 22.0, 7.0, 3.0, -19.0, -15.0, 7.0, -83.0, -4.0, 84.0 - 60.0, -4.0},
-                {21.0, -23.0, -80.0, 86.0, 86.0, -30.0, 39.0, -73.0, -91.0, 5.0, 83.0, -2.0, -45.0, -54.0, -81.0, -8.0, 14.0, 83.0, 73.0, 45.0, 32.0},
-                {-91.0, -75.0, 20.0, -64.0, -15.0, 17.0, -89.0, 36.0, -49.0, -2.0, 56.0, -6.0, 76.0, 56.0, 2.0, -68.0, -59.0, -70.0, 48.0, 2.0, 24.0},
-                {-79.0, 99.0, -31.0, -8.0, -67.0, -72.0, -43.0, -55.0, 76.0, -57.0, 1.0, -58.0, 3.0, -59.0, 30.0, 32.0, 57.0, 29.0, 66.0, 50.0, -80.0},
-                {-89.0, -35.0, -55.0, 75.0, 15.0, -6.0, -53.0, -56.0, -96.0, 87.0, -90.0, -93.0, 52.0, -86.0, -38.0, -55.0, -53.0, 94.0, 98.0, 4.0, -79.0},
-                {-76.0, 45.0, 74.0, 12.0, -12.0, -69.0, 2.0, 71.0, 75.0, -60.0, -50.0, 23.0, 0.0, 6.0, 44.0, -82.0, 37.0, 91.0, 84.0, -15.0, -63.0},
-                {-50.0, -88.0, 93.0, 68.0, 10.0, -13.0, 84.0, -21.0, 65.0, 14.0, 4.0, 92.0, 11.0, 67.0, -18.0, -51.0, 4.0, 21.0, -38.0, 75.0, -59.0},
-                {-23.0, -95.0, 99.0, 62.0, -37.0, 96.0, 27.0, 69.0, -64.0, -92.0, -12.0, 87.0, 93.0, -19.0, -99.0, -92.0, -34.0, -77.0, 17.0, -72.0, 29.0},
-                {-5.0, -57.0, -30.0, -6.0, -96.0, 75.0, 25.0, -6.0, 96.0, 77.0, -35.0, -10.0, 82.0, 82.0, 97.0, -39.0, -65.0, -8.0, 34.0, 72.0, 65.0},
-                {85.0, -9.0, -14.0, 27.0, -45.0, 70.0, 55.0, 26.0, -87.0, -98.0, -25.0, -12.0, 60.0, -45.0, -24.0, -42.0, -88.0, -46.0, -95.0, 53.0, 28.0},
-                {80.0, -47.0, 38.0, -6.0, 43.0, -59.0, 91.0, -41.0, 90.0, -63.0, 11.0, -54.0, 33.0, -61.0, 74.0, 96.0, 21.0, -77.0, -58.0, -75.0, -9.0},
-                {-66.0, -98.0, -4.0, 96.0, -11.0, 88.0, -99.0, 5.0, 5.0, 58.0, -53.0, 52.0, -98.0, -97.0, 50.0, 49.0, 97.0, -62.0, 79.0, -10.0, -80.0},
-                {80.0, -95.0, 82.0, 5.0, -68.0, -54.0, 64.0, -2.0, 5.0, 10.0, 85.0, -33.0, -54.0, -30.0, -65.0, 58.0, 40.0, -21.0, -84.0, -66.0, -11.0},
-                {94.0, 85.0, -31.0, 37.0, -25.0, 60.0, 55.0, -13.0, 48.0, -23.0, -50.0, 84.0, -71.0, 54.0, 47.0, 18.0, -67.0, -30.0, 5.0, -46.0, 53.0},
-                {-29.0, 54.0, -10.0, -68.0, -54.0, -24.0, -16.0, 21.0, 32.0, 33.0, -27.0, 48.0, 37.0, -61.0, 97.0, 45.0, -90.0, 87.0, -95.0, 85.0, 67.0},
-                {76.0, -11.0, -48.0, 38.0, -7.0, 86.0, -55.0, 51.0, 26.0, 8.0, -96.0, 99.0, 69.0, -84.0, 41.0, 78.0, -53.0, 4.0, 29.0, 38.0, 16.0},
-                {-8.0, 48.0, 95.0, 47.0, 39.0, -11.0, -72.0, -95.0, -17.0, 33.0, 65.0, 96.0, -52.0, -17.0, -22.0, -15.0, -91.0, -41.0, -16.0, 23.0, 14.0},
-                {92.0, 87.0, 63.0, -63.0, -80.0, 96.0, -62.0, 71.0, -58.0, 17.0, -89.0, -35.0, -96.0, -79.0, 7.0, 46.0, -74.0, 88.0, 93.0, -44.0, 52.0},
-                {-21.0, 35.0, 16.0, -17.0, 54.0, -22.0, -93.0, 27.0, 88.0, 0.0, -67.0, 94.0, -24.0, -30.0, -90.0, -5.0, -48.0, 45.0, -90.0, 32.0, -81.0},
-                {-86.0, 31.0, -80.0, -79.0, -5.0, 11.0, -20.0, 9.0, 52.0, -38.0, 67.0, 64.0, -49.0, 23.0, -86.0, 39.0, -97.0, 76.0, 10.0, 81.0, 20.0}};
-
-
-        double alfa[] = {-2.7910, 2.5623, -1.0429, 0.5097, -2.8096, 1.1883, 2.0771, -2.9926, 0.0715, 0.4142, -2.5010, 1.7731, 1.6473, 0.4934, 2.1038, -1.9930, 0.3813, -2.2144, -2.5572, 2.9449};
-        int n = x.length;
-        double A[] = new double[x.length];
-        double B[] = new double[x.length];
-        double s1 = 0.0;
-        double s2 = 0.0;
+    // 20 x 20 and 21 x 21 literal data of which the leading n x n blocks are used, the optimum is x = alfa
+    static final double[][] A = {{-79.0, 56.0, -62.0, -9.0, 92.0, 48.0, -22.0, -34.0, -39.0, -40.0, -95.0, -69.0, -20.0, -66.0, -98.0, -66.0, -67.0, 37.0, -83.0, -45.0},
+            {91.0, -9.0, -18.0, -59.0, 99.0, -45.0, 88.0, -14.0, -29.0, 26.0, 71.0, -65.0, 19.0, 45.0, 88.0, 18.0, -11.0, -81.0, -10.0, 42.0},
+            {-38.0, 8.0, -12.0, -73.0, 40.0, 26.0, -64.0, 29.0, -82.0, -32.0, -89.0, -3.0, 88.0, 98.0, 53.0, 58.0, 45.0, -39.0, 34.0, -23.0},
+            {-78.0, -18.0, -49.0, 65.0, 66.0, -40.0, 88.0, -95.0, -57.0, 10.0, -98.0, -11.0, -16.0, -55.0, 33.0, 84.0, 21.0, -43.0, 45.0, 100.0},
+            {-1.0, -43.0, 93.0, -18.0, -76.0, -68.0, -42.0, 22.0, 46.0, -14.0, 69.0, 27.0, -12.0, -26.0, 57.0, -13.0, 0.0, 1.0, 56.0, 17.0},
+            {34.0, -96.0, 26.0, -56.0, -36.0, -85.0, -62.0, 13.0, 93.0, 78.0, -43.0, 96.0, 77.0, 65.0, -34.0, -52.0, 82.0, 18.0, -59.0, -55.0},
+            {52.0, -46.0, -69.0, 99.0, -47.0, -72.0, -11.0, 55.0, -55.0, 91.0, -30.0, 7.0, -35.0, 23.0, -20.0, 55.0, 61.0, -39.0, -58.0, 13.0},
+            {81.0, 47.0, 35.0, 55.0, 67.0, -13.0, 33.0, 14.0, 83.0, -42.0, 8.0, -45.0, -44.0, 12.0, 100.0, -9.0, -33.0, -11.0, 21.0, 14.0},
+            {5.0, -43.0, -45.0, 46.0, 56.0, -94.0, -62.0, 52.0, 66.0, 55.0, -86.0, -29.0, -52.0, -71.0, -91.0, -46.0, 27.0, -27.0, 6.0, 67.0},
+            {-50.0, 66.0, -47.0, -75.0, 89.0, -16.0, 82.0, 6.0, -85.0, -62.0, -30.0, 31.0, -7.0, -75.0, -26.0, -24.0, 46.0, -95.0, -71.0, -57.0},
+            {24.0, 98.0, -50.0, 68.0, -97.0, -64.0, -24.0, 81.0, -59.0, -7.0, 85.0, -92.0, 2.0, 61.0, 52.0, -59.0, -91.0, 74.0, -99.0, -95.0},
+            {-30.0, -63.0, -32.0, -90.0, -35.0, 44.0, -64.0, 57.0, 27.0, 87.0, -70.0, -39.0, -18.0, -89.0, 99.0, 40.0, 14.0, -58.0, -5.0, -42.0},
+            {56.0, 3.0, 88.0, 38.0, -14.0, -15.0, 84.0, -9.0, 65.0, -20.0, -75.0, -37.0, 74.0, 66.0, -44.0, 72.0, 74.0, 90.0, -83.0, -40.0},
+            {84.0, 1.0, 73.0, 43.0, 84.0, -99.0, -35.0, 24.0, -78.0, -58.0, 47.0, -83.0, 94.0, -86.0, -65.0, 63.0, -22.0, 65.0, 50.0, -40.0},
+            {-21.0, -8.0, -48.0, 68.0, -91.0, 17.0, -52.0, -99.0, -23.0, 43.0, -8.0, -5.0, -98.0, -17.0, -62.0, -79.0, 60.0, -18.0, 54.0, 74.0},
+            {35.0, 93.0, -98.0, -88.0, -8.0, 64.0, 15.0, 69.0, -65.0, -86.0, 58.0, -44.0, -9.0, -94.0, 68.0, -27.0, -79.0, -67.0, -35.0, -56.0},
+            {-91.0, 73.0, 51.0, 68.0, 96.0, 49.0, 10.0, -13.0, -6.0, -23.0, 50.0, -89.0, 19.0, -67.0, 36.0, -97.0, 0.0, 3.0, 1.0, 39.0},
+            {53.0, 66.0, 23.0, 10.0, -33.0, 62.0, -73.0, 22.0, -65.0, 37.0, -83.0, -65.0, 59.0, -51.0, -56.0, 98.0, -57.0, -11.0, -48.0, 88.0},
+            {83.0, 48.0, 67.0, 27.0, 91.0, -33.0, -90.0, -34.0, 39.0, -36.0, -68.0, 17.0, -7.0, 14.0, 11.0, -10.0, 96.0, 98.0, -32.0, 56.0},
+            {52.0, -52.0, -5.0, 19.0, -25.0, 15.0, -1.0, -11.0, 8.0, -70.0, -4.0, -7.0, -4.0, -6.0, 48.0, 88.0, 13.0, -56.0, 85.0, -65.0}};
+    static final double[][] B = {{-65.0, -11.0, 76.0, 78.0, 30.0, 93.0, -86.0, -99.0, -37.0, 52.0, -20.0, -10.0, -97.0, -71.0, 16.0, 9.0, -99.0, -84.0, 90.0, -18.0, -94.0},
+            {59.0, 67.0, 49.0, -45.0, 52.0, -33.0, -34.0, 29.0, -39.0, -80.0, 22.0, 7.0, 3.0, -19.0, -15.0, 7.0, -83.0, -4.0, 84.0, -60.0, -4.0},
+            {21.0, -23.0, -80.0, 86.0, 86.0, -30.0, 39.0, -73.0, -91.0, 5.0, 83.0, -2.0, -45.0, -54.0, -81.0, -8.0, 14.0, 83.0, 73.0, 45.0, 32.0},
+            {-91.0, -75.0, 20.0, -64.0, -15.0, 17.0, -89.0, 36.0, -49.0, -2.0, 56.0, -6.0, 76.0, 56.0, 2.0, -68.0, -59.0, -70.0, 48.0, 2.0, 24.0},
+            {-79.0, 99.0, -31.0, -8.0, -67.0, -72.0, -43.0, -55.0, 76.0, -57.0, 1.0, -58.0, 3.0, -59.0, 30.0, 32.0, 57.0, 29.0, 66.0, 50.0, -80.0},
+            {-89.0, -35.0, -55.0, 75.0, 15.0, -6.0, -53.0, -56.0, -96.0, 87.0, -90.0, -93.0, 52.0, -86.0, -38.0, -55.0, -53.0, 94.0, 98.0, 4.0, -79.0},
+            {-76.0, 45.0, 74.0, 12.0, -12.0, -69.0, 2.0, 71.0, 75.0, -60.0, -50.0, 23.0, 0.0, 6.0, 44.0, -82.0, 37.0, 91.0, 84.0, -15.0, -63.0},
+            {-50.0, -88.0, 93.0, 68.0, 10.0, -13.0, 84.0, -21.0, 65.0, 14.0, 4.0, 92.0, 11.0, 67.0, -18.0, -51.0, 4.0, 21.0, -38.0, 75.0, -59.0},
+            {-23.0, -95.0, 99.0, 62.0, -37.0, 96.0, 27.0, 69.0, -64.0, -92.0, -12.0, 87.0, 93.0, -19.0, -99.0, -92.0, -34.0, -77.0, 17.0, -72.0, 29.0},
+            {-5.0, -57.0, -30.0, -6.0, -96.0, 75.0, 25.0, -6.0, 96.0, 77.0, -35.0, -10.0, 82.0, 82.0, 97.0, -39.0, -65.0, -8.0, 34.0, 72.0, 65.0},
+            {85.0, -9.0, -14.0, 27.0, -45.0, 70.0, 55.0, 26.0, -87.0, -98.0, -25.0, -12.0, 60.0, -45.0, -24.0, -42.0, -88.0, -46.0, -95.0, 53.0, 28.0},
+            {80.0, -47.0, 38.0, -6.0, 43.0, -59.0, 91.0, -41.0, 90.0, -63.0, 11.0, -54.0, 33.0, -61.0, 74.0, 96.0, 21.0, -77.0, -58.0, -75.0, -9.0},
+            {-66.0, -98.0, -4.0, 96.0, -11.0, 88.0, -99.0, 5.0, 5.0, 58.0, -53.0, 52.0, -98.0, -97.0, 50.0, 49.0, 97.0, -62.0, 79.0, -10.0, -80.0},
+            {80.0, -95.0, 82.0, 5.0, -68.0, -54.0, 64.0, -2.0, 5.0, 10.0, 85.0, -33.0, -54.0, -30.0, -65.0, 58.0, 40.0, -21.0, -84.0, -66.0, -11.0},
+            {94.0, 85.0, -31.0, 37.0, -25.0, 60.0, 55.0, -13.0, 48.0, -23.0, -50.0, 84.0, -71.0, 54.0, 47.0, 18.0, -67.0, -30.0, 5.0, -46.0, 53.0},
+            {-29.0, 54.0, -10.0, -68.0, -54.0, -24.0, -16.0, 21.0, 32.0, 33.0, -27.0, 48.0, 37.0, -61.0, 97.0, 45.0, -90.0, 87.0, -95.0, 85.0, 67.0},
+            {76.0, -11.0, -48.0, 38.0, -7.0, 86.0, -55.0, 51.0, 26.0, 8.0, -96.0, 99.0, 69.0, -84.0, 41.0, 78.0, -53.0, 4.0, 29.0, 38.0, 16.0},
+            {-8.0, 48.0, 95.0, 47.0, 39.0, -11.0, -72.0, -95.0, -17.0, 33.0, 65.0, 96.0, -52.0, -17.0, -22.0, -15.0, -91.0, -41.0, -16.0, 23.0, 14.0},
+            {92.0, 87.0, 63.0, -63.0, -80.0, 96.0, -62.0, 71.0, -58.0, 17.0, -89.0, -35.0, -96.0, -79.0, 7.0, 46.0, -74.0, 88.0, 93.0, -44.0, 52.0},
+            {-21.0, 35.0, 16.0, -17.0, 54.0, -22.0, -93.0, 27.0, 88.0, 0.0, -67.0, 94.0, -24.0, -30.0, -90.0, -5.0, -48.0, 45.0, -90.0, 32.0, -81.0},
+            {-86.0, 31.0, -80.0, -79.0, -5.0, 11.0, -20.0, 9.0, 52.0, -38.0, 67.0, 64.0, -49.0, 23.0, -86.0, 39.0, -97.0, 76.0, 10.0, 81.0, 20.0}};
+    static final double[] ALFA = {-2.7910, 2.5623, -1.0429, 0.5097, -2.8096, 1.1883, 2.0771, -2.9926, 0.0715, 0.4142, -2.5010, 1.7731, 1.6473, 0.4934, 2.1038, -1.9930, 0.3813, -2.2144, -2.5572, 2.9449};
+    static final int MAXDIM = 20;
+
+    double[] a, b;          // leading n x n blocks, row major
+    double[] alfaSum;       // sum_j a_ij sin(alfa_j) + b_ij cos(alfa_j)
+
+    void prepare(int n) {
+        if (n > MAXDIM) {
+            throw new IllegalArgumentException("Fletcher-Powell is defined up to " + MAXDIM + " variables");
+        }
+        a = flat(A, n, n);
+        b = flat(B, n, n);
+        alfaSum = new double[n];
         for (int i = 0; i < n; i++) {
-            s1 = 0.0;
+            double s1 = 0.0;
             for (int j = 0; j < n; j++) {
-                s1 += a[i][j] * Math.sin(alfa[j]) + b[i][j] * Math.cos(alfa[j]);
+                s1 += a[i * n + j] * Math.sin(ALFA[j]) + b[i * n + j] * Math.cos(ALFA[j]);
             }
-            A[i] = s1;
+            alfaSum[i] = s1;
         }
-        for (int i = 0; i < n; i++) {
-            s2 = 0.0;
-            for (int j = 0; j < n; j++) {
-                s2 += a[i][j] * Math.sin(x[j]) + b[i][j] * Math.cos(x[j]);
-            }
-            B[i] = s2;
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n, n};
+    }
+
+    double eval(double x[], workspace ws) {
+        int n = x.length;
+        double[] sx = ws.buf[0];
+        double[] cx = ws.buf[1];
+        for (int j = 0; j < n; j++) {
+            sx[j] = Math.sin(x[j]);
+            cx[j] = Math.cos(x[j]);
         }
         double s3 = 0.0;
         for (int i = 0; i < n; i++) {
-            s3 += (A[i] - B[i]) * (A[i] - B[i]);
+            int row = i * n;
+            double s2 = 0.0;
+            for (int j = 0; j < n; j++) {
+                s2 += a[row + j] * sx[j] + b[row + j] * cx[j];
+            }
+            double d = alfaSum[i] - s2;
+            s3 += d * d;
         }
         return s3;
     }
@@ -823,11 +1272,19 @@ class f41 extends f_xj //Penalized function   f(x)=0   @x(-1.0,-1.0)   -5.0<x[i]
         return c;
     }
 
-    public double func(double x[]) {
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n};
+    }
+
+    public double func(double x[], workspace ws) {
 //��z�m� istenen fonksiyon
         int n = x.length;
         double s1 = 0.0;
-        double[] y = new double[n];
+        double[] y = ws.buf[0];
         for (int i = 0; i < n; i++) {
             y[i] = (0.25 * (x[i] + 1.0)) + 1.0;
         }
@@ -889,20 +1346,19 @@ class f42 extends f_xj //Penalized2 function   f(x)=0   @x(1.0,1.0,....)   -5.0<
 
 class f43 extends f_xj //Shekel's Foxholes
 {
+    static final double[] a = problem_instance.flat(new double[][]{{-32.0, -16.0, 0.0, 16.0, 32.0, -32.0, -16.0, 0.0, 16.0, 32.0, -32.0, -16.0, 0.0, 16.0, 32.0, -32.0, -16.0, 0.0, 16.0, 32.0, -32.0, -16.0, 0.0, 16.0, 32.0}, {-32.0, -32.0, -32.0, -32.0, -32.0, -16.0, -16.0, -16.0, -16.0, -16.0, 0.0, 0.0, 0.0, 0.0, 0.0, 16.0, 16.0, 16.0, 16.0, 16.0, 32.0, 32.0, 32.0, 32.0, 32.0}}, 2, 25);
+
     public double func(double x[]) {
 //��z�m� istenen fonksiyon
         int n = x.length;
         double s1 = 0.0;
 
-        double[][] a = {{-32.0, -16.0, 0.0, 16.0, 32.0, -32.0, -16.0, 0.0, 16.0, 32.0, -32.0, -16.0, 0.0, 16.0, 32.0, -32.0, -16.0, 0.0, 16.0, 32.0, -32.0, -16.0, 0.0, 16.0, 32.0}, {-32.0, -32.0, -32.0, -32.0, -32.0, -16.0, -16.0, -16.0, -16.0, -16.0, 0.0, 0.0, 0.0, 0.0, 0.0, 16.0, 16.0, 16.0, 16.0, 16.0, 32.0, 32.0, 32.0, 32.0, 32.0}};
-
-
         double sin = 0.0;
         double sout = 0.0;
         for (int j = 0; j < 25; j++) {
             sin = 0.0;
             for (int i = 0; i < 2; i++) {
-                sin += Math.pow((x[i] - a[i][j]), 6.0);
+                sin += Math.pow((x[i] - a[i * 25 + j]), 6.0);
             }
             sout += 1.0 / ((double) j + sin);
         }
@@ -912,40 +1368,41 @@ class f43 extends f_xj //Shekel's Foxholes
 
 class f44 extends f_xj //Shekel's Foxholes
 {
+    static final double[] a = problem_instance.flat(new double[][]{
+            {9.681, 0.667, 4.783, 9.095, 3.517, 9.325, 6.544, 0.211, 5.122, 2.020},
+            {9.400, 2.041, 3.788, 7.931, 2.882, 2.672, 3.568, 1.284, 7.033, 7.374},
+            {8.025, 9.152, 5.114, 7.621, 4.564, 4.711, 2.996, 6.126, 0.734, 4.982},
+            {2.196, 0.415, 5.649, 6.979, 9.510, 9.166, 6.304, 6.054, 9.377, 1.426},
+            {8.074, 8.777, 3.467, 1.863, 6.708, 6.349, 4.534, 0.276, 7.633, 1.567},
+            {7.650, 5.658, 0.720, 2.764, 3.278, 5.283, 7.474, 6.274, 1.409, 8.208},
+            {1.256, 3.605, 8.623, 6.905, 4.584, 8.133, 6.071, 6.888, 4.187, 5.448},
+            {8.314, 2.261, 4.224, 1.781, 4.124, 0.932, 8.129, 8.658, 1.208, 5.762},
+            {0.226, 8.858, 1.420, 0.945, 1.622, 4.698, 6.228, 9.096, 0.972, 7.637},
+            {7.305, 2.228, 1.242, 5.928, 9.133, 1.826, 4.060, 5.204, 8.713, 8.247},
+            {0.652, 7.027, 0.508, 4.876, 8.807, 4.632, 5.808, 6.937, 3.291, 7.016},
+            {2.699, 3.516, 5.874, 4.119, 4.461, 7.496, 8.817, 0.690, 6.593, 9.789},
+            {8.327, 3.897, 2.017, 9.570, 9.825, 1.150, 1.395, 3.885, 6.354, 0.109},
+            {2.132, 7.006, 7.136, 2.641, 1.882, 5.943, 7.273, 7.691, 2.880, 0.564},
+            {4.707, 5.579, 4.080, 0.581, 9.698, 8.542, 8.077, 8.515, 9.231, 4.670},
+            {8.304, 7.559, 8.567, 0.322, 7.128, 8.392, 1.472, 8.524, 2.277, 7.826},
+            {8.632, 4.409, 4.832, 5.768, 7.050, 6.715, 1.711, 4.323, 4.405, 4.591},
+            {4.887, 9.112, 0.170, 8.967, 9.693, 9.867, 7.508, 7.770, 8.382, 6.740},
+            {2.440, 6.686, 4.299, 1.007, 7.008, 1.427, 9.398, 8.480, 9.950, 1.675},
+            {6.306, 8.583, 6.084, 1.138, 4.350, 3.134, 7.853, 6.061, 7.457, 2.258},
+            {0.652, 2.343, 1.370, 0.821, 1.310, 1.063, 0.689, 8.819, 8.833, 9.070},
+            {5.558, 1.272, 5.756, 9.857, 2.279, 2.764, 1.284, 1.677, 1.244, 1.234},
+            {3.352, 7.549, 9.817, 9.437, 8.687, 4.167, 2.570, 6.540, 0.228, 0.027},
+            {8.798, 0.880, 2.370, 0.168, 1.701, 3.680, 1.231, 2.390, 2.499, 0.064},
+            {1.460, 8.057, 1.336, 7.217, 7.914, 3.615, 9.981, 9.198, 5.292, 1.224},
+            {0.432, 8.645, 8.774, 0.249, 8.081, 7.461, 4.416, 0.652, 4.002, 4.644},
+            {0.679, 2.800, 5.523, 3.049, 2.968, 7.225, 6.730, 4.199, 9.614, 9.229},
+            {4.263, 1.074, 7.286, 5.599, 8.291, 5.200, 9.214, 8.272, 4.398, 4.506},
+            {9.496, 4.830, 3.150, 8.270, 5.079, 1.231, 5.731, 9.494, 1.883, 9.732},
+            {4.138, 2.562, 2.532, 9.661, 5.611, 5.500, 6.886, 2.341, 9.699, 6.500}}, 30, 10);
+    static final double[] c = {0.806, 0.517, 0.100, 0.908, 0.965, 0.669, 0.524, 0.902, 0.531, 0.876, 0.462, 0.491, 0.463, 0.714, 0.352, 0.869, 0.813, 0.811, 0.828, 0.964, 0.789, 0.360, 0.369, 0.992, 0.332, 0.817, 0.632, 0.883, 0.608, 0.326};
+
     public double func(double x[]) {
-        double a[][] = {
-                {9.681, 0.667, 4.783, 9.095, 3.517, 9.325, 6.544, 0.211, 5.122, 2.020},
-                {9.400, 2.041, 3.788, 7.931, 2.882, 2.672, 3.568, 1.284, 7.033, 7.374},
-                {8.025, 9.152, 5.114, 7.621, 4.564, 4.711, 2.996, 6.126, 0.734, 4.982},
-                {2.196, 0.415, 5.649, 6.979, 9.510, 9.166, 6.304, 6.054, 9.377, 1.426},
-                {8.074, 8.777, 3.467, 1.863, 6.708, 6.349, 4.534, 0.276, 7.633, 1.567},
-                {7.650, 5.658, 0.720, 2.764, 3.278, 5.283, 7.474, 6.274, 1.409, 8.208},
-                {1.256, 3.605, 8.623, 6.905, 4.584, 8.133, 6.071, 6.888, 4.187, 5.448},
-                {8.314, 2.261, 4.224, 1.781, 4.124, 0.932, 8.129, 8.658, 1.208, 5.762},
-                {0.226, 8.858, 1.420, 0.945, 1.622, 4.698, 6.228, 9.096, 0.972, 7.637},
-                {7.305, 2.228, 1.242, 5.928, 9.133, 1.826, 4.060, 5.204, 8.713, 8.247},
-                {0.652, 7.027, 0.508, 4.876, 8.807, 4.632, 5.808, 6.937, 3.291, 7.016},
-                {2.699, 3.516, 5.874, 4.119, 4.461, 7.496, 8.817, 0.690, 6.593, 9.789},
-                {8.327, 3.897, 2.017, 9.570, 9.825, 1.150, 1.395, 3.885, 6.354, 0.109},
-                {2.132, 7.006, 7.136, 2.641, 1.882, 5.943, 7.273, 7.691, 2.880, 0.564},
-                {4.707, 5.579, 4.080, 0.581, 9.698, 8.542, 8.077, 8.515, 9.231, 4.670},
-                {8.304, 7.559, 8.567, 0.322, 7.128, 8.392, 1.472, 8.524, 2.277, 7.826},
-                {8.632, 4.409, 4.832, 5.768, 7.050, 6.715, 1.711, 4.323, 4.405, 4.591},
-                {4.887, 9.112, 0.170, 8.967, 9.693, 9.867, 7.508, 7.770, 8.382, 6.740},
-                {2.440, 6.686, 4.299, 1.007, 7.008, 1.427, 9.398, 8.480, 9.950, 1.675},
-                {6.306, 8.583, 6.084, 1.138, 4.350, 3.134, 7.853, 6.061, 7.457, 2.258},
-                {0.652, 2.343, 1.370, 0.821, 1.310, 1.063, 0.689, 8.819, 8.833, 9.070},
-                {5.558, 1.272, 5.756, 9.857, 2.279, 2.764, 1.284, 1.677, 1.244, 1.234},
-                {3.352, 7.549, 9.817, 9.437, 8.687, 4.167, 2.570, 6.540, 0.228, 0.027},
-                {8.798, 0.880, 2.370, 0.168, 1.701, 3.680, 1.231, 2.390, 2.499, 0.064},
-                {1.460, 8.057, 1.336, 7.217, 7.914, 3.615, 9.981, 9.198, 5.292, 1.224},
-                {0.432, 8.645, 8.774, 0.249, 8.081, 7.461, 4.416, 0.652, 4.002, 4.644},
-                {0.679, 2.800, 5.523, 3.049, 2.968, 7.225, 6.730, 4.199, 9.614, 9.229},
-                {4.263, 1.074, 7.286, 5.599, 8.291, 5.200, 9.214, 8.272, 4.398, 4.506},
-                {9.496, 4.830, 3.150, 8.270, 5.079, 1.231, 5.731, 9.494, 1.883, 9.732},
-                {4.138, 2.562, 2.532, 9.661, 5.611, 5.500, 6.886, 2.341, 9.699, 6.500}};
-
-        double c[] = {0.806, 0.517, 0.100, 0.908, 0.965, 0.669, 0.524, 0.902, 0.531, 0.876, 0.462, 0.491, 0.463, 0.714, 0.352, 0.869, 0.813, 0.811, 0.828, 0.964, 0.789, 0.360, 0.369, 0.992, 0.332, 0.817, 0.632, 0.883, 0.608, 0.326};
+
         int dimension = x.length;
         double sum = 0.0;
         double h = 0.0;
@@ -953,7 +1410,7 @@ class f44 extends f_xj //Shekel's Foxholes
         for (int j = 0; j < 30; j++) {
             sp = 0.0;
             for (int i = 0; i < dimension; i++) {
-                h = (x[i]) - a[j][i];
+                h = (x[i]) - a[j * 10 + i];
                 sp += h * h;
             }
             sum -= 1.0 / (sp + c[j]);
@@ -1122,6 +1579,11 @@ class f54 extends f_xj //Gear function     f(x)=0.0  @x(16,19,43,49)  12<=x[i]<=
         double s1 = Math.pow((1.0 / 6.931 - (x[0] * x[1]) / (x[2] * x[3])), 2.0);
         return s1;
     }
+
+    // numbers of teeth
+    variable_type[] types(int n) {
+        return variable_type.all(n, variable_type.integer());
+    }
 }
 
 class f55 extends f_xj //Gear function     f(x)=0.0  @x(16,19,43,49)  12<=x[i]<=60
@@ -1196,7 +1658,7 @@ class f60 extends f_xj //     f(x) = f(1.0,0.5,0.333,...) = 0.0  -5<=x[i]<=5
         int n = x.length;
         double s1 = 0.0;
         for (int i = 0; i < n; i++) {
-            s1 += Math.random() * Math.abs(x[i] - (1.0 / ((double) i + 1.0)));
+            s1 += ThreadLocalRandom.current().nextDouble() * Math.abs(x[i] - (1.0 / ((double) i + 1.0)));
         }
         return s1;
     }
@@ -1234,7 +1696,7 @@ class f62 extends f_xj // Yang funtion     x(pi,pi)
         double s1 = 0.0;
         for (int j = 0; j < K; j++) {
             for (int i = 0; i < K; i++) {
-                s1 += Math.random() * Math.exp(-alfa * ((x[0] - (double) i) * (x[0] - (double) i) + (x[1] - (double) j) * (x[1] - (double) j)));
+                s1 += ThreadLocalRandom.current().nextDouble() * Math.exp(-alfa * ((x[0] - (double) i) * (x[0] - (double) i) + (x[1] - (double) j) * (x[1] - (double) j)));
             }
 
         }
@@ -1259,7 +1721,7 @@ class f665 extends f_xj // Weierstrass Function
 
         for (int i = 0; i < DD; i++) {
             suminner = 0.0;
-            for (int k = 0; k < kmax; ) {
+            for (int k = 0; k < kmax; k++) {
                 suminner += (Math.pow(a, (double) k) * Math.cos(2.0 * Math.PI * Math.pow(b, (double) k) * (x[i] + 0.5)));
             }
             sumouter += suminner;
@@ -1273,13 +1735,33 @@ class f665 extends f_xj // Weierstrass Function
 
     }
 
-}
+    boolean separable() {
+        return true;
+    }
 
+    double term(double xj, int j, int n) {
+        double suminner = 0.0;
+        for (int k = 0; k < 20; k++) {
+            suminner += (Math.pow(0.5, (double) k) * Math.cos(2.0 * Math.PI * Math.pow(3.0, (double) k) * (xj + 0.5)));
+        }
+        return suminner;
+    }
 
-class f666 extends f_xj // Hgbat func
-{
-    public double func(double x[]) {
-//��z�m� istenen fonksiyon
+    double constant(int n) {
+        double suminner1 = 0.0;
+        for (int k = 0; k < 20; k++) {
+            suminner1 += Math.pow(0.5, (double) k) * Math.cos(2.0 * Math.PI * Math.pow(3.0, (double) k) * 0.5);
+        }
+        return -(double) n * suminner1;
+    }
+
+}
+
+
+class f666 extends f_xj // Hgbat func
+{
+    public double func(double x[]) {
+//��z�m� istenen fonksiyon
         int DD = x.length;
         double sum1 = 0.0;
         for (int i = 0; i < DD; i++) {
@@ -1353,10 +1835,18 @@ class f668 extends f_xj // Katsuura Function  ++
 
 class f669 extends f_xj // Griewank�s plus Rosenbrock�s Function
 {
-    public double func(double x[]) {
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n};
+    }
+
+    public double func(double x[], workspace ws) {
 //��z�m� istenen fonksiyon
         int DD = x.length;
-        double[] f10 = new double[DD];
+        double[] f10 = ws.buf[0];
         for (int i = 0; i < DD - 1; i++) {
             f10[i] = 100 * (x[i] * x[i] - x[i + 1]) * (x[i] * x[i] - x[i + 1]) + (x[i] - 1) * (x[i] - 1);
         }
@@ -1382,10 +1872,18 @@ class f669 extends f_xj // Griewank�s plus Rosenbrock�s Function
 
 class f670 extends f_xj // Expanded Scaffer�s F6 Function
 {
-    public double func(double x[]) {
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n};
+    }
+
+    public double func(double x[], workspace ws) {
 //��z�m� istenen fonksiyon
         int DD = x.length;
-        double[] f10 = new double[DD];
+        double[] f10 = ws.buf[0];
         for (int i = 0; i < DD - 1; i++) {
             f10[i] = 0.5 + (Math.sin(Math.sqrt(x[i] * x[i] + x[i + 1] * x[i + 1])) * Math.sin(Math.sqrt(x[i] * x[i] + x[i + 1] * x[i + 1])) - 0.5) / ((1.0 + 0.001 * (x[i] * x[i] + x[i + 1] * x[i + 1])) * (1.0 + 0.001 * (x[i] * x[i] + x[i + 1] * x[i + 1])));
         }
@@ -1407,12 +1905,19 @@ class f670 extends f_xj // Expanded Scaffer�s F6 Function
 
 class f671 extends f_xj // Modified Schwefel�s Function
 {
-    public double func(double x[]) {
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n, n};
+    }
+
+    public double func(double x[], workspace ws) {
 //��z�m� istenen fonksiyon
         int DD = x.length;
-        double[] f10 = new double[DD];
-        double[] z = new double[DD];
-        double[] gz = new double[DD];
+        double[] z = ws.buf[0];
+        double[] gz = ws.buf[1];
 
         double sum1 = 0.0;
 
@@ -1441,11 +1946,19 @@ class f671 extends f_xj // Modified Schwefel�s Function
 
 class f672 extends f_xj // Expanded Two-Peak Trap
 {
-    public double func(double x[]) {
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n, n};
+    }
+
+    public double func(double x[], workspace ws) {
 //��z�m� istenen fonksiyon
         int DD = x.length;
-        double[] y = new double[DD];
-        double[] t = new double[DD];
+        double[] y = ws.buf[0];
+        double[] t = ws.buf[1];
 //double[] gz=new double[DD];
 
         double sum1 = 0.0;
@@ -1481,11 +1994,18 @@ class f672 extends f_xj // Expanded Two-Peak Trap
 
 class f673 extends f_xj // Expanded Five-Uneven-Peak Trap
 {
-    public double func(double x[]) {
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n};
+    }
+
+    public double func(double x[], workspace ws) {
 //��z�m� istenen fonksiyon
         int DD = x.length;
-        double[] y = new double[DD];
-        double[] t = new double[DD];
+        double[] t = ws.buf[0];
 //double[] gz=new double[DD];
 
         double sum1 = 0.0;
@@ -1529,11 +2049,19 @@ class f673 extends f_xj // Expanded Five-Uneven-Peak Trap
 
 class f674 extends f_xj // Expanded Equal Minima
 {
-    public double func(double x[]) {
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n, n};
+    }
+
+    public double func(double x[], workspace ws) {
 //��z�m� istenen fonksiyon
         int DD = x.length;
-        double[] y = new double[DD];
-        double[] t = new double[DD];
+        double[] y = ws.buf[0];
+        double[] t = ws.buf[1];
 //double[] gz=new double[DD];
 
         double sum1 = 0.0;
@@ -1564,11 +2092,19 @@ class f674 extends f_xj // Expanded Equal Minima
 
 class f675 extends f_xj // Expanded Decreasing Minima
 {
-    public double func(double x[]) {
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n, n};
+    }
+
+    public double func(double x[], workspace ws) {
 //��z�m� istenen fonksiyon
         int DD = x.length;
-        double[] y = new double[DD];
-        double[] t = new double[DD];
+        double[] y = ws.buf[0];
+        double[] t = ws.buf[1];
 //double[] gz=new double[DD];
 
         double sum1 = 0.0;
@@ -1600,11 +2136,19 @@ class f675 extends f_xj // Expanded Decreasing Minima
 
 class f676 extends f_xj // Expanded Uneven Minima
 {
-    public double func(double x[]) {
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n, n};
+    }
+
+    public double func(double x[], workspace ws) {
 //��z�m� istenen fonksiyon
         int DD = x.length;
-        double[] y = new double[DD];
-        double[] t = new double[DD];
+        double[] y = ws.buf[0];
+        double[] t = ws.buf[1];
 //double[] gz=new double[DD];
 
         double sum1 = 0.0;
@@ -1636,11 +2180,18 @@ class f676 extends f_xj // Expanded Uneven Minima
 
 class f677 extends f_xj // Expanded Himmelblau's Function
 {
-    public double func(double x[]) {
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n};
+    }
+
+    public double func(double x[], workspace ws) {
 //��z�m� istenen fonksiyon
         int DD = x.length;
-        double[] y = new double[DD];
-        double[] t = new double[DD];
+        double[] y = ws.buf[0];
 //double[] gz=new double[DD];
 
         double sum1 = 0.0;
@@ -1669,11 +2220,19 @@ class f677 extends f_xj // Expanded Himmelblau's Function
 
 class f678 extends f_xj // Modified Vincent Function
 {
-    public double func(double x[]) {
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{n, n};
+    }
+
+    public double func(double x[], workspace ws) {
 //��z�m� istenen fonksiyon
         int DD = x.length;
-        double[] y = new double[DD];
-        double[] t = new double[DD];
+        double[] y = ws.buf[0];
+        double[] t = ws.buf[1];
 //double[] gz=new double[DD];
 
         double sum1 = 0.0;
@@ -1708,140 +2267,51 @@ class f678 extends f_xj // Modified Vincent Function
 }
 
 
-class f679 extends f_xj // Shifted Sphere Function
+class f679 extends cec_sphere // Shifted Sphere Function, every coordinate shifted by 1.0
 {
-    public double func(double x[]) {
-//��z�m� istenen fonksiyon
-        int DD = x.length;
-        double[] z = new double[DD];
-        double[] t = new double[DD];
-//double[] gz=new double[DD];
-
-        double sum1 = 0.0;
-
-        for (int i = 0; i < DD; i++) {
-            z[i] = x[i] - 1.0;
-        }
-
-        for (int i = 0; i < DD; i++) {
-            sum1 += z[i] * z[i];
-        }
-
-        sum1 = sum1 - 450;
-
-
-        return sum1;
-
-
+    f679() {
+        super("f679", -450.0, false);
     }
 
+    double[] shift(int n) {
+        return constant(n, 1.0);
+    }
 }
 
 
-class f680 extends f_xj // Shifted Rastrigin�s Function
+class f680 extends cec_rastrigin // Shifted Rastrigin�s Function, every coordinate shifted by 1.0
 {
-    public double func(double x[]) {
-//��z�m� istenen fonksiyon
-        int DD = x.length;
-        double[] z = new double[DD];
-        double[] t = new double[DD];
-//double[] gz=new double[DD];
-
-        double sum1 = 0.0;
-
-        for (int i = 0; i < DD; i++) {
-            z[i] = x[i] - 1.0;
-        }
-
-        for (int i = 0; i < DD; i++) {
-            sum1 += z[i] * z[i] - 10.0 * Math.cos(2.0 * Math.PI * z[i]) + 10.0;
-        }
-
-        sum1 = sum1 - 330;
-
-
-        return sum1;
-
-
+    f680() {
+        super("f680", -330.0, false);
     }
 
+    double[] shift(int n) {
+        return constant(n, 1.0);
+    }
 }
 
 
-class f681 extends f_xj // Shifted Griewank�s Function
+class f681 extends cec_griewank // Shifted Griewank�s Function, every coordinate shifted by 1.0
 {
-    public double func(double x[]) {
-//��z�m� istenen fonksiyon
-        int DD = x.length;
-        double[] z = new double[DD];
-        double[] t = new double[DD];
-//double[] gz=new double[DD];
-
-        double sum1 = 0.0;
-
-        for (int i = 0; i < DD; i++) {
-            z[i] = x[i] - 1.0;
-        }
-
-        for (int i = 0; i < DD; i++) {
-            sum1 += z[i] * z[i] / 4000.0;
-        }
-
-        double fakt = 1.0;
-
-        for (int i = 0; i < DD; i++) {
-            fakt *= Math.cos(z[i] / (Math.sqrt(i + 1)));
-        }
-
-        double ret = sum1 - fakt + 1 - 180;
-//sum1=sum1-330;
-
-
-        return ret;
-
-
+    f681() {
+        super("f681", -180.0, false);
     }
 
+    double[] shift(int n) {
+        return constant(n, 1.0);
+    }
 }
 
 
-class f682 extends f_xj // Shifted Ackley�s Function
+class f682 extends cec_ackley // Shifted Ackley�s Function, every coordinate shifted by 1.0
 {
-    public double func(double x[]) {
-//��z�m� istenen fonksiyon
-        int DD = x.length;
-        double[] z = new double[DD];
-        double[] t = new double[DD];
-//double[] gz=new double[DD];
-
-        double sum1 = 0.0;
-        double sum2 = 0.0;
-        for (int i = 0; i < DD; i++) {
-            z[i] = x[i] - 1.0;
-        }
-
-        for (int i = 0; i < DD; i++) {
-            sum1 += z[i] * z[i];
-        }
-        double part1 = -20.0 * Math.exp(-0.2 * Math.sqrt(sum1 / (double) DD));
-
-        for (int i = 0; i < DD; i++) {
-            sum2 += Math.cos(2.0 * Math.PI * z[i]);
-        }
-        sum2 = sum2 / (double) DD;
-        double part2 = Math.exp(sum2);
-
-        double ret = part1 - part2 + 20.0 + Math.exp(1) - 140.0;
-
-
-//sum1=sum1-330;
-
-
-        return ret;
-
-
+    f682() {
+        super("f682", -140.0, false);
     }
 
+    double[] shift(int n) {
+        return constant(n, 1.0);
+    }
 }
 
 
@@ -2324,677 +2794,242 @@ class f77 extends f_xj {
 }
 
 
-class par_est2 extends f_xj {
-
-    public double func(double x[]) {
-        double[] I1 = {4.84992, 10.7714, 16.0843, 21.1287, 26.5745, 32.2935, 37.7378, 42.7127, 48.5654, 54.0119, 59.3275, 65.3104, 70.2269, 75.6784};
-        double[] V1 = {0.921044, 0.875721, 0.848175, 0.819634, 0.798022, 0.756648, 0.741955, 0.723297, 0.684891, 0.660314, 0.620907, 0.600297, 0.544075, 0.497752};
-        double[] V_dummy1 = new double[14];
-        double N = 1.0;
-//double Jmax=0.86;//I/cm2
-        double RHa = 1.0;
-        double RHb = 1.0;
-        double A = 50.6;//cm2
-        double l = 178.0e-4;//cm
-//initialize
-        double Rm = 0.0;
-        double T = 343.15;//K
-        double PO2 = 1.0;//atm
-        double PH2 = 1.0;
-        double V_Ernst = 0.0;
-        double CO2 = 0.0;
-        double V_act = 0.0;
-        double ro_m = 0.0;
-        double R_m = 0.0;
-        double V_ohm = 0.0;
-        double V_con = 0.0;
-
-        for (int i = 0; i < 14; i++) {
-
+class par_est2 extends pem_fuel_cell {
 
-            V_Ernst = 1.229 - (0.85e-3 * (T - 298.15)) + (4.3085e-5 * T * (Math.log(PH2) + 0.5 * Math.log(PO2)));
-            CO2 = PO2 / (5.086e6 * Math.exp(-498.0 / T));
-            V_act = -(x[0] + (x[1] * T) + (x[2] * T * Math.log(CO2)) + (x[3] * T * Math.log((I1[i] + (x[10] / x[9])))));
-            ro_m = 181.6 * (1.0 + (0.03 * ((I1[i] + (x[10] / x[9])) / x[9])) + (0.062 * (T / 303.0) * (T / 303.0) * Math.pow(((I1[i] + (x[10] / x[9])) / x[9]), 2.5))) / ((x[4] - 0.634 - 3.0 * ((I1[i] + (x[10] / x[9])) / x[9])) * Math.exp(4.18 * ((T - 303.0) / T)));
-            R_m = ro_m * x[7] / x[9];
-            V_ohm = (I1[i] + (x[10] / x[9])) * (R_m + x[5]);
-            V_con = -x[6] * Math.log(1.0 - ((((I1[i] + (x[10] / x[9])) / x[9])) / x[8]));
-            V_dummy1[i] = N * (V_Ernst - V_act - V_ohm - V_con);
+    // single cell at 343.15 K, PO2 = PH2 = 1 atm; thickness, jmax, area and internal current estimated
+    static final double[] I1 = {4.84992, 10.7714, 16.0843, 21.1287, 26.5745, 32.2935, 37.7378, 42.7127, 48.5654, 54.0119, 59.3275, 65.3104, 70.2269, 75.6784};
+    static final double[] V1 = {0.921044, 0.875721, 0.848175, 0.819634, 0.798022, 0.756648, 0.741955, 0.723297, 0.684891, 0.660314, 0.620907, 0.600297, 0.544075, 0.497752};
 
+    par_est2() {
+        super(new measurement_dataset(new String[]{"I", "V", "T"}, I1, V1, constant(I1.length, 343.15))
+                .with("cells", 1.0).with("PO2", 1.0).with("PH2", 1.0).with("leakage", 1.0));
+    }
 
-        }
+    static double[] constant(int n, double v) {
+        double[] c = new double[n];
+        Arrays.fill(c, v);
+        return c;
+    }
+}
 
-        double val1 = 0.0;
-        for (int i = 0; i < 14; i++) {
-            val1 += (V1[i] - V_dummy1[i]) * (V1[i] - V_dummy1[i]);
-        }
+class par_est extends pem_fuel_cell {
 
-        return val1;
+    // four polarisation curves of a 24-cell stack
+    static final double[] I1 = {0.227213, 1.3085, 2.6534, 3.99747, 5.36203, 6.70621, 8.05038, 10.7587, 13.4467, 16.1351, 17.4995, 18.8436, 20.208, 21.5522, 22.9172};
+    static final double[] V1 = {23.5485, 21.4567, 20.3221, 19.935, 19.4284, 18.9516, 18.4748, 17.8501, 17.2553, 16.212, 15.8548, 15.4976, 15.1405, 14.6338, 13.6786};
+    static final double[] I2 = {0.224307, 1.30506, 2.6509, 3.99674, 5.36297, 6.70881, 8.05465, 10.7463, 13.4584, 16.1705, 17.5163, 18.8825, 20.2284, 21.5742, 22.9201};
+    static final double[] V2 = {21.5522, 19.7015, 18.7463, 18.0, 17.5522, 17.1642, 16.6567, 15.9104, 15.1642, 14.4478, 14.0299, 13.5522, 12.6567, 10.8955, 8.89552};
+    static final double[] I3 = {0.285837, 1.32988, 2.66286, 4.05778, 5.39127, 6.76593, 8.079, 10.7874, 13.4959, 16.1836, 17.5584, 18.8716, 20.2667, 21.5792, 22.9325};
+    static final double[] V3 = {23.235, 21.0279, 20.0851, 19.4364, 18.9054, 18.4626, 18.0199, 17.2814, 16.543, 15.6869, 15.3029, 14.9484, 14.4762, 13.5923, 12.5024};
+    static final double[] I4 = {0.248484, 1.29844, 2.65425, 4.03034, 5.36496, 6.74076, 8.07542, 10.7858, 13.4961, 16.1653, 17.5409, 18.8553, 20.2521, 21.5878, 22.9242};
+    static final double[] V4 = {22.6822, 20.1581, 19.2495, 18.5463, 18.1662, 17.698, 17.2885, 16.4695, 15.7092, 14.9782, 14.6862, 14.0711, 13.2212, 12.0188, 10.1705};
 
+    par_est() {
+        super(data().with("area", 27.0).with("thickness", 127.0e-4).with("jmax", 0.86));
     }
 
-
-    double psat(double T) {
-        return Math.pow(10.0, ((2.95e-2 * (T - 273.15)) - ((9.18e-5) * (T - 273.15) * (T - 273.15)) + ((1.44e-7) * (T - 273.15) * (T - 273.15) * (T - 273.15)) - 2.18));
+    static measurement_dataset data() {
+        return curves(new double[][]{I1, I2, I3, I4}, new double[][]{V1, V2, V3, V4},
+                new double[]{353.15, 343.15, 343.15, 343.15}, new double[]{3.0, 1.0, 2.5, 1.5}, new double[]{5.0, 1.0, 3.0, 1.5})
+                .with("cells", 24.0);
     }
+}
 
-    double bartoatm(double barr) {
-        return barr * 0.986923267;
-    }
+class par_est4 extends pem_fuel_cell {
 
+    // 32-cell stack at 333 K on air, PO2 = 0.2095 atm, PH2 = 1 atm
+    static final double[] I1 = {0.01, 4.99101, 10.009, 15.0, 19.964, 25.036, 30.027};
+    static final double[] V11 = {30.1304, 24.8478, 22.1087, 20.25, 19.2717, 18.6848, 17.1196};
 
+    par_est4() {
+        super(new measurement_dataset(new String[]{"I", "V", "T"}, I1, V11, par_est2.constant(I1.length, 333.0))
+                .with("cells", 32.0).with("PO2", 0.2095).with("PH2", 1.000).with("leakage", 1.0));
+    }
 }
 
+class par_est3 extends pem_fuel_cell {
 
-class par_est extends f_xj {
-
-    public double func(double x[]) {
-        double[] I1 = {0.227213, 1.3085, 2.6534, 3.99747, 5.36203, 6.70621, 8.05038, 10.7587, 13.4467, 16.1351, 17.4995, 18.8436, 20.208, 21.5522, 22.9172};
-        double[] V1 = {23.5485, 21.4567, 20.3221, 19.935, 19.4284, 18.9516, 18.4748, 17.8501, 17.2553, 16.212, 15.8548, 15.4976, 15.1405, 14.6338, 13.6786};
-        double[] I2 = {0.224307, 1.30506, 2.6509, 3.99674, 5.36297, 6.70881, 8.05465, 10.7463, 13.4584, 16.1705, 17.5163, 18.8825, 20.2284, 21.5742, 22.9201};
-        double[] V2 = {21.5522, 19.7015, 18.7463, 18.0, 17.5522, 17.1642, 16.6567, 15.9104, 15.1642, 14.4478, 14.0299, 13.5522, 12.6567, 10.8955, 8.89552};
-        double[] I3 = {0.285837, 1.32988, 2.66286, 4.05778, 5.39127, 6.76593, 8.079, 10.7874, 13.4959, 16.1836, 17.5584, 18.8716, 20.2667, 21.5792, 22.9325};
-        double[] V3 = {23.235, 21.0279, 20.0851, 19.4364, 18.9054, 18.4626, 18.0199, 17.2814, 16.543, 15.6869, 15.3029, 14.9484, 14.4762, 13.5923, 12.5024};
-        double[] I4 = {0.248484, 1.29844, 2.65425, 4.03034, 5.36496, 6.74076, 8.07542, 10.7858, 13.4961, 16.1653, 17.5409, 18.8553, 20.2521, 21.5878, 22.9242};
-        double[] V4 = {22.6822, 20.1581, 19.2495, 18.5463, 18.1662, 17.698, 17.2885, 16.4695, 15.7092, 14.9782, 14.6862, 14.0711, 13.2212, 12.0188, 10.1705};
+    // par_est data with area x[9], membrane thickness x[7] and jmax x[8] estimated too
+    par_est3() {
+        super(par_est.data());
+    }
+}
 
+class solar2 extends diode_fit {
 
-        double[][] V_dummy = new double[4][15];
-        double[][] V_real = new double[4][15];
-        double[][] Ireal = new double[4][15];
+    // double diode model of the RTC France cell at 33 C
+    // Rs x[0], Rsh x[1], IPh x[2], Isd1 x[3], n1 x[4], Isd2 x[5], n2 x[6]
+    static final double[] Vt = {-0.2057, -0.1291, -0.0588, 0.0057, 0.0646, 0.1185, 0.1678, 0.2132, 0.2545, 0.2924, 0.3269, 0.3585, 0.3873, 0.4137, 0.4373, 0.459, 0.4784, 0.496, 0.5119, 0.5265, 0.5398, 0.5521, 0.5633, 0.5736, 0.5833, 0.59};
+    static final double[] It = {0.764, 0.762, 0.7605, 0.7605, 0.76, 0.759, 0.757, 0.757, 0.7555, 0.754, 0.7505, 0.7465, 0.7385, 0.728, 0.7065, 0.6755, 0.632, 0.573, 0.499, 0.413, 0.3165, 0.212, 0.1035, -0.01, -0.123, -0.21};
 
-        for (int j = 0; j < 15; j++) {
-            V_real[0][j] = V1[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            V_real[1][j] = V2[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            V_real[2][j] = V3[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            V_real[3][j] = V4[j];
-        }
+    solar2() {
+        super(new measurement_dataset(new String[]{"V", "I"}, Vt, It).with("T", 273.15 + 33.0).with("cells", 1.0), 2);
+    }
+}
 
-        for (int j = 0; j < 15; j++) {
-            Ireal[0][j] = I1[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            Ireal[1][j] = I2[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            Ireal[2][j] = I3[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            Ireal[3][j] = I4[j];
-        }
+class solar1 extends diode_fit {
 
-        double N = 24.0;
-        double Jmax = 0.86;//I/cm2
-        double RHa = 1.0;
-        double RHb = 1.0;
-        double A = 27.0;//cm2
-        double l = 127.0e-4;//cm
+    // single diode model of the RTC France cell at 33 C
+    // Rs x[0], Rsh x[1], IPh x[2], Isd x[3], n x[4]
+    static final double[] Vt = {-0.2057, -0.1291, -0.0588, 0.0057, 0.0646, 0.1185, 0.1678, 0.2132, 0.2545, 0.2924, 0.3269, 0.3585, 0.3873, 0.4137, 0.4373, 0.459, 0.4784, 0.496, 0.5119, 0.5265, 0.5398, 0.5521, 0.5633, 0.5736, 0.5833, 0.59};
+    static final double[] It = {0.764, 0.762, 0.7605, 0.7605, 0.76, 0.759, 0.757, 0.757, 0.7555, 0.754, 0.7505, 0.7465, 0.7385, 0.728, 0.7065, 0.6755, 0.632, 0.573, 0.499, 0.413, 0.3165, 0.212, 0.1035, -0.01, -0.123, -0.21};
 
+    solar1() {
+        super(new measurement_dataset(new String[]{"V", "I"}, Vt, It).with("T", 273.15 + 33.0).with("cells", 1.0), 1);
+    }
+}
 
-//initialize
+class pv extends diode_fit {
 
+    // single diode model of the 36-cell Photowatt-PWP201 module at 45 C
+    // Rs x[0], Rsh x[1], IPh x[2], Isd x[3], n x[4]
+    static final double[] Vt = {0.1248, 1.8093, 3.3511, 4.7622, 6.0538, 7.2364, 8.3189, 9.3097, 10.2163, 11.0449, 11.8018, 12.4929, 13.1231, 13.6983, 14.2221, 14.6995, 15.1346, 15.5311, 15.8929, 16.2229, 16.5241, 16.7987, 17.0499, 17.2793, 17.4885};
+    static final double[] It = {1.0315, 1.0300, 1.0260, 1.0220, 1.0180, 1.0155, 1.0140, 1.0100, 1.0035, 0.9880, 0.9630, 0.9255, 0.8725, 0.8075, 0.7265, 0.6345, 0.5345, 0.4275, 0.3185, 0.2085, 0.1010, -0.0080, -0.1110, -0.2090, -0.3030};
 
-        double Rm = 0.0;
+    pv() {
+        super(new measurement_dataset(new String[]{"V", "I"}, Vt, It).with("T", 273.15 + 45.0).with("cells", 36.0), 1);
+    }
+}
 
+class f2001 extends f_xj //optimal chiller case 1 coelho
+{
 
-        double Pa_atm = 0.0;
-        double Pb_atm = 0.0;
-        double T = 0.0;//K
-        double Pa = 0.0;//bar
-        double Pb = 0.0;//bar
-        double PO2 = 0.0;//atm
-        double PH2 = 0.0;
-        double V_Ernst = 0.0;
-        double CO2 = 0.0;
-        double V_act = 0.0;
-        double ro_m = 0.0;
-        double R_m = 0.0;
-        double V_ohm = 0.0;
-        double V_con = 0.0;
+    double[] RT = {1280.0, 1280.0, 1280.0, 1280.0, 1250.0, 1250.0};
+    double CL = 5334.0;
 
-        for (int i = 0; i < 4; i++) {
-            if (i == 0) {
-                T = 353.15;
-                Pa = 3.0;
-                Pb = 5.0;
-                Pa_atm = bartoatm(Pa);
-                Pb_atm = bartoatm(Pb);
-                for (int j = 0; j < 15; j++) {
-                    PO2 = RHb * psat(T) * ((1.0 / (Math.exp((4.192 * Ireal[i][j] / A) / (Math.pow(T, 1.334))) * (RHb * psat(T) / Pb_atm))) - 1.0);
-                    PH2 = 0.5 * RHa * psat(T) * ((1.0 / (Math.exp((1.635 * Ireal[i][j] / A) / (Math.pow(T, 1.334))) * (RHa * psat(T) / Pa_atm))) - 1.0);
-                    V_Ernst = 1.229 - (0.85e-3 * (T - 298.15)) + (4.3085e-5 * T * (Math.log(PH2) + 0.5 * Math.log(PO2)));
-                    CO2 = PO2 / (5.086e6 * Math.exp(-498.0 / T));
-                    V_act = -(x[0] + (x[1] * T) + (x[2] * T * Math.log(CO2)) + (x[3] * T * Math.log(Ireal[i][j])));
-                    ro_m = 181.6 * (1.0 + (0.03 * (Ireal[i][j] / A)) + (0.062 * (T / 303.0) * (T / 303.0) * Math.pow((Ireal[i][j] / A), 2.5))) / ((x[4] - 0.634 - 3.0 * (Ireal[i][j] / A)) * Math.exp(4.18 * ((T - 303.0) / T)));
-                    R_m = ro_m * l / A;
-                    V_ohm = Ireal[i][j] * (R_m + x[5]);
-                    V_con = -x[6] * Math.log(1.0 - ((Ireal[i][j] / A) / Jmax));
-                    V_dummy[i][j] = N * (V_Ernst - V_act - V_ohm - V_con);
-                }
-            }
-            if (i == 1) {
-                T = 343.15;
-                Pa = 1.0;
-                Pb = 1.0;
-                Pa_atm = bartoatm(Pa);
-                Pb_atm = bartoatm(Pb);
-                for (int j = 0; j < 15; j++) {
-                    PO2 = RHb * psat(T) * ((1.0 / (Math.exp((4.192 * Ireal[i][j] / A) / (Math.pow(T, 1.334))) * (RHb * psat(T) / Pb_atm))) - 1.0);
-                    PH2 = 0.5 * RHa * psat(T) * ((1.0 / (Math.exp((1.635 * Ireal[i][j] / A) / (Math.pow(T, 1.334))) * (RHa * psat(T) / Pa_atm))) - 1.0);
-                    V_Ernst = 1.229 - (0.85e-3 * (T - 298.15)) + (4.3085e-5 * T * (Math.log(PH2) + 0.5 * Math.log(PO2)));
-                    CO2 = PO2 / (5.086e6 * Math.exp(-498.0 / T));
-                    V_act = -(x[0] + (x[1] * T) + (x[2] * T * Math.log(CO2)) + (x[3] * T * Math.log(Ireal[i][j])));
-                    ro_m = 181.6 * (1.0 + (0.03 * (Ireal[i][j] / A)) + (0.062 * (T / 303.0) * (T / 303.0) * Math.pow((Ireal[i][j] / A), 2.5))) / ((x[4] - 0.634 - 3.0 * (Ireal[i][j] / A)) * Math.exp(4.18 * ((T - 303.0) / T)));
-                    R_m = ro_m * l / A;
-                    V_ohm = Ireal[i][j] * (R_m + x[5]);
-                    V_con = -x[6] * Math.log(1.0 - ((Ireal[i][j] / A) / Jmax));
-                    V_dummy[i][j] = N * (V_Ernst - V_act - V_ohm - V_con);
-                }
-            }
-            if (i == 2) {
-                T = 343.15;
-                Pa = 2.5;
-                Pb = 3.0;
-                Pa_atm = bartoatm(Pa);
-                Pb_atm = bartoatm(Pb);
-                for (int j = 0; j < 15; j++) {
-                    PO2 = RHb * psat(T) * ((1.0 / (Math.exp((4.192 * Ireal[i][j] / A) / (Math.pow(T, 1.334))) * (RHb * psat(T) / Pb_atm))) - 1.0);
-                    PH2 = 0.5 * RHa * psat(T) * ((1.0 / (Math.exp((1.635 * Ireal[i][j] / A) / (Math.pow(T, 1.334))) * (RHa * psat(T) / Pa_atm))) - 1.0);
-                    V_Ernst = 1.229 - (0.85e-3 * (T - 298.15)) + (4.3085e-5 * T * (Math.log(PH2) + 0.5 * Math.log(PO2)));
-                    CO2 = PO2 / (5.086e6 * Math.exp(-498.0 / T));
-                    V_act = -(x[0] + (x[1] * T) + (x[2] * T * Math.log(CO2)) + (x[3] * T * Math.log(Ireal[i][j])));
-                    ro_m = 181.6 * (1.0 + (0.03 * (Ireal[i][j] / A)) + (0.062 * (T / 303.0) * (T / 303.0) * Math.pow((Ireal[i][j] / A), 2.5))) / ((x[4] - 0.634 - 3.0 * (Ireal[i][j] / A)) * Math.exp(4.18 * ((T - 303.0) / T)));
-                    R_m = ro_m * l / A;
-                    V_ohm = Ireal[i][j] * (R_m + x[5]);
-                    V_con = -x[6] * Math.log(1.0 - ((Ireal[i][j] / A) / Jmax));
-                    V_dummy[i][j] = N * (V_Ernst - V_act - V_ohm - V_con);
-                }
-            }
-            if (i == 3) {
-                T = 343.15;
-                Pa = 1.5;
-                Pb = 1.5;
-                Pa_atm = bartoatm(Pa);
-                Pb_atm = bartoatm(Pb);
-                for (int j = 0; j < 15; j++) {
-                    PO2 = RHb * psat(T) * ((1.0 / (Math.exp((4.192 * Ireal[i][j] / A) / (Math.pow(T, 1.334))) * (RHb * psat(T) / Pb_atm))) - 1.0);
-                    PH2 = 0.5 * RHa * psat(T) * ((1.0 / (Math.exp((1.635 * Ireal[i][j] / A) / (Math.pow(T, 1.334))) * (RHa * psat(T) / Pa_atm))) - 1.0);
-                    V_Ernst = 1.229 - (0.85e-3 * (T - 298.15)) + (4.3085e-5 * T * (Math.log(PH2) + 0.5 * Math.log(PO2)));
-                    CO2 = PO2 / (5.086e6 * Math.exp(-498.0 / T));
-                    V_act = -(x[0] + (x[1] * T) + (x[2] * T * Math.log(CO2)) + (x[3] * T * Math.log(Ireal[i][j])));
-                    ro_m = 181.6 * (1.0 + (0.03 * (Ireal[i][j] / A)) + (0.062 * (T / 303.0) * (T / 303.0) * Math.pow((Ireal[i][j] / A), 2.5))) / ((x[4] - 0.634 - 3.0 * (Ireal[i][j] / A)) * Math.exp(4.18 * ((T - 303.0) / T)));
-                    R_m = ro_m * l / A;
-                    V_ohm = Ireal[i][j] * (R_m + x[5]);
-                    V_con = -x[6] * Math.log(1.0 - ((Ireal[i][j] / A) / Jmax));
-                    V_dummy[i][j] = N * (V_Ernst - V_act - V_ohm - V_con);
-                }
-            }
+    static final double[] a = {399.345, 287.116, -120.505, -19.121, -95.029, 191.750};
+    static final double[] b = {-122.12, 80.04, 1525.99, 898.76, 1202.39, 224.86};
+    static final double[] c = {770.46, 700.48, -502.14, -98.15, -352.16, 524.04};
 
+    public double func(double x[]) {
+        double sum = 0.0;
+        for (int i = 0; i < 6; i++) {
+            sum += a[i] + b[i] * x[i] + c[i] * x[i] * x[i];
         }
+        return sum + 5.0 * H(x);
+    }
 
-        double val = 0.0;
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < 15; j++) {
-                val += (V_real[i][j] - V_dummy[i][j]) * (V_real[i][j] - V_dummy[i][j]);
-            }
+    double H(double x[]) {
+        double sum1 = 0.0;
+        for (int i = 0; i < 6; i++) {
+            sum1 += x[i] * RT[i];
         }
+        return Math.abs(sum1 - CL) - 1e-8;
+    }
+}
 
-        return val;
 
-    }
+class f2002 extends f_xj //optimal chiller case 2 coelho
+{
+    double RT = 800.0;
+    double CL = 960.0;
 
+    static final double[] a = {100.95, 66.598, 130.09};
+    static final double[] b = {818.61, 606.34, 304.5};
+    static final double[] c = {-973.43, -380.58, 14.377};
+    static final double[] d = {788.55, 275.95, 99.8};
 
-    double psat(double T) {
-        return Math.pow(10.0, ((2.95e-2 * (T - 273.15)) - ((9.18e-5) * (T - 273.15) * (T - 273.15)) + ((1.44e-7) * (T - 273.15) * (T - 273.15) * (T - 273.15)) - 2.18));
+    public double func(double x[]) {
+        double sum = 0.0;
+        for (int i = 0; i < 3; i++) {
+            sum += a[i] + b[i] * x[i] + c[i] * x[i] * x[i] + d[i] * x[i] * x[i] * x[i];
+        }
+        return sum + 5.0 * H(x);
     }
 
-    double bartoatm(double barr) {
-        return barr * 0.986923267;
+    double H(double x[]) {
+        double sum1 = 0.0;
+        for (int i = 0; i < 3; i++) {
+            sum1 += x[i] * RT;
+        }
+        return Math.abs(sum1 - CL) - 1e-8;
     }
 }
 
-class par_est4 extends f_xj {
+class f2003 extends f_xj //optimal chiller case 3 genetic chang
+{
+    double[] RT = {450.0, 450, 1000.0, 1000.0};
+    double CL = 1450.0;
+
+    static final double[] a = {104.09, -67.15, 384.71, 541.63};
+    static final double[] b = {166.57, 1177.79, -779.13, 413.48};
+    static final double[] c = {-430.13, -2174.53, 1151.42, -3626.50};
+    static final double[] d = {512.53, 1456.53, -63.20, 4021.41};
 
     public double func(double x[]) {
-        double[] I1 = {0.01, 4.99101, 10.009, 15.0, 19.964, 25.036, 30.027};
-        double[] V11 = {30.1304, 24.8478, 22.1087, 20.25, 19.2717, 18.6848, 17.1196};
-        double[] V_dummy1 = new double[V11.length];
-        double N = 32.0;
-//double Jmax=0.86;//I/cm2
-        double RHa = 1.0;
-        double RHb = 1.0;
-        double A = 50.6;//cm2
-        double l = 178.0e-4;//cm
-//initialize
-        double Rm = 0.0;
-        double T = 333.0;//K
-        double PO2 = 0.2095;//atm
-        double PH2 = 1.000;
-        double V_Ernst = 0.0;
-        double CO2 = 0.0;
-        double V_act = 0.0;
-        double ro_m = 0.0;
-        double R_m = 0.0;
-        double V_ohm = 0.0;
-        double V_con = 0.0;
-
-        for (int i = 0; i < V11.length; i++) {
-            V_Ernst = 1.229 - (0.85e-3 * (T - 298.15)) + (4.3085e-5 * T * (Math.log(PH2) + 0.5 * Math.log(PO2)));
-            CO2 = PO2 / (5.086e6 * Math.exp(-498.0 / T));
-            V_act = -(x[0] + (x[1] * T) + (x[2] * T * Math.log(CO2)) + (x[3] * T * Math.log((I1[i] + (x[10] / x[9])))));
-            ro_m = 181.6 * (1.0 + (0.03 * ((I1[i] + (x[10] / x[9])) / x[9])) + (0.062 * (T / 303.0) * (T / 303.0) * Math.pow(((I1[i] + (x[10] / x[9])) / x[9]), 2.5))) / ((x[4] - 0.634 - 3.0 * ((I1[i] + (x[10] / x[9])) / x[9])) * Math.exp(4.18 * ((T - 303.0) / T)));
-            R_m = ro_m * x[7] / x[9];
-            V_ohm = (I1[i] + (x[10] / x[9])) * (R_m + x[5]);
-            V_con = -x[6] * Math.log(1.0 - ((((I1[i] + (x[10] / x[9])) / x[9])) / x[8]));
-            V_dummy1[i] = N * (V_Ernst - V_act - V_ohm - V_con);
+        double sum = 0.0;
+        for (int i = 0; i < 4; i++) {
+            sum += a[i] + b[i] * x[i] + c[i] * x[i] * x[i] + d[i] * x[i] * x[i] * x[i];
         }
+        return sum + 5.0 * H(x);
+    }
 
-        double val1 = 0.0;
-        for (int i = 0; i < V11.length; i++) {
-            val1 += (V11[i] - V_dummy1[i]) * (V11[i] - V_dummy1[i]);
+    double H(double x[]) {
+        double sum1 = 0.0;
+        for (int i = 0; i < 4; i++) {
+            sum1 += x[i] * RT[i];
         }
-
-        return val1;
-
+        return Math.abs(sum1 - CL) - 1e-8;
     }
+}
 
 
-    double psat(double T) {
-        return Math.pow(10.0, ((2.95e-2 * (T - 273.15)) - ((9.18e-5) * (T - 273.15) * (T - 273.15)) + ((1.44e-7) * (T - 273.15) * (T - 273.15) * (T - 273.15)) - 2.18));
-    }
+class dam2 extends constrained_objective {
 
-    double bartoatm(double barr) {
-        return barr * 0.986923267;
-    }
+    static final double[] irrigation_demand = {0.0, 0.0, 3.28, 5.36, 3.0, 3.22, 3.22, 1.24, 8.06, 7.65, 7.65, 4.71};
+    //                                        Jan, Feb, March, Aprl,  May, June, July, Agst, Sptmr, Octbr, Nvmbr, Dcmbr
+    static final double[] evap_rate = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
+    static final double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
-}
-
-
-class par_est3 extends f_xj {
-
-    public double func(double x[]) {
-        double[] I1 = {0.227213, 1.3085, 2.6534, 3.99747, 5.36203, 6.70621, 8.05038, 10.7587, 13.4467, 16.1351, 17.4995, 18.8436, 20.208, 21.5522, 22.9172};
-        double[] V1 = {23.5485, 21.4567, 20.3221, 19.935, 19.4284, 18.9516, 18.4748, 17.8501, 17.2553, 16.212, 15.8548, 15.4976, 15.1405, 14.6338, 13.6786};
-        double[] I2 = {0.224307, 1.30506, 2.6509, 3.99674, 5.36297, 6.70881, 8.05465, 10.7463, 13.4584, 16.1705, 17.5163, 18.8825, 20.2284, 21.5742, 22.9201};
-        double[] V2 = {21.5522, 19.7015, 18.7463, 18.0, 17.5522, 17.1642, 16.6567, 15.9104, 15.1642, 14.4478, 14.0299, 13.5522, 12.6567, 10.8955, 8.89552};
-        double[] I3 = {0.285837, 1.32988, 2.66286, 4.05778, 5.39127, 6.76593, 8.079, 10.7874, 13.4959, 16.1836, 17.5584, 18.8716, 20.2667, 21.5792, 22.9325};
-        double[] V3 = {23.235, 21.0279, 20.0851, 19.4364, 18.9054, 18.4626, 18.0199, 17.2814, 16.543, 15.6869, 15.3029, 14.9484, 14.4762, 13.5923, 12.5024};
-        double[] I4 = {0.248484, 1.29844, 2.65425, 4.03034, 5.36496, 6.74076, 8.07542, 10.7858, 13.4961, 16.1653, 17.5409, 18.8553, 20.2521, 21.5878, 22.9242};
-        double[] V4 = {22.6822, 20.1581, 19.2495, 18.5463, 18.1662, 17.698, 17.2885, 16.4695, 15.7092, 14.9782, 14.6862, 14.0711, 13.2212, 12.0188, 10.1705};
-
-
-        double[][] V_dummy = new double[4][15];
-        double[][] V_real = new double[4][15];
-        double[][] Ireal = new double[4][15];
-
-        for (int j = 0; j < 15; j++) {
-            V_real[0][j] = V1[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            V_real[1][j] = V2[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            V_real[2][j] = V3[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            V_real[3][j] = V4[j];
-        }
-
-        for (int j = 0; j < 15; j++) {
-            Ireal[0][j] = I1[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            Ireal[1][j] = I2[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            Ireal[2][j] = I3[j];
-        }
-        for (int j = 0; j < 15; j++) {
-            Ireal[3][j] = I4[j];
-        }
-
-        double N = 24.0;
-//double Jmax=0.86;//I/cm2
-        double RHa = 1.0;
-        double RHb = 1.0;
-//double A=27.0;//cm2
-//double l=127.0e-4;//cm
-
-
-//initialize
-
-
-        double Rm = 0.0;
-
-
-        double Pa_atm = 0.0;
-        double Pb_atm = 0.0;
-        double T = 0.0;//K
-        double Pa = 0.0;//bar
-        double Pb = 0.0;//bar
-        double PO2 = 0.0;//atm
-        double PH2 = 0.0;
-        double V_Ernst = 0.0;
-        double CO2 = 0.0;
-        double V_act = 0.0;
-        double ro_m = 0.0;
-        double R_m = 0.0;
-        double V_ohm = 0.0;
-        double V_con = 0.0;
-
-        for (int i = 0; i < 4; i++) {
-            if (i == 0) {
-                T = 353.15;
-                Pa = 3.0;
-                Pb = 5.0;
-                Pa_atm = bartoatm(Pa);
-                Pb_atm = bartoatm(Pb);
-                for (int j = 0; j < 15; j++) {
-                    PO2 = RHb * psat(T) * ((1.0 / (Math.exp((4.192 * Ireal[i][j] / x[9]) / (Math.pow(T, 1.334))) * (RHb * psat(T) / Pb_atm))) - 1.0);
-                    PH2 = 0.5 * RHa * psat(T) * ((1.0 / (Math.exp((1.635 * Ireal[i][j] / x[9]) / (Math.pow(T, 1.334))) * (RHa * psat(T) / Pa_atm))) - 1.0);
-                    V_Ernst = 1.229 - (0.85e-3 * (T - 298.15)) + (4.3085e-5 * T * (Math.log(PH2) + 0.5 * Math.log(PO2)));
-                    CO2 = PO2 / (5.086e6 * Math.exp(-498.0 / T));
-                    V_act = -(x[0] + (x[1] * T) + (x[2] * T * Math.log(CO2)) + (x[3] * T * Math.log(Ireal[i][j])));
-                    ro_m = 181.6 * (1.0 + (0.03 * (Ireal[i][j] / x[9])) + (0.062 * (T / 303.0) * (T / 303.0) * Math.pow((Ireal[i][j] / x[9]), 2.5))) / ((x[4] - 0.634 - 3.0 * (Ireal[i][j] / x[9])) * Math.exp(4.18 * ((T - 303.0) / T)));
-                    R_m = ro_m * x[7] / x[9];
-                    V_ohm = Ireal[i][j] * (R_m + x[5]);
-                    V_con = -x[6] * Math.log(1.0 - ((Ireal[i][j] / x[9]) / x[8]));
-                    V_dummy[i][j] = N * (V_Ernst - V_act - V_ohm - V_con);
-                }
-            }
-            if (i == 1) {
-                T = 343.15;
-                Pa = 1.0;
-                Pb = 1.0;
-                Pa_atm = bartoatm(Pa);
-                Pb_atm = bartoatm(Pb);
-                for (int j = 0; j < 15; j++) {
-                    PO2 = RHb * psat(T) * ((1.0 / (Math.exp((4.192 * Ireal[i][j] / x[9]) / (Math.pow(T, 1.334))) * (RHb * psat(T) / Pb_atm))) - 1.0);
-                    PH2 = 0.5 * RHa * psat(T) * ((1.0 / (Math.exp((1.635 * Ireal[i][j] / x[9]) / (Math.pow(T, 1.334))) * (RHa * psat(T) / Pa_atm))) - 1.0);
-                    V_Ernst = 1.229 - (0.85e-3 * (T - 298.15)) + (4.3085e-5 * T * (Math.log(PH2) + 0.5 * Math.log(PO2)));
-                    CO2 = PO2 / (5.086e6 * Math.exp(-498.0 / T));
-                    V_act = -(x[0] + (x[1] * T) + (x[2] * T * Math.log(CO2)) + (x[3] * T * Math.log(Ireal[i][j])));
-                    ro_m = 181.6 * (1.0 + (0.03 * (Ireal[i][j] / x[9])) + (0.062 * (T / 303.0) * (T / 303.0) * Math.pow((Ireal[i][j] / x[9]), 2.5))) / ((x[4] - 0.634 - 3.0 * (Ireal[i][j] / x[9])) * Math.exp(4.18 * ((T - 303.0) / T)));
-                    R_m = ro_m * x[7] / x[9];
-                    V_ohm = Ireal[i][j] * (R_m + x[5]);
-                    V_con = -x[6] * Math.log(1.0 - ((Ireal[i][j] / x[9]) / x[8]));
-                    V_dummy[i][j] = N * (V_Ernst - V_act - V_ohm - V_con);
-                }
-            }
-            if (i == 2) {
-                T = 343.15;
-                Pa = 2.5;
-                Pb = 3.0;
-                Pa_atm = bartoatm(Pa);
-                Pb_atm = bartoatm(Pb);
-                for (int j = 0; j < 15; j++) {
-                    PO2 = RHb * psat(T) * ((1.0 / (Math.exp((4.192 * Ireal[i][j] / x[9]) / (Math.pow(T, 1.334))) * (RHb * psat(T) / Pb_atm))) - 1.0);
-                    PH2 = 0.5 * RHa * psat(T) * ((1.0 / (Math.exp((1.635 * Ireal[i][j] / x[9]) / (Math.pow(T, 1.334))) * (RHa * psat(T) / Pa_atm))) - 1.0);
-                    V_Ernst = 1.229 - (0.85e-3 * (T - 298.15)) + (4.3085e-5 * T * (Math.log(PH2) + 0.5 * Math.log(PO2)));
-                    CO2 = PO2 / (5.086e6 * Math.exp(-498.0 / T));
-                    V_act = -(x[0] + (x[1] * T) + (x[2] * T * Math.log(CO2)) + (x[3] * T * Math.log(Ireal[i][j])));
-                    ro_m = 181.6 * (1.0 + (0.03 * (Ireal[i][j] / x[9])) + (0.062 * (T / 303.0) * (T / 303.0) * Math.pow((Ireal[i][j] / x[9]), 2.5))) / ((x[4] - 0.634 - 3.0 * (Ireal[i][j] / x[9])) * Math.exp(4.18 * ((T - 303.0) / T)));
-                    R_m = ro_m * x[7] / x[9];
-                    V_ohm = Ireal[i][j] * (R_m + x[5]);
-                    V_con = -x[6] * Math.log(1.0 - ((Ireal[i][j] / x[9]) / x[8]));
-                    V_dummy[i][j] = N * (V_Ernst - V_act - V_ohm - V_con);
-                }
-            }
-            if (i == 3) {
-                T = 343.15;
-                Pa = 1.5;
-                Pb = 1.5;
-                Pa_atm = bartoatm(Pa);
-                Pb_atm = bartoatm(Pb);
-                for (int j = 0; j < 15; j++) {
-                    PO2 = RHb * psat(T) * ((1.0 / (Math.exp((4.192 * Ireal[i][j] / x[9]) / (Math.pow(T, 1.334))) * (RHb * psat(T) / Pb_atm))) - 1.0);
-                    PH2 = 0.5 * RHa * psat(T) * ((1.0 / (Math.exp((1.635 * Ireal[i][j] / x[9]) / (Math.pow(T, 1.334))) * (RHa * psat(T) / Pa_atm))) - 1.0);
-                    V_Ernst = 1.229 - (0.85e-3 * (T - 298.15)) + (4.3085e-5 * T * (Math.log(PH2) + 0.5 * Math.log(PO2)));
-                    CO2 = PO2 / (5.086e6 * Math.exp(-498.0 / T));
-                    V_act = -(x[0] + (x[1] * T) + (x[2] * T * Math.log(CO2)) + (x[3] * T * Math.log(Ireal[i][j])));
-                    ro_m = 181.6 * (1.0 + (0.03 * (Ireal[i][j] / x[9])) + (0.062 * (T / 303.0) * (T / 303.0) * Math.pow((Ireal[i][j] / x[9]), 2.5))) / ((x[4] - 0.634 - 3.0 * (Ireal[i][j] / x[9])) * Math.exp(4.18 * ((T - 303.0) / T)));
-                    R_m = ro_m * x[7] / x[9];
-                    V_ohm = Ireal[i][j] * (R_m + x[5]);
-                    V_con = -x[6] * Math.log(1.0 - ((Ireal[i][j] / x[9]) / x[8]));
-                    V_dummy[i][j] = N * (V_Ernst - V_act - V_ohm - V_con);
-                }
-            }
-
-        }
-
-        double val = 0.0;
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < 15; j++) {
-                val += (V_real[i][j] - V_dummy[i][j]) * (V_real[i][j] - V_dummy[i][j]);
-            }
-        }
-
-        return val;
-
-    }
-
-
-    double psat(double T) {
-        return Math.pow(10.0, ((2.95e-2 * (T - 273.15)) - ((9.18e-5) * (T - 273.15) * (T - 273.15)) + ((1.44e-7) * (T - 273.15) * (T - 273.15) * (T - 273.15)) - 2.18));
-    }
-
-    double bartoatm(double barr) {
-        return barr * 0.986923267;
-    }
-}
-
-
-class solar2 extends f_xj {
-    double func(double x[]) {
-// double  diode
-        double[] Vt = {-0.2057, -0.1291, -0.0588, 0.0057, 0.0646, 0.1185, 0.1678, 0.2132, 0.2545, 0.2924, 0.3269, 0.3585, 0.3873, 0.4137, 0.4373, 0.459, 0.4784, 0.496, 0.5119, 0.5265, 0.5398, 0.5521, 0.5633, 0.5736, 0.5833, 0.59};
-        double[] It = {0.764, 0.762, 0.7605, 0.7605, 0.76, 0.759, 0.757, 0.757, 0.7555, 0.754, 0.7505, 0.7465, 0.7385, 0.728, 0.7065, 0.6755, 0.632, 0.573, 0.499, 0.413, 0.3165, 0.212, 0.1035, -0.01, -0.123, -0.21};
-//Rs    x[0]
-//Rsh   x[1]
-//IPh   x[2]
-//Isd1  x[3]
-//n1    x[4]
-//Isd2  x[5]
-//n2    x[6]
-        double q = 1.602176565e-19;// electronic charge
-        double kb = 1.3806505e-23;//Boltzmann
-        double T = 273.15 + 33.0;
-
-        int m = Vt.length;
-        double sum = 0.0;
-
-
-        for (int i = 0; i < m; i++) {
-            sum += (It[i] - x[2] + (x[3] * (Math.exp(q * (Vt[i] + x[0] * It[i]) / (x[4] * kb * T)) - 1.0)) + (x[5] * (Math.exp(q * (Vt[i] + x[0] * It[i]) / (x[6] * kb * T)) - 1.0)) + ((Vt[i] + x[0] * It[i]) / (x[1]))) * (It[i] - x[2] + (x[3] * (Math.exp(q * (Vt[i] + x[0] * It[i]) / (x[4] * kb * T)) - 1.0)) + (x[5] * (Math.exp(q * (Vt[i] + x[0] * It[i]) / (x[6] * kb * T)) - 1.0)) + ((Vt[i] + x[0] * It[i]) / (x[1])));
-        }
-
-        return Math.sqrt(sum / (double) m);
-    }
-}
-
-class solar1 extends f_xj// Himmelblau f(x)=0.0  @x=(3.0,2.0),(-2.8051,3.1313),(-3.7793,-3.2831),(3.5844,-1.8481)   -6.0<=x[i]<=6.0 i=0,1
-{
-    double func(double x[]) {
-// single diode
-        double[] Vt = {-0.2057, -0.1291, -0.0588, 0.0057, 0.0646, 0.1185, 0.1678, 0.2132, 0.2545, 0.2924, 0.3269, 0.3585, 0.3873, 0.4137, 0.4373, 0.459, 0.4784, 0.496, 0.5119, 0.5265, 0.5398, 0.5521, 0.5633, 0.5736, 0.5833, 0.59};
-        double[] It = {0.764, 0.762, 0.7605, 0.7605, 0.76, 0.759, 0.757, 0.757, 0.7555, 0.754, 0.7505, 0.7465, 0.7385, 0.728, 0.7065, 0.6755, 0.632, 0.573, 0.499, 0.413, 0.3165, 0.212, 0.1035, -0.01, -0.123, -0.21};
-//Rs   x[0]
-//Rsh  x[1]
-//IPh  x[2]
-//Isd  x[3]
-//n    x[4]
-        double q = 1.602176565e-19;// electronic charge
-        double kb = 1.3806505e-23;//Boltzmann
-        double T = 273.15 + 33.0;
-
-        int m = Vt.length;
-        double sum = 0.0;
-
-
-        for (int i = 0; i < m; i++) {
-            sum += (It[i] - x[2] + (x[3] * (Math.exp(q * (Vt[i] + x[0] * It[i]) / (x[4] * kb * T)) - 1.0)) + ((Vt[i] + x[0] * It[i]) / (x[1]))) * (It[i] - x[2] + (x[3] * (Math.exp(q * (Vt[i] + x[0] * It[i]) / (x[4] * kb * T)) - 1.0)) + ((Vt[i] + x[0] * It[i]) / (x[1])));
-        }
-
-        return Math.sqrt(sum / (double) m);
-    }
-}
-
-
-class pv extends f_xj// Himmelblau f(x)=0.0  @x=(3.0,2.0),(-2.8051,3.1313),(-3.7793,-3.2831),(3.5844,-1.8481)   -6.0<=x[i]<=6.0 i=0,1
-{
-    double func(double x[]) {
-// double  diode
-        double[] Vt = {0.1248, 1.8093, 3.3511, 4.7622, 6.0538, 7.2364, 8.3189, 9.3097, 10.2163, 11.0449, 11.8018, 12.4929, 13.1231, 13.6983, 14.2221, 14.6995, 15.1346, 15.5311, 15.8929, 16.2229, 16.5241, 16.7987, 17.0499, 17.2793, 17.4885};
-        double[] It = {1.0315, 1.0300, 1.0260, 1.0220, 1.0180, 1.0155, 1.0140, 1.0100, 1.0035, 0.9880, 0.9630, 0.9255, 0.8725, 0.8075, 0.7265, 0.6345, 0.5345, 0.4275, 0.3185, 0.2085, 0.1010, -0.0080, -0.1110, -0.2090, -0.3030};
-//Rs    x[0]
-//Rsh   x[1]
-//IPh   x[2]
-//Isd1  x[3]
-//n1    x[4]
-
-        double q = 1.602176565e-19;// electronic charge
-        double kb = 1.3806505e-23;//Boltzmann
-        double T = 273.15 + 45.0;
-        double Np = 1.0;
-        double Ns = 36.0;
-        double Vtt = kb * T / q;
-
-        int m = Vt.length;
-        double sum = 0.0;
-
-
-        for (int i = 0; i < m; i++) {
-            sum += (It[i] - x[2] + (x[3] * (Math.exp((Vt[i] + It[i] * x[0]) / (x[4] * Vtt * Ns)) - 1.0)) + (((Vt[i] + It[i] * x[0]) / (x[1])))) * (It[i] - x[2] + (x[3] * (Math.exp((Vt[i] + It[i] * x[0]) / (x[4] * Vtt * Ns)) - 1.0)) + (((Vt[i] + It[i] * x[0]) / (x[1]))));
-        }
-
-        return Math.sqrt(sum / (double) m);
-    }
-}
-
-class f2001 extends f_xj //optimal chiller case 1 coelho
-{
-
-    double[] RT = {1280.0, 1280.0, 1280.0, 1280.0, 1250.0, 1250.0};
-    double CL = 5334.0;
-
-    public double func(double x[]) {
-        double P[] = new double[6];
-        double a[] = {399.345, 287.116, -120.505, -19.121, -95.029, 191.750};
-        double b[] = {-122.12, 80.04, 1525.99, 898.76, 1202.39, 224.86};
-        double c[] = {770.46, 700.48, -502.14, -98.15, -352.16, 524.04};
-
-
-        double sum = 0.0;
-        for (int i = 0; i < 6; i++) {
-            P[i] = a[i] + b[i] * x[i] + c[i] * x[i] * x[i];
-        }
-        for (int i = 0; i < 6; i++) {
-            sum += P[i];
-        }
-        return sum + 5.0 * H(x);
-    }
-
-    double H(double x[]) {
-        double sum1 = 0.0;
-        for (int i = 0; i < 6; i++) {
-            sum1 += x[i] * RT[i];
-        }
-        return Math.abs(sum1 - CL) - 1e-8;
-    }
-}
-
-
-class f2002 extends f_xj //optimal chiller case 2 coelho
-{
-    double RT = 800.0;
-    double CL = 960.0;
-
-    public double func(double x[]) {
-        double P[] = new double[3];
-        double a[] = {100.95, 66.598, 130.09};
-        double b[] = {818.61, 606.34, 304.5};
-        double c[] = {-973.43, -380.58, 14.377};
-        double d[] = {788.55, 275.95, 99.8};
-
-
-        double sum = 0.0;
-        for (int i = 0; i < 3; i++) {
-            P[i] = a[i] + b[i] * x[i] + c[i] * x[i] * x[i] + d[i] * x[i] * x[i] * x[i];
-        }
-        for (int i = 0; i < 3; i++) {
-            sum += P[i];
-        }
-        return sum + 5.0 * H(x);
-    }
-
-    double H(double x[]) {
-        double sum1 = 0.0;
-        for (int i = 0; i < 3; i++) {
-            sum1 += x[i] * RT;
-        }
-        return Math.abs(sum1 - CL) - 1e-8;
-    }
-}
-
-class f2003 extends f_xj //optimal chiller case 3 genetic chang
-{
-    double[] RT = {450.0, 450, 1000.0, 1000.0};
-    double CL = 1450.0;
-
-    public double func(double x[]) {
-        double P[] = new double[4];
-        double a[] = {104.09, -67.15, 384.71, 541.63};
-        double b[] = {166.57, 1177.79, -779.13, 413.48};
-        double c[] = {-430.13, -2174.53, 1151.42, -3626.50};
-        double d[] = {512.53, 1456.53, -63.20, 4021.41};
+    double func(double x[]) {
+        return objective(x) + (300000000007.38 * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x) + H7(x) + H8(x) + H9(x) + H10(x) + H11(x) + H12(x)));
+    }
 
+    double objective(double x[]) {
+// x[0]  x[1]  x[2]  x[3]  x[4]  x[5]  x[6]  x[7]  x[8]  x[9]  x[10]  x[11]  x[12]  x[13]  x[14]  x[15]  x[16]  x[17]  x[18]  x[19]  x[20]  x[21]   x[22]   x[23]
+// R1    R2    R3    R4    R5    R6    R7    R8    R9    R10   R11    R12    S1     S2     S3     S4     S5     S6     S7     S8     S9     S10     S11     S12
 
         double sum = 0.0;
-        for (int i = 0; i < 4; i++) {
-            P[i] = a[i] + b[i] * x[i] + c[i] * x[i] * x[i] + d[i] * x[i] * x[i] * x[i];
-        }
-        for (int i = 0; i < 4; i++) {
-            sum += P[i];
-        }
-        return sum + 5.0 * H(x);
-    }
-
-    double H(double x[]) {
-        double sum1 = 0.0;
-        for (int i = 0; i < 4; i++) {
-            sum1 += x[i] * RT[i];
-        }
-        return Math.abs(sum1 - CL) - 1e-8;
-    }
-}
-
-
-class dam2 extends f_xj {
-
-
-    double func(double x[]) {
-// x[0]  x[1]  x[2]  x[3]  x[4]  x[5]  x[6]  x[7]  x[8]  x[9]  x[10]  x[11]  x[12]  x[13]  x[14]  x[15]  x[16]  x[17]  x[18]  x[19]  x[20]  x[21]   x[22]   x[23]
-// R1    R2    R3    R4    R5    R6    R7    R8    R9    R10   R11    R12    S1     S2     S3     S4     S5     S6     S7     S8     S9     S10     S11     S12
-
-        double[] irrigation_demand = {0.0, 0.0, 3.28, 5.36, 3.0, 3.22, 3.22, 1.24, 8.06, 7.65, 7.65, 4.71};
-//                          Jan, Feb, March, Aprl,  May, June, July, Agst, Sptmr, Octbr, Nvmbr, Dcmbr
-        double[] deficit = new double[12];
-
         for (int i = 0; i < 12; i++) {
-            deficit[i] = irrigation_demand[i] - x[i];
+            double deficit = irrigation_demand[i] - x[i];
+            sum += deficit * deficit;
         }
+        return sum;
+    }
 
-        double sum = 0.0;
-        for (int i = 0; i < 12; i++) {
-            sum += deficit[i] * deficit[i];
+    int constraints() {
+        return 12;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return equality(H1(x));
+            case 1:
+                return equality(H2(x));
+            case 2:
+                return equality(H3(x));
+            case 3:
+                return equality(H4(x));
+            case 4:
+                return equality(H5(x));
+            case 5:
+                return equality(H6(x));
+            case 6:
+                return equality(H7(x));
+            case 7:
+                return equality(H8(x));
+            case 8:
+                return equality(H9(x));
+            case 9:
+                return equality(H10(x));
+            case 10:
+                return equality(H11(x));
+            case 11:
+                return equality(H12(x));
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
         }
-        return sum + (300000000007.38 * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x) + H7(x) + H8(x) + H9(x) + H10(x) + H11(x) + H12(x)));
     }
 
     double H1(double x[]) {
@@ -3005,8 +3040,6 @@ class dam2 extends f_xj {
         St1 = x[12];
         St2 = x[13];
 
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
         double A0 = 0.002 * St1 * St1 + 0.3446 * St1 + 2.6533;//m^2
         double Evap0 = A0 * evap_rate[0];
@@ -3021,8 +3054,6 @@ class dam2 extends f_xj {
         double St3 = x[14];
 
 
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
 
         double A1 = 0.002 * St2 * St2 + 0.3446 * St2 + 2.6533;//m^2
@@ -3036,8 +3067,6 @@ class dam2 extends f_xj {
         double St4 = x[15];
 
 
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
         double A2 = 0.002 * St3 * St3 + 0.3446 * St3 + 2.6533;//m^2
         double Evap2 = A2 * evap_rate[2];
@@ -3051,8 +3080,6 @@ class dam2 extends f_xj {
         double St5 = x[16];
 
 
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
         double A3 = 0.002 * St4 * St4 + 0.3446 * St4 + 2.6533;//m^2
         double Evap3 = A3 * evap_rate[3];
@@ -3066,8 +3093,6 @@ class dam2 extends f_xj {
         double St6 = x[17];
 
 
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
 
         double A4 = 0.002 * St5 * St5 + 0.3446 * St5 + 2.6533;//m^2
@@ -3082,8 +3107,6 @@ class dam2 extends f_xj {
         double St6 = x[17];
         double St7 = x[18];
 
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
         double A5 = 0.002 * St6 * St6 + 0.3446 * St6 + 2.6533;//m^2
         double Evap5 = A5 * evap_rate[5];
@@ -3096,8 +3119,6 @@ class dam2 extends f_xj {
 
         double St7 = x[18];
         double St8 = x[19];
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
         double A6 = 0.002 * St7 * St7 + 0.3446 * St7 + 2.6533;//m^2
         double Evap6 = A6 * evap_rate[6];
@@ -3109,8 +3130,6 @@ class dam2 extends f_xj {
     double H8(double x[]) {
         double St8 = x[19];
         double St9 = x[20];
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
         double A7 = 0.002 * St8 * St8 + 0.3446 * St8 + 2.6533;//m^2
         double Evap7 = A7 * evap_rate[7];
@@ -3123,8 +3142,6 @@ class dam2 extends f_xj {
 
         double St9 = x[20];
         double St10 = x[21];
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
         double A8 = 0.002 * St9 * St9 + 0.3446 * St9 + 2.6533;//m^2
         double Evap8 = A8 * evap_rate[8];
         double hh9 = St10 - (St9 + I_med[8] - x[8] - Evap8);
@@ -3137,8 +3154,6 @@ class dam2 extends f_xj {
         double St10 = x[21];
         double St11 = x[22];
 
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
         double A9 = 0.002 * St10 * St10 + 0.3446 * St10 + 2.6533;//m^2
         double Evap9 = A9 * evap_rate[9];
@@ -3153,8 +3168,6 @@ class dam2 extends f_xj {
         double St12 = x[23];
 
 
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
 
         double A10 = 0.002 * St11 * St11 + 0.3446 * St11 + 2.6533;//m^2
@@ -3169,8 +3182,6 @@ class dam2 extends f_xj {
         double St12 = x[23];
         double St1 = x[12];
 
-        double evap_rate[] = {0.115, 0.1223, 0.1336, 0.1161, 0.1083, 0.0938, 0.0963, 0.0972, 0.0928, 0.0862, 0.0814, 0.0846}; // m/month
-        double[] I_med = {4.17, 2.03, 3.79, 3.43, 3.37, 3.26, 5.71, 6.31, 5.6, 14.87, 18.17, 12.78};
 
         double A11 = 0.002 * St12 * St12 + 0.3446 * St12 + 2.6533;//m^2
         double Evap11 = A11 * evap_rate[11];
@@ -3182,8 +3193,13 @@ class dam2 extends f_xj {
 }
 
 
-class cec_g01 extends f_xj {
+class cec_g01 extends constrained_objective {
     double func(double x[]) {
+        double mu = 400.0;
+        return objective(x) + mu * (G1(x) + G2(x) + G3(x) + G4(x) + G5(x) + G6(x) + G7(x) + G8(x) + G9(x));
+    }
+
+    double objective(double x[]) {
         double top1 = 0.0;
         double top2 = 0.0;
         double top3 = 0.0;
@@ -3198,8 +3214,36 @@ class cec_g01 extends f_xj {
         }
         double fnc = 5.0 * top1 - 5.0 * top2 - top3;
 
-        double mu = 400.0;
-        return fnc + mu * (G1(x) + G2(x) + G3(x) + G4(x) + G5(x) + G6(x) + G7(x) + G8(x) + G9(x));
+        return fnc;
+    }
+
+    int constraints() {
+        return 9;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G1(x);
+            case 1:
+                return G2(x);
+            case 2:
+                return G3(x);
+            case 3:
+                return G4(x);
+            case 4:
+                return G5(x);
+            case 5:
+                return G6(x);
+            case 6:
+                return G7(x);
+            case 7:
+                return G8(x);
+            case 8:
+                return G9(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
 
@@ -3242,8 +3286,13 @@ class cec_g01 extends f_xj {
 }
 
 
-class cec_g02 extends f_xj {
+class cec_g02 extends constrained_objective {
     double func(double x[]) {
+        double mu = 80000.0;
+        return objective(x) + mu * (G1(x) + G2(x));
+    }
+
+    double objective(double x[]) {
         int DD = x.length;
         double top1 = 0.0;
         double top2 = 1.0;
@@ -3263,8 +3312,22 @@ class cec_g02 extends f_xj {
         double fncc = -Math.abs((top1 - 2.0 * top2) / Math.sqrt(top3));
 
 
-        double mu = 80000.0;
-        return fncc + mu * (G1(x) + G2(x));
+        return fncc;
+    }
+
+    int constraints() {
+        return 2;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G2(x);
+            case 1:
+                return G1(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
 
@@ -3290,8 +3353,13 @@ class cec_g02 extends f_xj {
 }
 
 
-class cec_g03 extends f_xj {
+class cec_g03 extends constrained_objective {
     double func(double x[]) {
+        double mu = 6000.0;
+        return objective(x) + mu * (G1(x));
+    }
+
+    double objective(double x[]) {
         int DD = x.length;
 
         double top1 = 1.0;
@@ -3303,8 +3371,20 @@ class cec_g03 extends f_xj {
         double fncc = -Math.pow(Math.sqrt((double) DD), (double) DD) * top1;
 
 
-        double mu = 6000.0;
-        return fncc + mu * (G1(x));
+        return fncc;
+    }
+
+    int constraints() {
+        return 1;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return equality(G1(x));
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
 
@@ -3320,11 +3400,38 @@ class cec_g03 extends f_xj {
 }
 
 
-class cec_g04 extends f_xj {
+class cec_g04 extends constrained_objective {
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 357000000000000.95989;
-        return (5.3578547 * x[2] * x[2]) + (0.8356891 * x[0] * x[4]) + (37.293239 * x[0]) - (40792.141) + (mu * (G1(x) + G2(x) + G3(x) + G4(x) + G5(x) + G6(x)));
+        return objective(x) + mu * (G1(x) + G2(x) + G3(x) + G4(x) + G5(x) + G6(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
+        return (5.3578547 * x[2] * x[2]) + (0.8356891 * x[0] * x[4]) + (37.293239 * x[0]) - (40792.141);
+    }
+
+    int constraints() {
+        return 6;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G1(x);
+            case 1:
+                return G2(x);
+            case 2:
+                return G3(x);
+            case 3:
+                return G4(x);
+            case 4:
+                return G5(x);
+            case 5:
+                return G6(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -3355,12 +3462,36 @@ class cec_g04 extends f_xj {
 }
 
 
-class cec_g05 extends f_xj {
+class cec_g05 extends constrained_objective {
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 1000.2;
-        double s1 = ((3.0 * x[0]) + (1e-6 * x[0] * x[0] * x[0]) + (2.0 * x[1]) + ((2e-6 / 3.0) * x[1] * x[1] * x[1])) + mu * (G1(x) + G2(x) + H1(x) + H2(x) + H3(x));
-        return s1;
+        return objective(x) + mu * (G1(x) + G2(x) + H1(x) + H2(x) + H3(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
+        return ((3.0 * x[0]) + (1e-6 * x[0] * x[0] * x[0]) + (2.0 * x[1]) + ((2e-6 / 3.0) * x[1] * x[1] * x[1]));
+    }
+
+    int constraints() {
+        return 5;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G1(x);
+            case 1:
+                return G2(x);
+            case 2:
+                return equality(H1(x));
+            case 3:
+                return equality(H2(x));
+            case 4:
+                return equality(H3(x));
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -3385,12 +3516,30 @@ class cec_g05 extends f_xj {
 }
 
 
-class cec_g06 extends f_xj {
+class cec_g06 extends constrained_objective {
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 1000000000000.2;
-        double s1 = (x[0] - 10.0) * (x[0] - 10.0) * (x[0] - 10.0) + (x[1] - 20.0) * (x[1] - 20.0) * (x[1] - 20.0) + mu * (G1(x) + G2(x));
-        return s1;
+        return objective(x) + mu * (G1(x) + G2(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
+        return (x[0] - 10.0) * (x[0] - 10.0) * (x[0] - 10.0) + (x[1] - 20.0) * (x[1] - 20.0) * (x[1] - 20.0);
+    }
+
+    int constraints() {
+        return 2;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G1(x);
+            case 1:
+                return G2(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -3403,13 +3552,44 @@ class cec_g06 extends f_xj {
 
 }
 
-class cec_g07 extends f_xj {
+class cec_g07 extends constrained_objective {
 
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 10000.00007;
+        return objective(x) + mu * (G1(x) + G2(x) + G3(x) + G4(x) + G5(x) + G6(x) + G7(x) + G8(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
         double fnc = (x[0] * x[0]) + (x[1] * x[1]) + (x[0] * x[1]) - (14.0 * x[0]) - (16.0 * x[1]) + ((x[2] - 10.0) * (x[2] - 10.0)) + (4.0 * (x[3] - 5.0) * (x[3] - 5.0)) + ((x[4] - 3.0) * (x[4] - 3.0)) + (2.0 * (x[5] - 1.0) * (x[5] - 1.0)) + (5.0 * x[6] * x[6]) + (7.0 * (x[7] - 11.0) * (x[7] - 11.0)) + (2.0 * (x[8] - 10.0) * (x[8] - 10.0)) + ((x[9] - 7.0) * (x[9] - 7.0)) + 45.0;
-        return fnc + mu * (G1(x) + G2(x) + G3(x) + G4(x) + G5(x) + G6(x) + G7(x) + G8(x));
+        return fnc;
+    }
+
+    int constraints() {
+        return 8;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G1(x);
+            case 1:
+                return G2(x);
+            case 2:
+                return G3(x);
+            case 3:
+                return G4(x);
+            case 4:
+                return G5(x);
+            case 5:
+                return G6(x);
+            case 6:
+                return G7(x);
+            case 7:
+                return G8(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -3446,14 +3626,33 @@ class cec_g07 extends f_xj {
 }
 
 
-class cec_g08 extends f_xj {
+class cec_g08 extends constrained_objective {
 
     public double func(double x[]) {
-//��z�m� istenen fonksiy
         double mu = 100.00007;
+        return objective(x) + mu * (H1(x) + H2(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiy
         double s1 = -Math.sin(2.0 * Math.PI * x[0]) * Math.sin(2.0 * Math.PI * x[0]) * Math.sin(2.0 * Math.PI * x[0]) * Math.sin(2.0 * Math.PI * x[1]) / (x[0] * x[0] * x[0] * (x[0] + x[1]));
 
-        return s1 + mu * (H1(x) + H2(x));
+        return s1;
+    }
+
+    int constraints() {
+        return 2;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return H1(x);
+            case 1:
+                return H2(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double H1(double x[]) {
@@ -3466,11 +3665,34 @@ class cec_g08 extends f_xj {
 }
 
 
-class cec_g09 extends f_xj {
+class cec_g09 extends constrained_objective {
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 1000000000.25;
-        return ((x[0] - 10.0) * (x[0] - 10.0)) + (5.0 * (x[1] - 12.0) * (x[1] - 12.0)) + (x[2] * x[2] * x[2] * x[2]) + (3.0 * (x[3] - 11.0) * (x[3] - 11.0)) + (10.0 * (x[4] * x[4] * x[4] * x[4] * x[4] * x[4])) + (7.0 * x[5] * x[5]) + (x[6] * x[6] * x[6] * x[6]) - (4.0 * x[5] * x[6]) - 10 * x[5] - 8.0 * x[6] + mu * (G1(x) + G2(x) + G3(x) + G4(x));
+        return objective(x) + mu * (G1(x) + G2(x) + G3(x) + G4(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
+        return ((x[0] - 10.0) * (x[0] - 10.0)) + (5.0 * (x[1] - 12.0) * (x[1] - 12.0)) + (x[2] * x[2] * x[2] * x[2]) + (3.0 * (x[3] - 11.0) * (x[3] - 11.0)) + (10.0 * (x[4] * x[4] * x[4] * x[4] * x[4] * x[4])) + (7.0 * x[5] * x[5]) + (x[6] * x[6] * x[6] * x[6]) - (4.0 * x[5] * x[6]) - 10 * x[5] - 8.0 * x[6];
+    }
+
+    int constraints() {
+        return 4;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G1(x);
+            case 1:
+                return G2(x);
+            case 2:
+                return G3(x);
+            case 3:
+                return G4(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -3491,13 +3713,40 @@ class cec_g09 extends f_xj {
 }
 
 
-class cec_g10 extends f_xj {
+class cec_g10 extends constrained_objective {
 
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 10000000000.00007;
+        return objective(x) + mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
+
+        return x[0] + x[1] + x[2];
+    }
+
+    int constraints() {
+        return 6;
+    }
 
-        return x[0] + x[1] + x[2] + mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x));
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return H1(x);
+            case 1:
+                return H2(x);
+            case 2:
+                return H3(x);
+            case 3:
+                return H4(x);
+            case 4:
+                return H5(x);
+            case 5:
+                return H6(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double H1(double x[]) {
@@ -3526,12 +3775,28 @@ class cec_g10 extends f_xj {
 }
 
 
-class cec_g11 extends f_xj {
+class cec_g11 extends constrained_objective {
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 5.0;
-        double s1 = x[0] * x[0] + (x[1] - 1.0) * (x[1] - 1.0) + mu * (H1(x));
-        return s1;
+        return objective(x) + mu * (H1(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
+        return x[0] * x[0] + (x[1] - 1.0) * (x[1] - 1.0);
+    }
+
+    int constraints() {
+        return 1;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return equality(H1(x));
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double H1(double x[]) {
@@ -3540,12 +3805,32 @@ class cec_g11 extends f_xj {
 }
 
 
-class cec_g13 extends f_xj {
+class cec_g13 extends constrained_objective {
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 0.07;
-        double s1 = Math.exp(x[0] * x[1] * x[2] * x[3] * x[4]) + mu * (H1(x) + H2(x) + H3(x));
-        return s1;
+        return objective(x) + mu * (H1(x) + H2(x) + H3(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
+        return Math.exp(x[0] * x[1] * x[2] * x[3] * x[4]);
+    }
+
+    int constraints() {
+        return 3;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return equality(H2(x));
+            case 1:
+                return equality(H3(x));
+            case 2:
+                return equality(H1(x));
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double H1(double x[]) {
@@ -3569,11 +3854,16 @@ class cec_g13 extends f_xj {
 }
 
 
-class cec_g14 extends f_xj {
+class cec_g14 extends constrained_objective {
+    static final double[] c = {-6.089, -17.164, -34.054, -5.914, -24.721, -14.986, -24.1, -10.708, -26.662, -22.719};
+
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
-        double[] c = {-6.089, -17.164, -34.054, -5.914, -24.721, -14.986, -24.1, -10.708, -26.662, -22.719};
         double mu = 90.07;
+        return objective(x) + mu * (H1(x) + H2(x) + H3(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
         double sum = 0.0;
 
         for (int i = 0; i < 10; i++) {
@@ -3581,8 +3871,24 @@ class cec_g14 extends f_xj {
         }
 
 
-        double s1 = sum + mu * (H1(x) + H2(x) + H3(x));
-        return s1;
+        return sum;
+    }
+
+    int constraints() {
+        return 3;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return equality(H1(x));
+            case 1:
+                return equality(H2(x));
+            case 2:
+                return equality(H3(x));
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double H1(double x[]) {
@@ -3602,14 +3908,32 @@ class cec_g14 extends f_xj {
 }
 
 
-class cec_g15 extends f_xj {
+class cec_g15 extends constrained_objective {
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 90.07;
+        return objective(x) + mu * (H1(x) + H2(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
         double fx = 1000 - x[0] * x[0] - 2.0 * x[1] * x[1] - x[2] * x[2] - x[0] * x[1] - x[0] * x[2];
 
-        double s1 = fx + mu * (H1(x) + H2(x));
-        return s1;
+        return fx;
+    }
+
+    int constraints() {
+        return 2;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return equality(H2(x));
+            case 1:
+                return equality(H1(x));
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double H1(double x[]) {
@@ -3626,10 +3950,14 @@ class cec_g15 extends f_xj {
 }
 
 
-class cec_g17 extends f_xj {
+class cec_g17 extends constrained_objective {
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 200.07;
+        return objective(x) + mu * (H1(x) + H2(x) + H3(x) + H4(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
         double f1 = 0.0;
         double f2 = 0.0;
 
@@ -3648,8 +3976,26 @@ class cec_g17 extends f_xj {
         }
 
 
-        double s1 = f1 + f2 + mu * (H1(x) + H2(x) + H3(x) + H4(x));
-        return s1;
+        return f1 + f2;
+    }
+
+    int constraints() {
+        return 4;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return equality(H1(x));
+            case 1:
+                return equality(H2(x));
+            case 2:
+                return equality(H3(x));
+            case 3:
+                return equality(H4(x));
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double H1(double x[]) {
@@ -3686,13 +4032,54 @@ class cec_g17 extends f_xj {
 }
 
 
-class cec_g18 extends f_xj {
+class cec_g18 extends constrained_objective {
 
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 1000000000000.00007;
+        return objective(x) + mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x) + H7(x) + H8(x) + H9(x) + H10(x) + H11(x) + H12(x) + H13(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
 
-        return -0.5 * (x[0] * x[3] - x[1] * x[2] + x[2] * x[8] - x[4] * x[8] + x[4] * x[7] - x[5] * x[6]) + mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x) + H7(x) + H8(x) + H9(x) + H10(x) + H11(x) + H12(x) + H13(x));
+        return -0.5 * (x[0] * x[3] - x[1] * x[2] + x[2] * x[8] - x[4] * x[8] + x[4] * x[7] - x[5] * x[6]);
+    }
+
+    int constraints() {
+        return 13;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return H1(x);
+            case 1:
+                return H2(x);
+            case 2:
+                return H3(x);
+            case 3:
+                return H4(x);
+            case 4:
+                return H5(x);
+            case 5:
+                return H6(x);
+            case 6:
+                return H7(x);
+            case 7:
+                return H8(x);
+            case 8:
+                return H9(x);
+            case 9:
+                return H10(x);
+            case 10:
+                return H11(x);
+            case 11:
+                return H12(x);
+            case 12:
+                return H13(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double H1(double x[]) {
@@ -3750,13 +4137,40 @@ class cec_g18 extends f_xj {
 }
 
 
-class cec_g21 extends f_xj {
+class cec_g21 extends constrained_objective {
 
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 100000000000000000000000.00007;
+        return objective(x) + mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + G1(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
 
-        return x[0] + mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + G1(x));
+        return x[0];
+    }
+
+    int constraints() {
+        return 6;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return equality(H1(x));
+            case 1:
+                return equality(H2(x));
+            case 2:
+                return G1(x);
+            case 3:
+                return equality(H3(x));
+            case 4:
+                return equality(H4(x));
+            case 5:
+                return equality(H5(x));
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -3787,13 +4201,68 @@ class cec_g21 extends f_xj {
 }
 
 
-class cec_g22 extends f_xj {
+class cec_g22 extends constrained_objective {
 
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 100000000000000000000000.00007;
+        return objective(x) + mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
 
-        return x[0] + mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x));
+        return x[0];
+    }
+
+    int constraints() {
+        return 20;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return equality(H1(x));
+            case 1:
+                return equality(H2(x));
+            case 2:
+                return equality(H3(x));
+            case 3:
+                return equality(H4(x));
+            case 4:
+                return equality(H5(x));
+            case 5:
+                return equality(H6(x));
+            case 6:
+                return equality(H7(x));
+            case 7:
+                return equality(H8(x));
+            case 8:
+                return equality(H9(x));
+            case 9:
+                return equality(H10(x));
+            case 10:
+                return equality(H16(x));
+            case 11:
+                return equality(H17(x));
+            case 12:
+                return equality(H18(x));
+            case 13:
+                return equality(H19(x));
+            case 14:
+                return equality(H11(x));
+            case 15:
+                return equality(H12(x));
+            case 16:
+                return equality(H13(x));
+            case 17:
+                return equality(H14(x));
+            case 18:
+                return equality(H15(x));
+            case 19:
+                return G1(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -3879,13 +4348,40 @@ class cec_g22 extends f_xj {
 }
 
 
-class cec_g23 extends f_xj {
+class cec_g23 extends constrained_objective {
 
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 100.00007;
+        return objective(x) + mu * (G1(x) + G2(x) + H1(x) + H2(x) + H3(x) + H4(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
+
+        return -9.0 * x[4] - 15.0 * x[7] + 6.0 * x[0] + 16.0 * x[1] + 10.0 * (x[5] + x[6]);
+    }
 
-        return -9.0 * x[4] - 15.0 * x[7] + 6.0 * x[0] + 16.0 * x[1] + 10.0 * (x[5] + x[6]) + mu * (G1(x) + G2(x) + H1(x) + H2(x) + H3(x) + H4(x));
+    int constraints() {
+        return 6;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G1(x);
+            case 1:
+                return G2(x);
+            case 2:
+                return equality(H1(x));
+            case 3:
+                return equality(H2(x));
+            case 4:
+                return equality(H3(x));
+            case 5:
+                return equality(H4(x));
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -3915,13 +4411,32 @@ class cec_g23 extends f_xj {
 }
 
 
-class cec_g24 extends f_xj {
+class cec_g24 extends constrained_objective {
 
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 100000000000.00007;
+        return objective(x) + mu * (G1(x) + G2(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
 
-        return -x[0] - x[1] + mu * (G1(x) + G2(x));
+        return -x[0] - x[1];
+    }
+
+    int constraints() {
+        return 2;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G1(x);
+            case 1:
+                return G2(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -3984,12 +4499,48 @@ class tensioncompression extends f_xj {
 
 
 // speed reducer design problem
-class speedreducer extends f_xj {
+class speedreducer extends constrained_objective {
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 8000000.7;
-        double s1 = 0.7854 * x[0] * x[1] * x[1] * (3.3333 * x[2] * x[2] + 14.9334 * x[2] - 43.0934) - (1.508 * x[0] * (x[5] * x[5] + x[6] * x[6])) + (7.4777 * (x[5] * x[5] * x[5] + x[6] * x[6] * x[6])) + (0.7854 * (x[3] * x[5] * x[5] + x[4] * x[6] * x[6])) + (mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x) + H7(x) + H8(x) + H9(x) + H10(x) + H11(x)));
-        return s1;
+        return objective(x) + mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x) + H7(x) + H8(x) + H9(x) + H10(x) + H11(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
+        return 0.7854 * x[0] * x[1] * x[1] * (3.3333 * x[2] * x[2] + 14.9334 * x[2] - 43.0934) - (1.508 * x[0] * (x[5] * x[5] + x[6] * x[6])) + (7.4777 * (x[5] * x[5] * x[5] + x[6] * x[6] * x[6])) + (0.7854 * (x[3] * x[5] * x[5] + x[4] * x[6] * x[6]));
+    }
+
+    int constraints() {
+        return 11;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return H7(x);
+            case 1:
+                return H8(x);
+            case 2:
+                return H9(x);
+            case 3:
+                return H10(x);
+            case 4:
+                return H11(x);
+            case 5:
+                return H1(x);
+            case 6:
+                return H2(x);
+            case 7:
+                return H3(x);
+            case 8:
+                return H4(x);
+            case 9:
+                return H5(x);
+            case 10:
+                return H6(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double H1(double x[]) {
@@ -4040,7 +4591,7 @@ class speedreducer extends f_xj {
 }
 
 
-class weldedbeam extends f_xj {
+class weldedbeam extends constrained_objective {
 
     double P = 6000.0;
     double L = 14.0;
@@ -4088,10 +4639,40 @@ class weldedbeam extends f_xj {
 
 
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 990.000000015;
-        double s1 = (1.10471 * x[0] * x[0] * x[1]) + (0.04811 * x[2] * x[3] * (14.0 + x[1])) + (mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x) + H7(x) + H8(x)));
-        return s1;
+        return objective(x) + mu * (H1(x) + H2(x) + H3(x) + H4(x) + H5(x) + H6(x) + H7(x) + H8(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
+        return (1.10471 * x[0] * x[0] * x[1]) + (0.04811 * x[2] * x[3] * (14.0 + x[1]));
+    }
+
+    int constraints() {
+        return 8;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return H3(x);
+            case 1:
+                return H4(x);
+            case 2:
+                return H5(x);
+            case 3:
+                return H8(x);
+            case 4:
+                return H2(x);
+            case 5:
+                return H6(x);
+            case 6:
+                return H7(x);
+            case 7:
+                return H1(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double H1(double x[]) {
@@ -4128,6 +4709,73 @@ class weldedbeam extends f_xj {
 }
 
 
+// pressure vessel design: shell and head thickness Ts, Th (rolled in steps of 1/16 inch, so they
+// are rounded to that grid here whatever the solver passes), inner radius R and length L
+class pressurevessel extends constrained_objective {
+
+    static final variable_type PLATE = variable_type.grid(0.0, 0.0625);
+
+    public double func(double x[]) {
+        double mu = 1000000.0;
+        return objective(x) + mu * (H1(x) + H2(x) + H3(x) + H4(x));
+    }
+
+    double Ts(double x[]) {
+        return PLATE.snap(x[0], 0.0625, 6.1875);
+    }
+
+    double Th(double x[]) {
+        return PLATE.snap(x[1], 0.0625, 6.1875);
+    }
+
+    double objective(double x[]) {
+        double ts = Ts(x);
+        double th = Th(x);
+        return (0.6224 * ts * x[2] * x[3]) + (1.7781 * th * x[2] * x[2]) + (3.1661 * ts * ts * x[3]) + (19.84 * ts * ts * x[2]);
+    }
+
+    variable_type[] types(int n) {
+        return new variable_type[]{PLATE, PLATE, variable_type.CONTINUOUS, variable_type.CONTINUOUS};
+    }
+
+    int constraints() {
+        return 4;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return H4(x);
+            case 1:
+                return H1(x);
+            case 2:
+                return H2(x);
+            case 3:
+                return H3(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
+    }
+
+    double H1(double x[]) {
+        return Math.pow(Math.max(0.0, -Ts(x) + 0.0193 * x[2]), 2.0);
+    }
+
+    double H2(double x[]) {
+        return Math.pow(Math.max(0.0, -Th(x) + 0.00954 * x[2]), 2.0);
+    }
+
+    // volume of at least 1296000 cubic inches, relative
+    double H3(double x[]) {
+        return Math.pow(Math.max(0.0, 1.0 - (Math.PI * x[2] * x[2] * x[3] + (4.0 / 3.0) * Math.PI * x[2] * x[2] * x[2]) / 1296000.0), 2.0);
+    }
+
+    double H4(double x[]) {
+        return Math.pow(Math.max(0.0, x[3] / 240.0 - 1.0), 2.0);
+    }
+}
+
+
 class frac_01 extends f_xj {
 
     public double func(double x[]) {
@@ -4331,11 +4979,15 @@ class frac_09 extends f_xj //---
 }
 
 
-class fconstr1 extends f_xj {
+class fconstr1 extends constrained_objective {
 
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 1000.0;
+        return objective(x) + mu * (G1(x) + G2(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
         double ww = 0.99;
 //f[0]  min--> 0.3888915710232697
 //      x  --> 0.3888915710232697 2.4999977206914625
@@ -4347,7 +4999,22 @@ class fconstr1 extends f_xj {
 //      x   --> 0.567173791492188 4.104564123388647
 
 
-        return ww * ((x[0] - 0.3888915710232697) / (0.9999999999898582 - 0.3888915710232697)) + ((1 - ww) * ((((1 + x[1]) / x[0]) - 1.0000005445914724) / (8.999999999927631 - 1.0000005445914724))) + mu * (G1(x) + G2(x));
+        return ww * ((x[0] - 0.3888915710232697) / (0.9999999999898582 - 0.3888915710232697)) + ((1 - ww) * ((((1 + x[1]) / x[0]) - 1.0000005445914724) / (8.999999999927631 - 1.0000005445914724)));
+    }
+
+    int constraints() {
+        return 2;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G1(x);
+            case 1:
+                return G2(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -4362,11 +5029,15 @@ class fconstr1 extends f_xj {
 }
 
 
-class fconstr2 extends f_xj {
+class fconstr2 extends constrained_objective {
 
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 5000.0;
+        return objective(x) + mu * (G1(x) + G2(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
         double ww = 0.9999;
 //f[0]  min--> 0.04269954053917328
 //      x  --> 0.04269954053917328 1.037934234857955
@@ -4379,7 +5050,22 @@ class fconstr2 extends f_xj {
 
 
 //return -x[1]+mu*(G1(x)+G2(x));
-        return ww * ((x[0] - 0.04269954053917328) / (1.2071059830615452 - 0.04269954053917328)) + ((1.0 - ww) * ((x[1] - 0.04187132187223135) / (1.2071067295252906 - 0.04187132187223135))) + mu * (G1(x) + G2(x));
+        return ww * ((x[0] - 0.04269954053917328) / (1.2071059830615452 - 0.04269954053917328)) + ((1.0 - ww) * ((x[1] - 0.04187132187223135) / (1.2071067295252906 - 0.04187132187223135)));
+    }
+
+    int constraints() {
+        return 2;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G1(x);
+            case 1:
+                return G2(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -4394,11 +5080,15 @@ class fconstr2 extends f_xj {
 }
 
 
-class fconstr3 extends f_xj {
+class fconstr3 extends constrained_objective {
 
     public double func(double x[]) {
-//��z�m� istenen fonksiyon
         double mu = 50000.0;
+        return objective(x) + mu * (G1(x) + G2(x) + G3(x));
+    }
+
+    double objective(double x[]) {
+//��z�m� istenen fonksiyon
         double ww = 0.42;
 //f[0]  min--> -35.99966515994405
 //      x  --> 5.999980294663562 9.837640699106201E-5
@@ -4414,7 +5104,24 @@ class fconstr3 extends f_xj {
 
 
 //return (0.5*x[0]+x[1]+1.0)+mu*(G1(x)+G2(x)+G3(x));
-        return -ww * (f1) - ((1.0 - ww) * (f2)) + mu * (G1(x) + G2(x) + G3(x));
+        return -ww * (f1) - ((1.0 - ww) * (f2));
+    }
+
+    int constraints() {
+        return 3;
+    }
+
+    double violation(double x[], int k) {
+        switch (k) {
+            case 0:
+                return G1(x);
+            case 1:
+                return G2(x);
+            case 2:
+                return G3(x);
+            default:
+                throw new IndexOutOfBoundsException("constraint " + k);
+        }
     }
 
     double G1(double x[]) {
@@ -4431,15 +5138,23 @@ class fconstr3 extends f_xj {
 
 }
 
-class threebartruss_multi extends f_xj {
+class threebartruss_multi extends mo_objective {
 
-    public double func(double x[]) {
+    threebartruss_multi() {
+        double ww = 1.00;
+        weights = new double[]{ww, 1.0 - ww};
+    }
+
+    int count() {
+        return 2;
+    }
+
+    double objectives(double x[], double f[]) {
 //��z�m� istenen fonksiyon
         double F = 10;
         double E = 2e5;
         double L = 200;
         double sigma = 10;
-        double ww = 1.00;
 //f[0]  min--> -35.99966515994405
 //      x  --> 5.999980294663562 9.837640699106201E-5
 //      max --> 6.4998547263342195
@@ -4454,16 +5169,26 @@ class threebartruss_multi extends f_xj {
 
 
 //return (0.5*x[0]+x[1]+1.0)+mu*(G1(x)+G2(x)+G3(x));
-        return ww * (f1) + ((1.0 - ww) * (f2));
+        f[0] = f1;
+        f[1] = f2;
+        return 0.0;
     }
 }
 
-class weldedbeam_multi extends f_xj {
+class weldedbeam_multi extends mo_objective {
 
-    public double func(double x[]) {
-//��z�m� istenen fonksiyon
-        double mu = 0.1;
+    weldedbeam_multi() {
         double ww = 0.1;
+        weights = new double[]{ww, 1.0 - ww};
+        mu = 0.1;
+    }
+
+    int count() {
+        return 2;
+    }
+
+    double objectives(double x[], double f[]) {
+//��z�m� istenen fonksiyon
         //double ww=0.00000001;
 //f[0]  min--> -35.99966515994405
 //      x  --> 5.999980294663562 9.837640699106201E-5
@@ -4479,7 +5204,9 @@ class weldedbeam_multi extends f_xj {
 
 
 //return (0.5*x[0]+x[1]+1.0)+mu*(G1(x)+G2(x)+G3(x));
-        return ww * (f1) + ((1.0 - ww) * (f2)) + mu * (G1(x) + G2(x) + G3(x) + G4(x));
+        f[0] = f1;
+        f[1] = f2;
+        return G1(x) + G2(x) + G3(x) + G4(x);
     }
 
     double G1(double x[]) {
@@ -4504,12 +5231,20 @@ class weldedbeam_multi extends f_xj {
     }
 }
 
-class diskbrake_multi extends f_xj {
+class diskbrake_multi extends mo_objective {
 
-    public double func(double x[]) {
-//��z�m� istenen fonksiyon
-        double mu = 10.0;
+    diskbrake_multi() {
         double ww = 0.00;
+        weights = new double[]{ww, 1.0 - ww};
+        mu = 10.0;
+    }
+
+    int count() {
+        return 2;
+    }
+
+    double objectives(double x[], double f[]) {
+//��z�m� istenen fonksiyon
 //f[0]  min--> -35.99966515994405
 //      x  --> 5.999980294663562 9.837640699106201E-5
 //      max --> 6.4998547263342195
@@ -4524,7 +5259,9 @@ class diskbrake_multi extends f_xj {
 
 
 //return (0.5*x[0]+x[1]+1.0)+mu*(G1(x)+G2(x)+G3(x));
-        return ww * (f1) + ((1.0 - ww) * (f2)) + mu * (G1(x) + G2(x) + G3(x) + G4(x) + G5(x));
+        f[0] = f1;
+        f[1] = f2;
+        return G1(x) + G2(x) + G3(x) + G4(x) + G5(x);
     }
 
     double G1(double x[]) {
@@ -4551,10 +5288,9 @@ class diskbrake_multi extends f_xj {
 }
 
 
-class muzo extends f_xj // Rastrigin plus Ackley Function
+class muzo extends dark_diode_fit // diode I-V fit, measured set 7 with 1% noise on the current
 {
-    public double func(double x[]) {
-
+    // other measured sets, kept for reference
 // double[] V_1={-3.013500E+00,-2.988202E+00,-2.963134E+00,-2.937211E+00,-2.911229E+00,-2.885934E+00,-2.861603E+00,-2.835963E+00,-2.810766E+00,-2.785139E+00,-2.759495E+00,-2.734386E+00,-2.709140E+00,-2.683637E+00,-2.658489E+00,-2.632618E+00,-2.607396E+00,-2.581915E+00,-2.556926E+00,-2.531982E+00,-2.506359E+00,-2.480233E+00,-2.455509E+00,-2.430305E+00,-2.404343E+00,-2.379418E+00,-2.353690E+00,-2.328300E+00,-2.303312E+00,-2.278181E+00,-2.252111E+00,-2.227057E+00,-2.201410E+00,-2.175841E+00,-2.150763E+00,-2.125752E+00,-2.100199E+00,-2.074925E+00,-2.049066E+00,-2.023834E+00,-1.999198E+00,-1.973410E+00,-1.948333E+00,-1.923028E+00,-1.896797E+00,-1.871978E+00,-1.847000E+00,-1.820620E+00,-1.796179E+00,-1.770976E+00,-1.745499E+00,-1.720904E+00,-1.694640E+00,-1.668698E+00,-1.643591E+00,-1.617638E+00,-1.591801E+00,-1.567788E+00,-1.542263E+00,-1.517094E+00,-1.491944E+00,-1.466032E+00,-1.441077E+00,-1.415100E+00,-1.389956E+00,-1.364830E+00,-1.339323E+00,-1.313771E+00,-1.288738E+00,-1.263122E+00,-1.237698E+00,-1.212741E+00,-1.186680E+00,-1.161807E+00,-1.136024E+00,-1.110582E+00,-1.085286E+00,-1.059504E+00,-1.034202E+00,-1.008816E+00,-9.835417E-01,-9.587035E-01,-9.336078E-01,-9.089324E-01,-8.820977E-01,-8.568176E-01,-8.314713E-01,-8.068262E-01,-7.806045E-01,-7.558147E-01,-7.304323E-01,-7.046033E-01,-6.790178E-01,-6.533033E-01,-6.290466E-01,-6.028415E-01,-5.778965E-01,-5.527887E-01,-5.275939E-01,-5.022327E-01,-4.769648E-01,-4.506831E-01,-4.253254E-01,-3.999785E-01,-3.749537E-01,-3.497598E-01,-3.250624E-01,-2.982886E-01,-2.729308E-01,-2.479166E-01,-2.228869E-01,-1.975325E-01,-1.719975E-01,-1.458941E-01,-1.212791E-01,-9.742565E-02,+1.111038E-01,+1.367147E-01,+1.632435E-01,+1.885170E-01,+2.134580E-01,+2.387390E-01,+2.644154E-01,+2.893595E-01,+3.150591E-01,+3.404985E-01,+3.656774E-01,+3.905315E-01,+4.159831E-01,+4.411799E-01,+4.673044E-01,+4.927268E-01,+5.185922E-01,+5.427643E-01,+5.682280E-01,+5.936539E-01,+6.201126E-01,+6.452207E-01,+6.706535E-01,+6.955945E-01,+7.211145E-01,+7.467276E-01,+7.717416E-01,+7.972661E-01,+8.223515E-01,+8.475474E-01,+8.733628E-01,+8.985012E-01,+9.234832E-01,+9.491813E-01,+9.745657E-01,+9.996139E-01,+1.024651E+00,+1.051129E+00,+1.076389E+00,+1.101188E+00,+1.127394E+00,+1.151956E+00,+1.176865E+00,+1.202373E+00,+1.228797E+00,+1.253471E+00,+1.278769E+00,+1.304429E+00,+1.329954E+00,+1.354468E+00,+1.380243E+00,+1.405898E+00,+1.431552E+00,+1.456140E+00,+1.482258E+00,+1.508157E+00,+1.532722E+00,+1.558519E+00,+1.583428E+00,+1.608085E+00,+1.634498E+00,+1.659261E+00,+1.684357E+00,+1.710109E+00,+1.734905E+00,+1.760632E+00,+1.786336E+00,+1.811371E+00,+1.836957E+00,+1.861885E+00,+1.887711E+00,+1.912145E+00,+1.939030E+00,+1.963883E+00,+1.989815E+00,+2.014312E+00,+2.041030E+00,+2.065123E+00,+2.091009E+00,+2.115102E+00,+2.141541E+00,+2.166945E+00,+2.192136E+00,+2.217223E+00,+2.243428E+00,+2.268673E+00,+2.293880E+00,+2.319594E+00,+2.344717E+00,+2.370790E+00,+2.395036E+00,+2.421158E+00,+2.446050E+00,+2.471542E+00,+2.497083E+00,+2.521572E+00,+2.547683E+00,+2.572958E+00,+2.597009E+00,+2.622990E+00,+2.649802E+00,+2.674326E+00,+2.700066E+00,+2.724342E+00,+2.750477E+00,+2.775574E+00,+2.801507E+00,+2.826569E+00,+2.851939E+00,+2.877118E+00,+2.902578E+00,+2.927814E+00,+2.953354E+00,+2.978426E+00,+3.004220E+00};
 // double[] I_1={-1.619359E-05,-1.590154E-05,-1.574869E-05,-1.561282E-05,-1.536612E-05,-1.517332E-05,-1.496365E-05,-1.475702E-05,-1.468902E-05,-1.463971E-05,-1.451944E-05,-1.434218E-05,-1.414879E-05,-1.397870E-05,-1.379126E-05,-1.367068E-05,-1.346617E-05,-1.349306E-05,-1.330013E-05,-1.314913E-05,-1.300309E-05,-1.294544E-05,-1.271423E-05,-1.256523E-05,-1.249342E-05,-1.236171E-05,-1.231191E-05,-1.213741E-05,-1.209796E-05,-1.194558E-05,-1.167763E-05,-1.160240E-05,-1.159638E-05,-1.136092E-05,-1.119216E-05,-1.111299E-05,-1.102942E-05,-1.079211E-05,-1.073998E-05,-1.063049E-05,-1.045936E-05,-1.030956E-05,-1.014329E-05,-1.003763E-05,-9.923904E-06,-9.864546E-06,-9.721170E-06,-9.598626E-06,-9.431755E-06,-9.325462E-06,-9.099183E-06,-9.025924E-06,-8.857488E-06,-8.716310E-06,-8.549148E-06,-8.449370E-06,-8.300171E-06,-8.087643E-06,-7.920605E-06,-7.903353E-06,-7.715634E-06,-7.578486E-06,-7.381171E-06,-7.315147E-06,-7.150230E-06,-6.998486E-06,-6.884384E-06,-6.777226E-06,-6.586913E-06,-6.523684E-06,-6.388015E-06,-6.262434E-06,-6.163631E-06,-6.063616E-06,-5.923564E-06,-5.854580E-06,-5.644428E-06,-5.491287E-06,-5.379261E-06,-5.291031E-06,-5.126662E-06,-4.945502E-06,-4.791330E-06,-4.693592E-06,-4.605759E-06,-4.442740E-06,-4.316469E-06,-4.229018E-06,-4.113605E-06,-3.936268E-06,-3.791000E-06,-3.660567E-06,-3.544907E-06,-3.345302E-06,-3.249670E-06,-3.150717E-06,-3.048179E-06,-2.946830E-06,-2.812597E-06,-2.733669E-06,-2.596405E-06,-2.445433E-06,-2.338330E-06,-2.236126E-06,-2.067292E-06,-1.910833E-06,-1.815578E-06,-1.701688E-06,-1.556756E-06,-1.424603E-06,-1.351085E-06,-1.221940E-06,-1.062264E-06,-9.066040E-07,-7.733005E-07,-6.323909E-07,+1.429335E-06,+2.013769E-06,+2.796494E-06,+3.757287E-06,+4.994158E-06,+6.462847E-06,+8.054579E-06,+9.959630E-06,+1.208227E-05,+1.454667E-05,+1.706022E-05,+1.979599E-05,+2.275687E-05,+2.600284E-05,+2.937962E-05,+3.287807E-05,+3.655003E-05,+4.032738E-05,+4.426748E-05,+4.817922E-05,+5.243013E-05,+5.669309E-05,+6.114500E-05,+6.569402E-05,+7.035016E-05,+7.511862E-05,+7.991806E-05,+8.485822E-05,+9.004369E-05,+9.509322E-05,+1.004159E-04,+1.061209E-04,+1.117297E-04,+1.172400E-04,+1.228488E-04,+1.285385E-04,+1.343791E-04,+1.405022E-04,+1.465146E-04,+1.526874E-04,+1.589446E-04,+1.652152E-04,+1.716585E-04,+1.783249E-04,+1.850870E-04,+1.917744E-04,+1.984882E-04,+2.054864E-04,+2.126933E-04,+2.196528E-04,+2.272601E-04,+2.348586E-04,+2.422845E-04,+2.498468E-04,+2.576643E-04,+2.662881E-04,+2.746704E-04,+2.833803E-04,+2.912279E-04,+3.004223E-04,+3.096872E-04,+3.191025E-04,+3.271497E-04,+3.380389E-04,+3.469102E-04,+3.577153E-04,+3.664095E-04,+3.767420E-04,+3.906724E-04,+4.030817E-04,+4.238049E-04,+4.368431E-04,+4.497614E-04,+4.698079E-04,+4.830401E-04,+5.088538E-04,+5.279918E-04,+5.396999E-04,+5.596962E-04,+5.742605E-04,+5.976629E-04,+6.200543E-04,+6.417045E-04,+6.672438E-04,+6.906921E-04,+7.247625E-04,+7.419763E-04,+7.709179E-04,+8.074756E-04,+8.332052E-04,+8.665686E-04,+9.005624E-04,+9.351113E-04,+9.648481E-04,+9.983662E-04,+1.014226E-03,+1.041738E-03,+1.054917E-03,+1.093688E-03,+1.115386E-03,+1.164241E-03,+1.216252E-03,+1.241885E-03,+1.285892E-03,+1.359932E-03,+1.431119E-03,+1.470528E-03,+1.526352E-03,+1.556017E-03,+1.595544E-03,+1.637721E-03,+1.686287E-03,+1.775307E-03,+1.829746E-03,+1.868379E-03};
 //
@@ -4710,296 +5446,61 @@ class muzo extends f_xj // Rastrigin plus Ackley Function
 //  for(int i=0;i<I6len;i++)
 //  {I_6[i]=I_6[i]*(1+2.0*(Math.random()-0.5)*0.01);}
 //
-        double[] V_7 = {+6.700155E-01, +6.954783E-01, +7.211640E-01, +7.472914E-01, +7.719399E-01, +7.969999E-01, +8.223515E-01, +8.477977E-01, +8.728270E-01, +8.983089E-01, +9.238505E-01, +9.497205E-01, +9.748404E-01, +1.000358E+00, +1.025215E+00, +1.051385E+00, +1.076513E+00, +1.101824E+00, +1.126848E+00, +1.152357E+00, +1.177115E+00, +1.203457E+00, +1.228631E+00, +1.253562E+00, +1.279379E+00, +1.304227E+00, +1.330168E+00, +1.355665E+00, +1.380641E+00, +1.406026E+00,};
-        double[] I_7 = {+3.982476E-05, +4.905299E-05, +6.027925E-05, +7.384914E-05, +8.967056E-05, +1.090735E-04, +1.314895E-04, +1.580112E-04, +1.896214E-04, +2.272755E-04, +2.701612E-04, +3.209290E-04, +3.786755E-04, +4.451647E-04, +5.208108E-04, +6.104453E-04, +7.088086E-04, +8.227184E-04, +9.489789E-04, +1.086878E-03, +1.246848E-03, +1.427458E-03, +1.627916E-03, +1.850858E-03, +2.097613E-03, +2.365267E-03, +2.669387E-03, +2.994048E-03, +3.353141E-03, +3.742937E-03,};
-//
-        int I7len = I_7.length;
-        for (int i = 0; i < I7len; i++) {
-            I_7[i] = I_7[i] * (1 + 2.0 * (Math.random() - 0.5) * 0.01);
-        }
-
+    static final double[] V_7 = {+6.700155E-01, +6.954783E-01, +7.211640E-01, +7.472914E-01, +7.719399E-01, +7.969999E-01, +8.223515E-01, +8.477977E-01, +8.728270E-01, +8.983089E-01, +9.238505E-01, +9.497205E-01, +9.748404E-01, +1.000358E+00, +1.025215E+00, +1.051385E+00, +1.076513E+00, +1.101824E+00, +1.126848E+00, +1.152357E+00, +1.177115E+00, +1.203457E+00, +1.228631E+00, +1.253562E+00, +1.279379E+00, +1.304227E+00, +1.330168E+00, +1.355665E+00, +1.380641E+00, +1.406026E+00,};
+    static final double[] I_7 = {+3.982476E-05, +4.905299E-05, +6.027925E-05, +7.384914E-05, +8.967056E-05, +1.090735E-04, +1.314895E-04, +1.580112E-04, +1.896214E-04, +2.272755E-04, +2.701612E-04, +3.209290E-04, +3.786755E-04, +4.451647E-04, +5.208108E-04, +6.104453E-04, +7.088086E-04, +8.227184E-04, +9.489789E-04, +1.086878E-03, +1.246848E-03, +1.427458E-03, +1.627916E-03, +1.850858E-03, +2.097613E-03, +2.365267E-03, +2.669387E-03, +2.994048E-03, +3.353141E-03, +3.742937E-03,};
 
-        double q = 1.602176565e-19;// electronic charge
-        double kb = 1.3806505e-23;//Boltzmann
-        double T = 300.0;
-        double beta = (q / (kb * T));
-
-        int m = V_7.length;
-        double sum = 0.0;
-        for (int i = 0; i < m; i++) {
-            sum += Math.pow((I_7[i] - (x[0] * (Math.exp(beta * (V_7[i] - x[1] * I_7[i]) / x[2]) - 1.0) + ((V_7[i] - x[1] * I_7[i]) / x[3]))), 2.0);
-        }
-        //+ (  (V_1[i]-x[1]*I_1[i]) / x[3]   ) )
-        return Math.sqrt(sum / (double) m);
+    muzo() {
+        super(new measurement_dataset(new String[]{"V", "I"}, V_7, I_7).with("T", 300.0).with("noise", 0.01));
     }
-
 }
 
-class parf1 extends f_xj {
-
-    public double func(double x[]) {
-        int M = 301;
-        double[] X1 = new double[M];
-        double[] X2 = new double[M];
-        double[] X3 = new double[M];
-
-        double[] XX1 = new double[M];
-        double[] XX2 = new double[M];
-        double[] XX3 = new double[M];
-
-        double[] XX1d = new double[M];
-        double[] XX2d = new double[M];
-        double[] XX3d = new double[M];
-
-
-        X1[0] = 2.0;
-        X2[0] = 3.0;
-        X3[0] = 2.0;
-
-        double beta = 0.001;
-
-        for (int i = 0; i < M - 1; i++) {
-            X1[i + 1] = ((10.0 * (X2[i] - X1[i])) * beta) + X1[i];
-            X2[i + 1] = ((28.0 * X1[i] - X2[i] - X1[i] * X3[i]) * beta) + X2[i];
-            X3[i + 1] = ((X1[i] * X2[i] - (8.0 / 3.0) * X3[i]) * beta) + X3[i];
-        }
-
-        XX1[0] = 2.0;
-        XX2[0] = 3.0;
-        XX3[0] = 2.0;
-
-        for (int i = 0; i < M - 1; i++) {
-            XX1[i + 1] = ((x[0] * (XX2[i] - XX1[i])) * beta) + XX1[i];
-            XX2[i + 1] = ((x[1] * XX1[i] - XX2[i] - XX1[i] * XX3[i]) * beta) + XX2[i];
-            XX3[i + 1] = ((XX1[i] * XX2[i] - x[2] * XX3[i]) * beta) + XX3[i];
-        }
-
-        double s1 = 0.0;
-        double s2 = 0.0;
-        double s3 = 0.0;
-
-// for(int i=0;i<M;i++)
-// {s1+=Math.abs(X1[i]-XX1[i]);}
-// for(int i=0;i<M;i++)
-// {s2+=Math.abs(X2[i]-XX2[i]);}
-// for(int i=0;i<M;i++)
-// {s3+=Math.abs(X3[i]-XX3[i]);}
-
-        double[] Xdata = new double[3 * M];
-        double[] Xcalc = new double[3 * M];
-
-        for (int i = 0; i < M; i++) {
-            Xdata[i] = X1[i];
-            Xcalc[i] = XX1[i];
-        }
-        int t1 = 0;
-        for (int i = M; i < 2 * M; i++) {
-            Xdata[i] = X2[t1];
-            Xcalc[i] = XX2[t1];
-            t1++;
-        }
-        int t2 = 0;
-        for (int i = 2 * M; i < 3 * M; i++) {
-            Xdata[i] = X3[t2];
-            Xcalc[i] = XX3[t2];
-            t2++;
-        }
-
-        for (int i = 0; i < 3 * M; i++) {
-            s1 += (Xdata[i] - Xcalc[i]) * (Xdata[i] - Xcalc[i]);
-        }
-
-        double error = Math.sqrt(s1) / (double) (3 * M);
-        return error;
+class parf1 extends ode_identification {
+    // Lorenz, a = 10, b = 28, c = 8/3 from (2, 3, 2), 300 Euler steps of 0.001
+    parf1() {
+        super(new lorenz_system(), new double[]{2.0, 3.0, 2.0}, 0.0, 0.001, 301, ode_integrator.EULER, 1);
+        withTruth(new double[]{10.0, 28.0, 8.0 / 3.0});
     }
-
 }
 
 
-class parf2 extends f_xj {
-    // Chen
-    public double func(double x[]) {
-        int M = 301;
-        double[] X1 = new double[M];
-        double[] X2 = new double[M];
-        double[] X3 = new double[M];
-
-        double[] XX1 = new double[M];
-        double[] XX2 = new double[M];
-        double[] XX3 = new double[M];
-
-        double[] XX1d = new double[M];
-        double[] XX2d = new double[M];
-        double[] XX3d = new double[M];
-
-
-        X1[0] = 1.0;
-        X2[0] = 1.0;
-        X3[0] = 1.0;
-
-        double beta = 0.001;
-
-        double d1 = 35.0;
-        double d2 = 3.0;
-        double d3 = 28.0;
-
-        for (int i = 0; i < M - 1; i++) {
-            X1[i + 1] = ((d1 * (X2[i] - X1[i])) * beta) + X1[i];
-            X2[i + 1] = (((d3 - d1) * X1[i] - d3 * X2[i] - X1[i] * X3[i]) * beta) + X2[i];
-            X3[i + 1] = ((X1[i] * X2[i] - (d2) * X3[i]) * beta) + X3[i];
-        }
-
-        XX1[0] = 1.0;
-        XX2[0] = 1.0;
-        XX3[0] = 1.0;
-
-        for (int i = 0; i < M - 1; i++) {
-            XX1[i + 1] = ((x[0] * (XX2[i] - XX1[i])) * beta) + XX1[i];
-            XX2[i + 1] = (((x[2] - x[0]) * XX1[i] - x[2] * XX2[i] - XX1[i] * XX3[i]) * beta) + XX2[i];
-            XX3[i + 1] = ((XX1[i] * XX2[i] - x[1] * XX3[i]) * beta) + XX3[i];
-        }
-
-        double s1 = 0.0;
-        double s2 = 0.0;
-        double s3 = 0.0;
-
-        double[] Xdata = new double[3 * M];
-        double[] Xcalc = new double[3 * M];
-
-        for (int i = 0; i < M; i++) {
-            Xdata[i] = X1[i];
-            Xcalc[i] = XX1[i];
-        }
-        int t1 = 0;
-        for (int i = M; i < 2 * M; i++) {
-            Xdata[i] = X2[t1];
-            Xcalc[i] = XX2[t1];
-            t1++;
-        }
-        int t2 = 0;
-        for (int i = 2 * M; i < 3 * M; i++) {
-            Xdata[i] = X3[t2];
-            Xcalc[i] = XX3[t2];
-            t2++;
-        }
-
-        for (int i = 0; i < 3 * M; i++) {
-            s1 += (Xdata[i] - Xcalc[i]) * (Xdata[i] - Xcalc[i]);
-        }
-
-        double error = Math.sqrt(s1) / (double) (3 * M);
-        return error;
+class parf2 extends ode_identification {
+    // Chen, a = 35, b = 3, c = 28 from (1, 1, 1), 300 Euler steps of 0.001
+    parf2() {
+        super(new chen_system(), new double[]{1.0, 1.0, 1.0}, 0.0, 0.001, 301, ode_integrator.EULER, 1);
+        withTruth(new double[]{35.0, 3.0, 28.0});
     }
-
 }
 
 
-class parf3 extends f_xj {
-    // Rossler
-    public double func(double x[]) {
-        int M = 301;
-        double[] X1 = new double[M];
-        double[] X2 = new double[M];
-        double[] X3 = new double[M];
-
-        double[] XX1 = new double[M];
-        double[] XX2 = new double[M];
-        double[] XX3 = new double[M];
-
-        double[] XX1d = new double[M];
-        double[] XX2d = new double[M];
-        double[] XX3d = new double[M];
-
-
-        X1[0] = 2.0;
-        X2[0] = 3.0;
-        X3[0] = 2.0;
-
-        double beta = 0.001;
-
-        double d1 = 0.2;
-        double d2 = 0.2;
-        double d3 = 5.7;
-
-        for (int i = 0; i < M - 1; i++) {
-            X1[i + 1] = (((-X2[i] - X3[i])) * beta) + X1[i];
-            X2[i + 1] = ((X1[i] + d1 * X2[i]) * beta) + X2[i];
-            X3[i + 1] = ((((X1[i] - d3) * X3[i]) + d2) * beta) + X3[i];
-        }
-
-        XX1[0] = 2.0;
-        XX2[0] = 3.0;
-        XX3[0] = 2.0;
-
-        for (int i = 0; i < M - 1; i++) {
-            XX1[i + 1] = (((-XX2[i] - XX3[i])) * beta) + XX1[i];
-            XX2[i + 1] = ((XX1[i] + x[0] * XX2[i]) * beta) + XX2[i];
-            XX3[i + 1] = ((((XX1[i] - x[2]) * XX3[i]) + x[1]) * beta) + XX3[i];
-        }
-
-        double s1 = 0.0;
-
-
-        double[] Xdata = new double[3 * M];
-        double[] Xcalc = new double[3 * M];
-
-        for (int i = 0; i < M; i++) {
-            Xdata[i] = X1[i];
-            Xcalc[i] = XX1[i];
-        }
-        int t1 = 0;
-        for (int i = M; i < 2 * M; i++) {
-            Xdata[i] = X2[t1];
-            Xcalc[i] = XX2[t1];
-            t1++;
-        }
-        int t2 = 0;
-        for (int i = 2 * M; i < 3 * M; i++) {
-            Xdata[i] = X3[t2];
-            Xcalc[i] = XX3[t2];
-            t2++;
-        }
-
-        for (int i = 0; i < 3 * M; i++) {
-            s1 += (Xdata[i] - Xcalc[i]) * (Xdata[i] - Xcalc[i]);
-        }
-
-        double error = Math.sqrt(s1) / (double) (3 * M);
-        return error;
+class parf3 extends ode_identification {
+    // Rossler, a = 0.2, b = 0.2, c = 5.7 from (2, 3, 2), 300 Euler steps of 0.001
+    parf3() {
+        super(new rossler_system(), new double[]{2.0, 3.0, 2.0}, 0.0, 0.001, 301, ode_integrator.EULER, 1);
+        withTruth(new double[]{0.2, 0.2, 5.7});
     }
-
 }
 
 
 class freq extends f_xj {
-    double func(double x[]) {
+    static final double dt = 0.1;
+    static final double phi = 2.0 * Math.PI / 100.0;
+    static final double[] t = new double[101];
+    static final double[] y = new double[t.length];
 
-        double[] t = new double[101];
-        double dt = 0.1;
+    static {
         for (int i = 0; i < 101; i++) {
             t[i] = i * dt;
         }
-
-        double phi = 2.0 * Math.PI / 100.0;
-
-
-        double[] y = new double[t.length];
-
-        double[] yy = new double[t.length];
-
-
         for (int i = 0; i < t.length; i++) {
             y[i] = 1.0 * Math.sin(5.0 * t[i] * phi - (1.5 * (4.8 * t[i] * phi + (2.0 * Math.sin(4.9 * t[i] * phi)))));
         }
+    }
 
-        for (int i = 0; i < t.length; i++) {
-            yy[i] = x[0] * Math.sin(x[1] * t[i] * phi - (x[2] * (x[3] * t[i] * phi + (x[4] * Math.sin(x[5] * t[i] * phi)))));
-        }
-
-
+    double func(double x[]) {
         double sum1 = 0.0;
         for (int i = 0; i <= t.length - 1; i++) {
-            sum1 += (y[i] - yy[i]) * (y[i] - yy[i]);
+            double yy = x[0] * Math.sin(x[1] * t[i] * phi - (x[2] * (x[3] * t[i] * phi + (x[4] * Math.sin(x[5] * t[i] * phi)))));
+            sum1 += (y[i] - yy) * (y[i] - yy);
         }
         sum1 = Math.sqrt(sum1) / (double) t.length;
 
@@ -5013,61 +5514,12 @@ class freq extends f_xj {
 }
 
 
-class parf5 extends f_xj {
-    // Duffing
-    public double func(double x[]) {
-        int M = 301;
-        double[] X = new double[M];
-        double[] V = new double[M];
-        double[] X1 = new double[M];
-        double[] V1 = new double[M];
-        X[0] = 0.1;
-        V[0] = 0.1;
-        double d1 = 0.4;
-        double d2 = 1.1;
-        double d3 = 1.0;
-        double bb = 1.0;
-        double aa = 0.0;
-        double h = (bb - aa) / (double) M;
-        for (int i = 0; i < M - 1; i++) {
-            X[i + 1] = (V[i] * h) + X[i];
-            V[i + 1] = ((-d1 * V[i] + d2 * X[i] - d3 * X[i] * X[i] * X[i] + 2.1 * Math.sin(1.8 * h * (double) i)) * h) + V[i];
-        }
-        X1[0] = 0.1;
-        V1[0] = 0.1;
-        for (int i = 0; i < M - 1; i++) {
-            X1[i + 1] = (V1[i] * h) + X1[i];
-            V1[i + 1] = ((-x[0] * V1[i] + x[1] * X1[i] - x[2] * X1[i] * X1[i] * X1[i] + 2.1 * Math.sin(1.8 * h * (double) i)) * h) + V1[i];
-        }
-        double s1 = 0.0;
-
-
-        double[] Xdata = new double[2 * M];
-        double[] Xcalc = new double[2 * M];
-
-        for (int i = 0; i < M; i++) {
-            Xdata[i] = X[i];
-            Xcalc[i] = X1[i];
-        }
-
-        int t1 = 0;
-        for (int i = M; i < 2 * M; i++) {
-            Xdata[i] = V[t1];
-            Xcalc[i] = V1[t1];
-            t1++;
-        }
-
-
-        for (int i = 0; i < 2 * M; i++) {
-            s1 += (Xdata[i] - Xcalc[i]) * (Xdata[i] - Xcalc[i]);
-        }
-
-        double error = Math.sqrt(s1) / (double) (2 * M);
-        return error;
-
-
+class parf5 extends ode_identification {
+    // Duffing, d1 = 0.4, d2 = 1.1, d3 = 1.0 from (0.1, 0.1), 300 Euler steps of 1/301
+    parf5() {
+        super(new duffing_system(), new double[]{0.1, 0.1}, 0.0, 1.0 / 301.0, 301, ode_integrator.EULER, 1);
+        withTruth(new double[]{0.4, 1.1, 1.0});
     }
-
 }
 
 
@@ -5094,43 +5546,185 @@ public class harris_hawks_optimization_test {
     
     // Method to run experiments for F1-F13 with multiple dimensions
     static void runExperimentsF1ToF13() {
-        int numRuns = 30;
-        int N = 30;  // Swarm size
-        int Maxiter = 500;  // Maximum iterations
-        int[] dimensions = {30, 100, 500, 1000};  // Test dimensions
+        runExperimentsF1ToF13(null);
+    }
+
+    static void runExperimentsF1ToF13(campaign_journal journal) {
+        runCampaign("Experiments F1 to F13", benchmark_registry.select("classic"), new int[]{30, 100, 500, 1000}, 30, journal);
+    }
+
+    // Seed of one campaign cell, stable across restarts and registry edits so journal keys match
+    static long cellSeed(String name, int dim, int run) {
+        return ((long) name.hashCode() << 32) ^ ((long) dim << 16) ^ (long) run;
+    }
+
+    // local refinement of Rabbit_Location: -polish <K> runs it at the end of each run (K = 0) and
+    // also every K iterations (K > 0), -stagnation <S> after S iterations without improvement.
+    // -local picks the method (see local_search.create); it may spend polishBudget evaluations
+    // per call and localShare of the evaluations of the run. A polished run is capped at -maxfes
+    // evaluations, plainFEs by default, so the local search shortens the global one.
+    static int polishEvery = -1;
+    static int polishStagnation = 0;
+    static String localMethod = "auto";
+    static double localShare = 0.1;
+    static long polishBudget = 2000;
+
+    // -maxfes <n>: evaluations per run for every solver, local search included (0: no cap)
+    static long maxFEs = 0;
+
+    // evaluations a plain run of N hawks over Maxiter iterations spends, roughly: the N hawks plus
+    // the dives of about half of them, each up to three evaluations
+    static long plainFEs(int N, int Maxiter) {
+        return 2L * N * Maxiter;
+    }
+
+    // -init <uniform|sobol|halton|lhs> and -opposition, see population_init.java
+    static String initName = null;
+    static boolean opposition = false;
+
+    // -popfinal <n>: shrink the swarm linearly to n hawks over the run (0 keeps it fixed)
+    static int popFinal = 0;
+
+    // -constraints <deb|epsilon>: problems with a constrained_objective run under feasibility rules
+    // or the epsilon schedule instead of their penalty form, see constrained.java
+    static String constraintRule = null;
+
+    // -phases <names>: besiege phases left on, see besiege_phase.mask
+    static int phaseMask = besiege_phase.ALL;
+
+    // -cc <random|differential>: problems with more than ccGroupSize variables run under cooperative
+    // coevolution with that grouping, -groupsize and -threads set group size and worker threads
+    static String ccGrouping = null;
+    static int ccGroupSize = 100;
+    static int ccThreads = 0;
+
+    // -offheap [file]: the plain solver keeps its population off the Java heap, in the file if given;
+    // -float32 stores it as float there and polishes the best point in double at the end
+    static boolean offHeap = false;
+    static String offHeapFile = null;
+    static boolean float32 = false;
+
+    // -discrete: problems with integer or discrete variables (f_xj.types) keep their hawks on that
+    // lattice and look repeated points up instead of evaluating them again; no final polish then
+    static boolean discrete = false;
+    static int latticeCacheSize = 1 << 20;
+
+    // -noisy: problems with a noisy objective (f_xj.noisy) run under noisy_hho, racing resampled
+    // means instead of single draws, with the evaluations of the plain solver at most
+    static boolean noisy = false;
+
+    // types and cache of the lattice of func, when -discrete is on and func has one
+    static boolean lattice(harris_hawks_optimization hho, f_xj func, int D) {
+        variable_type[] types = discrete ? func.types(D) : null;
+        if (types == null) {
+            return false;
+        }
+        hho.types = types;
+        hho.cache = new lattice_cache(latticeCacheSize);
+        return true;
+    }
+
+    // the options newSolver reads that change the result of a cell, recorded in campaign journals
+    static String solverOptions() {
+        return "maxfes=" + maxFEs + " polish=" + polishEvery + " stagnation=" + polishStagnation + " local=" + localMethod
+                + " localshare=" + localShare + " polishbudget=" + polishBudget + " init=" + initName + " opposition=" + opposition
+                + " popfinal=" + popFinal + " constraints=" + constraintRule + " phases=" + phaseMask + " cc=" + ccGrouping
+                + " ccgroup=" + ccGroupSize + " offheap=" + offHeap + " float32=" + float32 + " discrete=" + discrete
+                + " latticecache=" + latticeCacheSize + " noisy=" + noisy;
+    }
+
+    static harris_hawks_optimization newSolver(f_xj func, int N, double[] Lower, double[] Upper, int Maxiter, long seed) {
+        harris_hawks_optimization hho = buildSolver(func, N, Lower, Upper, Maxiter, seed);
+        if (maxFEs > 0) {
+            hho.maxFEs = maxFEs;
+            hho.budgetSchedule = true;
+        }
+        return hho;
+    }
+
+    static harris_hawks_optimization buildSolver(f_xj func, int N, double[] Lower, double[] Upper, int Maxiter, long seed) {
+        if (constraintRule != null && func instanceof constrained_objective) {
+            constrained_hho chho = new constrained_hho((constrained_objective) func, N, Lower, Upper, Maxiter, seed);
+            chho.epsilon = constraintRule.equals("epsilon");
+            if (initName != null) {
+                chho.initializer = population_init.create(initName);
+            }
+            lattice(chho, func, Lower.length);
+            return chho;
+        }
+        if (noisy && func.noisy()) {
+            noisy_hho nh = new noisy_hho(func, N, Lower, Upper, Maxiter, seed);
+            nh.maxFEs = plainFEs(N, Maxiter);
+            if (initName != null) {
+                nh.initializer = population_init.create(initName);
+            }
+            return nh;
+        }
+        if (ccGrouping != null && Lower.length > ccGroupSize) {
+            cooperative_hho cc = new cooperative_hho(func, N, Lower, Upper, Maxiter, seed, ccGrouping);
+            cc.groupSize = ccGroupSize;
+            if (ccThreads > 0) {
+                cc.threads = ccThreads;
+            }
+            return cc;
+        }
+        harris_hawks_optimization hho;
+        if (offHeap || float32) {
+            offheap_hho oh = float32 ? new float_hho(func, N, Lower, Upper, Maxiter, seed)
+                    : new offheap_hho(func, N, Lower, Upper, Maxiter, seed);
+            if (offHeapFile != null) {
+                oh.file = Paths.get(offHeapFile);
+            }
+            hho = oh;
+        } else {
+            hho = new harris_hawks_optimization(func, N, Lower, Upper, Maxiter, seed);
+            if (initName != null) {
+                hho.initializer = population_init.create(initName);
+            }
+            hho.opposition = opposition;
+            hho.Nfinal = Math.min(popFinal, N);
+            if (phaseMask != besiege_phase.ALL) {
+                hho.phases = besiege_phase.table(phaseMask);
+            }
+        }
+        boolean onLattice = !(offHeap || float32) && lattice(hho, func, Lower.length);
+        if (!onLattice && (polishEvery >= 0 || polishStagnation > 0 || float32)) {
+            hho.polish = local_search.create(localMethod, func, Lower.length, polishBudget);
+            hho.polishEvery = Math.max(polishEvery, 0);
+            hho.polishStagnation = polishStagnation;
+            hho.maxFEs = maxFEs > 0 ? maxFEs : plainFEs(N, Maxiter);
+            hho.budgetSchedule = true;
+            hho.localBudget = (long) (localShare * hho.maxFEs);
+        }
+        return hho;
+    }
+
+    // swarm size and iterations of every campaign cell, run here or by a worker
+    static final int CAMPAIGN_N = 30;
+    static final int CAMPAIGN_MAXITER = 500;
+
+    // dimension of the cells of problem under the table of dimensions[dimIdx], 0 if it has none
+    // there: problems with a fixed dimension run once, at their own dimension, under the first table
+    static int cellDim(benchmark_info problem, int[] dimensions, int dimIdx) {
+        if (problem.accepts(dimensions[dimIdx])) {
+            return dimensions[dimIdx];
+        }
+        return dimIdx > 0 ? 0 : problem.defaultDim;
+    }
+
+    // Runs every selected problem at every requested dimension it accepts (see cellDim).
+    // journal may be null; otherwise finished cells are taken from it and new ones appended
+    static void runCampaign(String title, List<benchmark_info> problems, int[] dimensions, int numRuns, campaign_journal journal) {
+        int N = CAMPAIGN_N;  // Swarm size
+        int Maxiter = CAMPAIGN_MAXITER;  // Maximum iterations
         
         System.out.println("=========================================");
-        System.out.println("HHO Algorithm - Experiments F1 to F13");
+        System.out.println("HHO Algorithm - " + title);
         System.out.println("Swarm Size: " + N + ", Max Iterations: " + Maxiter);
         System.out.println("Independent Runs: " + numRuns);
-        System.out.println("Test Dimensions: 30, 100, 500, 1000");
+        System.out.println("Test Dimensions: " + Arrays.toString(dimensions) + ", Problems: " + problems.size());
         System.out.println("=========================================\n");
         
-        // Function configurations: [function object, lower bound, upper bound]
-        // All these are standard scalable benchmark functions that work with any dimension
-        Object[][] functions = {
-            {new ScalableF1(), -100.0, 100.0},      // F1: Sphere
-            {new ScalableF2(), -10.0, 10.0},       // F2: Schwefel 2.22
-            {new ScalableF3(), -100.0, 100.0},    // F3: Schwefel 1.2
-            {new ScalableF4(), -100.0, 100.0},    // F4: Schwefel 2.21
-            {new ScalableF5(), -30.0, 30.0},      // F5: Rosenbrock
-            {new ScalableF6(), -100.0, 100.0},    // F6: Step
-            {new ScalableF7(), -1.28, 1.28},      // F7: Quartic with Noise
-            {new ScalableF8(), -500.0, 500.0},   // F8: Schwefel 2.26
-            {new ScalableF9(), -5.12, 5.12},      // F9: Rastrigin
-            {new ScalableF10(), -32.0, 32.0},     // F10: Ackley
-            {new ScalableF11(), -600.0, 600.0},   // F11: Griewank
-            {new ScalableF12(), -50.0, 50.0},    // F12: Penalized
-            {new ScalableF13(), -50.0, 50.0}      // F13: Penalized 2
-        };
-        
-        String[] functionNames = {
-            "F1 (Sphere)", "F2 (Schwefel 2.22)", "F3 (Schwefel 1.2)", "F4 (Schwefel 2.21)",
-            "F5 (Rosenbrock)", "F6 (Step)", "F7 (Quartic)", "F8 (Schwefel 2.26)",
-            "F9 (Rastrigin)", "F10 (Ackley)", "F11 (Griewank)", "F12 (Penalized)",
-            "F13 (Penalized 2)"
-        };
-        
         // Run experiments for each dimension
         for (int dimIdx = 0; dimIdx < dimensions.length; dimIdx++) {
             int testDim = dimensions[dimIdx];
@@ -5138,77 +5732,536 @@ public class harris_hawks_optimization_test {
             System.out.println("TESTING DIMENSION: " + testDim);
             System.out.println("=".repeat(60) + "\n");
             
-            // Arrays to store results for summary table
-            double[] means = new double[functions.length];
-            double[] stdDevs = new double[functions.length];
-            boolean[] skipped = new boolean[functions.length];
+            // Rows of the summary table
+            ArrayList<String> rows = new ArrayList<>();
             
-            for (int funcIdx = 0; funcIdx < functions.length; funcIdx++) {
-                f_xj func = (f_xj) functions[funcIdx][0];
-                double lowerBound = (Double) functions[funcIdx][1];
-                double upperBound = (Double) functions[funcIdx][2];
-                
-                // All functions are scalable - use test dimension
-                int dim = testDim;
-                
-                // Create bounds arrays
-                double[] Lower = new double[dim];
-                double[] Upper = new double[dim];
-                for (int i = 0; i < dim; i++) {
-                    Lower[i] = lowerBound;
-                    Upper[i] = upperBound;
+            for (benchmark_info problem : problems) {
+                int dim = cellDim(problem, dimensions, dimIdx);
+                if (dim == 0) {
+                    continue;
                 }
+                f_xj func = problem.create();
+                double[] Lower = problem.lower(dim);
+                double[] Upper = problem.upper(dim);
+                String label = problem.label + " D=" + dim;
                 
                 double[] results = new double[numRuns];
                 
-                System.out.print("Running " + functionNames[funcIdx] + " (D=" + dim + ")... ");
+                System.out.print("Running " + problem.label + " (D=" + dim + ")... ");
                 
                 try {
+                    String name = problem.name;
+                    int resumed = 0;
+                    long globalFEs = 0;
+                    long localFEs = 0;
+                    long constraintEvals = 0;
+                    long cacheHits = 0;
+                    long races = 0;
+                    long resamples = 0;
+                    int feasible = 0;
                     for (int run = 0; run < numRuns; run++) {
-                        harris_hawks_optimization hho = new harris_hawks_optimization(func, N, Lower, Upper, Maxiter);
+                        long seed = cellSeed(name, dim, run);
+                        if (journal != null && journal.isDone(name, dim, run, seed)) {
+                            results[run] = journal.result(name, dim, run, seed);
+                            resumed++;
+                            continue;
+                        }
+                        harris_hawks_optimization hho = newSolver(func, N, Lower, Upper, Maxiter, seed);
                         double[][] solution = hho.solution();
                         results[run] = solution[1][0];  // Best fitness value
+                        globalFEs += hho.FEs - hho.localFEs;
+                        localFEs += hho.localFEs;
+                        if (hho.cache != null) {
+                            cacheHits += hho.cache.hits;
+                        }
+                        if (hho instanceof noisy_hho) {
+                            races += ((noisy_hho) hho).races;
+                            resamples += ((noisy_hho) hho).resamples;
+                        }
+                        if (hho instanceof constrained_hho) {
+                            constrained_hho chho = (constrained_hho) hho;
+                            constraintEvals += chho.CEs;
+                            feasible += chho.Rabbit_Violation == 0.0 ? 1 : 0;
+                        }
+                        if (journal != null) {
+                            journal.record(name, dim, run, seed, results[run]);
+                        }
+                    }
+                    if (resumed > 0) {
+                        System.out.print("(" + resumed + " runs from journal) ");
                     }
                     
                     double mean = calculateMean(results);
                     double stdDev = calculateStdDev(results);
-                    
-                    means[funcIdx] = mean;
-                    stdDevs[funcIdx] = stdDev;
+                    String fopt = problem.knownOptimum() ? String.format("%.6e", problem.optimum(dim)) : "?";
                     
                     System.out.println("Done");
                     System.out.printf("  Average: %.6e\n", mean);
                     System.out.printf("  Std Dev: %.6e\n", stdDev);
+                    if (localFEs > 0 && resumed < numRuns) {
+                        int fresh = numRuns - resumed;
+                        System.out.printf("  FEs/run: %d global + %d local (%.1f%% local)\n", globalFEs / fresh, localFEs / fresh,
+                                100.0 * localFEs / (globalFEs + localFEs));
+                    }
+                    if (cacheHits > 0) {
+                        int fresh = numRuns - resumed;
+                        System.out.printf("  Lattice: per run %d evaluations, %d repeats answered from the cache\n", globalFEs / fresh, cacheHits / fresh);
+                    }
+                    if (races > 0) {
+                        int fresh = numRuns - resumed;
+                        System.out.printf("  Racing: per run %d evaluations, %d races, %d resamples\n", globalFEs / fresh, races / fresh, resamples / fresh);
+                    }
+                    if (constraintEvals > 0) {
+                        int fresh = numRuns - resumed;
+                        System.out.printf("  Feasible: %d/%d runs, per run %d objective + %d constraint evaluations\n", feasible, fresh,
+                                globalFEs / fresh, constraintEvals / fresh);
+                    }
                     System.out.println();
+                    rows.add(String.format("%-40s %-20.6e %-20.6e %-16s", label, mean, stdDev, fopt));
                 } catch (Exception e) {
-                    skipped[funcIdx] = true;
                     System.out.println("FAILED");
                     System.out.println("  Error: " + e.getMessage());
                     System.out.println();
+                    rows.add(String.format("%-40s %-20s", label, "FAILED"));
                 }
             }
             
+            if (rows.isEmpty()) {
+                continue;
+            }
+
             // Print summary table for this dimension
-            System.out.println("=".repeat(60));
+            System.out.println("=".repeat(96));
             System.out.println("SUMMARY TABLE - Dimension " + testDim);
-            System.out.println("=".repeat(60));
-            System.out.printf("%-25s %-20s %-20s\n", "Function", "Average", "Std Dev");
-            System.out.println("-".repeat(60));
-            for (int i = 0; i < functions.length; i++) {
-                if (skipped[i]) {
-                    System.out.printf("%-25s %-20s\n", functionNames[i], "FAILED");
-                } else {
-                    System.out.printf("%-25s %-20.6e %-20.6e\n", functionNames[i], means[i], stdDevs[i]);
-                }
+            System.out.println("=".repeat(96));
+            System.out.printf("%-40s %-20s %-20s %-16s\n", "Function", "Average", "Std Dev", "f*");
+            System.out.println("-".repeat(96));
+            for (String row : rows) {
+                System.out.println(row);
             }
-            System.out.println("=".repeat(60));
+            System.out.println("=".repeat(96));
         }
         
+        if (journal != null) {
+            try {
+                journal.sync();
+            } catch (IOException e) {
+                System.out.println("Journal sync failed: " + e.getMessage());
+            }
+        }
+
         System.out.println("\n" + "=".repeat(60));
         System.out.println("All experiments completed!");
         System.out.println("=".repeat(60));
     }
     
+    // the solver of one campaign cell, as runCampaign would build it
+    static harris_hawks_optimization cellSolver(work_item w) {
+        benchmark_info problem = benchmark_registry.get(w.name);
+        if (problem == null) {
+            throw new IllegalArgumentException("unknown problem " + w.name);
+        }
+        return newSolver(problem.create(), w.N, problem.lower(w.dim), problem.upper(w.dim), w.Maxiter, w.seed);
+    }
+
+    // Coordinator mode: the cells of runCampaign that journal does not hold yet are sharded to
+    // worker JVMs, spawn of them started here with this JVM's options and the program arguments
+    // workerArgs, others started by hand with the same arguments and -worker <host>:<port>. Each
+    // result is recorded in the journal as it arrives, then runCampaign prints the usual tables
+    // from it. A cell given up by the coordinator shows as NaN but is only held in memory, so a
+    // resumed campaign runs it again.
+    static void runDistributed(String title, List<benchmark_info> problems, int[] dimensions, int numRuns,
+                               campaign_journal journal, int port, int spawn, List<String> workerArgs) throws IOException, InterruptedException {
+        ArrayList<work_item> items = new ArrayList<>();
+        for (int dimIdx = 0; dimIdx < dimensions.length; dimIdx++) {
+            for (benchmark_info problem : problems) {
+                int dim = cellDim(problem, dimensions, dimIdx);
+                if (dim == 0) {
+                    continue;
+                }
+                for (int run = 0; run < numRuns; run++) {
+                    long seed = cellSeed(problem.name, dim, run);
+                    if (!journal.isDone(problem.name, dim, run, seed)) {
+                        items.add(new work_item(items.size(), problem.name, dim, run, seed, CAMPAIGN_N, CAMPAIGN_MAXITER));
+                    }
+                }
+            }
+        }
+        ArrayList<Process> spawned = new ArrayList<>();
+        try (campaign_coordinator coordinator = new campaign_coordinator(port)) {
+            System.out.println("Coordinator on port " + coordinator.port() + ": " + items.size() + " cell(s) to run");
+            ArrayList<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add("harris_hawks_optimization_test");
+            command.addAll(workerArgs);
+            command.add("-worker");
+            command.add("localhost:" + coordinator.port());
+            for (int k = 0; k < spawn && !items.isEmpty(); k++) {
+                spawned.add(new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT).start());
+            }
+            long start = System.currentTimeMillis();
+            coordinator.run(items, (w, value) -> {
+                if (Double.isNaN(value)) {
+                    journal.hold(w.name, w.dim, w.run, w.seed, value);
+                } else {
+                    journal.record(w.name, w.dim, w.run, w.seed, value);
+                }
+            });
+            System.out.printf("Distributed run: %d cell(s) in %.1f s, %d re-issued, %d given up%n%n", items.size(),
+                    (System.currentTimeMillis() - start) / 1000.0, coordinator.reissued.get(), coordinator.givenUp.get());
+        } finally {
+            for (Process p : spawned) {
+                if (!p.waitFor(5, java.util.concurrent.TimeUnit.SECONDS)) {
+                    p.destroy();
+                }
+            }
+        }
+        runCampaign(title, problems, dimensions, numRuns, journal);
+    }
+
+    // Fixed-target mode: evaluations and wall time needed to reach f* + 10^k, k = 2 .. -8,
+    // for the selected problems whose optimum is known
+    static void runFixedTarget(List<benchmark_info> problems, int dim, int numRuns) {
+        int N = 30;
+        int Maxiter = 500;
+
+        System.out.println("=========================================");
+        System.out.println("HHO Algorithm - Fixed-target, D=" + dim);
+        System.out.println("Swarm Size: " + N + ", Max Iterations: " + Maxiter + ", Runs: " + numRuns);
+        System.out.println("=========================================\n");
+
+        for (benchmark_info problem : problems) {
+            if (!problem.knownOptimum()) {
+                continue;
+            }
+            int n = problem.accepts(dim) ? dim : problem.defaultDim;
+            double fopt = problem.optimum(n);
+            f_xj func = problem.create();
+            double[] Lower = problem.lower(n);
+            double[] Upper = problem.upper(n);
+
+            fixed_target_report report = new fixed_target_report(fopt, fixed_target_recorder.ladder(fopt, 2, -8, 1));
+            for (int run = 0; run < numRuns; run++) {
+                harris_hawks_optimization hho = newSolver(func, N, Lower, Upper, Maxiter, cellSeed(problem.name, n, run));
+                hho.tracker = report.newRun();
+                hho.solution();
+            }
+            report.print(problem.label + " (D=" + n + ")");
+            System.out.println();
+        }
+    }
+
+    // Pareto mode for the multi-objective problems among the selected ones: one multi-objective
+    // run per seed gives a whole front instead of one weighted-sum run per weight. Reports front
+    // size and hypervolume (two criteria; reference point = worst value seen over all runs plus
+    // 10% of the range); with csvPath every front point is written as problem,run,f..,violation,x..
+    static void runPareto(List<benchmark_info> problems, int numRuns, String csvPath) throws IOException {
+        int N = 30;
+        int Maxiter = 500;
+        int archiveSize = 100;
+
+        System.out.println("=========================================");
+        System.out.println("Multi-objective HHO - Swarm Size: " + N + ", Max Iterations: " + Maxiter + ", Archive: " + archiveSize);
+        System.out.println("Independent Runs: " + numRuns);
+        System.out.println("=========================================\n");
+
+        try (PrintWriter csv = csvPath == null ? null : new PrintWriter(new BufferedWriter(new FileWriter(csvPath)))) {
+            for (benchmark_info problem : problems) {
+                f_xj func = problem.create();
+                if (!(func instanceof mo_objective)) {
+                    continue;
+                }
+                mo_objective mo = (mo_objective) func;
+                int n = problem.defaultDim;
+                int M = mo.count();
+                double[][] worst = {new double[M], new double[M]};
+                Arrays.fill(worst[0], Double.POSITIVE_INFINITY);
+                Arrays.fill(worst[1], Double.NEGATIVE_INFINITY);
+                pareto_archive[] archives = new pareto_archive[numRuns];
+                long fes = 0;
+                int feasible = 0;
+                double size = 0.0;
+                for (int run = 0; run < numRuns; run++) {
+                    multi_objective_hho hho = new multi_objective_hho(mo, N, problem.lower(n), problem.upper(n), Maxiter, archiveSize, cellSeed(problem.name, n, run));
+                    pareto_archive a = hho.front();
+                    archives[run] = a;
+                    fes += hho.FEs;
+                    size += a.size;
+                    for (int i = 0; i < a.size; i++) {
+                        if (csv != null) {
+                            StringBuilder line = new StringBuilder(problem.name + "," + run);
+                            for (double f : a.F[i]) {
+                                line.append(',').append(f);
+                            }
+                            line.append(',').append(a.V[i]);
+                            for (double x : a.X[i]) {
+                                line.append(',').append(x);
+                            }
+                            csv.println(line);
+                        }
+                        if (a.V[i] > 0.0) {
+                            continue;
+                        }
+                        feasible++;
+                        for (int k = 0; k < M; k++) {
+                            worst[0][k] = Math.min(worst[0][k], a.F[i][k]);
+                            worst[1][k] = Math.max(worst[1][k], a.F[i][k]);
+                        }
+                    }
+                }
+                System.out.println(problem.label + " (D=" + n + ")");
+                System.out.printf("  Front: %.1f points/run, %d feasible over all runs, %d FEs/run\n", size / numRuns, feasible, fes / numRuns);
+                if (M == 2 && feasible > 0) {
+                    double[] ref = new double[M];
+                    for (int k = 0; k < M; k++) {
+                        ref[k] = worst[1][k] + 0.1 * (worst[1][k] - worst[0][k]);
+                    }
+                    double[] hv = new double[numRuns];
+                    for (int run = 0; run < numRuns; run++) {
+                        hv[run] = archives[run].hypervolume2(ref);
+                    }
+                    System.out.printf("  Hypervolume: %.6e +- %.6e (reference %s)\n", calculateMean(hv), calculateStdDev(hv), Arrays.toString(ref));
+                }
+                System.out.println();
+            }
+        }
+    }
+
+    // Moving peaks, scenario 2 (10 peaks, D = 5, a change every 5000 evaluations) for 100 changes:
+    // offline error of the plain solver against dynamic mode with the given number of sentinels
+    static void runDynamic(int numRuns, int sentinels) {
+        int N = 30;
+        int D = 5;
+        int peaks = 10;
+        int changes = 100;
+
+        System.out.println("=========================================");
+        System.out.println("Dynamic HHO - Moving peaks, " + peaks + " peaks, D=" + D + ", " + changes + " changes");
+        System.out.println("Swarm Size: " + N + ", Independent Runs: " + numRuns);
+        System.out.println("=========================================\n");
+
+        double[] Lower = new double[D];
+        double[] Upper = new double[D];
+        for (int mode = 0; mode < 2; mode++) {
+            double[] offline = new double[numRuns];
+            double detected = 0.0;
+            for (int run = 0; run < numRuns; run++) {
+                moving_peaks mpb = new moving_peaks(D, peaks, cellSeed("moving_peaks", D, run));
+                Arrays.fill(Lower, mpb.lo);
+                Arrays.fill(Upper, mpb.hi);
+                long budget = changes * mpb.changeFrequency;
+                // the run ends on the evaluation budget, Maxiter only has to be large enough
+                harris_hawks_optimization hho = new harris_hawks_optimization(mpb, N, Lower, Upper, (int) (budget / N), cellSeed("hho", D, run));
+                hho.maxFEs = budget;
+                hho.sentinels = mode == 0 ? 0 : sentinels;
+                hho.solution();
+                offline[run] = mpb.offlineError();
+                detected += hho.changes;
+            }
+            System.out.println(mode == 0 ? "Static solver" : "Dynamic mode, " + sentinels + " sentinel(s)");
+            System.out.printf("  Offline error: %.6e +- %.6e\n", calculateMean(offline), calculateStdDev(offline));
+            if (mode == 1) {
+                System.out.printf("  Changes detected: %.1f/run\n", detected / numRuns);
+            }
+            System.out.println();
+        }
+    }
+
+    // Niching runs of the selected problems with a known number of global optima: peak ratio (share
+    // of all global optima found over the runs) and success rate (runs that found them all) at the
+    // accuracy levels of the CEC 2013 niching competition. Scalable problems run at every given
+    // dimension, fixed ones at their own.
+    static final double[] NICHING_EPS = {1e-1, 1e-2, 1e-3, 1e-4, 1e-5};
+
+    static void runNiching(List<benchmark_info> problems, int[] dimensions, int numRuns) {
+        int N = 60;
+        int Maxiter = 500;
+
+        System.out.println("=========================================");
+        System.out.println("Niching HHO - Swarm Size: " + N + ", Max Iterations: " + Maxiter);
+        System.out.println("Independent Runs: " + numRuns + ", Test Dimensions: " + Arrays.toString(dimensions));
+        System.out.println("=========================================\n");
+
+        System.out.printf("%-36s %-10s", "Function", "Optima");
+        for (double eps : NICHING_EPS) {
+            System.out.printf(" %-13s", String.format("PR/SR %.0e", eps));
+        }
+        System.out.println();
+        for (benchmark_info problem : problems) {
+            for (int n : problem.scalable() ? dimensions : new int[]{problem.defaultDim}) {
+                long known = problem.globalOptima(n);
+                if (!problem.accepts(n) || known == 0 || !problem.knownOptimum()) {
+                    continue;
+                }
+                f_xj func = problem.create();
+                double[] Lower = problem.lower(n);
+                double[] Upper = problem.upper(n);
+                double fstar = problem.optimum(n);
+                int[][] found = new int[NICHING_EPS.length][numRuns];
+                for (int run = 0; run < numRuns; run++) {
+                    niching_hho hho = new niching_hho(func, N, Lower, Upper, Maxiter, cellSeed(problem.name, n, run), problem.nicheRadius);
+                    hho.solution();
+                    // as in the competition, a run is credited with at most the known count
+                    for (int e = 0; e < NICHING_EPS.length; e++) {
+                        found[e][run] = (int) Math.min(hho.found(fstar, NICHING_EPS[e]), known);
+                    }
+                }
+                System.out.printf("%-36s %-10d", problem.label + " D=" + n, known);
+                for (int e = 0; e < NICHING_EPS.length; e++) {
+                    double sum = 0.0;
+                    int all = 0;
+                    for (int run = 0; run < numRuns; run++) {
+                        sum += found[e][run];
+                        all += found[e][run] >= known ? 1 : 0;
+                    }
+                    System.out.printf(" %-13s", String.format("%.3f/%.2f", sum / ((double) known * numRuns), (double) all / numRuns));
+                }
+                System.out.println();
+            }
+        }
+    }
+
+    // Phase ablation grid of the Python port (Improved/results): every variant runs every selected
+    // problem with the same seeds and prints lines in the format of those results, then the mean
+    // rank of each variant over the problems (1 = best mean)
+    static final String[] ABLATION_NAMES = {"all used", "no explore A", "no explore B", "no explore", "no soft", "no hard",
+            "no soft dive", "no hard dive", "no diving", "no exploit", "no soft (exploration & exploitation)",
+            "no hard (exploration & exploitation)", "just diving", "just explore A", "just explore B"};
+    static final int[] ABLATION_MASKS = {
+            besiege_phase.ALL,
+            besiege_phase.ALL & ~(1 << besiege_phase.EXPLORE_A),
+            besiege_phase.ALL & ~(1 << besiege_phase.EXPLORE_B),
+            besiege_phase.ALL & ~(1 << besiege_phase.EXPLORE_A | 1 << besiege_phase.EXPLORE_B),
+            besiege_phase.ALL & ~(1 << besiege_phase.SOFT),
+            besiege_phase.ALL & ~(1 << besiege_phase.HARD),
+            besiege_phase.ALL & ~(1 << besiege_phase.SOFT_DIVE),
+            besiege_phase.ALL & ~(1 << besiege_phase.HARD_DIVE),
+            besiege_phase.ALL & ~(1 << besiege_phase.SOFT_DIVE | 1 << besiege_phase.HARD_DIVE),
+            1 << besiege_phase.EXPLORE_A | 1 << besiege_phase.EXPLORE_B,
+            besiege_phase.ALL & ~(1 << besiege_phase.SOFT | 1 << besiege_phase.SOFT_DIVE),
+            besiege_phase.ALL & ~(1 << besiege_phase.HARD | 1 << besiege_phase.HARD_DIVE),
+            1 << besiege_phase.SOFT_DIVE | 1 << besiege_phase.HARD_DIVE,
+            1 << besiege_phase.EXPLORE_A,
+            1 << besiege_phase.EXPLORE_B};
+
+    static void runAblation(List<benchmark_info> problems, int dim, int numRuns) {
+        int N = 30;
+        int Maxiter = 500;
+
+        System.out.println("=========================================");
+        System.out.println("HHO phase ablation - Swarm Size: " + N + ", Max Iterations: " + Maxiter);
+        System.out.println("Independent Runs: " + numRuns + ", Dimension of scalable problems: " + dim);
+        System.out.println("=========================================");
+
+        double[][] means = new double[ABLATION_MASKS.length][problems.size()];
+        for (int v = 0; v < ABLATION_MASKS.length; v++) {
+            System.out.println("\n== " + ABLATION_NAMES[v] + " ==");
+            for (int p = 0; p < problems.size(); p++) {
+                benchmark_info problem = problems.get(p);
+                int n = problem.accepts(dim) ? dim : problem.defaultDim;
+                f_xj func = problem.create();
+                double[] Lower = problem.lower(n);
+                double[] Upper = problem.upper(n);
+                double[] results = new double[numRuns];
+                for (int run = 0; run < numRuns; run++) {
+                    harris_hawks_optimization hho = newSolver(func, N, Lower, Upper, Maxiter, cellSeed(problem.name, n, run));
+                    hho.phases = besiege_phase.table(ABLATION_MASKS[v]);
+                    results[run] = hho.solution()[1][0];
+                }
+                means[v][p] = calculateMean(results);
+                System.out.printf("%s: mean=%.6e, std=%.6e\n", problem.label, means[v][p], calculateStdDev(results));
+            }
+        }
+
+        System.out.println("\nMean rank over " + problems.size() + " problems");
+        for (int v = 0; v < ABLATION_MASKS.length; v++) {
+            double rank = 0.0;
+            for (int p = 0; p < problems.size(); p++) {
+                int better = 0;
+                int ties = 0;
+                for (int w = 0; w < ABLATION_MASKS.length; w++) {
+                    if (means[w][p] < means[v][p]) {
+                        better++;
+                    } else if (w != v && means[w][p] == means[v][p]) {
+                        ties++;
+                    }
+                }
+                rank += 1.0 + better + 0.5 * ties;
+            }
+            System.out.printf("  %-40s %.2f\n", ABLATION_NAMES[v], rank / problems.size());
+        }
+    }
+
+    static void runFixedTargetF1ToF13(int dim, int numRuns) {
+        runFixedTarget(benchmark_registry.select("classic"), dim, numRuns);
+    }
+
+    // Allocation check of the evaluation contract: after warm-up, func(x) must not allocate.
+    // Counts the bytes the current thread allocates over a batch of evaluations at random points
+    // of the box; returns the number of objectives that allocate.
+    static int checkAllocations(List<benchmark_info> problems, int dim) {
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        System.out.println("=========================================");
+        System.out.println("Allocation check, D=" + dim + " (bytes per evaluation after warm-up)");
+        System.out.println("=========================================");
+        int failed = 0;
+        double sink = 0.0;
+        for (benchmark_info problem : problems) {
+            int n = problem.accepts(dim) ? dim : problem.defaultDim;
+            String label = problem.label + " D=" + n;
+            try {
+                f_xj func = problem.create();
+                double[] Lower = problem.lower(n);
+                double[] Upper = problem.upper(n);
+                Random rnd = new Random(cellSeed(problem.name, n, 0));
+                double[][] points = new double[16][n];
+                for (double[] p : points) {
+                    for (int j = 0; j < n; j++) {
+                        p[j] = Lower[j] + (Upper[j] - Lower[j]) * rnd.nextDouble();
+                    }
+                }
+                // warm up for 20000 evaluations or 2 s, then measure batches of up to 5000
+                // evaluations or 0.5 s; a late JIT recompilation can allocate once, so an objective
+                // only fails when three batches in a row allocate
+                long start = System.nanoTime();
+                for (int k = 0; k < 20000 && System.nanoTime() - start < 2000000000L; k++) {
+                    sink += func.func(points[k & 15]);
+                }
+                long bytes = 0;
+                long evals = 0;
+                for (int batch = 0; batch < 3; batch++) {
+                    evals = 0;
+                    long before = mx.getCurrentThreadAllocatedBytes();
+                    start = System.nanoTime();
+                    while (evals < 5000 && (evals < 16 || System.nanoTime() - start < 500000000L)) {
+                        sink += func.func(points[(int) (evals & 15)]);
+                        evals++;
+                    }
+                    bytes = mx.getCurrentThreadAllocatedBytes() - before;
+                    if (bytes == 0) {
+                        break;
+                    }
+                }
+                boolean ok = bytes == 0;
+                if (!ok) {
+                    failed++;
+                }
+                System.out.printf("%-48s %12.1f  %s\n", label, (double) bytes / evals, ok ? "ok" : "ALLOCATES");
+            } catch (RuntimeException e) {
+                System.out.printf("%-48s %12s  %s\n", label, "-", "FAILED: " + e.getMessage());
+            }
+        }
+        System.out.println(failed == 0 ? "No evaluation allocates" : failed + " objective(s) allocate per evaluation");
+        if (sink == 42.0) {
+            System.out.println();   // keeps the evaluations observable
+        }
+        return failed;
+    }
+
     public static void main(String args[]) {
         //f20 levy
         //   double[] Lower={-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,-10.0,};//  f20 levy
@@ -5540,8 +6593,289 @@ public class harris_hawks_optimization_test {
 
         //parf5 ff=new parf5();
 
-        // Run experiments for F1-F13
-        runExperimentsF1ToF13();
+        // Run experiments, by default F1-F13 at D = 30, 100, 500, 1000
+        //   -list                 print the benchmark registry and exit
+        //   -tags <t1,t2|name>    problems carrying all given tags ("all" for every problem)
+        //   -dims <d1,d2>         dimensions for scalable problems
+        //   -runs <n>             independent runs per cell
+        //   -journal <file>       make the sweep resumable: finished cells are skipped on restart
+        //                         with the same solver options; other options are refused
+        //   -fixedtarget <D>      fixed-target (ERT/ECDF) tables instead of final-value tables
+        //   -fit <model> <file>   fit pemfc, diode1, diode2 or darkdiode to a CSV or binary dataset
+        //   -convert <csv> <bin>  write a CSV dataset in the memory-mapped binary format
+        //   -cecdata <dir>        shift_<name>.txt / M_<name>_D<D>.txt files for the cec_* problems
+        //   -alloccheck <D>       check that evaluating the selected problems allocates nothing
+        //   -polish <K>           local search from the best hawk at the end of each run (K = 0)
+        //                         and every K iterations (K > 0)
+        //   -stagnation <S>       local search after S iterations without improvement
+        //   -local <method>       lbfgs, nm, hj or auto (L-BFGS if there is a gradient, else nm)
+        //   -localshare <f>       fraction of the evaluations of a run local search may use
+        //   -maxfes <n>           evaluations per run, local search included (polished runs: 2 * N * Maxiter)
+        //   -init <scheme>        initial population: uniform, sobol, halton or lhs
+        //   -opposition           start from the best N of the initial hawks and their opposites
+        //   -popfinal <n>         linear population size reduction from N to n hawks
+        //   -pareto [csv]         Pareto fronts of the selected multi-objective problems
+        //   -constraints <rule>   deb or epsilon: rank constrained problems without their penalty
+        //   -dynamic <S>          moving peaks offline error, plain solver and dynamic mode with S sentinels
+        //   -phases <names>       besiege phases left on, e.g. SOFT_DIVE,HARD_DIVE (see besiege_phase)
+        //   -ablation             rerun the phase ablation grid on the selected problems at the first dimension
+        //   -cc <grouping>        cooperative coevolution above -groupsize variables (default 100):
+        //                         random or differential grouping, groups on -threads cores
+        //   -offheap [file]       population in off-heap memory, or in a memory-mapped file
+        //   -niching              peak ratio of niching HHO on the selected problems ("niching" by
+        //                         default) with a known optima count, scalable ones at -dims (default 1,2)
+        //   -float32              off-heap population stored as float, best point polished in double
+        //   -discrete             integer and discrete variables kept on their lattice, repeats cached
+        //   -noisy                noisy objectives compared by racing resampled means
+        //   -coordinator <port>   shard the campaign cells to worker JVMs over TCP (port 0: any free one)
+        //   -spawn <k>            with -coordinator, start k local workers with the same options
+        //   -worker <host:port>   run cells for a coordinator; give it the coordinator's options
+        //   -serve <port>         optimization service over HTTP (see optimization_service), with
+        //                         -servethreads <n>, -queue <n> queued jobs and -tenantlimit <n>
+        //   -servebind <address>  address the service listens on (default loopback only)
+        //   -callbackhosts <h,..> further hosts a job's callback URL may name (default localhost only)
+        String journalPath = null;
+        String paretoPath = null;
+        boolean pareto = false;
+        String fitModel = null;
+        String fitPath = null;
+        String tags = null;
+        int[] dims = {30, 100, 500, 1000};
+        int runs = 30;
+        int fixedTargetDim = 0;
+        int allocCheckDim = 0;
+        int dynamicSentinels = 0;
+        boolean ablation = false;
+        boolean niching = false;
+        boolean dimsGiven = false;
+        int coordinatorPort = -1;
+        int spawn = 0;
+        String workerAddress = null;
+        int servePort = -1;
+        optimization_service service = new optimization_service();
+        ArrayList<String> workerArgs = new ArrayList<>();
+        List<String> ownOptions = Arrays.asList("-coordinator", "-spawn", "-worker", "-journal");
+        for (int a = 0; a < args.length; a++) {
+            // spawned workers get every option but these and their values
+            if (!ownOptions.contains(args[a]) && (a == 0 || !ownOptions.contains(args[a - 1]))) {
+                workerArgs.add(args[a]);
+            }
+            if (args[a].equals("-list")) {
+                benchmark_registry.list(System.out);
+                return;
+            }
+            if (a + 2 < args.length && args[a].equals("-convert")) {
+                try {
+                    measurement_dataset d = measurement_dataset.load(args[a + 1]);
+                    d.writeBinary(args[a + 2]);
+                    System.out.println("Wrote " + d.rows + " rows x " + d.names.length + " columns to " + args[a + 2]);
+                } catch (IOException e) {
+                    System.out.println("Dataset error: " + e.getMessage());
+                }
+                return;
+            }
+            if (a + 2 < args.length && args[a].equals("-fit")) {
+                fitModel = args[a + 1];
+                fitPath = args[a + 2];
+            }
+            if (args[a].equals("-opposition")) {
+                opposition = true;
+            }
+            if (args[a].equals("-ablation")) {
+                ablation = true;
+            }
+            if (args[a].equals("-niching")) {
+                niching = true;
+            }
+            if (args[a].equals("-float32")) {
+                float32 = true;
+            }
+            if (args[a].equals("-discrete")) {
+                discrete = true;
+            }
+            if (args[a].equals("-noisy")) {
+                noisy = true;
+            }
+            if (args[a].equals("-offheap")) {
+                offHeap = true;
+                if (a + 1 < args.length && !args[a + 1].startsWith("-")) {
+                    offHeapFile = args[a + 1];
+                }
+            }
+            if (args[a].equals("-pareto")) {
+                pareto = true;
+                if (a + 1 < args.length && !args[a + 1].startsWith("-")) {
+                    paretoPath = args[a + 1];
+                }
+            }
+            if (a + 1 >= args.length) {
+                continue;
+            }
+            if (args[a].equals("-journal")) {
+                journalPath = args[a + 1];
+            } else if (args[a].equals("-tags")) {
+                tags = args[a + 1];
+            } else if (args[a].equals("-dims")) {
+                dims = Arrays.stream(args[a + 1].split(",")).mapToInt(Integer::parseInt).toArray();
+                dimsGiven = true;
+            } else if (args[a].equals("-runs")) {
+                runs = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-fixedtarget")) {
+                fixedTargetDim = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-alloccheck")) {
+                allocCheckDim = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-cecdata")) {
+                cec_data.dir = args[a + 1];
+            } else if (args[a].equals("-polish")) {
+                polishEvery = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-stagnation")) {
+                polishStagnation = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-local")) {
+                localMethod = args[a + 1];
+            } else if (args[a].equals("-maxfes")) {
+                maxFEs = Long.parseLong(args[a + 1]);
+            } else if (args[a].equals("-localshare")) {
+                localShare = Double.parseDouble(args[a + 1]);
+            } else if (args[a].equals("-init")) {
+                initName = args[a + 1];
+            } else if (args[a].equals("-popfinal")) {
+                popFinal = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-phases")) {
+                phaseMask = besiege_phase.mask(args[a + 1]);
+            } else if (args[a].equals("-cc")) {
+                ccGrouping = args[a + 1];
+                if (!ccGrouping.equals("random") && !ccGrouping.equals("differential")) {
+                    System.out.println("Unknown grouping " + ccGrouping + " (random or differential)");
+                    return;
+                }
+            } else if (args[a].equals("-groupsize")) {
+                ccGroupSize = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-threads")) {
+                ccThreads = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-dynamic")) {
+                dynamicSentinels = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-constraints")) {
+                constraintRule = args[a + 1];
+                if (!constraintRule.equals("deb") && !constraintRule.equals("epsilon")) {
+                    System.out.println("Unknown constraint rule " + constraintRule + " (deb or epsilon)");
+                    return;
+                }
+            } else if (args[a].equals("-coordinator")) {
+                coordinatorPort = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-spawn")) {
+                spawn = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-worker")) {
+                workerAddress = args[a + 1];
+            } else if (args[a].equals("-serve")) {
+                servePort = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-servethreads")) {
+                service.threads = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-queue")) {
+                service.queueSize = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-tenantlimit")) {
+                service.tenantLimit = Integer.parseInt(args[a + 1]);
+            } else if (args[a].equals("-servebind")) {
+                try {
+                    service.bind = InetAddress.getByName(args[a + 1]);
+                } catch (UnknownHostException e) {
+                    System.out.println("Unknown address: " + args[a + 1]);
+                    return;
+                }
+            } else if (args[a].equals("-callbackhosts")) {
+                for (String h : args[a + 1].split(",")) {
+                    service.callbackHosts.add(h.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        if ((offHeap || float32) && (initName != null || opposition || popFinal > 0 || phaseMask != besiege_phase.ALL
+                || ablation || discrete)) {
+            System.out.println("-offheap and -float32 do not support -init, -opposition, -popfinal, -phases, -ablation or -discrete");
+            return;
+        }
+        if (servePort >= 0) {
+            try {
+                service.start(servePort);
+                System.out.println("Serving on " + service.bind.getHostAddress() + " port " + service.port() + ", " + service.threads + " thread(s), queue "
+                        + service.queueSize + ", " + service.tenantLimit + " running job(s) per tenant");
+                Thread.currentThread().join();
+            } catch (IOException e) {
+                System.out.println("Service error: " + e.getMessage());
+            } catch (InterruptedException e) {
+                service.stop();
+            }
+            return;
+        }
+        if (workerAddress != null) {
+            int cut = workerAddress.lastIndexOf(':');
+            try {
+                int done = campaign_worker.run(workerAddress.substring(0, cut), Integer.parseInt(workerAddress.substring(cut + 1)),
+                        harris_hawks_optimization_test::cellSolver);
+                System.out.println("Worker done: " + done + " cell(s)");
+            } catch (IOException e) {
+                System.out.println("Worker error: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+        List<benchmark_info> problems;
+        String title;
+        if (fitModel != null) {
+            try {
+                problems = List.of(benchmark_registry.dataset(fitModel, fitPath));
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println("Dataset error: " + e.getMessage());
+                return;
+            }
+            title = "Parameter estimation";
+            dims = new int[]{problems.get(0).defaultDim};
+        } else {
+            if (tags == null && niching) {
+                tags = "niching";
+            }
+            problems = benchmark_registry.select(tags == null ? "classic" : tags);
+            title = tags == null ? "Experiments F1 to F13" : "Experiments [" + tags + "]";
+        }
+        if (dynamicSentinels > 0) {
+            runDynamic(runs, dynamicSentinels);
+        } else if (problems.isEmpty()) {
+            System.out.println("No registered problem matches " + tags + " (see -list)");
+        } else if (ablation) {
+            runAblation(problems, dims[0], runs);
+        } else if (niching) {
+            runNiching(problems, dimsGiven ? dims : new int[]{1, 2}, runs);
+        } else if (pareto) {
+            try {
+                runPareto(problems, runs, paretoPath);
+            } catch (IOException e) {
+                System.out.println("Pareto output error: " + e.getMessage());
+            }
+        } else if (allocCheckDim > 0) {
+            if (checkAllocations(problems, allocCheckDim) > 0) {
+                System.exit(1);
+            }
+        } else if (fixedTargetDim > 0) {
+            runFixedTarget(problems, fixedTargetDim, runs);
+        } else if (coordinatorPort >= 0) {
+            try (campaign_journal journal = journalPath == null ? new campaign_journal() : new campaign_journal(journalPath, solverOptions())) {
+                runDistributed(title, problems, dims, runs, journal, coordinatorPort, spawn, workerArgs);
+            } catch (IOException e) {
+                System.out.println("Coordinator error: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else if (journalPath == null) {
+            runCampaign(title, problems, dims, runs, null);
+        } else {
+            try (campaign_journal journal = new campaign_journal(journalPath, solverOptions())) {
+                if (journal.tornRecords > 0) {
+                    System.out.println("Journal: dropped " + journal.tornRecords + " torn record(s)");
+                }
+                System.out.println("Journal: " + journal.size() + " finished cell(s) in " + journalPath);
+                runCampaign(title, problems, dims, runs, journal);
+            } catch (IOException e) {
+                System.out.println("Journal error: " + e.getMessage());
+            }
+        }
         
         // Original test code (commented out)
         /*
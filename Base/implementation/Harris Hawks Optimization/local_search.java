@@ -0,0 +1,547 @@
+// Local refinement of a single point inside the box [lo, hi], used by the solver to polish
+// Rabbit_Location. run(...) starts from x with known value fx, spends at most maxEvaluations
+// objective (or gradient) evaluations, overwrites x only with a strictly better point and returns
+// its value; evaluations holds the count spent by the last call.
+abstract class local_search {
+
+    long maxEvaluations;
+    long evaluations;
+
+    local_search(long imaxEvaluations) {
+        maxEvaluations = imaxEvaluations;
+    }
+
+    // whether the method can do anything for this objective
+    abstract boolean applies(f_xj ff);
+
+    abstract double run(f_xj ff, double[] x, double fx, double[] lo, double[] hi);
+
+    static double clamp(double v, double lo, double hi) {
+        return v < lo ? lo : (v > hi ? hi : v);
+    }
+
+    // lbfgs, nm (Nelder-Mead), hj (Hooke-Jeeves), or auto: L-BFGS where ff has a gradient,
+    // Nelder-Mead elsewhere
+    static local_search create(String method, f_xj ff, int D, long maxEvaluations) {
+        switch (method) {
+            case "auto":
+                return ff.differentiable() ? new lbfgs_polish(D, maxEvaluations) : new nelder_mead(D, maxEvaluations);
+            case "lbfgs":
+                return new lbfgs_polish(D, maxEvaluations);
+            case "nm":
+                return new nelder_mead(D, maxEvaluations);
+            case "hj":
+                return new hooke_jeeves(D, maxEvaluations);
+            default:
+                throw new IllegalArgumentException("unknown local search " + method + " (lbfgs, nm, hj or auto)");
+        }
+    }
+}
+
+
+// Projected L-BFGS for box constraints (the bound handling of L-BFGS-B without its Cauchy point
+// and subspace minimisation): variables sitting on a bound with the gradient pointing outwards are
+// held fixed, the two-loop recursion runs on the remaining ones, and a backtracking Armijo search
+// follows the projected path P(x + t d). Needs f_xj.gradient; all vectors are allocated once for
+// the dimension given to the constructor.
+class lbfgs_polish extends local_search {
+
+    int D;
+    int M;                      // number of stored correction pairs
+    double[][] s;
+    double[][] y;
+    double[] rho;
+    double[] alpha;
+    double[] x0;
+    double[] g0;
+    double[] x1;
+    double[] g1;
+    double[] d;
+    boolean[] free;
+    int stored;
+    int newest;
+
+    double pgtol = 1e-10;       // stop when the largest projected gradient entry is below this
+    double ftol = 1e-15;        // or when an iteration lowers f by less than this, relatively
+
+    lbfgs_polish(int iD, long imaxEvaluations) {
+        this(iD, 7, imaxEvaluations);
+    }
+
+    lbfgs_polish(int iD, int iM, long imaxEvaluations) {
+        super(imaxEvaluations);
+        D = iD;
+        M = iM;
+        s = new double[M][D];
+        y = new double[M][D];
+        rho = new double[M];
+        alpha = new double[M];
+        x0 = new double[D];
+        g0 = new double[D];
+        x1 = new double[D];
+        g1 = new double[D];
+        d = new double[D];
+        free = new boolean[D];
+    }
+
+    boolean applies(f_xj ff) {
+        return ff.differentiable();
+    }
+
+    double run(f_xj ff, double[] x, double fx, double[] lo, double[] hi) {
+        evaluations = 0;
+        stored = 0;
+        if (!applies(ff) || maxEvaluations < 2) {
+            return fx;
+        }
+        for (int j = 0; j < D; j++) {
+            x0[j] = clamp(x[j], lo[j], hi[j]);
+        }
+        double f0 = ff.gradient(x0, g0);
+        evaluations++;
+        if (!(f0 < Double.POSITIVE_INFINITY)) {
+            return fx;
+        }
+
+        while (evaluations < maxEvaluations) {
+            // projected gradient, and the steepest descent direction on the free variables
+            double pgmax = 0.0;
+            for (int j = 0; j < D; j++) {
+                free[j] = !((x0[j] <= lo[j] && g0[j] > 0.0) || (x0[j] >= hi[j] && g0[j] < 0.0));
+                d[j] = free[j] ? -g0[j] : 0.0;
+                pgmax = Math.max(pgmax, Math.abs(d[j]));
+            }
+            if (pgmax < pgtol) {
+                break;
+            }
+            boolean quasiNewton = stored > 0;
+            if (quasiNewton) {
+                twoLoop();
+            }
+            double slope = 0.0;
+            for (int j = 0; j < D; j++) {
+                slope += g0[j] * d[j];
+            }
+            if (!(slope < 0.0)) {
+                // the curvature pairs no longer give a descent direction, start over from -g
+                stored = 0;
+                quasiNewton = false;
+                slope = 0.0;
+                for (int j = 0; j < D; j++) {
+                    d[j] = free[j] ? -g0[j] : 0.0;
+                    slope -= d[j] * d[j];
+                }
+            }
+
+            // backtracking along the projected path; the first steepest descent step is scaled
+            // to move the largest coordinate by at most 1
+            double t = quasiNewton ? 1.0 : Math.min(1.0, 1.0 / pgmax);
+            double f1 = Double.POSITIVE_INFINITY;
+            boolean accepted = false;
+            while (evaluations < maxEvaluations) {
+                double decrease = 0.0;
+                for (int j = 0; j < D; j++) {
+                    x1[j] = clamp(x0[j] + t * d[j], lo[j], hi[j]);
+                    decrease += g0[j] * (x1[j] - x0[j]);
+                }
+                f1 = ff.gradient(x1, g1);
+                evaluations++;
+                if (f1 <= f0 + 1e-4 * decrease && decrease < 0.0) {
+                    accepted = true;
+                    break;
+                }
+                t *= 0.5;
+                if (t < 1e-20) {
+                    break;
+                }
+            }
+            if (!accepted) {
+                break;
+            }
+
+            // store the correction pair if it keeps the Hessian approximation positive definite
+            double sy = 0.0;
+            double yy = 0.0;
+            for (int j = 0; j < D; j++) {
+                sy += (x1[j] - x0[j]) * (g1[j] - g0[j]);
+                yy += (g1[j] - g0[j]) * (g1[j] - g0[j]);
+            }
+            if (sy > 1e-12 * yy) {
+                int k = stored < M ? stored : (newest + 1) % M;
+                for (int j = 0; j < D; j++) {
+                    s[k][j] = x1[j] - x0[j];
+                    y[k][j] = g1[j] - g0[j];
+                }
+                rho[k] = 1.0 / sy;
+                newest = k;
+                if (stored < M) {
+                    stored++;
+                }
+            }
+
+            boolean converged = f0 - f1 <= ftol * Math.max(1.0, Math.abs(f0));
+            double[] tmp = x0;
+            x0 = x1;
+            x1 = tmp;
+            tmp = g0;
+            g0 = g1;
+            g1 = tmp;
+            f0 = f1;
+            if (converged) {
+                break;
+            }
+        }
+
+        if (f0 < fx) {
+            System.arraycopy(x0, 0, x, 0, D);
+            return f0;
+        }
+        return fx;
+    }
+
+    // d = H d restricted to the free variables, H the L-BFGS inverse Hessian estimate
+    void twoLoop() {
+        int k = newest;
+        for (int c = 0; c < stored; c++) {
+            double a = 0.0;
+            for (int j = 0; j < D; j++) {
+                a += s[k][j] * d[j];
+            }
+            a *= rho[k];
+            alpha[k] = a;
+            for (int j = 0; j < D; j++) {
+                if (free[j]) {
+                    d[j] -= a * y[k][j];
+                }
+            }
+            k = (k + M - 1) % M;
+        }
+        double sy = 1.0 / rho[newest];
+        double yy = 0.0;
+        for (int j = 0; j < D; j++) {
+            yy += y[newest][j] * y[newest][j];
+        }
+        double gamma = sy / yy;
+        for (int j = 0; j < D; j++) {
+            d[j] *= gamma;
+        }
+        k = (newest + M - stored + 1) % M;
+        for (int c = 0; c < stored; c++) {
+            double b = 0.0;
+            for (int j = 0; j < D; j++) {
+                b += y[k][j] * d[j];
+            }
+            b *= rho[k];
+            for (int j = 0; j < D; j++) {
+                if (free[j]) {
+                    d[j] += s[k][j] * (alpha[k] - b);
+                }
+            }
+            k = (k + 1) % M;
+        }
+    }
+}
+
+
+// Bounded Nelder-Mead with the dimension-adapted coefficients of Gao and Han (2012). The initial
+// simplex steps 5% of the box along each axis (inwards at a bound), trial points are clamped to
+// the box. Stops on budget or when the simplex has shrunk below tol times the box in every axis.
+class nelder_mead extends local_search {
+
+    int D;
+    double[][] simplex;
+    double[] fs;
+    double[] centroid;
+    double[] xr;
+    double[] xe;
+    double tol = 1e-10;
+
+    nelder_mead(int iD, long imaxEvaluations) {
+        super(imaxEvaluations);
+        D = iD;
+        simplex = new double[D + 1][D];
+        fs = new double[D + 1];
+        centroid = new double[D];
+        xr = new double[D];
+        xe = new double[D];
+    }
+
+    boolean applies(f_xj ff) {
+        return true;
+    }
+
+    double evaluate(f_xj ff, double[] p) {
+        evaluations++;
+        double f = ff.func(p);
+        return f == f ? f : Double.POSITIVE_INFINITY;
+    }
+
+    double run(f_xj ff, double[] x, double fx, double[] lo, double[] hi) {
+        evaluations = 0;
+        if (maxEvaluations < D + 1) {
+            return fx;
+        }
+        double alpha = 1.0;
+        double gamma = 1.0 + 2.0 / D;
+        double rho = 0.75 - 0.5 / D;
+        double sigma = D > 1 ? 1.0 - 1.0 / D : 0.5;
+
+        for (int j = 0; j < D; j++) {
+            simplex[0][j] = clamp(x[j], lo[j], hi[j]);
+        }
+        fs[0] = fx;
+        for (int i = 1; i <= D; i++) {
+            System.arraycopy(simplex[0], 0, simplex[i], 0, D);
+            int j = i - 1;
+            double step = 0.05 * (hi[j] - lo[j]);
+            simplex[i][j] += simplex[i][j] + step <= hi[j] ? step : -step;
+            fs[i] = evaluate(ff, simplex[i]);
+        }
+
+        while (evaluations < maxEvaluations) {
+            sort();
+            if (small(lo, hi)) {
+                break;
+            }
+            for (int j = 0; j < D; j++) {
+                double c = 0.0;
+                for (int i = 0; i < D; i++) {
+                    c += simplex[i][j];
+                }
+                centroid[j] = c / D;
+            }
+            double[] worst = simplex[D];
+            for (int j = 0; j < D; j++) {
+                xr[j] = clamp(centroid[j] + alpha * (centroid[j] - worst[j]), lo[j], hi[j]);
+            }
+            double fr = evaluate(ff, xr);
+            if (fr < fs[0]) {
+                for (int j = 0; j < D; j++) {
+                    xe[j] = clamp(centroid[j] + gamma * (xr[j] - centroid[j]), lo[j], hi[j]);
+                }
+                double fe = evaluations < maxEvaluations ? evaluate(ff, xe) : Double.POSITIVE_INFINITY;
+                if (fe < fr) {
+                    replaceWorst(xe, fe);
+                } else {
+                    replaceWorst(xr, fr);
+                }
+            } else if (fr < fs[D - 1]) {
+                replaceWorst(xr, fr);
+            } else {
+                // contraction, outside if the reflection beat the worst vertex, inside otherwise
+                boolean outside = fr < fs[D];
+                for (int j = 0; j < D; j++) {
+                    double from = outside ? xr[j] : worst[j];
+                    xe[j] = clamp(centroid[j] + rho * (from - centroid[j]), lo[j], hi[j]);
+                }
+                if (evaluations >= maxEvaluations) {
+                    break;
+                }
+                double fc = evaluate(ff, xe);
+                if (fc < Math.min(fr, fs[D])) {
+                    replaceWorst(xe, fc);
+                } else {
+                    // shrink towards the best vertex
+                    for (int i = 1; i <= D && evaluations < maxEvaluations; i++) {
+                        for (int j = 0; j < D; j++) {
+                            simplex[i][j] = simplex[0][j] + sigma * (simplex[i][j] - simplex[0][j]);
+                        }
+                        fs[i] = evaluate(ff, simplex[i]);
+                    }
+                }
+            }
+        }
+
+        int best = 0;
+        for (int i = 1; i <= D; i++) {
+            if (fs[i] < fs[best]) {
+                best = i;
+            }
+        }
+        if (fs[best] < fx) {
+            System.arraycopy(simplex[best], 0, x, 0, D);
+            return fs[best];
+        }
+        return fx;
+    }
+
+    void replaceWorst(double[] p, double f) {
+        System.arraycopy(p, 0, simplex[D], 0, D);
+        fs[D] = f;
+    }
+
+    // insertion sort of the vertices by value, rows are swapped by reference
+    void sort() {
+        for (int i = 1; i <= D; i++) {
+            double[] v = simplex[i];
+            double f = fs[i];
+            int k = i - 1;
+            while (k >= 0 && fs[k] > f) {
+                simplex[k + 1] = simplex[k];
+                fs[k + 1] = fs[k];
+                k--;
+            }
+            simplex[k + 1] = v;
+            fs[k + 1] = f;
+        }
+    }
+
+    boolean small(double[] lo, double[] hi) {
+        for (int j = 0; j < D; j++) {
+            double min = simplex[0][j];
+            double max = min;
+            for (int i = 1; i <= D; i++) {
+                min = Math.min(min, simplex[i][j]);
+                max = Math.max(max, simplex[i][j]);
+            }
+            if (max - min > tol * (hi[j] - lo[j])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
+
+
+// Hooke-Jeeves pattern search: exploratory moves of +-step along each axis around the base point,
+// a pattern move along the last improvement, and halving of the steps when nothing improves.
+// Steps start at 10% of the box; only comparisons against the current best are made, so trial
+// points are evaluated with that value as cutoff (see f_xj.func(x, cutoff)). On a separable
+// objective an exploratory move changes one term, so it is evaluated in O(1) through delta_state.
+class hooke_jeeves extends local_search {
+
+    int D;
+    double[] base;
+    double[] trial;
+    double[] step;
+    double tol = 1e-10;
+    delta_state delta;          // null unless the objective is separable
+
+    hooke_jeeves(int iD, long imaxEvaluations) {
+        super(imaxEvaluations);
+        D = iD;
+        base = new double[D];
+        trial = new double[D];
+        step = new double[D];
+    }
+
+    boolean applies(f_xj ff) {
+        return true;
+    }
+
+    double run(f_xj ff, double[] x, double fx, double[] lo, double[] hi) {
+        evaluations = 0;
+        if (!ff.separable()) {
+            delta = null;
+        } else if (delta == null || delta.ff != ff) {
+            delta = new delta_state(ff, D);
+        }
+        for (int j = 0; j < D; j++) {
+            base[j] = clamp(x[j], lo[j], hi[j]);
+            trial[j] = base[j];
+            step[j] = 0.1 * (hi[j] - lo[j]);
+        }
+        double fbase = fx;
+        double ftrial = fx;
+        boolean atBase = true;      // trial is the base point rather than a pattern point
+        while (evaluations < maxEvaluations) {
+            ftrial = explore(ff, ftrial, lo, hi);
+            if (ftrial < fbase) {
+                // pattern move: the new base is the improved point, trial jumps as far again
+                for (int j = 0; j < D; j++) {
+                    double t = trial[j];
+                    trial[j] = clamp(2.0 * t - base[j], lo[j], hi[j]);
+                    base[j] = t;
+                }
+                fbase = ftrial;
+                atBase = false;
+                if (evaluations >= maxEvaluations) {
+                    break;
+                }
+                ftrial = evaluate(ff, trial, fbase);
+            } else if (!atBase) {
+                // exploring around the pattern point failed, explore around the base instead
+                System.arraycopy(base, 0, trial, 0, D);
+                ftrial = fbase;
+                atBase = true;
+            } else {
+                boolean small = true;
+                for (int j = 0; j < D; j++) {
+                    step[j] *= 0.5;
+                    small &= step[j] <= tol * (hi[j] - lo[j]);
+                }
+                if (small) {
+                    break;
+                }
+                ftrial = fbase;
+            }
+        }
+        if (fbase < fx) {
+            System.arraycopy(base, 0, x, 0, D);
+            return fbase;
+        }
+        return fx;
+    }
+
+    double evaluate(f_xj ff, double[] p, double cutoff) {
+        evaluations++;
+        double f = ff.func(p, cutoff);
+        return f == f ? f : Double.POSITIVE_INFINITY;
+    }
+
+    // coordinate-wise +-step moves from trial, keeping each one that lowers f
+    double explore(f_xj ff, double f, double[] lo, double[] hi) {
+        if (delta != null) {
+            return exploreDelta(lo, hi);
+        }
+        for (int j = 0; j < D && evaluations < maxEvaluations; j++) {
+            double keep = trial[j];
+            trial[j] = clamp(keep + step[j], lo[j], hi[j]);
+            double fp = trial[j] != keep ? evaluate(ff, trial, f) : Double.POSITIVE_INFINITY;
+            if (fp < f) {
+                f = fp;
+                continue;
+            }
+            trial[j] = clamp(keep - step[j], lo[j], hi[j]);
+            double fm = trial[j] != keep && evaluations < maxEvaluations ? evaluate(ff, trial, f) : Double.POSITIVE_INFINITY;
+            if (fm < f) {
+                f = fm;
+            } else {
+                trial[j] = keep;
+            }
+        }
+        return f;
+    }
+
+    // the same moves on a separable objective; the terms of trial are computed once per pass,
+    // which also replaces a cut-off value of trial by the exact one; that full pass is one evaluation
+    double exploreDelta(double[] lo, double[] hi) {
+        evaluations++;
+        double f = delta.reset(trial);
+        for (int j = 0; j < D && evaluations < maxEvaluations; j++) {
+            double keep = trial[j];
+            double v = clamp(keep + step[j], lo[j], hi[j]);
+            if (v != keep) {
+                evaluations++;
+                double fp = delta.trial(j, v);
+                if (fp < f) {
+                    delta.accept();
+                    trial[j] = v;
+                    f = fp;
+                    continue;
+                }
+            }
+            v = clamp(keep - step[j], lo[j], hi[j]);
+            if (v != keep && evaluations < maxEvaluations) {
+                evaluations++;
+                double fm = delta.trial(j, v);
+                if (fm < f) {
+                    delta.accept();
+                    trial[j] = v;
+                    f = fm;
+                }
+            }
+        }
+        return f;
+    }
+}
@@ -0,0 +1,372 @@
+import java.util.*;
+
+// Objective with several criteria, all minimised. objectives(x, f) writes the raw criteria into f
+// and returns the constraint violation (0 when feasible). func(x) keeps the weighted sum
+// sum_k weights[k] f_k + mu * violation for the single-objective solver.
+abstract class mo_objective extends f_xj {
+
+    double[] weights;
+    double mu;
+
+    abstract int count();
+
+    abstract double objectives(double x[], double f[]);
+
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    int[] scratch(int n) {
+        return new int[]{count()};
+    }
+
+    double func(double x[], workspace ws) {
+        double[] f = ws.buf[0];
+        double v = objectives(x, f);
+        double s = 0.0;
+        for (int k = 0; k < weights.length; k++) {
+            s += weights[k] * f[k];
+        }
+        return s + mu * v;
+    }
+
+    // constrained domination (Deb): feasible beats infeasible, of two infeasible points the one
+    // with the smaller violation wins, two feasible points are compared by Pareto dominance
+    static boolean dominates(double[] fa, double va, double[] fb, double vb, int m) {
+        if (va != vb && (va > 0.0 || vb > 0.0)) {
+            return va < vb;
+        }
+        boolean better = false;
+        for (int k = 0; k < m; k++) {
+            if (fa[k] > fb[k]) {
+                return false;
+            }
+            if (fa[k] < fb[k]) {
+                better = true;
+            }
+        }
+        return better;
+    }
+}
+
+
+// External archive of non-dominated points, bounded by crowding-distance truncation. update()
+// merges a batch into the archive with a fast non-dominated sort of the union (Deb et al. 2002)
+// and keeps the first front; select() picks a leader by binary tournament on crowding distance,
+// so sparse regions and the extremes of the front are preferred. Storage is allocated once for
+// capacity + batch rows, points are copied in by value.
+class pareto_archive {
+
+    int capacity;
+    int M;
+    int D;
+    int size;
+    double[][] X;               // rows [0, size) are the archive, the rest is the merge pool
+    double[][] F;
+    double[] V;
+    double[] crowd;
+    int[] rank;
+    int[] dominatedBy;          // fast non-dominated sort: number of points dominating i
+    int[][] dominates;          // and the points i dominates
+    int[] dominatesCount;
+    int[] order;
+
+    pareto_archive(int icapacity, int batch, int iM, int iD) {
+        capacity = icapacity;
+        M = iM;
+        D = iD;
+        int pool = capacity + batch;
+        X = new double[pool][D];
+        F = new double[pool][M];
+        V = new double[pool];
+        crowd = new double[pool];
+        rank = new int[pool];
+        dominatedBy = new int[pool];
+        dominates = new int[pool][pool];
+        dominatesCount = new int[pool];
+        order = new int[pool];
+    }
+
+    void update(double[][] bx, double[][] bf, double[] bv, int n) {
+        int k = size;
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(bx[i], 0, X[k], 0, D);
+            System.arraycopy(bf[i], 0, F[k], 0, M);
+            V[k] = bv[i];
+            k++;
+        }
+        sort(k);
+        // keep rank 0, dropping points whose criteria and violation repeat an earlier one
+        int kept = 0;
+        for (int i = 0; i < k; i++) {
+            if (rank[i] != 0 || duplicate(i, kept)) {
+                continue;
+            }
+            swap(i, kept++);
+        }
+        size = kept;
+        while (size > capacity) {
+            crowding();
+            int worst = 0;
+            for (int i = 1; i < size; i++) {
+                if (crowd[i] < crowd[worst]) {
+                    worst = i;
+                }
+            }
+            swap(worst, --size);
+        }
+        crowding();
+    }
+
+    boolean duplicate(int i, int kept) {
+        for (int j = 0; j < kept; j++) {
+            if (V[j] == V[i] && Arrays.equals(F[j], F[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // fast non-dominated sort of rows [0, k): rank[i] is the index of the front of point i
+    void sort(int k) {
+        for (int i = 0; i < k; i++) {
+            dominatedBy[i] = 0;
+            dominatesCount[i] = 0;
+        }
+        for (int i = 0; i < k; i++) {
+            for (int j = i + 1; j < k; j++) {
+                if (mo_objective.dominates(F[i], V[i], F[j], V[j], M)) {
+                    dominates[i][dominatesCount[i]++] = j;
+                    dominatedBy[j]++;
+                } else if (mo_objective.dominates(F[j], V[j], F[i], V[i], M)) {
+                    dominates[j][dominatesCount[j]++] = i;
+                    dominatedBy[i]++;
+                }
+            }
+        }
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < k; i++) {
+            if (dominatedBy[i] == 0) {
+                rank[i] = 0;
+                order[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int i = order[head++];
+            for (int c = 0; c < dominatesCount[i]; c++) {
+                int j = dominates[i][c];
+                if (--dominatedBy[j] == 0) {
+                    rank[j] = rank[i] + 1;
+                    order[tail++] = j;
+                }
+            }
+        }
+    }
+
+    // crowding distance of the archive rows, infinite at the extremes of every criterion
+    void crowding() {
+        if (size == 0) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            crowd[i] = 0.0;
+            order[i] = i;
+        }
+        for (int m = 0; m < M; m++) {
+            final int c = m;
+            // insertion sort of order by criterion c, the archive is small
+            for (int i = 1; i < size; i++) {
+                int o = order[i];
+                int j = i - 1;
+                while (j >= 0 && F[order[j]][c] > F[o][c]) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = o;
+            }
+            double range = F[order[size - 1]][c] - F[order[0]][c];
+            crowd[order[0]] = Double.POSITIVE_INFINITY;
+            crowd[order[size - 1]] = Double.POSITIVE_INFINITY;
+            if (range <= 0.0) {
+                continue;
+            }
+            for (int i = 1; i < size - 1; i++) {
+                crowd[order[i]] += (F[order[i + 1]][c] - F[order[i - 1]][c]) / range;
+            }
+        }
+    }
+
+    int select(Random rnd) {
+        int a = rnd.nextInt(size);
+        int b = rnd.nextInt(size);
+        return crowd[a] >= crowd[b] ? a : b;
+    }
+
+    void swap(int i, int j) {
+        if (i == j) {
+            return;
+        }
+        double[] t = X[i];
+        X[i] = X[j];
+        X[j] = t;
+        t = F[i];
+        F[i] = F[j];
+        F[j] = t;
+        double v = V[i];
+        V[i] = V[j];
+        V[j] = v;
+    }
+
+    // area dominated by the front and bounded by ref, two criteria only
+    double hypervolume2(double[] ref) {
+        crowding();
+        double hv = 0.0;
+        double prev = ref[1];
+        // order is sorted by the last criterion after crowding(); walk it in f_0 order instead
+        for (int i = 1; i < size; i++) {
+            int o = order[i];
+            int j = i - 1;
+            while (j >= 0 && F[order[j]][0] > F[o][0]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = o;
+        }
+        for (int i = 0; i < size; i++) {
+            double[] f = F[order[i]];
+            if (V[order[i]] > 0.0 || f[0] >= ref[0] || f[1] >= prev) {
+                continue;
+            }
+            hv += (ref[0] - f[0]) * (prev - f[1]);
+            prev = f[1];
+        }
+        return hv;
+    }
+}
+
+
+// Multi-objective HHO: the hawks move through besiege(i) and the phase table, but the rabbit of
+// every hawk is a leader drawn from the Pareto archive, and a dive is accepted when the new point
+// dominates the hawk (constrained domination). Every point evaluated inside the box, hawk or dive
+// candidate, is offered to the archive at the next update. A hawk keeps its criteria until it
+// moves, so only moved hawks are evaluated again. One run returns the whole front.
+class multi_objective_hho extends harris_hawks_optimization {
+
+    mo_objective mo;
+    int M;
+    double[][] FX;
+    double[] VX;
+    double[] fy;
+    boolean[] moved;                 // hawk i moved since it was last evaluated
+    double[][] BX;                   // points evaluated since the last archive update
+    double[][] BF;
+    double[] BV;
+    int batch;
+    pareto_archive archive;
+
+    multi_objective_hho(mo_objective imo, int iN, double[] iLower, double[] iUpper, int iMaxiter, int archiveSize, long seed) {
+        super(imo, iN, iLower, iUpper, iMaxiter, seed);
+        mo = imo;
+        M = mo.count();
+        FX = new double[N][M];
+        VX = new double[N];
+        fy = new double[M];
+        moved = new boolean[N];
+        // every hawk and at most two dive candidates per hawk between two updates
+        BX = new double[3 * N][D];
+        BF = new double[3 * N][M];
+        BV = new double[3 * N];
+        archive = new pareto_archive(archiveSize, 3 * N, M, D);
+    }
+
+    double evaluate(double[] x, double[] f) {
+        FEs++;
+        return mo.objectives(x, f);
+    }
+
+    boolean inside(double[] x) {
+        for (int j = 0; j < D; j++) {
+            if (x[j] < Lower[j] || x[j] > Upper[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // x with criteria f and violation v joins the next archive update
+    void offer(double[] x, double[] f, double v) {
+        System.arraycopy(x, 0, BX[batch], 0, D);
+        System.arraycopy(f, 0, BF[batch], 0, M);
+        BV[batch] = v;
+        batch++;
+    }
+
+    // moved hawks are put back in the box, evaluated and offered, then the batch is merged
+    void evaluateMoved() {
+        X = boundary(X);
+        for (int i = 0; i < N; i++) {
+            if (moved[i]) {
+                VX[i] = evaluate(X[i], FX[i]);
+                offer(X[i], FX[i], VX[i]);
+                moved[i] = false;
+            }
+        }
+        archive.update(BX, BF, BV, batch);
+        batch = 0;
+    }
+
+    // the hawk has not moved since it was evaluated, FX[i] and VX[i] hold
+    void diveStart(int i) {
+    }
+
+    // a candidate dive point y replaces hawk i if it dominates it; a candidate outside the box
+    // is not offered, and a hawk moved there is evaluated again once boundary() has redrawn it
+    boolean accept(double[] y, int i) {
+        double vy = evaluate(y, fy);
+        boolean inside = inside(y);
+        if (inside) {
+            offer(y, fy, vy);
+        }
+        if (mo_objective.dominates(fy, vy, FX[i], VX[i], M)) {
+            System.arraycopy(y, 0, X[i], 0, D);
+            System.arraycopy(fy, 0, FX[i], 0, M);
+            VX[i] = vy;
+            moved[i] = !inside;
+            return true;
+        }
+        return false;
+    }
+
+    pareto_archive front() {
+        N = Ninit;
+        init();
+        iter = 0;
+        FEs = 0;
+        archive.size = 0;
+        batch = 0;
+        Arrays.fill(moved, 0, N, true);
+
+        while (iter < Maxiter && FEs < maxFEs && !cancelled) {
+
+            evaluateMoved();
+
+            E1 = 2.0 * (1.0 - energyPhase());
+
+            for (int i = 0; i < N; i++) {
+                System.arraycopy(archive.X[archive.select(rnd)], 0, Rabbit_Location, 0, D);
+                E0 = 2.0 * rnd.nextDouble() - 1.0;
+                Escaping_Energy = E1 * E0;
+                besiege(i);
+                if (!besiege_phase.dive(slot)) {
+                    moved[i] = true;
+                }
+            }
+            iter++;
+        }
+
+        // the moves of the last iteration are evaluated and offered as well
+        evaluateMoved();
+        return archive;
+    }
+}
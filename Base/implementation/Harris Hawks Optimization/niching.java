@@ -0,0 +1,368 @@
+import java.util.*;
+
+// Incremental k-d tree for radius queries among a few hundred points (species seeds, archived
+// optima). Points are referenced, not copied, and the tree is never rebalanced: it is cleared and
+// refilled when the point set changes as a whole.
+class kd_tree {
+
+    int D;
+    int size;
+    double[][] point;
+    int[] id;
+    int[] left;
+    int[] right;
+    int bestId;                      // search state of nearest()
+    double best2;
+
+    kd_tree(int iD, int capacity) {
+        D = iD;
+        point = new double[capacity][];
+        id = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void insert(double[] p, int pid) {
+        if (size == point.length) {
+            int capacity = 2 * size;
+            point = Arrays.copyOf(point, capacity);
+            id = Arrays.copyOf(id, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+        }
+        int node = size++;
+        point[node] = p;
+        id[node] = pid;
+        left[node] = -1;
+        right[node] = -1;
+        if (node == 0) {
+            return;
+        }
+        int cur = 0;
+        for (int depth = 0; ; depth++) {
+            int axis = depth % D;
+            if (p[axis] < point[cur][axis]) {
+                if (left[cur] < 0) {
+                    left[cur] = node;
+                    return;
+                }
+                cur = left[cur];
+            } else {
+                if (right[cur] < 0) {
+                    right[cur] = node;
+                    return;
+                }
+                cur = right[cur];
+            }
+        }
+    }
+
+    // id of the point nearest to q within distance r, -1 if there is none
+    int nearest(double[] q, double r) {
+        bestId = -1;
+        best2 = r * r;
+        if (size > 0) {
+            search(0, 0, q);
+        }
+        return bestId;
+    }
+
+    // ids of the points within distance r of q into out, returns how many there are
+    int within(double[] q, double r, int[] out) {
+        return size > 0 ? collect(0, 0, q, r * r, out, 0) : 0;
+    }
+
+    int collect(int node, int depth, double[] q, double r2, int[] out, int n) {
+        double[] p = point[node];
+        double d2 = 0.0;
+        for (int j = 0; j < D; j++) {
+            double t = p[j] - q[j];
+            d2 += t * t;
+        }
+        if (d2 <= r2) {
+            out[n++] = id[node];
+        }
+        int axis = depth % D;
+        double diff = q[axis] - p[axis];
+        if (left[node] >= 0 && (diff < 0 || diff * diff <= r2)) {
+            n = collect(left[node], depth + 1, q, r2, out, n);
+        }
+        if (right[node] >= 0 && (diff >= 0 || diff * diff <= r2)) {
+            n = collect(right[node], depth + 1, q, r2, out, n);
+        }
+        return n;
+    }
+
+    void search(int node, int depth, double[] q) {
+        double[] p = point[node];
+        double d2 = 0.0;
+        for (int j = 0; j < D; j++) {
+            double t = p[j] - q[j];
+            d2 += t * t;
+        }
+        if (d2 <= best2) {
+            best2 = d2;
+            bestId = id[node];
+        }
+        int axis = depth % D;
+        double diff = q[axis] - p[axis];
+        int near = diff < 0 ? left[node] : right[node];
+        int far = diff < 0 ? right[node] : left[node];
+        if (near >= 0) {
+            search(near, depth + 1, q);
+        }
+        if (far >= 0 && diff * diff <= best2) {
+            search(far, depth + 1, q);
+        }
+    }
+}
+
+
+// Niching HHO by speciation (Li 2004). Every iteration the hawks are taken best first; a hawk
+// within radius of an existing seed joins that seed's species, otherwise it becomes a new seed.
+// Each hawk then besieges its own seed instead of the global rabbit, so separate optima are
+// hunted at the same time. Members beyond speciesMax are redrawn uniformly, so crowded peaks
+// release hawks to the rest of the box. The seeds feed an archive of optima at least radius
+// apart, bounded by archiveSize; seed and archive lookups go through k-d trees. solution()
+// returns the best archived point like the base solver, optima() the whole archive best first.
+class niching_hho extends harris_hawks_optimization {
+
+    double radius;
+    int speciesMax = 8;
+    int archiveSize = 100;
+
+    int[] order;
+    int[] seedOf;                    // seed hawk of every hawk
+    int[] members;                   // species size of every seed
+    double[][] seedX;                // seed positions at the start of the iteration
+    kd_tree seeds;
+    double[][] archX;
+    double[] archF;
+    int archived;
+    kd_tree archive;
+    int[] near;                      // scratch for archive.within()
+
+    niching_hho(f_xj iff, int iN, double[] iLower, double[] iUpper, int iMaxiter, long seed, double iradius) {
+        super(iff, iN, iLower, iUpper, iMaxiter, seed);
+        radius = iradius;
+        order = new int[N];
+        seedOf = new int[N];
+        members = new int[N];
+        seedX = new double[N][D];
+        seeds = new kd_tree(D, N);
+        archive = new kd_tree(D, archiveSize);
+        near = new int[archiveSize];
+    }
+
+    void speciate() {
+        for (int i = 0; i < N; i++) {
+            int k = i - 1;
+            while (k >= 0 && fitnessX[order[k]] > fitnessX[i]) {
+                order[k + 1] = order[k];
+                k--;
+            }
+            order[k + 1] = i;
+        }
+        seeds.clear();
+        for (int k = 0; k < N; k++) {
+            int i = order[k];
+            int s = seeds.nearest(X[i], radius);
+            if (s < 0) {
+                seedOf[i] = i;
+                members[i] = 1;
+                System.arraycopy(X[i], 0, seedX[i], 0, D);
+                seeds.insert(seedX[i], i);
+                offer(X[i], fitnessX[i]);
+            } else if (++members[s] > speciesMax) {
+                // the hawk starts over as a species of its own, not yet evaluated
+                members[s]--;
+                for (int j = 0; j < D; j++) {
+                    X[i][j] = Lower[j] + (Upper[j] - Lower[j]) * rnd.nextDouble();
+                }
+                snap(X[i]);
+                fitnessX[i] = Double.POSITIVE_INFINITY;
+                seedOf[i] = i;
+                members[i] = 1;
+                System.arraycopy(X[i], 0, seedX[i], 0, D);
+            } else {
+                seedOf[i] = s;
+            }
+        }
+    }
+
+    // x enters the archive unless an archived point within radius is at least as good. It takes
+    // the place of its nearest archived neighbour, or of the worst point when it has none and the
+    // archive is full; the other neighbours it now lies within radius of merge into it, so the
+    // archived points stay at least radius apart.
+    void offer(double[] x, double f) {
+        if (!(f < Double.POSITIVE_INFINITY)) {
+            return;
+        }
+        int n = archive.within(x, radius, near);
+        int k = -1;
+        for (int m = 0; m < n; m++) {
+            int a = near[m];
+            if (archF[a] <= f) {
+                return;
+            }
+            if (k < 0 || distance2(archX[a], x) < distance2(archX[k], x)) {
+                k = a;
+            }
+        }
+        if (k < 0 && archived < archiveSize) {
+            k = archived++;
+            System.arraycopy(x, 0, archX[k], 0, D);
+            archF[k] = f;
+            archive.insert(archX[k], k);
+            return;
+        }
+        if (k < 0) {
+            k = 0;
+            for (int a = 1; a < archived; a++) {
+                if (archF[a] > archF[k]) {
+                    k = a;
+                }
+            }
+            if (!(f < archF[k])) {
+                return;
+            }
+        }
+        System.arraycopy(x, 0, archX[k], 0, D);
+        archF[k] = f;
+        // the neighbours other than k leave, highest index first so the last point fills the gap
+        Arrays.sort(near, 0, n);
+        for (int m = n - 1; m >= 0; m--) {
+            int a = near[m];
+            if (a == k) {
+                continue;
+            }
+            archived--;
+            double[] t = archX[a];
+            archX[a] = archX[archived];
+            archX[archived] = t;
+            archF[a] = archF[archived];
+            if (k == archived) {
+                k = a;
+            }
+        }
+        // points have moved, so the tree is refilled
+        archive.clear();
+        for (int a = 0; a < archived; a++) {
+            archive.insert(archX[a], a);
+        }
+    }
+
+    double distance2(double[] a, double[] b) {
+        double d2 = 0.0;
+        for (int j = 0; j < D; j++) {
+            double t = a[j] - b[j];
+            d2 += t * t;
+        }
+        return d2;
+    }
+
+    double[][] solution() {
+        N = Ninit;
+        init();
+        iter = 0;
+        FEs = 0;
+        lastImprovement = 0;
+        if (archX == null) {
+            archX = new double[archiveSize][D];
+            archF = new double[archiveSize];
+        }
+        archived = 0;
+        archive.clear();
+        if (tracker != null) {
+            tracker.start();
+        }
+
+        while (iter < Maxiter && FEs < maxFEs && !cancelled) {
+
+            X = boundary(X);
+            evaluateAll();
+            speciate();
+
+            E1 = 2.0 * (1.0 - energyPhase());
+
+            for (int i = 0; i < N; i++) {
+                System.arraycopy(seedX[seedOf[i]], 0, Rabbit_Location, 0, D);
+                E0 = 2.0 * rnd.nextDouble() - 1.0;
+                Escaping_Energy = E1 * E0;
+                besiege(i);
+            }
+
+            CNVG[iter] = Rabbit_Energy;
+            iter++;
+        }
+        // the moves of the last iteration are evaluated and offered as well
+        X = boundary(X);
+        evaluateAll();
+        for (int i = 0; i < N; i++) {
+            offer(X[i], fitnessX[i]);
+        }
+        finishCurve(Rabbit_Energy);
+        if (tracker != null) {
+            tracker.finish(FEs);
+        }
+
+        double[][] best = optima();
+        double[][] out = new double[2][D];
+        if (best.length > 0) {
+            System.arraycopy(best[0], 0, out[0], 0, D);
+            System.arraycopy(best[0], 0, Rabbit_Location, 0, D);
+        }
+        out[1][0] = Rabbit_Energy;
+        return out;
+    }
+
+    void evaluateAll() {
+        for (int i = 0; i < N; i++) {
+            fitnessX[i] = evaluate(X[i]);
+            if (fitnessX[i] < Rabbit_Energy) {
+                Rabbit_Energy = fitnessX[i];
+                rabbitImproved();
+            }
+        }
+    }
+
+    // archived points, best first
+    double[][] optima() {
+        Integer[] idx = new Integer[archived];
+        for (int a = 0; a < archived; a++) {
+            idx[a] = a;
+        }
+        Arrays.sort(idx, Comparator.comparingDouble(a -> archF[a]));
+        double[][] out = new double[archived][];
+        for (int a = 0; a < archived; a++) {
+            out[a] = archX[idx[a]].clone();
+        }
+        return out;
+    }
+
+    double[] optimaValues() {
+        double[] f = Arrays.copyOf(archF, archived);
+        Arrays.sort(f);
+        return f;
+    }
+
+    // Global optima found at accuracy eps (CEC 2013 niching count): archived points within eps of
+    // fstar, best first, each counted unless a counted one lies within radius
+    int found(double fstar, double eps) {
+        double[][] x = optima();
+        double[] f = optimaValues();
+        kd_tree counted = new kd_tree(D, Math.max(1, x.length));
+        int c = 0;
+        for (int a = 0; a < x.length; a++) {
+            if (f[a] - fstar <= eps && counted.nearest(x[a], radius) < 0) {
+                counted.insert(x[a], a);
+                c++;
+            }
+        }
+        return c;
+    }
+}
@@ -0,0 +1,209 @@
+import java.util.*;
+
+// Running mean and variance of the samples of one point (Welford).
+class noise_stats {
+
+    int n;
+    double mean;
+    double m2;
+
+    void reset() {
+        n = 0;
+        mean = 0.0;
+        m2 = 0.0;
+    }
+
+    void add(double v) {
+        n++;
+        double d = v - mean;
+        mean += d / n;
+        m2 += d * (v - mean);
+    }
+
+    void set(noise_stats o) {
+        n = o.n;
+        mean = o.mean;
+        m2 = o.m2;
+    }
+
+    double variance() {
+        return n > 1 ? m2 / (n - 1) : Double.NaN;
+    }
+}
+
+
+// HHO for noisy objectives. Every hawk keeps the running mean and variance of its samples for as
+// long as it stays put, and fitnessX holds the mean. Instead of one greedy comparison, a dive
+// candidate races the hawk and a hawk whose mean beats the rabbit races the rabbit: the side with
+// fewer samples is resampled until the z-confidence intervals of the two means separate, or the
+// race has spent maxSamples samples and the means decide. A point with a single sample borrows the
+// variance of the other side or, if that has one sample too, the variance pooled over every point
+// resampled so far, so only the first race of a run has to draw a second sample to get one. The
+// rabbit is resampled whenever it is challenged, so it cannot keep a lucky draw, and Rabbit_Energy
+// is its mean. Comparisons that are clear cost one sample, and noise-free objectives, whose
+// intervals have zero width, stop racing at once after that first race. FEs counts samples,
+// including maxSamples fresh ones of the final rabbit, whose mean is the reported value; they are
+// reserved out of maxFEs, so the run never spends more. The moves are the base besiege(i), with
+// the race as the accept hook. Opposition, population reduction, polishing and the dynamic mode
+// of the base solver are not used.
+class noisy_hho extends harris_hawks_optimization {
+
+    double z = 1.96;
+    int maxSamples = 20;
+    noise_stats[] stats;
+    noise_stats rabbit = new noise_stats();
+    noise_stats candidate = new noise_stats();
+    boolean[] moved;                 // hawk i moved since it was last sampled
+    long races;
+    long resamples;
+    double pooledM2;                 // within-point sums of squares and their degrees of freedom
+    long pooledDf;
+
+    noisy_hho(f_xj iff, int iN, double[] iLower, double[] iUpper, int iMaxiter, long seed) {
+        super(iff, iN, iLower, iUpper, iMaxiter, seed);
+        stats = new noise_stats[N];
+        for (int i = 0; i < N; i++) {
+            stats[i] = new noise_stats();
+        }
+        moved = new boolean[N];
+        budgetSchedule = true;       // racing spends the budget unevenly
+    }
+
+    double halfWidth(noise_stats s, noise_stats other) {
+        double v = s.n > 1 ? s.variance() : other.n > 1 ? other.variance() : pooledVariance();
+        return Double.isNaN(v) ? Double.POSITIVE_INFINITY : z * Math.sqrt(v / s.n);
+    }
+
+    double pooledVariance() {
+        return pooledDf > 0 ? pooledM2 / pooledDf : Double.NaN;
+    }
+
+    // adds a fresh sample of x to s and its share to the pooled variance
+    void resample(double[] x, noise_stats s) {
+        resamples++;
+        double m2 = s.m2;
+        s.add(evaluate(x));
+        pooledM2 += s.m2 - m2;
+        pooledDf++;
+    }
+
+    // samples the search may spend, the rest is reserved for the final rabbit
+    long limit() {
+        return maxFEs - maxSamples;
+    }
+
+    // true if xa has the lower mean once the race is decided; both sides keep their new samples
+    boolean race(double[] xa, noise_stats a, double[] xb, noise_stats b) {
+        races++;
+        for (int spent = 0; ; spent++) {
+            double ha = halfWidth(a, b);
+            double hb = halfWidth(b, a);
+            if ((ha == 0.0 && hb == 0.0) || a.mean + ha < b.mean - hb || b.mean + hb < a.mean - ha
+                    || spent >= maxSamples || FEs >= limit()) {
+                return a.mean < b.mean;
+            }
+            if (a.n <= b.n) {
+                resample(xa, a);
+            } else {
+                resample(xb, b);
+            }
+        }
+    }
+
+    double[][] solution() {
+        N = Ninit;
+        init();
+        iter = 0;
+        FEs = 0;
+        lastImprovement = 0;
+        races = 0;
+        resamples = 0;
+        pooledM2 = 0.0;
+        pooledDf = 0;
+        rabbit.reset();
+        Rabbit_Energy = Double.POSITIVE_INFINITY;
+        Arrays.fill(moved, 0, N, true);
+        if (tracker != null) {
+            tracker.start();
+        }
+
+        // an iteration samples at most N moved hawks before its races and dives check the limit
+        while (iter < Maxiter && FEs + N <= limit() && !cancelled) {
+
+            X = boundary(X);
+            for (int i = 0; i < N; i++) {
+                if (moved[i]) {
+                    stats[i].reset();
+                    stats[i].add(evaluate(X[i]));
+                    moved[i] = false;
+                }
+            }
+            for (int i = 0; i < N; i++) {
+                if (rabbit.n == 0 || (stats[i].mean < rabbit.mean && race(X[i], stats[i], Rabbit_Location, rabbit))) {
+                    System.arraycopy(X[i], 0, Rabbit_Location, 0, D);
+                    rabbit.set(stats[i]);
+                    Rabbit_Energy = rabbit.mean;
+                    rabbitImproved();
+                }
+                fitnessX[i] = stats[i].mean;
+            }
+            Rabbit_Energy = rabbit.mean;
+
+            E1 = 2.0 * (1.0 - energyPhase());
+
+            for (int i = 0; i < N; i++) {
+                E0 = 2.0 * rnd.nextDouble() - 1.0;
+                Escaping_Energy = E1 * E0;
+                besiege(i);
+                if (!besiege_phase.dive(slot)) {
+                    moved[i] = true;
+                }
+            }
+
+            CNVG[iter] = Rabbit_Energy;
+            iter++;
+        }
+        // the rabbit's mean is biased low, it won its races partly by luck; fresh samples are not
+        rabbit.reset();
+        for (int k = 0; k < maxSamples; k++) {
+            rabbit.add(evaluate(Rabbit_Location));
+        }
+        Rabbit_Energy = rabbit.mean;
+        finishCurve(Rabbit_Energy);
+        if (tracker != null) {
+            tracker.finish(FEs);
+        }
+
+        double[][] out = new double[2][D];
+        System.arraycopy(Rabbit_Location, 0, out[0], 0, D);
+        out[1][0] = Rabbit_Energy;
+        return out;
+    }
+
+    // hawk i has not moved since it was sampled at the top of the iteration
+    void diveStart(int i) {
+    }
+
+    // y replaces hawk i, samples and all, if it wins the race against it; once the search has
+    // spent its samples y is not sampled and loses
+    boolean accept(double[] y, int i) {
+        if (FEs >= limit()) {
+            return false;
+        }
+        candidate.reset();
+        candidate.add(evaluate(y));
+        if (!race(y, candidate, X[i], stats[i])) {
+            return false;
+        }
+        System.arraycopy(y, 0, X[i], 0, D);
+        stats[i].set(candidate);
+        fitnessX[i] = candidate.mean;
+        for (int j = 0; j < D; j++) {
+            if (y[j] < Lower[j] || y[j] > Upper[j]) {
+                moved[i] = true;     // boundary() will redraw it
+                break;
+            }
+        }
+        return true;
+    }
+}
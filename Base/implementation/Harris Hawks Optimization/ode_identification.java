@@ -0,0 +1,314 @@
+import java.util.Arrays;
+
+// Right-hand side dy/dt = f(t, y; p) of an ODE system with `dim` states and `params` parameters
+abstract class ode_system {
+
+    int dim;
+    int params;
+
+    ode_system(int idim, int iparams) {
+        dim = idim;
+        params = iparams;
+    }
+
+    abstract void rhs(double t, double[] y, double[] p, double[] dy);
+}
+
+
+// x' = a (y - x), y' = b x - y - x z, z' = x y - c z
+class lorenz_system extends ode_system {
+    lorenz_system() {
+        super(3, 3);
+    }
+
+    void rhs(double t, double[] y, double[] p, double[] dy) {
+        dy[0] = p[0] * (y[1] - y[0]);
+        dy[1] = p[1] * y[0] - y[1] - y[0] * y[2];
+        dy[2] = y[0] * y[1] - p[2] * y[2];
+    }
+}
+
+
+// x' = a (y - x), y' = (c - a) x - c y - x z, z' = x y - b z   (p = a, b, c as in parf2)
+class chen_system extends ode_system {
+    chen_system() {
+        super(3, 3);
+    }
+
+    void rhs(double t, double[] y, double[] p, double[] dy) {
+        dy[0] = p[0] * (y[1] - y[0]);
+        dy[1] = (p[2] - p[0]) * y[0] - p[2] * y[1] - y[0] * y[2];
+        dy[2] = y[0] * y[1] - p[1] * y[2];
+    }
+}
+
+
+// x' = -y - z, y' = x + a y, z' = b + z (x - c)
+class rossler_system extends ode_system {
+    rossler_system() {
+        super(3, 3);
+    }
+
+    void rhs(double t, double[] y, double[] p, double[] dy) {
+        dy[0] = -y[1] - y[2];
+        dy[1] = y[0] + p[0] * y[1];
+        dy[2] = ((y[0] - p[2]) * y[2]) + p[1];
+    }
+}
+
+
+// forced Duffing oscillator x'' = -d1 x' + d2 x - d3 x^3 + 2.1 sin(1.8 t)
+class duffing_system extends ode_system {
+    duffing_system() {
+        super(2, 3);
+    }
+
+    void rhs(double t, double[] y, double[] p, double[] dy) {
+        dy[0] = y[1];
+        dy[1] = -p[0] * y[1] + p[1] * y[0] - p[2] * y[0] * y[0] * y[0] + 2.1 * Math.sin(1.8 * t);
+    }
+}
+
+
+// Integrator state for one thread: the stage buffers are allocated once per system dimension and
+// reused by every trajectory.
+class ode_integrator {
+
+    static final int EULER = 0;
+    static final int RK4 = 1;
+    static final int RK45 = 2;
+
+    // Dormand-Prince 5(4) tableau
+    static final double A21 = 1.0 / 5.0;
+    static final double A31 = 3.0 / 40.0, A32 = 9.0 / 40.0;
+    static final double A41 = 44.0 / 45.0, A42 = -56.0 / 15.0, A43 = 32.0 / 9.0;
+    static final double A51 = 19372.0 / 6561.0, A52 = -25360.0 / 2187.0, A53 = 64448.0 / 6561.0, A54 = -212.0 / 729.0;
+    static final double A61 = 9017.0 / 3168.0, A62 = -355.0 / 33.0, A63 = 46732.0 / 5247.0, A64 = 49.0 / 176.0, A65 = -5103.0 / 18656.0;
+    static final double B1 = 35.0 / 384.0, B3 = 500.0 / 1113.0, B4 = 125.0 / 192.0, B5 = -2187.0 / 6784.0, B6 = 11.0 / 84.0;
+    static final double E1 = 71.0 / 57600.0, E3 = -71.0 / 16695.0, E4 = 71.0 / 1920.0, E5 = -17253.0 / 339200.0, E6 = 22.0 / 525.0, E7 = -1.0 / 40.0;
+
+    ode_system sys;
+    int n;
+    double[] y, tmp, ynew, k1, k2, k3, k4, k5, k6, k7;
+    double h;           // last accepted RK45 step, reused for the next interval
+    long stepsLeft;     // RK45 step budget of the current trajectory
+    long rhsCalls;
+
+    ode_integrator(ode_system isys) {
+        sys = isys;
+        n = sys.dim;
+        y = new double[n];
+        tmp = new double[n];
+        ynew = new double[n];
+        k1 = new double[n];
+        k2 = new double[n];
+        k3 = new double[n];
+        k4 = new double[n];
+        k5 = new double[n];
+        k6 = new double[n];
+        k7 = new double[n];
+    }
+
+    void reset(double[] y0, double dt) {
+        System.arraycopy(y0, 0, y, 0, n);
+        h = dt;
+        stepsLeft = Long.MAX_VALUE;
+    }
+
+    // advances y from t to t + dt
+    void advance(int scheme, double[] p, double t, double dt, int substeps, double rtol, double atol) {
+        if (scheme == EULER) {
+            double hs = dt / substeps;
+            for (int s = 0; s < substeps; s++) {
+                sys.rhs(t + s * hs, y, p, k1);
+                for (int j = 0; j < n; j++) {
+                    y[j] = (k1[j] * hs) + y[j];
+                }
+            }
+            rhsCalls += substeps;
+        } else if (scheme == RK4) {
+            double hs = dt / substeps;
+            for (int s = 0; s < substeps; s++) {
+                rk4(p, t + s * hs, hs);
+            }
+        } else {
+            dopri(p, t, t + dt, rtol, atol);
+        }
+    }
+
+    void rk4(double[] p, double t, double hs) {
+        sys.rhs(t, y, p, k1);
+        for (int j = 0; j < n; j++) {
+            tmp[j] = y[j] + 0.5 * hs * k1[j];
+        }
+        sys.rhs(t + 0.5 * hs, tmp, p, k2);
+        for (int j = 0; j < n; j++) {
+            tmp[j] = y[j] + 0.5 * hs * k2[j];
+        }
+        sys.rhs(t + 0.5 * hs, tmp, p, k3);
+        for (int j = 0; j < n; j++) {
+            tmp[j] = y[j] + hs * k3[j];
+        }
+        sys.rhs(t + hs, tmp, p, k4);
+        for (int j = 0; j < n; j++) {
+            y[j] += hs / 6.0 * (k1[j] + 2.0 * k2[j] + 2.0 * k3[j] + k4[j]);
+        }
+        rhsCalls += 4;
+    }
+
+    // adaptive Dormand-Prince from t to tEnd, landing exactly on tEnd
+    void dopri(double[] p, double t, double tEnd, double rtol, double atol) {
+        boolean fsal = false;
+        while (t < tEnd) {
+            double hs = Math.min(h, tEnd - t);
+            if (!fsal) {
+                sys.rhs(t, y, p, k1);
+                rhsCalls++;
+            }
+            for (int j = 0; j < n; j++) {
+                tmp[j] = y[j] + hs * A21 * k1[j];
+            }
+            sys.rhs(t + hs / 5.0, tmp, p, k2);
+            for (int j = 0; j < n; j++) {
+                tmp[j] = y[j] + hs * (A31 * k1[j] + A32 * k2[j]);
+            }
+            sys.rhs(t + 3.0 * hs / 10.0, tmp, p, k3);
+            for (int j = 0; j < n; j++) {
+                tmp[j] = y[j] + hs * (A41 * k1[j] + A42 * k2[j] + A43 * k3[j]);
+            }
+            sys.rhs(t + 4.0 * hs / 5.0, tmp, p, k4);
+            for (int j = 0; j < n; j++) {
+                tmp[j] = y[j] + hs * (A51 * k1[j] + A52 * k2[j] + A53 * k3[j] + A54 * k4[j]);
+            }
+            sys.rhs(t + 8.0 * hs / 9.0, tmp, p, k5);
+            for (int j = 0; j < n; j++) {
+                tmp[j] = y[j] + hs * (A61 * k1[j] + A62 * k2[j] + A63 * k3[j] + A64 * k4[j] + A65 * k5[j]);
+            }
+            sys.rhs(t + hs, tmp, p, k6);
+            for (int j = 0; j < n; j++) {
+                ynew[j] = y[j] + hs * (B1 * k1[j] + B3 * k3[j] + B4 * k4[j] + B5 * k5[j] + B6 * k6[j]);
+            }
+            sys.rhs(t + hs, ynew, p, k7);
+            rhsCalls += 6;
+
+            double err = 0.0;
+            for (int j = 0; j < n; j++) {
+                double e = hs * (E1 * k1[j] + E3 * k3[j] + E4 * k4[j] + E5 * k5[j] + E6 * k6[j] + E7 * k7[j]);
+                double sc = atol + rtol * Math.max(Math.abs(y[j]), Math.abs(ynew[j]));
+                err += (e / sc) * (e / sc);
+            }
+            err = Math.sqrt(err / n);
+            if (!(err == err) || hs < 1e-14 * Math.max(1.0, Math.abs(t)) || --stepsLeft < 0) {
+                // diverged, step underflow or out of steps, leave a non-finite state behind
+                Arrays.fill(y, Double.NaN);
+                return;
+            }
+            if (err <= 1.0) {
+                t += hs;
+                System.arraycopy(ynew, 0, y, 0, n);
+                double[] swap = k1;
+                k1 = k7;
+                k7 = swap;
+                fsal = true;
+                if (hs == h) {
+                    h = hs * Math.min(5.0, Math.max(0.2, 0.9 * Math.pow(err, -0.2)));
+                }
+            } else {
+                h = hs * Math.max(0.2, 0.9 * Math.pow(err, -0.2));
+                fsal = true;    // k1 still belongs to y
+            }
+        }
+    }
+}
+
+
+// System identification: find the parameters of an ODE system whose trajectory from y0 matches a
+// reference trajectory sampled every dt. The reference is integrated once from known parameters
+// (or given as measurements), candidates are integrated with per-thread integrator buffers, and
+// the accumulated error is checked against the cutoff after every sample so hopeless candidates
+// stop early.
+// Error: sqrt(sum of squared state differences) / (dim * samples), as in parf1-parf5.
+class ode_identification extends f_xj {
+
+    ode_system sys;
+    double[] y0;
+    double t0;
+    double dt;
+    int samples;            // including the initial state
+    int scheme;
+    int substeps;           // fixed steps per sample interval (EULER, RK4)
+    double rtol = 1e-6;     // RK45
+    double atol = 1e-9;
+    long stepsPerSample = 50;   // RK45 budget, a candidate that needs more counts as diverged
+    double[] reference;     // samples x dim, row major
+    double norm;
+    ThreadLocal<ode_integrator> work;
+
+    ode_identification(ode_system isys, double[] iy0, double it0, double idt, int isamples, int ischeme, int isubsteps) {
+        sys = isys;
+        y0 = iy0.clone();
+        t0 = it0;
+        dt = idt;
+        samples = isamples;
+        scheme = ischeme;
+        substeps = Math.max(1, isubsteps);
+        norm = (double) (sys.dim * samples);
+        work = ThreadLocal.withInitial(() -> new ode_integrator(sys));
+    }
+
+    // reference trajectory from the true parameters, integrated with the same scheme
+    ode_identification withTruth(double[] ptrue) {
+        reference = new double[samples * sys.dim];
+        ode_integrator in = new ode_integrator(sys);
+        in.reset(y0, dt);
+        System.arraycopy(y0, 0, reference, 0, sys.dim);
+        for (int k = 1; k < samples; k++) {
+            in.advance(scheme, ptrue, t0 + (k - 1) * dt, dt, substeps, rtol * 1e-3, atol * 1e-3);
+            System.arraycopy(in.y, 0, reference, k * sys.dim, sys.dim);
+        }
+        return this;
+    }
+
+    // measured trajectory, samples x dim row major
+    ode_identification withData(double[] measured) {
+        if (measured.length != samples * sys.dim) {
+            throw new IllegalArgumentException("expected " + samples * sys.dim + " values");
+        }
+        reference = measured.clone();
+        return this;
+    }
+
+    double func(double x[]) {
+        return func(x, Double.POSITIVE_INFINITY);
+    }
+
+    double func(double x[], double cutoff) {
+        ode_integrator in = work.get();
+        in.reset(y0, dt);
+        in.stepsLeft = stepsPerSample * samples;
+        int n = sys.dim;
+        double bound = cutoff * norm;
+        bound = bound * bound;
+        double acc = 0.0;
+        for (int j = 0; j < n; j++) {
+            double e = reference[j] - y0[j];
+            acc += e * e;
+        }
+        for (int k = 1; k < samples; k++) {
+            in.advance(scheme, x, t0 + (k - 1) * dt, dt, substeps, rtol, atol);
+            int off = k * n;
+            for (int j = 0; j < n; j++) {
+                double e = reference[off + j] - in.y[j];
+                acc += e * e;
+            }
+            if (!(acc < bound)) {
+                // already at or above the cutoff, or diverged; never report less than the cutoff
+                return acc < Double.POSITIVE_INFINITY ? Math.max(Math.sqrt(acc) / norm, cutoff) : Double.POSITIVE_INFINITY;
+            }
+        }
+        if (!(acc < Double.POSITIVE_INFINITY)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.sqrt(acc) / norm;
+    }
+}
@@ -0,0 +1,399 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+// Objective that reads its point straight from memory: n doubles starting offset bytes into x.
+// func(double[]) views the array as a heap segment, so one implementation serves every solver.
+abstract class segment_objective extends f_xj {
+
+    static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE;
+
+    abstract double func(MemorySegment x, long offset, int n);
+
+    double func(double x[]) {
+        return func(MemorySegment.ofArray(x), 0, x.length);
+    }
+
+    // rows points, stride bytes apart, into out
+    void func(MemorySegment block, long offset, long stride, int rows, int n, double[] out) {
+        for (int i = 0; i < rows; i++) {
+            out[i] = func(block, offset + i * stride, n);
+        }
+    }
+}
+
+
+// a separable f_xj summed term by term where the point lies
+class separable_segment extends segment_objective {
+
+    f_xj ff;
+
+    separable_segment(f_xj iff) {
+        ff = iff;
+    }
+
+    double func(MemorySegment x, long offset, int n) {
+        double s = 0.0;
+        for (int j = 0; j < n; j++) {
+            s += ff.term(x.get(DOUBLE, offset + 8L * j), j, n);
+        }
+        return ff.constant(n) + s;
+    }
+}
+
+
+// HHO with the population outside the Java heap. The hawks, X1, X2, X_rand, the swarm mean and
+// the Levy step are rows of one block, each row aligned to 64 bytes, allocated in a confined arena
+// for the run and freed when it ends; with file set the block is a mapping of that file instead,
+// so the population may be larger than memory. Segment objectives and separable ones read their
+// rows in place, the rest through one heap row. Only Rabbit_Location and CNVG stay on the heap.
+// The moves and draws are those of the standard solver; of its optional features only the polish
+// of Rabbit_Location (final, periodic and on stagnation) and the evaluation budget are kept, and
+// solution() refuses a run that asks for another one (initializer, opposition, population
+// reduction, a phase table other than the standard one, a lattice or dynamic mode) rather than
+// ignore it.
+class offheap_hho extends harris_hawks_optimization {
+
+    static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE;
+    static final long ALIGN = 64;
+
+    int width;                       // bytes per coordinate in the block
+    Path file;                       // optional backing file, overwritten by the run
+    segment_objective so;            // null when rows are copied to row for ff
+    double[] row;
+    double[] fitnessBatch;
+    long stride;                     // bytes from one row of coordinates to the next
+    long dstride;                    // bytes of a row of doubles, for the swarm mean and the Levy step
+    MemorySegment block;             // only while solution() runs
+    long x1, x2, xRand, mean, levy;  // row offsets after the hawks
+
+    offheap_hho(f_xj iff, int iN, double[] iLower, double[] iUpper, int iMaxiter, long seed) {
+        this(iff, iN, iLower, iUpper, iMaxiter, seed, 8);
+    }
+
+    offheap_hho(f_xj iff, int iN, double[] iLower, double[] iUpper, int iMaxiter, long seed, int iwidth) {
+        super(iff, iN, iLower, iUpper, iMaxiter, new Random(seed), false);
+        width = iwidth;
+        if (width != 8) {
+            row = new double[D];     // segment objectives read doubles
+        } else if (ff instanceof segment_objective) {
+            so = (segment_objective) ff;
+        } else if (ff.separable()) {
+            so = new separable_segment(ff);
+        } else {
+            row = new double[D];
+        }
+        fitnessBatch = new double[N];
+        stride = ((long) width * D + ALIGN - 1) / ALIGN * ALIGN;
+        dstride = (8L * D + ALIGN - 1) / ALIGN * ALIGN;
+        x1 = N * stride;
+        x2 = x1 + stride;
+        xRand = x2 + stride;
+        mean = xRand + stride;
+        levy = mean + dstride;
+    }
+
+    double at(long o, int j) {
+        return block.get(DOUBLE, o + 8L * j);
+    }
+
+    void put(long o, int j, double v) {
+        block.set(DOUBLE, o + 8L * j, v);
+    }
+
+    // the swarm mean and the Levy step are rows of doubles whatever the width of the hawks
+    final double atDouble(long o, int j) {
+        return block.get(DOUBLE, o + 8L * j);
+    }
+
+    final void putDouble(long o, int j, double v) {
+        block.set(DOUBLE, o + 8L * j, v);
+    }
+
+    // the row at o into a double array
+    void load(long o, double[] x) {
+        MemorySegment.copy(block, DOUBLE, o, x, 0, D);
+    }
+
+    double evaluate(long o) {
+        FEs++;
+        if (so != null) {
+            return so.func(block, o, D);
+        }
+        load(o, row);
+        return ff.func(row);
+    }
+
+    double evaluate(long o, double cutoff) {
+        FEs++;
+        if (so != null) {
+            return so.func(block, o, D);
+        }
+        load(o, row);
+        return ff.func(row, cutoff);
+    }
+
+    void copyRow(long from, long to) {
+        MemorySegment.copy(block, from, block, to, (long) width * D);
+    }
+
+    // column means of the hawks, summed row by row so the block is read in order
+    void swarmMean() {
+        block.asSlice(mean, 8L * D).fill((byte) 0);
+        for (int i = 0; i < N; i++) {
+            long o = i * stride;
+            for (int j = 0; j < D; j++) {
+                putDouble(mean, j, atDouble(mean, j) + at(o, j));
+            }
+        }
+        for (int j = 0; j < D; j++) {
+            putDouble(mean, j, atDouble(mean, j) / (double) N);
+        }
+    }
+
+    // Levy() into its row, same draws
+    void levyStep() {
+        double beta = 1.5;
+        double sigma = Math.pow((gamma(1 + beta) * Math.sin(Math.PI * beta / 2) / (gamma((1 + beta) / 2) * beta * Math.pow(2, ((beta - 1) / 2)))), (1 / beta));
+        for (int j = 0; j < D; j++) {
+            putDouble(levy, j, 0.01 * rnd.nextGaussian() * sigma);
+        }
+        for (int j = 0; j < D; j++) {
+            double v = rnd.nextGaussian();
+            putDouble(levy, j, atDouble(levy, j) / (Math.pow(Math.abs(v), (1.0 / beta))));
+        }
+    }
+
+    MemorySegment open(Arena arena) {
+        long bytes = levy + dstride;
+        if (file == null) {
+            return arena.allocate(bytes, ALIGN);
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return ch.map(FileChannel.MapMode.READ_WRITE, 0, bytes, arena);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // the options of the base solver this one does not implement, null if none is set
+    String unsupported() {
+        if (initializer != null) {
+            return "initializer";
+        }
+        if (opposition) {
+            return "opposition";
+        }
+        if (Nfinal > 0) {
+            return "population reduction";
+        }
+        for (besiege_phase p : phases) {
+            if (p instanceof idle_phase) {
+                return "phase table";
+            }
+        }
+        if (types != null) {
+            return "lattice";
+        }
+        if (sentinels > 0) {
+            return "dynamic mode";
+        }
+        return null;
+    }
+
+    double[][] solution() {
+        String option = unsupported();
+        if (option != null) {
+            throw new UnsupportedOperationException(getClass().getName() + " does not support the " + option + " option");
+        }
+        try (Arena arena = Arena.ofConfined()) {
+            block = open(arena);
+            return run();
+        } finally {
+            block = null;
+        }
+    }
+
+    double[][] run() {
+        iter = 0;
+        FEs = 0;
+        lastImprovement = 0;
+        for (int i = 0; i < N; i++) {
+            long o = i * stride;
+            for (int j = 0; j < D; j++) {
+                put(o, j, Lower[j] + ((Upper[j] - Lower[j]) * rnd.nextDouble()));
+            }
+        }
+        if (tracker != null) {
+            tracker.start();
+        }
+
+        while (iter < Maxiter && FEs < maxFEs - finalPolish() && !cancelled) {
+
+            for (int i = 0; i < N; i++) {
+                long o = i * stride;
+                for (int j = 0; j < D; j++) {
+                    double v = at(o, j);
+                    if ((v < Lower[j]) || (v > Upper[j])) {
+                        put(o, j, Lower[j] + ((Upper[j] - Lower[j]) * rnd.nextDouble()));
+                    }
+                }
+            }
+            if (so != null) {
+                so.func(block, 0, stride, N, D, fitnessBatch);
+                FEs += N;
+            }
+            for (int i = 0; i < N; i++) {
+                long o = i * stride;
+                fitnessX[i] = so != null ? fitnessBatch[i] : evaluate(o, Rabbit_Energy);
+                if (fitnessX[i] < Rabbit_Energy) {
+                    Rabbit_Energy = fitnessX[i];
+                    load(o, Rabbit_Location);
+                    rabbitImproved();
+                }
+            }
+
+            E1 = 2.0 * (1.0 - energyPhase());
+
+            for (int i = 0; i < N; i++) {
+                E0 = 2.0 * rnd.nextDouble() - 1.0;
+                Escaping_Energy = E1 * E0;
+                move(i);
+            }
+
+            if (polishDue()) {
+                polishRabbit();
+            }
+
+            CNVG[iter] = Rabbit_Energy;
+            iter++;
+        }
+        if (polish != null && Maxiter > 0 && !cancelled) {
+            polishRabbit();
+        }
+        finishCurve(Rabbit_Energy);
+        if (tracker != null) {
+            tracker.finish(FEs);
+        }
+
+        double[][] out = new double[2][D];
+        System.arraycopy(Rabbit_Location, 0, out[0], 0, D);
+        out[1][0] = Rabbit_Energy;
+        return out;
+    }
+
+    // besiege(i) and the six phases of besiege_phase on block rows
+    void move(int i) {
+        long o = i * stride;
+        double[] rabbit = Rabbit_Location;
+        double E = Escaping_Energy;
+        if (Math.abs(E) >= 1.0) {
+            q = rnd.nextDouble();
+            rand_Hawk_index = (int) Math.floor((double) N * rnd.nextDouble());
+            copyRow(rand_Hawk_index * stride, xRand);
+            if (q < 0.5) {
+                for (int j = 0; j < D; j++) {
+                    double xr = at(xRand, j);
+                    put(o, j, xr - rnd.nextDouble() * Math.abs(xr - 2.0 * rnd.nextDouble() * at(o, j)));
+                }
+            } else {
+                swarmMean();
+                for (int j = 0; j < D; j++) {
+                    put(o, j, (rabbit[j] - atDouble(mean, j)) - (rnd.nextDouble() * (Lower[j] + ((Upper[j] - Lower[j]) * rnd.nextDouble()))));
+                }
+            }
+            return;
+        }
+        r = rnd.nextDouble();
+        boolean soft = Math.abs(E) >= 0.5;
+        if (r >= 0.5) {
+            if (soft) {
+                for (int j = 0; j < D; j++) {
+                    double x = at(o, j);
+                    put(o, j, (rabbit[j] - x) - E * Math.abs(2.0 * (1.0 - rnd.nextDouble()) * rabbit[j] - x));
+                }
+            } else {
+                for (int j = 0; j < D; j++) {
+                    put(o, j, rabbit[j] - E * Math.abs(rabbit[j] - at(o, j)));
+                }
+            }
+            return;
+        }
+
+        // rapid dives from the hawk (soft) or from the swarm mean (hard)
+        if (!soft) {
+            swarmMean();
+        }
+        for (int j = 0; j < D; j++) {
+            double from = soft ? at(o, j) : atDouble(mean, j);
+            put(x1, j, rabbit[j] - E * Math.abs(2.0 * (1.0 - rnd.nextDouble()) * rabbit[j] - from));
+        }
+        fitnessX[i] = evaluate(o);
+        if (evaluate(x1, fitnessX[i]) < fitnessX[i]) {
+            copyRow(x1, o);
+            return;
+        }
+        levyStep();
+        if (!soft) {
+            swarmMean();
+        }
+        for (int j = 0; j < D; j++) {
+            double from = soft ? at(o, j) : atDouble(mean, j);
+            put(x2, j, rabbit[j] - E * Math.abs(2.0 * (1.0 - rnd.nextDouble()) * rabbit[j] - from) + rnd.nextDouble() * atDouble(levy, j));
+        }
+        if (evaluate(x2, fitnessX[i]) < fitnessX[i]) {
+            copyRow(x2, o);
+        }
+    }
+}
+
+
+// offheap_hho with the hawk and candidate rows stored as float, which halves the footprint of the
+// population. The moves compute in double and round once when a row is stored; the swarm mean and
+// the Levy step stay double rows, so they are never rounded. Objectives see the row widened to
+// double. Rabbit_Location is the widened best row, so a final polish refines it in full precision.
+class float_hho extends offheap_hho {
+
+    static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT;
+
+    float_hho(f_xj iff, int iN, double[] iLower, double[] iUpper, int iMaxiter, long seed) {
+        super(iff, iN, iLower, iUpper, iMaxiter, seed, 4);
+    }
+
+    double at(long o, int j) {
+        return block.get(FLOAT, o + 4L * j);
+    }
+
+    void put(long o, int j, double v) {
+        block.set(FLOAT, o + 4L * j, (float) v);
+    }
+
+    void load(long o, double[] x) {
+        for (int j = 0; j < D; j++) {
+            x[j] = block.get(FLOAT, o + 4L * j);
+        }
+    }
+
+    // separable objectives are summed from the stored floats, other rows are widened first
+    double evaluate(long o) {
+        if (!ff.separable()) {
+            return super.evaluate(o);
+        }
+        FEs++;
+        double s = 0.0;
+        for (int j = 0; j < D; j++) {
+            s += ff.term(at(o, j), j, D);
+        }
+        return ff.constant(D) + s;
+    }
+
+    double evaluate(long o, double cutoff) {
+        return ff.separable() ? evaluate(o) : super.evaluate(o, cutoff);
+    }
+}
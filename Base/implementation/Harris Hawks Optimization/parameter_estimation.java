@@ -0,0 +1,476 @@
+import java.io.*;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Column store of measurements, e.g. I and V of a polarisation curve plus the operating
+// conditions of every row. Scalar settings of the experiment (cell count, area, temperature, ...)
+// travel with the data as named meta values.
+//
+// CSV: optional "# key=value" meta lines, one header line with the column names, then one row
+// per line; separators may be comma, semicolon, tab or blanks.
+// Binary (memory-mapped on load, big endian):
+//   int magic, int version, int columns, int metaCount, long rows,
+//   columns x (short length, UTF-8 name), metaCount x (short length, UTF-8 name, double value),
+//   zero padding to a multiple of 8, then the columns one after the other as doubles.
+class measurement_dataset {
+
+    static final int MAGIC = 0x48484f44;   // "HHOD"
+    static final int VERSION = 1;
+
+    String[] names;
+    double[][] columns;
+    int rows;
+    LinkedHashMap<String, Double> meta = new LinkedHashMap<>();
+
+    measurement_dataset(String[] inames, double[]... icolumns) {
+        names = inames;
+        columns = icolumns;
+        rows = icolumns.length == 0 ? 0 : icolumns[0].length;
+        for (double[] c : icolumns) {
+            if (c.length != rows) {
+                throw new IllegalArgumentException("columns of different length");
+            }
+        }
+    }
+
+    static measurement_dataset load(String path) throws IOException {
+        String p = path.toLowerCase();
+        if (p.endsWith(".csv") || p.endsWith(".txt") || p.endsWith(".dat")) {
+            return readCsv(path);
+        }
+        return readBinary(path);
+    }
+
+    static measurement_dataset readCsv(String path) throws IOException {
+        LinkedHashMap<String, Double> meta = new LinkedHashMap<>();
+        String[] header = null;
+        ArrayList<double[]> rowList = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (line.startsWith("#")) {
+                    int eq = line.indexOf('=');
+                    if (eq > 0) {
+                        meta.put(line.substring(1, eq).trim(), Double.parseDouble(line.substring(eq + 1).trim()));
+                    }
+                    continue;
+                }
+                String[] f = line.split("[,;\\s]+");
+                if (header == null) {
+                    header = f;
+                    continue;
+                }
+                if (f.length != header.length) {
+                    throw new IOException(path + ": row " + (rowList.size() + 1) + " has " + f.length + " fields, expected " + header.length);
+                }
+                double[] r = new double[f.length];
+                for (int c = 0; c < f.length; c++) {
+                    r[c] = Double.parseDouble(f[c]);
+                }
+                rowList.add(r);
+            }
+        }
+        if (header == null) {
+            throw new IOException(path + ": no header line");
+        }
+        double[][] cols = new double[header.length][rowList.size()];
+        for (int r = 0; r < rowList.size(); r++) {
+            double[] row = rowList.get(r);
+            for (int c = 0; c < header.length; c++) {
+                cols[c][r] = row[c];
+            }
+        }
+        measurement_dataset d = new measurement_dataset(header, cols);
+        d.meta.putAll(meta);
+        return d;
+    }
+
+    static measurement_dataset readBinary(String path) throws IOException {
+        try (FileChannel ch = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            buf.order(ByteOrder.BIG_ENDIAN);
+            if (buf.getInt() != MAGIC) {
+                throw new IOException(path + ": not a measurement dataset");
+            }
+            if (buf.getInt() != VERSION) {
+                throw new IOException(path + ": unsupported dataset version");
+            }
+            int ncols = buf.getInt();
+            int nmeta = buf.getInt();
+            long nrows = buf.getLong();
+            if (nrows > Integer.MAX_VALUE) {
+                throw new IOException(path + ": too many rows");
+            }
+            String[] names = new String[ncols];
+            for (int c = 0; c < ncols; c++) {
+                names[c] = readName(buf);
+            }
+            LinkedHashMap<String, Double> meta = new LinkedHashMap<>();
+            for (int m = 0; m < nmeta; m++) {
+                String k = readName(buf);
+                meta.put(k, buf.getDouble());
+            }
+            buf.position((buf.position() + 7) & ~7);
+            double[][] cols = new double[ncols][(int) nrows];
+            java.nio.DoubleBuffer db = buf.asDoubleBuffer();
+            for (int c = 0; c < ncols; c++) {
+                db.get(cols[c]);
+            }
+            measurement_dataset d = new measurement_dataset(names, cols);
+            d.meta.putAll(meta);
+            return d;
+        }
+    }
+
+    static String readName(MappedByteBuffer buf) {
+        byte[] b = new byte[buf.getShort()];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    void writeBinary(String path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Paths.get(path))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(names.length);
+            out.writeInt(meta.size());
+            out.writeLong(rows);
+            for (String n : names) {
+                writeName(out, n);
+            }
+            for (Map.Entry<String, Double> e : meta.entrySet()) {
+                writeName(out, e.getKey());
+                out.writeDouble(e.getValue());
+            }
+            while (out.size() % 8 != 0) {
+                out.writeByte(0);
+            }
+            for (double[] c : columns) {
+                for (double v : c) {
+                    out.writeDouble(v);
+                }
+            }
+        }
+    }
+
+    static void writeName(DataOutputStream out, String n) throws IOException {
+        byte[] b = n.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(b.length);
+        out.write(b);
+    }
+
+    boolean has(String name) {
+        for (String n : names) {
+            if (n.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    double[] column(String name) {
+        for (int c = 0; c < names.length; c++) {
+            if (names[c].equalsIgnoreCase(name)) {
+                return columns[c];
+            }
+        }
+        throw new IllegalArgumentException("dataset has no column " + name + ", columns are " + Arrays.toString(names));
+    }
+
+    double meta(String key, double fallback) {
+        Double v = meta.get(key);
+        return v == null ? fallback : v;
+    }
+
+    measurement_dataset with(String key, double value) {
+        meta.put(key, value);
+        return this;
+    }
+}
+
+
+// Least-squares objective over a measurement dataset. The dataset is read once; subclasses copy
+// the columns they need into primitive arrays and precompute everything that does not depend on
+// the parameters, so func() only loops over doubles and never allocates.
+abstract class parameter_estimation extends f_xj {
+
+    measurement_dataset data;
+    int m;
+
+    parameter_estimation(measurement_dataset idata) {
+        data = idata;
+        m = idata.rows;
+    }
+
+    // number of model parameters
+    abstract int parameters();
+
+    abstract double[] lower();
+
+    abstract double[] upper();
+
+    // objective for one of the model names accepted by -fit
+    static parameter_estimation create(String model, measurement_dataset d) {
+        switch (model) {
+            case "pemfc":
+                return new pem_fuel_cell(d);
+            case "diode1":
+                return new diode_fit(d, 1);
+            case "diode2":
+                return new diode_fit(d, 2);
+            case "darkdiode":
+                return new dark_diode_fit(d);
+            default:
+                throw new IllegalArgumentException("unknown model " + model + " (pemfc, diode1, diode2, darkdiode)");
+        }
+    }
+}
+
+
+// Semi-empirical PEM fuel-cell stack model (Amphlett / Mann), sum of squared voltage errors.
+// Columns: I [A], V [V], T [K] and either Pa, Pb [bar] (humidified inlets, partial pressures
+// follow the current) or none, in which case meta PO2, PH2 [atm] are used for every row.
+// Meta: cells, area [cm2], thickness [cm], jmax [A/cm2], RHa, RHb, leakage (0/1).
+// Parameters: xi1..xi4, lambda, Rc, b; area, thickness and jmax become x[9], x[7], x[8] when
+// they are not given, and leakage adds x[10] (internal current) on top of that.
+class pem_fuel_cell extends parameter_estimation {
+
+    double cells, area, thickness, jmax, RHa, RHb;
+    boolean leakage;
+    boolean humidified;
+
+    double[] I, V, T;
+    // per-row constants
+    double[] psat, t1334, pa, pb, ernstT, co2Den, tt303, expT, ernst, logCO2;
+
+    pem_fuel_cell(measurement_dataset d) {
+        super(d);
+        cells = d.meta("cells", 1.0);
+        area = d.meta("area", Double.NaN);
+        thickness = d.meta("thickness", Double.NaN);
+        jmax = d.meta("jmax", Double.NaN);
+        RHa = d.meta("RHa", 1.0);
+        RHb = d.meta("RHb", 1.0);
+        leakage = d.meta("leakage", 0.0) != 0.0;
+        humidified = d.has("Pa");
+        if (leakage && !Double.isNaN(area)) {
+            throw new IllegalArgumentException("leakage needs the area as parameter x[9]");
+        }
+
+        I = d.column("I");
+        V = d.column("V");
+        T = d.column("T");
+        tt303 = new double[m];
+        expT = new double[m];
+        co2Den = new double[m];
+        ernstT = new double[m];
+        for (int i = 0; i < m; i++) {
+            tt303[i] = (T[i] / 303.0) * (T[i] / 303.0);
+            expT[i] = Math.exp(4.18 * ((T[i] - 303.0) / T[i]));
+            co2Den[i] = 5.086e6 * Math.exp(-498.0 / T[i]);
+            ernstT[i] = 1.229 - (0.85e-3 * (T[i] - 298.15));
+        }
+        if (humidified) {
+            double[] Pa = d.column("Pa");
+            double[] Pb = d.column("Pb");
+            psat = new double[m];
+            t1334 = new double[m];
+            pa = new double[m];
+            pb = new double[m];
+            for (int i = 0; i < m; i++) {
+                psat[i] = psat(T[i]);
+                t1334[i] = Math.pow(T[i], 1.334);
+                pa[i] = bartoatm(Pa[i]);
+                pb[i] = bartoatm(Pb[i]);
+            }
+        } else {
+            // partial pressures do not depend on the current, so neither do E and CO2
+            double PO2 = d.meta("PO2", 1.0);
+            double PH2 = d.meta("PH2", 1.0);
+            ernst = new double[m];
+            logCO2 = new double[m];
+            for (int i = 0; i < m; i++) {
+                ernst[i] = ernstT[i] + (4.3085e-5 * T[i] * (Math.log(PH2) + 0.5 * Math.log(PO2)));
+                logCO2[i] = Math.log(PO2 / co2Den[i]);
+            }
+        }
+    }
+
+    int parameters() {
+        return leakage ? 11 : Double.isNaN(area) ? 10 : 7;
+    }
+
+    // xi1..xi4, lambda, Rc, b, then thickness, jmax, area, internal current
+    double[] lower() {
+        return Arrays.copyOf(new double[]{-1.1997, 0.001, 3.6e-5, -2.6e-4, 10.0, 1.0e-4, 0.0136, 51.0e-4, 0.5, 10.0, 0.0}, parameters());
+    }
+
+    double[] upper() {
+        return Arrays.copyOf(new double[]{-0.8532, 0.005, 9.8e-5, -0.954e-4, 24.0, 8.0e-4, 0.5, 203.0e-4, 1.5, 100.0, 1.0}, parameters());
+    }
+
+    double func(double x[]) {
+        double A = Double.isNaN(area) ? x[9] : area;
+        double l = Double.isNaN(thickness) ? x[7] : thickness;
+        double Jm = Double.isNaN(jmax) ? x[8] : jmax;
+        double leak = leakage ? x[10] / x[9] : 0.0;
+
+        double val = 0.0;
+        for (int i = 0; i < m; i++) {
+            double Ti = T[i];
+            double Ii = I[i] + leak;
+            double J = Ii / A;
+            double V_Ernst;
+            double lnCO2;
+            if (humidified) {
+                double ps = psat[i];
+                double PO2 = RHb * ps * ((1.0 / (Math.exp((4.192 * I[i] / A) / t1334[i]) * (RHb * ps / pb[i]))) - 1.0);
+                double PH2 = 0.5 * RHa * ps * ((1.0 / (Math.exp((1.635 * I[i] / A) / t1334[i]) * (RHa * ps / pa[i]))) - 1.0);
+                V_Ernst = ernstT[i] + (4.3085e-5 * Ti * (Math.log(PH2) + 0.5 * Math.log(PO2)));
+                lnCO2 = Math.log(PO2 / co2Den[i]);
+            } else {
+                V_Ernst = ernst[i];
+                lnCO2 = logCO2[i];
+            }
+            double V_act = -(x[0] + (x[1] * Ti) + (x[2] * Ti * lnCO2) + (x[3] * Ti * Math.log(Ii)));
+            double ro_m = 181.6 * (1.0 + (0.03 * J) + (0.062 * tt303[i] * Math.pow(J, 2.5))) / ((x[4] - 0.634 - 3.0 * J) * expT[i]);
+            double R_m = ro_m * l / A;
+            double V_ohm = Ii * (R_m + x[5]);
+            double V_con = -x[6] * Math.log(1.0 - (J / Jm));
+            double r = V[i] - cells * (V_Ernst - V_act - V_ohm - V_con);
+            val += r * r;
+        }
+        return val;
+    }
+
+    // polarisation curves measured at different operating points, stacked into one dataset
+    static measurement_dataset curves(double[][] I, double[][] V, double[] T, double[] Pa, double[] Pb) {
+        int n = 0;
+        for (double[] c : I) {
+            n += c.length;
+        }
+        double[][] cols = new double[5][n];
+        int r = 0;
+        for (int k = 0; k < I.length; k++) {
+            for (int j = 0; j < I[k].length; j++, r++) {
+                cols[0][r] = I[k][j];
+                cols[1][r] = V[k][j];
+                cols[2][r] = T[k];
+                cols[3][r] = Pa[k];
+                cols[4][r] = Pb[k];
+            }
+        }
+        return new measurement_dataset(new String[]{"I", "V", "T", "Pa", "Pb"}, cols);
+    }
+
+    static double psat(double T) {
+        return Math.pow(10.0, ((2.95e-2 * (T - 273.15)) - ((9.18e-5) * (T - 273.15) * (T - 273.15)) + ((1.44e-7) * (T - 273.15) * (T - 273.15) * (T - 273.15)) - 2.18));
+    }
+
+    static double bartoatm(double barr) {
+        return barr * 0.986923267;
+    }
+}
+
+
+// Single or double diode model of a solar cell, or of a module of `cells` cells in series,
+// root mean square current error. Columns: V [V], I [A]. Meta: T [K], cells.
+// Parameters: Rs, Rsh, Iph, Isd1, n1 (, Isd2, n2).
+class diode_fit extends parameter_estimation {
+
+    static final double q = 1.602176565e-19;    // electronic charge
+    static final double kb = 1.3806505e-23;     // Boltzmann
+
+    int diodes;
+    double[] V, I;
+    double vt;          // cells * thermal voltage
+
+    diode_fit(measurement_dataset d, int idiodes) {
+        super(d);
+        diodes = idiodes;
+        V = d.column("V");
+        I = d.column("I");
+        vt = d.meta("cells", 1.0) * kb * d.meta("T", 273.15 + 25.0) / q;
+    }
+
+    int parameters() {
+        return diodes == 2 ? 7 : 5;
+    }
+
+    double[] lower() {
+        double[] b = {0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 1.0};
+        return Arrays.copyOf(b, parameters());
+    }
+
+    double[] upper() {
+        double cells = data.meta("cells", 1.0);
+        double[] b = {0.5 * cells, 100.0 * cells, 2.0, 1.0e-6 * Math.max(1.0, cells), 2.0, 1.0e-6, 2.0};
+        return Arrays.copyOf(b, parameters());
+    }
+
+    double func(double x[]) {
+        double sum = 0.0;
+        double a1 = 1.0 / (x[4] * vt);
+        double a2 = diodes == 2 ? 1.0 / (x[6] * vt) : 0.0;
+        double isd2 = diodes == 2 ? x[5] : 0.0;
+        for (int i = 0; i < m; i++) {
+            double u = V[i] + x[0] * I[i];
+            double r = I[i] - x[2] + x[3] * (Math.exp(u * a1) - 1.0) + isd2 * (Math.exp(u * a2) - 1.0) + u / x[1];
+            sum += r * r;
+        }
+        return Math.sqrt(sum / (double) m);
+    }
+}
+
+
+// Dark / illuminated diode I-V fit I = Io (exp(beta (V - Rs I) / n) - 1) + (V - Rs I) / Rsh,
+// root mean square current error. Columns: V, I. Meta: T [K], noise (relative amplitude of
+// uniform noise put on every measured current at each evaluation, 0 = exact data).
+// Parameters: Io, Rs, n, Rshunt.
+class dark_diode_fit extends parameter_estimation {
+
+    double[] V, I;
+    double beta;
+    double noise;
+
+    dark_diode_fit(measurement_dataset d) {
+        super(d);
+        V = d.column("V");
+        I = d.column("I");
+        beta = diode_fit.q / (diode_fit.kb * d.meta("T", 300.0));
+        noise = d.meta("noise", 0.0);
+    }
+
+    int parameters() {
+        return 4;
+    }
+
+    double[] lower() {
+        return new double[]{1e-20, 0.0, 0.0, 100.0};
+    }
+
+    double[] upper() {
+        return new double[]{2.0, 10000.0, 5.0, 100000000.0};
+    }
+
+    double func(double x[]) {
+        ThreadLocalRandom rnd = noise > 0.0 ? ThreadLocalRandom.current() : null;
+        double sum = 0.0;
+        for (int i = 0; i < m; i++) {
+            double Ii = rnd == null ? I[i] : I[i] * (1 + 2.0 * (rnd.nextDouble() - 0.5) * noise);
+            double u = V[i] - x[1] * Ii;
+            double r = Ii - (x[0] * (Math.exp(beta * u / x[2]) - 1.0) + (u / x[3]));
+            sum += r * r;
+        }
+        return Math.sqrt(sum / (double) m);
+    }
+}
@@ -0,0 +1,302 @@
+import java.util.*;
+
+// Initial placement of the N hawks in the box. fill(...) overwrites the first N rows of X; the
+// randomisation (scrambling, shifts, permutations) is drawn from rnd so that a seeded run stays
+// reproducible. Instances keep their work arrays between calls and generate without allocating
+// once they have seen the dimension.
+abstract class population_init {
+
+    abstract void fill(double[][] X, int N, double[] lo, double[] hi, Random rnd);
+
+    // uniform, sobol, halton or lhs
+    static population_init create(String name) {
+        switch (name) {
+            case "uniform":
+                return new uniform_init();
+            case "sobol":
+                return new sobol_init();
+            case "halton":
+                return new halton_init();
+            case "lhs":
+                return new lhs_init();
+            default:
+                throw new IllegalArgumentException("unknown initializer " + name + " (uniform, sobol, halton or lhs)");
+        }
+    }
+}
+
+
+// the solver's original scheme, one uniform draw per coordinate
+class uniform_init extends population_init {
+
+    void fill(double[][] X, int N, double[] lo, double[] hi, Random rnd) {
+        int D = lo.length;
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < D; j++) {
+                X[i][j] = lo[j] + (hi[j] - lo[j]) * rnd.nextDouble();
+            }
+        }
+    }
+}
+
+
+// Sobol points 1 .. N in Gray-code order with a random digital shift per run. Dimension 1 is the
+// van der Corput sequence, dimension d > 1 uses the (d - 1)-th primitive polynomial over GF(2) in
+// order of degree, with initial direction numbers m_k (odd, < 2^k) drawn from a fixed seed, so the
+// sequence is the same in every run and only the shift changes. Every axis is stratified like a
+// van der Corput sequence; unlike the Joe-Kuo tables the m_k are not tuned for good 2-D
+// projections. Direction numbers are stored bit-major, v[k][j], so that the update of a point is
+// one XOR pass over contiguous ints.
+class sobol_init extends population_init {
+
+    static final int BITS = 32;
+
+    // primitive polynomials x^s + a_1 x^(s-1) + .. + 1 as bit masks, and v[k][j] for every
+    // dimension built so far; both only grow
+    static int[] polys = new int[0];
+    static int[][] v = new int[BITS][0];
+
+    int[] state = new int[0];
+    int[] shift = new int[0];
+
+    void fill(double[][] X, int N, double[] lo, double[] hi, Random rnd) {
+        int D = lo.length;
+        int[][] dir = directions(D);
+        if (state.length < D) {
+            state = new int[D];
+            shift = new int[D];
+        }
+        for (int j = 0; j < D; j++) {
+            state[j] = 0;
+            shift[j] = rnd.nextInt();
+        }
+        for (int i = 0; i < N; i++) {
+            // point i + 1 from point i: flip the direction number of the lowest set bit of i + 1
+            int[] vc = dir[Integer.numberOfTrailingZeros(i + 1)];
+            double[] xi = X[i];
+            for (int j = 0; j < D; j++) {
+                state[j] ^= vc[j];
+                double u = ((state[j] ^ shift[j]) & 0xffffffffL) * 0x1.0p-32;
+                xi[j] = lo[j] + (hi[j] - lo[j]) * u;
+            }
+        }
+    }
+
+    static synchronized int[][] directions(int D) {
+        if (v[0].length >= D) {
+            return v;
+        }
+        int old = v[0].length;
+        int[][] nv = new int[BITS][D];
+        for (int k = 0; k < BITS; k++) {
+            System.arraycopy(v[k], 0, nv[k], 0, old);
+        }
+        polys = primitivePolynomials(D - 1);
+        SplittableRandom seed = new SplittableRandom(0x50b01L);
+        for (int j = 0; j < D; j++) {
+            // the m_k draws of dimensions already built are replayed so the stream stays aligned
+            if (j == 0) {
+                for (int k = 0; k < BITS; k++) {
+                    nv[k][0] = 1 << (BITS - 1 - k);
+                }
+                continue;
+            }
+            int p = polys[j - 1];
+            int s = 31 - Integer.numberOfLeadingZeros(p);
+            int[] m = new int[s];
+            for (int k = 0; k < s; k++) {
+                m[k] = 2 * seed.nextInt(1 << k) + 1;
+            }
+            if (j < old) {
+                continue;
+            }
+            for (int k = 0; k < s && k < BITS; k++) {
+                nv[k][j] = m[k] << (BITS - 1 - k);
+            }
+            for (int k = s; k < BITS; k++) {
+                int vk = nv[k - s][j] ^ (nv[k - s][j] >>> s);
+                for (int i = 1; i < s; i++) {
+                    if (((p >>> (s - i)) & 1) != 0) {
+                        vk ^= nv[k - i][j];
+                    }
+                }
+                nv[k][j] = vk;
+            }
+        }
+        v = nv;
+        return v;
+    }
+
+    // the first count primitive polynomials, by degree and then by value
+    static int[] primitivePolynomials(int count) {
+        int[] out = new int[count];
+        int found = 0;
+        for (int s = 1; found < count; s++) {
+            for (int p = (1 << s) | 1; p < (2 << s) && found < count; p += 2) {
+                if (primitive(p, s)) {
+                    out[found++] = p;
+                }
+            }
+        }
+        return out;
+    }
+
+    // p of degree s is primitive iff x has multiplicative order 2^s - 1 modulo p
+    static boolean primitive(int p, int s) {
+        long order = (1L << s) - 1;
+        if (powx(order, p, s) != 1) {
+            return false;
+        }
+        long rest = order;
+        for (long q = 2; q * q <= rest; q++) {
+            if (rest % q == 0) {
+                if (powx(order / q, p, s) == 1) {
+                    return false;
+                }
+                while (rest % q == 0) {
+                    rest /= q;
+                }
+            }
+        }
+        return rest == 1 || powx(order / rest, p, s) != 1;
+    }
+
+    // x^e mod p over GF(2)
+    static long powx(long e, int p, int s) {
+        long result = 1;
+        long base = s == 1 ? 2 ^ p : 2;     // x, reduced when p = x + 1
+        while (e > 0) {
+            if ((e & 1) != 0) {
+                result = mulmod(result, base, p, s);
+            }
+            base = mulmod(base, base, p, s);
+            e >>>= 1;
+        }
+        return result;
+    }
+
+    static long mulmod(long a, long b, int p, int s) {
+        long r = 0;
+        while (b != 0) {
+            if ((b & 1) != 0) {
+                r ^= a;
+            }
+            b >>>= 1;
+            a <<= 1;
+            if (((a >>> s) & 1) != 0) {
+                a ^= p;
+            }
+        }
+        return r;
+    }
+}
+
+
+// Halton points 1 .. N, dimension j in the j-th prime base, with a random linear scramble
+// d -> (a_k d + b_k) mod base of the k-th digit (a_k != 0). Coordinates are expanded to double
+// precision, past the digits of the index the scramble turns the zero digits into random ones.
+class halton_init extends population_init {
+
+    static int[] primes = new int[0];
+
+    int[][] a = new int[0][];
+    int[][] b = new int[0][];
+
+    void fill(double[][] X, int N, double[] lo, double[] hi, Random rnd) {
+        int D = lo.length;
+        int[] base = primes(D);
+        if (a.length < D) {
+            a = new int[D][];
+            b = new int[D][];
+        }
+        for (int j = 0; j < D; j++) {
+            int digits = digits(base[j]);
+            if (a[j] == null || a[j].length < digits) {
+                a[j] = new int[digits];
+                b[j] = new int[digits];
+            }
+            for (int k = 0; k < digits; k++) {
+                a[j][k] = 1 + rnd.nextInt(base[j] - 1);
+                b[j][k] = rnd.nextInt(base[j]);
+            }
+        }
+        for (int i = 0; i < N; i++) {
+            double[] xi = X[i];
+            for (int j = 0; j < D; j++) {
+                int bj = base[j];
+                int[] aj = a[j];
+                int[] cj = b[j];
+                int digits = digits(bj);
+                long index = i + 1;
+                double inv = 1.0 / bj;
+                double w = inv;
+                double u = 0.0;
+                for (int k = 0; k < digits; k++) {
+                    int d = (int) (index % bj);
+                    index /= bj;
+                    u += ((aj[k] * d + cj[k]) % bj) * w;
+                    w *= inv;
+                }
+                xi[j] = lo[j] + (hi[j] - lo[j]) * u;
+            }
+        }
+    }
+
+    // digits of base b carried by a double in [0, 1)
+    static int digits(int b) {
+        return (int) Math.ceil(53.0 * Math.log(2.0) / Math.log(b));
+    }
+
+    static synchronized int[] primes(int count) {
+        if (primes.length >= count) {
+            return primes;
+        }
+        int[] p = Arrays.copyOf(primes, count);
+        int found = primes.length;
+        int c = found == 0 ? 2 : primes[found - 1] + 1;
+        for (; found < count; c++) {
+            boolean prime = true;
+            for (int k = 0; k < found && p[k] * p[k] <= c; k++) {
+                if (c % p[k] == 0) {
+                    prime = false;
+                    break;
+                }
+            }
+            if (prime) {
+                p[found++] = c;
+            }
+        }
+        primes = p;
+        return p;
+    }
+}
+
+
+// Latin hypercube: every axis is cut into N strata and each stratum holds exactly one hawk,
+// stratum order shuffled independently per axis, position uniform inside the stratum
+class lhs_init extends population_init {
+
+    int[] perm = new int[0];
+
+    void fill(double[][] X, int N, double[] lo, double[] hi, Random rnd) {
+        int D = lo.length;
+        if (perm.length < N) {
+            perm = new int[N];
+        }
+        for (int j = 0; j < D; j++) {
+            for (int i = 0; i < N; i++) {
+                perm[i] = i;
+            }
+            for (int i = N - 1; i > 0; i--) {
+                int k = rnd.nextInt(i + 1);
+                int t = perm[i];
+                perm[i] = perm[k];
+                perm[k] = t;
+            }
+            double w = (hi[j] - lo[j]) / N;
+            for (int i = 0; i < N; i++) {
+                X[i][j] = lo[j] + w * (perm[i] + rnd.nextDouble());
+            }
+        }
+    }
+}
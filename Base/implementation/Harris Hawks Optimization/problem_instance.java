@@ -0,0 +1,39 @@
+// Objective with constant data (matrices, weights, vectors derived from them) that depends at
+// most on the dimension. prepare(n) builds that data once per dimension as flat row-major arrays,
+// eval(x, ws) then only does the work that depends on x.
+abstract class problem_instance extends f_xj {
+
+    volatile int n = -1;        // dimension the instance is prepared for
+
+    abstract void prepare(int n);
+
+    abstract double eval(double x[], workspace ws);
+
+    double func(double x[]) {
+        return func(x, workspace.of(this, x.length));
+    }
+
+    double func(double x[], workspace ws) {
+        if (x.length != n) {
+            synchronized (this) {
+                if (x.length != n) {
+                    prepare(x.length);
+                    n = x.length;
+                }
+            }
+        }
+        return eval(x, ws);
+    }
+
+    // leading rows x cols block of a literal matrix, row major
+    static double[] flat(double[][] m, int rows, int cols) {
+        double[] f = new double[rows * cols];
+        for (int i = 0; i < rows; i++) {
+            if (m[i].length < cols) {
+                throw new IllegalArgumentException("row " + i + " has " + m[i].length + " entries, " + cols + " needed");
+            }
+            System.arraycopy(m[i], 0, f, i * cols, cols);
+        }
+        return f;
+    }
+}
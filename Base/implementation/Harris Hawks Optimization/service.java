@@ -0,0 +1,451 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Objective evaluated by a client: every point is POSTed to url as comma-separated coordinates and
+// the response body is the value. An evaluation that fails counts as +infinity.
+class callback_objective extends f_xj {
+
+    static final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    URI url;
+
+    callback_objective(String iurl) {
+        url = URI.create(iurl);
+    }
+
+    double func(double x[]) {
+        StringBuilder body = new StringBuilder();
+        for (int j = 0; j < x.length; j++) {
+            body.append(j > 0 ? "," : "").append(x[j]);
+        }
+        try {
+            HttpResponse<String> r = client.send(HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build(), HttpResponse.BodyHandlers.ofString());
+            return r.statusCode() == 200 ? Double.parseDouble(r.body().trim()) : Double.POSITIVE_INFINITY;
+        } catch (IOException | NumberFormatException e) {
+            return Double.POSITIVE_INFINITY;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+}
+
+
+// One submitted optimization. The solver's iteration, evaluation count and best value are read
+// while it runs without synchronization, so progress is approximate until the job is DONE.
+class optimization_job {
+
+    static final String QUEUED = "QUEUED";
+    static final String RUNNING = "RUNNING";
+    static final String DONE = "DONE";
+    static final String FAILED = "FAILED";
+    static final String CANCELLED = "CANCELLED";
+
+    long id;
+    String tenant;
+    int priority;                    // higher runs first, ties in order of submission
+    String problem;                  // registry name, or the callback URL
+    f_xj ff;
+    double[] lower;
+    double[] upper;
+    int N;
+    int Maxiter;
+    long budget;                     // evaluations, Long.MAX_VALUE for none
+    long seed;
+    volatile String state = QUEUED;
+    volatile harris_hawks_optimization hho;
+    double[][] out;
+    String error;
+    long submitted;
+    long started;
+    long finished;
+
+    String json() {
+        StringBuilder s = new StringBuilder();
+        s.append("{\"id\":").append(id).append(",\"tenant\":").append(quote(tenant)).append(",\"priority\":").append(priority)
+                .append(",\"problem\":").append(quote(problem)).append(",\"D\":").append(lower.length)
+                .append(",\"N\":").append(N).append(",\"maxiter\":").append(Maxiter).append(",\"state\":\"").append(state).append('"');
+        harris_hawks_optimization h = hho;
+        if (h != null) {
+            s.append(",\"iter\":").append(h.iter).append(",\"fes\":").append(h.FEs).append(",\"best\":").append(number(h.Rabbit_Energy));
+        }
+        if (started > 0) {
+            s.append(",\"waitMillis\":").append(started - submitted);
+        }
+        if (finished > 0 && started > 0) {
+            s.append(",\"runMillis\":").append(finished - started);
+        }
+        if (error != null) {
+            s.append(",\"error\":").append(quote(error));
+        }
+        return s.append('}').toString();
+    }
+
+    String resultJson() {
+        StringBuilder s = new StringBuilder("{\"id\":").append(id).append(",\"value\":").append(number(out[1][0])).append(",\"x\":[");
+        for (int j = 0; j < out[0].length; j++) {
+            s.append(j > 0 ? "," : "").append(number(out[0][j]));
+        }
+        return s.append("],\"fes\":").append(hho.FEs).append('}').toString();
+    }
+
+    static String quote(String v) {
+        StringBuilder s = new StringBuilder(v.length() + 2).append('"');
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            switch (c) {
+                case '"':
+                    s.append("\\\"");
+                    break;
+                case '\\':
+                    s.append("\\\\");
+                    break;
+                case '\n':
+                    s.append("\\n");
+                    break;
+                case '\r':
+                    s.append("\\r");
+                    break;
+                case '\t':
+                    s.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        s.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        s.append(c);
+                    }
+            }
+        }
+        return s.append('"').toString();
+    }
+
+    // JSON has no infinities or NaN
+    static String number(double v) {
+        return Double.isFinite(v) ? String.valueOf(v) : "null";
+    }
+}
+
+
+// Optimization as a service on com.sun.net.httpserver. Jobs wait in a queue of at most queueSize,
+// best priority first, and run on one shared pool of threads workers; a tenant never has more
+// than tenantLimit jobs running, its further jobs wait while other tenants' jobs go ahead.
+// Solvers are built by harris_hawks_optimization_test.newSolver, so the options the server was
+// started with (-polish, -init, ...) apply to every job. Finished jobs are kept for keepFinished
+// jobs. There is no authentication, so the server listens on bind, the loopback address unless
+// set otherwise, and a callback may only reach the hosts in callbackHosts. Requests and replies:
+//   POST   /jobs              form fields problem=<registry name> or callback=<url> with lower=,
+//                             upper= (comma lists, or lo= hi= dim=), dim=, N=, maxiter=, budget=,
+//                             seed=, tenant=, priority=; 202 with the job, 400 for a request that
+//                             does not parse, names a problem that cannot be built or exceeds
+//                             maxN, maxDim or maxIter, 503 when the queue is full
+//   GET    /jobs/<id>         state and progress
+//   GET    /jobs/<id>/result  best value and point once DONE, 409 before
+//   DELETE /jobs/<id>         cancels a queued job, stops a running one after its iteration
+//   GET    /jobs              all jobs;  GET /problems  the registry
+class optimization_service {
+
+    int threads = Runtime.getRuntime().availableProcessors();
+    int queueSize = 100;
+    int tenantLimit = 2;
+    int keepFinished = 1000;
+    int maxN = 1000;                 // request limits, so one job cannot exhaust the heap
+    int maxDim = 1000;
+    int maxIter = 1_000_000;
+    InetAddress bind = InetAddress.getLoopbackAddress();
+    Set<String> callbackHosts = new HashSet<>(Arrays.asList("localhost", "127.0.0.1", "[::1]"));
+
+    HttpServer server;
+    ExecutorService pool;
+    final PriorityQueue<optimization_job> queue = new PriorityQueue<>(
+            Comparator.comparingInt((optimization_job j) -> -j.priority).thenComparingLong(j -> j.id));
+    final LinkedHashMap<Long, optimization_job> jobs = new LinkedHashMap<>();
+    final HashMap<String, Integer> runningByTenant = new HashMap<>();
+    int running;
+    long nextId = 1;
+
+    void start(int port) throws IOException {
+        pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "job");
+            t.setDaemon(true);
+            return t;
+        });
+        server = HttpServer.create(new InetSocketAddress(bind, port), 0);
+        server.createContext("/jobs", this::jobs);
+        server.createContext("/problems", this::problems);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    void stop() {
+        server.stop(0);
+        pool.shutdownNow();
+    }
+
+    // starts queued jobs while there are free threads, skipping tenants at their limit
+    synchronized void dispatch() {
+        ArrayList<optimization_job> blocked = new ArrayList<>();
+        while (running < threads && !queue.isEmpty()) {
+            optimization_job j = queue.poll();
+            if (runningByTenant.getOrDefault(j.tenant, 0) >= tenantLimit) {
+                blocked.add(j);
+                continue;
+            }
+            running++;
+            runningByTenant.merge(j.tenant, 1, Integer::sum);
+            j.state = optimization_job.RUNNING;
+            pool.execute(() -> run(j));
+        }
+        queue.addAll(blocked);
+    }
+
+    void run(optimization_job j) {
+        try {
+            harris_hawks_optimization h = harris_hawks_optimization_test.newSolver(j.ff, j.N, j.lower, j.upper, j.Maxiter, j.seed);
+            h.maxFEs = Math.min(h.maxFEs, j.budget);
+            j.started = System.currentTimeMillis();
+            j.hho = h;
+            if (j.state.equals(optimization_job.RUNNING)) {
+                j.out = h.solution();
+            }
+            synchronized (this) {
+                if (j.state.equals(optimization_job.RUNNING)) {
+                    j.state = optimization_job.DONE;
+                }
+            }
+        } catch (RuntimeException e) {
+            j.error = String.valueOf(e.getMessage());
+            j.state = optimization_job.FAILED;
+        } finally {
+            j.finished = System.currentTimeMillis();
+            synchronized (this) {
+                running--;
+                runningByTenant.merge(j.tenant, -1, Integer::sum);
+                forget();
+            }
+            dispatch();
+        }
+    }
+
+    // drops the oldest finished jobs beyond keepFinished
+    void forget() {
+        int finished = jobs.size() - queue.size() - running;
+        Iterator<optimization_job> it = jobs.values().iterator();
+        while (finished > keepFinished && it.hasNext()) {
+            optimization_job j = it.next();
+            if (j.finished > 0) {
+                it.remove();
+                finished--;
+            }
+        }
+    }
+
+    optimization_job parse(Map<String, String> f) {
+        optimization_job j = new optimization_job();
+        j.tenant = f.getOrDefault("tenant", "default");
+        j.priority = Integer.parseInt(f.getOrDefault("priority", "0"));
+        int dim = Integer.parseInt(f.getOrDefault("dim", "0"));
+        if (dim < 0 || dim > maxDim) {
+            throw new IllegalArgumentException("dim must be between 1 and " + maxDim);
+        }
+        if (f.containsKey("callback")) {
+            j.problem = f.get("callback");
+            URI url = URI.create(j.problem);
+            String host = url.getHost() == null ? "" : url.getHost().toLowerCase(Locale.ROOT);
+            if (!("http".equals(url.getScheme()) || "https".equals(url.getScheme())) || !callbackHosts.contains(host)) {
+                throw new IllegalArgumentException("callback must be an http(s) URL on " + callbackHosts);
+            }
+            j.ff = new callback_objective(j.problem);
+        } else {
+            j.problem = f.getOrDefault("problem", "");
+            benchmark_info b = benchmark_registry.get(j.problem);
+            if (b == null) {
+                throw new IllegalArgumentException("unknown problem " + j.problem);
+            }
+            try {
+                j.ff = b.create();
+            } catch (UncheckedIOException e) {
+                throw new IllegalArgumentException(j.problem + " cannot be built: " + e.getMessage(), e);
+            }
+            if (dim == 0) {
+                dim = b.defaultDim;
+            }
+            if (!b.accepts(dim)) {
+                throw new IllegalArgumentException(j.problem + " does not accept D=" + dim);
+            }
+            j.lower = b.lower(dim);
+            j.upper = b.upper(dim);
+        }
+        if (f.containsKey("lower")) {
+            j.lower = Arrays.stream(f.get("lower").split(",")).mapToDouble(Double::parseDouble).toArray();
+            j.upper = Arrays.stream(f.getOrDefault("upper", "").split(",")).mapToDouble(Double::parseDouble).toArray();
+        } else if (f.containsKey("lo")) {
+            j.lower = new double[dim];
+            j.upper = new double[dim];
+            Arrays.fill(j.lower, Double.parseDouble(f.get("lo")));
+            Arrays.fill(j.upper, Double.parseDouble(f.getOrDefault("hi", "")));
+        }
+        if (j.lower == null || j.lower.length == 0 || j.lower.length != j.upper.length) {
+            throw new IllegalArgumentException("bounds missing or of different lengths");
+        }
+        if (j.lower.length > maxDim) {
+            throw new IllegalArgumentException("dimension must be at most " + maxDim);
+        }
+        j.N = Integer.parseInt(f.getOrDefault("N", "30"));
+        j.budget = Long.parseLong(f.getOrDefault("budget", String.valueOf(Long.MAX_VALUE)));
+        // with a budget and no iteration count the schedule is stretched over the budget
+        long iters = f.containsKey("maxiter") ? Long.parseLong(f.get("maxiter"))
+                : j.budget == Long.MAX_VALUE ? 500 : Math.max(1, j.budget / j.N);
+        if (iters > maxIter && f.containsKey("maxiter")) {
+            throw new IllegalArgumentException("maxiter must be at most " + maxIter);
+        }
+        j.Maxiter = (int) Math.min(iters, maxIter);
+        j.seed = f.containsKey("seed") ? Long.parseLong(f.get("seed")) : System.nanoTime();
+        if (j.N < 1 || j.Maxiter < 1 || j.budget < 1) {
+            throw new IllegalArgumentException("N, maxiter and budget must be positive");
+        }
+        if (j.N > maxN) {
+            throw new IllegalArgumentException("N must be at most " + maxN);
+        }
+        return j;
+    }
+
+    // a request that fails inside the server still gets a reply, a 500
+    void jobs(HttpExchange ex) throws IOException {
+        try (ex) {
+            try {
+                route(ex);
+            } catch (RuntimeException e) {
+                reply(ex, 500, "{\"error\":" + optimization_job.quote(String.valueOf(e)) + "}");
+            }
+        }
+    }
+
+    void route(HttpExchange ex) throws IOException {
+        String[] path = ex.getRequestURI().getPath().split("/");
+        String method = ex.getRequestMethod();
+        if (path.length == 2 && method.equals("POST")) {
+            optimization_job j;
+            try {
+                j = parse(form(new String(ex.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+            } catch (IllegalArgumentException e) {
+                reply(ex, 400, "{\"error\":" + optimization_job.quote(String.valueOf(e.getMessage())) + "}");
+                return;
+            }
+            synchronized (this) {
+                if (queue.size() >= queueSize) {
+                    reply(ex, 503, "{\"error\":\"queue full\"}");
+                    return;
+                }
+                j.id = nextId++;
+                j.submitted = System.currentTimeMillis();
+                jobs.put(j.id, j);
+                queue.add(j);
+            }
+            dispatch();
+            reply(ex, 202, j.json());
+            return;
+        }
+        if (path.length == 2 && method.equals("GET")) {
+            StringBuilder s = new StringBuilder("[");
+            synchronized (this) {
+                for (optimization_job j : jobs.values()) {
+                    s.append(s.length() > 1 ? "," : "").append(j.json());
+                }
+            }
+            reply(ex, 200, s.append(']').toString());
+            return;
+        }
+        optimization_job j;
+        synchronized (this) {
+            j = path.length >= 3 ? jobs.get(parseId(path[2])) : null;
+        }
+        if (j == null) {
+            reply(ex, 404, "{\"error\":\"no such job\"}");
+        } else if (path.length == 3 && method.equals("GET")) {
+            reply(ex, 200, j.json());
+        } else if (path.length == 4 && path[3].equals("result") && method.equals("GET")) {
+            if (j.state.equals(optimization_job.DONE)) {
+                reply(ex, 200, j.resultJson());
+            } else {
+                reply(ex, 409, j.json());
+            }
+        } else if (path.length == 3 && method.equals("DELETE")) {
+            cancel(j);
+            reply(ex, 200, j.json());
+        } else {
+            reply(ex, 405, "{\"error\":" + optimization_job.quote(method + " " + ex.getRequestURI().getPath()) + "}");
+        }
+    }
+
+    synchronized void cancel(optimization_job j) {
+        if (j.state.equals(optimization_job.QUEUED)) {
+            queue.remove(j);
+            j.finished = System.currentTimeMillis();
+            j.state = optimization_job.CANCELLED;
+        } else if (j.state.equals(optimization_job.RUNNING)) {
+            j.state = optimization_job.CANCELLED;
+            harris_hawks_optimization h = j.hho;
+            if (h != null) {
+                h.cancelled = true;
+            }
+        }
+    }
+
+    void problems(HttpExchange ex) throws IOException {
+        try (ex) {
+            ByteArrayOutputStream b = new ByteArrayOutputStream();
+            benchmark_registry.list(new PrintStream(b, true, StandardCharsets.UTF_8));
+            ex.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            byte[] body = b.toByteArray();
+            ex.sendResponseHeaders(200, body.length);
+            ex.getResponseBody().write(body);
+        }
+    }
+
+    static long parseId(String s) {
+        try {
+            return Long.parseLong(s);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // a=1&b=2, newlines also separate fields
+    static Map<String, String> form(String body) {
+        HashMap<String, String> f = new HashMap<>();
+        for (String pair : body.split("[&\n]")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                f.put(URLDecoder.decode(pair.substring(0, eq).trim(), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1).trim(), StandardCharsets.UTF_8));
+            }
+        }
+        return f;
+    }
+
+    static void reply(HttpExchange ex, int status, String json) throws IOException {
+        byte[] body = (json + "\n").getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, body.length);
+        ex.getResponseBody().write(body);
+    }
+}